@@ -2,6 +2,8 @@ package com.edu.SpringEcom;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main entry point for the Spring E-Commerce application.
@@ -14,6 +16,9 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * <li>Component scanning in this package and sub-packages</li>
  * <li>Configuration properties support</li>
  * </ul>
+ * It also turns on {@link ConfigurationPropertiesScan} for the
+ * {@code @ConfigurationProperties} classes and {@link EnableScheduling} for
+ * background tasks.
  * </p>
  * 
  * @author SpringEcom Team
@@ -21,6 +26,8 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * @since 2025-12-14
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
 public class SpringEcomApplication {
 
 	/**
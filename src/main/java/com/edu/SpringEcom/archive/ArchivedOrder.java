@@ -0,0 +1,145 @@
+package com.edu.SpringEcom.archive;
+
+import com.edu.SpringEcom.model.Money;
+import com.edu.SpringEcom.model.Order;
+import com.edu.SpringEcom.model.OrderStatus;
+import com.edu.SpringEcom.model.dto.OrderItemLine;
+import com.edu.SpringEcom.model.dto.OrderItemResponse;
+import com.edu.SpringEcom.model.dto.OrderResponse;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An order as stored in the cold archive: everything an order response
+ * shows, with item product names copied so the products may later be deleted.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see OrderArchive
+ */
+public record ArchivedOrder(
+        String orderId,
+        String customerName,
+        String email,
+        OrderStatus status,
+        LocalDate orderDate,
+        Money subtotal,
+        Money discount,
+        Money total,
+        List<Item> items) {
+
+    /** Marks a missing amount in the binary form. */
+    private static final long NO_AMOUNT = Long.MIN_VALUE;
+
+    /**
+     * One archived order line.
+     *
+     * @param productId   the product ordered at the time
+     * @param productName its title at the time
+     * @param quantity    units ordered
+     * @param totalPrice  line total
+     */
+    public record Item(Integer productId, String productName, int quantity, Money totalPrice) {
+    }
+
+    /**
+     * @param order an order from the database
+     * @param lines its items, as loaded by
+     *              {@link com.edu.SpringEcom.repo.OrderRepo#findItemLines(java.util.Collection)}
+     * @return the order in archive form
+     */
+    public static ArchivedOrder of(Order order, List<OrderItemLine> lines) {
+        List<Item> items = new ArrayList<>(lines.size());
+        for (OrderItemLine line : lines) {
+            items.add(new Item(line.productId(), line.productName(), line.quantity(), line.totalPrice()));
+        }
+        return new ArchivedOrder(order.getOrderId(), order.getCustomerName(), order.getEmail(), order.getStatus(),
+                order.getOrderDate(), order.getSubtotal(), order.getDiscount(), order.getTotal(), items);
+    }
+
+    /**
+     * @return the same view of the order as the hot tables give, with the
+     *         same fallbacks for orders stored without totals
+     */
+    public OrderResponse toResponse() {
+        List<OrderItemResponse> itemResponses = new ArrayList<>(items.size());
+        Money itemsTotal = Money.ZERO;
+        for (Item item : items) {
+            itemResponses.add(new OrderItemResponse(item.productName(), item.quantity(),
+                    item.totalPrice().toBigDecimal()));
+            itemsTotal = itemsTotal.plus(item.totalPrice());
+        }
+        Money effectiveSubtotal = subtotal != null ? subtotal : itemsTotal;
+        return new OrderResponse(orderId, customerName, email, status, orderDate,
+                effectiveSubtotal.toBigDecimal(),
+                discount != null ? discount.toBigDecimal() : BigDecimal.ZERO,
+                (total != null ? total : effectiveSubtotal).toBigDecimal(),
+                itemResponses);
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeUTF(orderId);
+        writeNullable(out, customerName);
+        writeNullable(out, email);
+        out.writeShort(status != null ? status.getCode() : -1);
+        out.writeLong(orderDate != null ? orderDate.toEpochDay() : Long.MIN_VALUE);
+        writeAmount(out, subtotal);
+        writeAmount(out, discount);
+        writeAmount(out, total);
+        out.writeInt(items.size());
+        for (Item item : items) {
+            out.writeInt(item.productId() != null ? item.productId() : -1);
+            writeNullable(out, item.productName());
+            out.writeInt(item.quantity());
+            writeAmount(out, item.totalPrice());
+        }
+    }
+
+    static ArchivedOrder readFrom(DataInputStream in) throws IOException {
+        String orderId = in.readUTF();
+        String customerName = readNullable(in);
+        String email = readNullable(in);
+        short status = in.readShort();
+        long epochDay = in.readLong();
+        Money subtotal = readAmount(in);
+        Money discount = readAmount(in);
+        Money total = readAmount(in);
+        int count = in.readInt();
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int productId = in.readInt();
+            items.add(new Item(productId >= 0 ? productId : null, readNullable(in), in.readInt(), readAmount(in)));
+        }
+        return new ArchivedOrder(orderId, customerName, email,
+                status >= 0 ? OrderStatus.fromCode(status) : null,
+                epochDay != Long.MIN_VALUE ? LocalDate.ofEpochDay(epochDay) : null,
+                subtotal, discount, total, items);
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeAmount(DataOutputStream out, Money amount) throws IOException {
+        out.writeLong(amount != null ? amount.minorUnits() : NO_AMOUNT);
+    }
+
+    private static Money readAmount(DataInputStream in) throws IOException {
+        long minor = in.readLong();
+        return minor != NO_AMOUNT ? Money.ofMinor(minor) : null;
+    }
+}
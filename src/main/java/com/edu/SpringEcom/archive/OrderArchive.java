@@ -0,0 +1,266 @@
+package com.edu.SpringEcom.archive;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Read-only cold storage for old orders.
+ *
+ * <p>
+ * Orders moved out of the database by {@link OrderArchiver} live in
+ * compressed {@link OrderSegment} files under {@code orders.archive.dir}, one
+ * or more per month of order date ({@code orders-2025-03-<millis>.seg}).
+ * Segments are never modified after they are written. Lookups are meant as a
+ * fallback after the database has no row for an order: each segment holds
+ * only a small index in memory and decompresses one block per lookup.
+ * </p>
+ *
+ * <p>
+ * New segment files from other nodes sharing the directory are picked up on
+ * a lookup miss, at most once every {@value #RESCAN_INTERVAL_MS} ms. An order
+ * can appear in a segment while its database rows still exist (a crash
+ * between writing the segment and deleting the rows); callers let the
+ * database row win. Leaving {@code orders.archive.dir} empty (the default)
+ * turns the archive off.
+ * </p>
+ *
+ * <p>
+ * Segments are only written to an absolute directory that already exists,
+ * never created here: archived orders leave the database, so they must land
+ * on storage every node reads (a shared mount), not on a directory a node
+ * quietly made on its own disk.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see OrderArchiver
+ */
+@Component
+public class OrderArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchive.class);
+
+    private static final long RESCAN_INTERVAL_MS = 10_000;
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    @Value("${orders.archive.dir:}")
+    private String dir;
+
+    @Value("${orders.archive.block-orders:512}")
+    private int blockOrders;
+
+    /** Open segments by file; replaced wholesale, never mutated. */
+    private volatile Map<Path, OrderSegment> segments = Map.of();
+    private volatile long lastScan;
+
+    @PostConstruct
+    void open() {
+        if (isEnabled()) {
+            rescan();
+            log.info("Order archive at {}: {} segments", Path.of(dir).toAbsolutePath(), segments.size());
+            if (!isWritable()) {
+                log.warn("Order archive {} is not an existing absolute directory; orders will not be archived", dir);
+            }
+        }
+    }
+
+    /** @return whether an archive directory is configured */
+    public boolean isEnabled() {
+        return !dir.isBlank();
+    }
+
+    /**
+     * @return whether orders may be moved into the archive: the directory is
+     *         configured as an absolute path and exists
+     */
+    public boolean isWritable() {
+        if (!isEnabled()) {
+            return false;
+        }
+        Path directory = Path.of(dir);
+        return directory.isAbsolute() && Files.isDirectory(directory);
+    }
+
+    /**
+     * Looks up an archived order.
+     *
+     * @param orderId the customer-facing order ID
+     * @return the order, or empty if it was never archived
+     * @throws UncheckedIOException if a segment can't be read
+     */
+    public Optional<ArchivedOrder> find(String orderId) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        Optional<ArchivedOrder> found = findIn(segments.values(), orderId);
+        if (found.isEmpty() && System.currentTimeMillis() - lastScan > RESCAN_INTERVAL_MS) {
+            Collection<OrderSegment> known = segments.values();
+            rescan();
+            List<OrderSegment> added = new ArrayList<>(segments.values());
+            added.removeAll(known);
+            found = findIn(added, orderId);
+        }
+        return found;
+    }
+
+    /**
+     * Passes every archived order to {@code action}, each once even if it was
+     * archived twice.
+     *
+     * @param from   first order date, inclusive, or {@code null} for all
+     * @param to     last order date, inclusive, or {@code null} for all
+     * @param action receives the orders, oldest segment first
+     * @throws UncheckedIOException if a segment can't be read
+     */
+    public void forEach(LocalDate from, LocalDate to, Consumer<ArchivedOrder> action) {
+        if (!isEnabled()) {
+            return;
+        }
+        Set<String> seen = new HashSet<>();
+        try {
+            for (OrderSegment segment : sorted(segments.values())) {
+                segment.forEach(from, to, order -> {
+                    if (seen.add(order.orderId())) {
+                        action.accept(order);
+                    }
+                });
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** @return number of archived orders, counting any archived twice each time */
+    public long size() {
+        long orders = 0;
+        for (OrderSegment segment : segments.values()) {
+            orders += segment.size();
+        }
+        return orders;
+    }
+
+    /**
+     * Writes orders to new segments, one per month of order date, and makes
+     * them visible to lookups.
+     *
+     * @param orders the orders to archive
+     * @return the files written, to pass to {@link #discard(Collection)} if
+     *         the orders end up staying in the database
+     * @throws IOException if a segment can't be written; segments already
+     *                     written for other months are removed again
+     */
+    List<Path> write(List<ArchivedOrder> orders) throws IOException {
+        Map<YearMonth, List<ArchivedOrder>> byMonth = new TreeMap<>();
+        for (ArchivedOrder order : orders) {
+            YearMonth month = order.orderDate() != null ? YearMonth.from(order.orderDate()) : YearMonth.of(1970, 1);
+            byMonth.computeIfAbsent(month, m -> new ArrayList<>()).add(order);
+        }
+        if (!isWritable()) {
+            throw new IOException("Order archive " + dir + " is not an existing absolute directory");
+        }
+        Path directory = Path.of(dir);
+        long stamp = System.currentTimeMillis();
+        List<OrderSegment> written = new ArrayList<>();
+        try {
+            for (Map.Entry<YearMonth, List<ArchivedOrder>> month : byMonth.entrySet()) {
+                List<ArchivedOrder> monthOrders = month.getValue();
+                monthOrders.sort(Comparator.comparing(ArchivedOrder::orderId));
+                Path target = directory.resolve("orders-" + month.getKey() + "-" + stamp + SEGMENT_SUFFIX);
+                written.add(OrderSegment.write(target, monthOrders, blockOrders));
+            }
+        } catch (IOException e) {
+            for (OrderSegment segment : written) {
+                Files.deleteIfExists(segment.path());
+            }
+            throw e;
+        }
+        synchronized (this) {
+            Map<Path, OrderSegment> updated = new HashMap<>(segments);
+            List<Path> paths = new ArrayList<>();
+            for (OrderSegment segment : written) {
+                updated.put(segment.path(), segment);
+                paths.add(segment.path());
+            }
+            segments = Map.copyOf(updated);
+            return paths;
+        }
+    }
+
+    /**
+     * Removes segments whose orders were not deleted from the database after
+     * all, e.g. because the transaction rolled back.
+     *
+     * @param paths files returned by {@link #write(List)}
+     */
+    synchronized void discard(Collection<Path> paths) {
+        Map<Path, OrderSegment> updated = new HashMap<>(segments);
+        for (Path path : paths) {
+            updated.remove(path);
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Could not delete order segment {}; its orders are also in the database: {}",
+                        path, e.getMessage());
+            }
+        }
+        segments = Map.copyOf(updated);
+    }
+
+    private synchronized void rescan() {
+        lastScan = System.currentTimeMillis();
+        Path directory = Path.of(dir).toAbsolutePath();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        Map<Path, OrderSegment> updated = new HashMap<>(segments);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                if (!updated.containsKey(file)) {
+                    try {
+                        updated.put(file, OrderSegment.open(file));
+                    } catch (IOException e) {
+                        log.warn("Skipping unreadable order segment {}: {}", file, e.getMessage());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not list order archive {}: {}", directory, e.getMessage());
+            return;
+        }
+        segments = Map.copyOf(updated);
+    }
+
+    private static Optional<ArchivedOrder> findIn(Collection<OrderSegment> candidates, String orderId) {
+        try {
+            for (OrderSegment segment : candidates) {
+                ArchivedOrder order = segment.find(orderId);
+                if (order != null) {
+                    return Optional.of(order);
+                }
+            }
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<OrderSegment> sorted(Collection<OrderSegment> unsorted) {
+        List<OrderSegment> list = new ArrayList<>(unsorted);
+        list.sort(Comparator.comparing(segment -> segment.path().getFileName().toString()));
+        return list;
+    }
+}
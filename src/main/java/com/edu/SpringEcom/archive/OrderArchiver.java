@@ -0,0 +1,142 @@
+package com.edu.SpringEcom.archive;
+
+import com.edu.SpringEcom.model.Order;
+import com.edu.SpringEcom.model.dto.OrderItemLine;
+import com.edu.SpringEcom.repo.OrderRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Background job moving old orders from the database into the
+ * {@link OrderArchive}.
+ *
+ * <p>
+ * Every {@code orders.archive.interval-ms} it takes orders placed more than
+ * {@code orders.archive.after-days} days ago, {@code orders.archive.batch-size}
+ * at a time. Each batch is one transaction: lock the rows, write and sync the
+ * segment files, delete the rows, commit. If the transaction rolls back the
+ * segment files are deleted again; if the node dies before committing, the
+ * orders are both archived and in the database until the next run archives
+ * them once more, and readers prefer the database copy meanwhile.
+ * </p>
+ *
+ * <p>
+ * Archived orders are read-only: status updates no longer find them. Rows
+ * locked by another node's archiver are skipped, so several nodes may run the
+ * job against a shared archive directory.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+@Component
+public class OrderArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiver.class);
+
+    @Autowired
+    private OrderRepo orderRepo;
+
+    @Autowired
+    private OrderArchive orderArchive;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${orders.archive.after-days:365}")
+    private int afterDays;
+
+    @Value("${orders.archive.batch-size:5000}")
+    private int batchSize;
+
+    /**
+     * Archives every order older than {@code orders.archive.after-days}.
+     * Does nothing unless the archive directory is
+     * {@link OrderArchive#isWritable() writable}.
+     *
+     * @return number of orders archived
+     */
+    public int archiveOldOrders() {
+        if (!orderArchive.isWritable()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        LocalDate cutoff = LocalDate.now().minusDays(afterDays);
+        int archived = 0;
+        int batch;
+        do {
+            batch = archiveBatch(cutoff);
+            archived += batch;
+        } while (batch == batchSize);
+        if (archived > 0) {
+            log.info("Archived {} orders placed before {} in {} ms", archived, cutoff,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+        return archived;
+    }
+
+    /**
+     * Runs {@link #archiveOldOrders()} every {@code orders.archive.interval-ms}.
+     */
+    @Scheduled(fixedDelayString = "${orders.archive.interval-ms:3600000}",
+            initialDelayString = "${orders.archive.interval-ms:3600000}")
+    void archive() {
+        archiveOldOrders();
+    }
+
+    private int archiveBatch(LocalDate cutoff) {
+        Integer archived = new TransactionTemplate(transactionManager).execute(status -> {
+            List<Order> orders = orderRepo.lockOrdersPlacedBefore(cutoff, PageRequest.of(0, batchSize));
+            if (orders.isEmpty()) {
+                return 0;
+            }
+            List<Long> ids = new ArrayList<>(orders.size());
+            for (Order order : orders) {
+                ids.add(order.getId());
+            }
+            Map<Long, List<OrderItemLine>> items = new HashMap<>();
+            for (OrderItemLine line : orderRepo.findItemLines(ids)) {
+                items.computeIfAbsent(line.orderId(), id -> new ArrayList<>()).add(line);
+            }
+            List<ArchivedOrder> archive = new ArrayList<>(orders.size());
+            for (Order order : orders) {
+                archive.add(ArchivedOrder.of(order, items.getOrDefault(order.getId(), List.of())));
+            }
+
+            List<Path> written;
+            try {
+                written = orderArchive.write(archive);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write order archive", e);
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int outcome) {
+                    if (outcome != STATUS_COMMITTED) {
+                        orderArchive.discard(written);
+                    }
+                }
+            });
+            orderRepo.deleteItemsOfOrders(ids);
+            orderRepo.deleteOrders(ids);
+            return orders.size();
+        });
+        return archived != null ? archived : 0;
+    }
+}
@@ -0,0 +1,262 @@
+package com.edu.SpringEcom.archive;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * One immutable archive file of orders sorted by order ID.
+ *
+ * <p>
+ * Layout:
+ * <pre>
+ * MAGIC VERSION
+ * block 0 ... block n-1        (deflate-compressed, up to blockOrders orders each)
+ * index: n, then per block     (first/last order ID, min/max order date,
+ *                               offset, compressed length, order count)
+ * index offset, MAGIC
+ * </pre>
+ * Only the index, one entry per block, is kept in memory. Finding an order
+ * binary-searches the index by ID and decompresses one block; listing by
+ * date skips blocks whose date range doesn't overlap.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see OrderArchive
+ */
+final class OrderSegment {
+
+    private static final int MAGIC = 0x4F415243; // "OARC"
+    private static final int VERSION = 1;
+
+    private final Path path;
+    private final Block[] blocks;
+    private final long minDay;
+    private final long maxDay;
+
+    private OrderSegment(Path path, Block[] blocks) {
+        this.path = path;
+        this.blocks = blocks;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (Block block : blocks) {
+            min = Math.min(min, block.minDay());
+            max = Math.max(max, block.maxDay());
+        }
+        this.minDay = min;
+        this.maxDay = max;
+    }
+
+    /**
+     * Writes orders to a new segment file. The file appears under its final
+     * name only once complete and synced to disk.
+     *
+     * @param target      the file to create
+     * @param orders      orders sorted by order ID
+     * @param blockOrders orders per compressed block
+     * @return the opened segment
+     * @throws IOException if the file can't be written
+     */
+    static OrderSegment write(Path target, List<ArchivedOrder> orders, int blockOrders) throws IOException {
+        Path tmp = Files.createTempFile(target.getParent(), "orders", ".tmp");
+        try {
+            int blockCount = (orders.size() + blockOrders - 1) / blockOrders;
+            Block[] blocks = new Block[blockCount];
+            try (FileOutputStream file = new FileOutputStream(tmp.toFile());
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                long offset = 8;
+                for (int b = 0; b < blockCount; b++) {
+                    List<ArchivedOrder> slice = orders.subList(b * blockOrders,
+                            Math.min((b + 1) * blockOrders, orders.size()));
+                    byte[] compressed = compress(slice);
+                    out.write(compressed);
+                    long min = Long.MAX_VALUE;
+                    long max = Long.MIN_VALUE;
+                    for (ArchivedOrder order : slice) {
+                        long day = order.orderDate() != null ? order.orderDate().toEpochDay() : 0;
+                        min = Math.min(min, day);
+                        max = Math.max(max, day);
+                    }
+                    blocks[b] = new Block(slice.getFirst().orderId(), slice.getLast().orderId(), min, max,
+                            offset, compressed.length, slice.size());
+                    offset += compressed.length;
+                }
+                out.writeInt(blocks.length);
+                for (Block block : blocks) {
+                    out.writeUTF(block.firstOrderId());
+                    out.writeUTF(block.lastOrderId());
+                    out.writeLong(block.minDay());
+                    out.writeLong(block.maxDay());
+                    out.writeLong(block.offset());
+                    out.writeInt(block.length());
+                    out.writeInt(block.orders());
+                }
+                out.writeLong(offset);
+                out.writeInt(MAGIC);
+                out.flush();
+                file.getFD().sync();
+            }
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            return new OrderSegment(target, blocks);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Opens a segment, reading only its index.
+     *
+     * @param path the segment file
+     * @return the segment
+     * @throws IOException if the file is unreadable or not a complete segment
+     */
+    static OrderSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer tail = read(channel, size - 12, 12);
+            long indexOffset = tail.getLong();
+            if (tail.getInt() != MAGIC || size < 20) {
+                throw new IOException("Not a complete order segment: " + path);
+            }
+            ByteBuffer header = read(channel, 0, 8);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Unsupported order segment: " + path);
+            }
+            ByteBuffer index = read(channel, indexOffset, (int) (size - 12 - indexOffset));
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(index.array()));
+            Block[] blocks = new Block[in.readInt()];
+            for (int i = 0; i < blocks.length; i++) {
+                blocks[i] = new Block(in.readUTF(), in.readUTF(), in.readLong(), in.readLong(),
+                        in.readLong(), in.readInt(), in.readInt());
+            }
+            return new OrderSegment(path, blocks);
+        }
+    }
+
+    /**
+     * @param orderId the order to look up
+     * @return the order, or {@code null} if it isn't in this segment
+     * @throws IOException if its block can't be read
+     */
+    ArchivedOrder find(String orderId) throws IOException {
+        int low = 0;
+        int high = blocks.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Block block = blocks[mid];
+            if (orderId.compareTo(block.firstOrderId()) < 0) {
+                high = mid - 1;
+            } else if (orderId.compareTo(block.lastOrderId()) > 0) {
+                low = mid + 1;
+            } else {
+                ArchivedOrder[] found = {null};
+                readBlock(block, order -> {
+                    if (order.orderId().equals(orderId)) {
+                        found[0] = order;
+                    }
+                });
+                return found[0];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Passes every order dated within a range to {@code action}, reading only
+     * blocks that can contain such orders.
+     *
+     * @param from   first date, inclusive, or {@code null} for no lower bound
+     * @param to     last date, inclusive, or {@code null} for no upper bound
+     * @param action receives matching orders in order ID order
+     * @throws IOException if a block can't be read
+     */
+    void forEach(LocalDate from, LocalDate to, Consumer<ArchivedOrder> action) throws IOException {
+        long fromDay = from != null ? from.toEpochDay() : Long.MIN_VALUE;
+        long toDay = to != null ? to.toEpochDay() : Long.MAX_VALUE;
+        if (maxDay < fromDay || minDay > toDay) {
+            return;
+        }
+        for (Block block : blocks) {
+            if (block.maxDay() >= fromDay && block.minDay() <= toDay) {
+                readBlock(block, order -> {
+                    long day = order.orderDate() != null ? order.orderDate().toEpochDay() : 0;
+                    if (day >= fromDay && day <= toDay) {
+                        action.accept(order);
+                    }
+                });
+            }
+        }
+    }
+
+    /** @return the segment file */
+    Path path() {
+        return path;
+    }
+
+    /** @return orders in this segment */
+    long size() {
+        long orders = 0;
+        for (Block block : blocks) {
+            orders += block.orders();
+        }
+        return orders;
+    }
+
+    private void readBlock(Block block, Consumer<ArchivedOrder> action) throws IOException {
+        ByteBuffer compressed;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            compressed = read(channel, block.offset(), block.length());
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new InflaterInputStream(new ByteArrayInputStream(compressed.array()))))) {
+            for (int i = 0; i < block.orders(); i++) {
+                action.accept(ArchivedOrder.readFrom(in));
+            }
+        }
+    }
+
+    private static byte[] compress(List<ArchivedOrder> orders) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            for (ArchivedOrder order : orders) {
+                order.writeTo(out);
+            }
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        if (position < 0 || length < 0) {
+            throw new IOException("Corrupt order segment");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Truncated order segment");
+            }
+        }
+        return buffer.flip();
+    }
+
+    /** Sparse index entry: where one compressed block is and what it covers. */
+    private record Block(String firstOrderId, String lastOrderId, long minDay, long maxDay,
+                         long offset, int length, int orders) {
+    }
+}
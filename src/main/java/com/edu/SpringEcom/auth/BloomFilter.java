@@ -0,0 +1,131 @@
+package com.edu.SpringEcom.auth;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over 64-bit key hashes.
+ *
+ * <p>
+ * Keys are hashed once by the caller ({@link #hash(String)}); the
+ * {@code k} bit positions are derived from the two 32-bit halves of that hash
+ * as {@code h1 + i * h2} (Kirsch and Mitzenmacher), which is as good as
+ * {@code k} independent hashes for this purpose. Carrying only the 64-bit
+ * hash means a key can be added on another node without sending the key
+ * itself.
+ * </p>
+ *
+ * <p>
+ * Bits live in an {@link AtomicLongArray} and are set with CAS, so adds and
+ * lookups may run concurrently without locking. Keys can't be removed, and
+ * the false-positive rate climbs once more keys are added than the filter
+ * was sized for; the owner rebuilds it instead.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see RegisteredEmails
+ */
+final class BloomFilter {
+
+    private static final int MAX_HASHES = 16;
+    /** 2^31 bits (256 MB), so a 32-bit hash times the bit count fits in a long. */
+    private static final int MAX_WORDS = 1 << 25;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashes;
+    private final AtomicLong bitsSet = new AtomicLong();
+
+    /**
+     * Sizes a filter for {@code expectedKeys} at {@code falsePositiveRate},
+     * using at most {@code maxBytes}; when capped, the rate at
+     * {@code expectedKeys} is higher than asked for.
+     *
+     * @param expectedKeys      keys the filter should hold
+     * @param falsePositiveRate wanted rate of false positives, e.g. 0.01
+     * @param maxBytes          memory budget for the bits
+     */
+    BloomFilter(long expectedKeys, double falsePositiveRate, long maxBytes) {
+        long keys = Math.max(expectedKeys, 1);
+        double ln2 = Math.log(2);
+        long wanted = (long) Math.ceil(-keys * Math.log(falsePositiveRate) / (ln2 * ln2));
+        long bits = Math.max(64, Math.min(wanted, Math.max(maxBytes, 8) * 8));
+        int wordCount = (int) Math.min((bits + 63) / 64, MAX_WORDS);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * 64L;
+        this.hashes = (int) Math.max(1, Math.min(MAX_HASHES, Math.round((double) bitCount / keys * ln2)));
+    }
+
+    /**
+     * @param key a key
+     * @return its 64-bit hash, stable across JVMs
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L; // FNV-1a over the chars, then a murmur3 finalizer to spread the bits
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * @param hash a key's {@link #hash(String)}
+     */
+    void put(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0) {
+                long witness = words.compareAndExchange(word, current, current | mask);
+                if (witness == current) {
+                    bitsSet.incrementAndGet();
+                    break;
+                }
+                current = witness;
+            }
+        }
+    }
+
+    /**
+     * @param hash a key's {@link #hash(String)}
+     * @return {@code false} if the key was definitely never added
+     */
+    boolean mightContain(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            long bit = index(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Maps a 32-bit hash onto {@code [0, bitCount)} without a division. */
+    private long index(int hash) {
+        return Integer.toUnsignedLong(hash) * bitCount >>> 32;
+    }
+
+    /** @return the chance that a key never added is reported present, given the bits set so far */
+    double expectedFalsePositiveRate() {
+        return Math.pow((double) bitsSet.get() / bitCount, hashes);
+    }
+
+    /** @return memory used by the bits */
+    long byteSize() {
+        return bitCount / 8;
+    }
+}
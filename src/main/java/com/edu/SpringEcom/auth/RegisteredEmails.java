@@ -0,0 +1,202 @@
+package com.edu.SpringEcom.auth;
+
+import com.edu.SpringEcom.cache.EntityChange;
+import com.edu.SpringEcom.cache.InvalidationBus;
+import com.edu.SpringEcom.repo.UserRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.util.stream.Stream;
+
+/**
+ * In-memory answer to "is this email registered?" that can only say "no" or
+ * "maybe".
+ *
+ * <p>
+ * A {@link BloomFilter} of every registered email is built at startup and
+ * rebuilt every {@code users.email-filter.rebuild-ms}, sized for twice the
+ * current user count at {@code users.email-filter.false-positive-rate} but
+ * never over {@code users.email-filter.max-memory}. New registrations are
+ * added as they commit, on other nodes through the {@link InvalidationBus}
+ * as an {@link EntityChange#USER} change carrying the email's hash, not the
+ * email. A lost bus message is the one way a registered email could be
+ * reported absent, so a bus reconnect rebuilds the filter.
+ * </p>
+ *
+ * <p>
+ * Until the first build finishes, or with {@code users.email-filter.enabled}
+ * off, every email is "maybe". Metrics: {@code users.email.filter} counts
+ * lookups by {@code result} ({@code absent}, {@code present},
+ * {@code false_positive}); false_positive / present is the observed rate, to
+ * compare with the {@code users.email.filter.expected.fpp} gauge.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see BloomFilter
+ */
+@Component
+public class RegisteredEmails {
+
+    private static final Logger log = LoggerFactory.getLogger(RegisteredEmails.class);
+
+    /** Smallest filter built, so a new installation doesn't rebuild for its first users. */
+    private static final long MIN_EXPECTED_USERS = 10_000;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${users.email-filter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${users.email-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${users.email-filter.max-memory:8MB}")
+    private DataSize maxMemory;
+
+    /** Serving filter; {@code null} until first built. */
+    private volatile BloomFilter filter;
+    /** Filter being rebuilt, which must see adds made while it is filled. */
+    private volatile BloomFilter building;
+
+    private Counter absent;
+    private Counter present;
+    private Counter falsePositives;
+
+    @PostConstruct
+    void init() {
+        absent = Counter.builder("users.email.filter").tag("result", "absent").register(meterRegistry);
+        present = Counter.builder("users.email.filter").tag("result", "present").register(meterRegistry);
+        falsePositives = Counter.builder("users.email.filter").tag("result", "false_positive")
+                .register(meterRegistry);
+        Gauge.builder("users.email.filter.expected.fpp", this,
+                emails -> emails.filter != null ? emails.filter.expectedFalsePositiveRate() : 0)
+                .register(meterRegistry);
+        Gauge.builder("users.email.filter.bytes", this,
+                emails -> emails.filter != null ? emails.filter.byteSize() : 0)
+                .register(meterRegistry);
+        invalidationBus.subscribe(change -> {
+            if (!EntityChange.USER.equals(change.entity())) {
+                return;
+            }
+            if (EntityChange.ALL.equals(change.id())) {
+                rebuild();
+            } else {
+                put(Long.parseUnsignedLong(change.id(), 16));
+            }
+        });
+    }
+
+    /**
+     * @param email an email as typed
+     * @return {@code false} if no user is registered with exactly this email
+     */
+    public boolean mightBeRegistered(String email) {
+        BloomFilter current = filter;
+        if (current == null) {
+            return true;
+        }
+        if (current.mightContain(BloomFilter.hash(email))) {
+            present.increment();
+            return true;
+        }
+        absent.increment();
+        return false;
+    }
+
+    /**
+     * Records that an email {@link #mightBeRegistered(String)} reported as
+     * present turned out not to be.
+     */
+    public void recordFalsePositive() {
+        if (filter != null) {
+            falsePositives.increment();
+        }
+    }
+
+    /**
+     * Adds a newly registered email here and on every other node. Call after
+     * the user is committed.
+     *
+     * @param email the registered email
+     */
+    public void add(String email) {
+        long hash = BloomFilter.hash(email);
+        put(hash); // at once, so the user can log in here before the bus delivers
+        invalidationBus.publish(EntityChange.USER, Long.toHexString(hash));
+    }
+
+    /**
+     * Rebuilds the filter from the database, sized for the current user count.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    @Scheduled(fixedDelayString = "${users.email-filter.rebuild-ms:21600000}",
+            initialDelayString = "${users.email-filter.rebuild-ms:21600000}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        long users = userRepo.count();
+        BloomFilter fresh = new BloomFilter(Math.max(users * 2, MIN_EXPECTED_USERS), falsePositiveRate,
+                maxMemory.toBytes());
+        // Published before reading, so a registration committed after the read started is still added
+        building = fresh;
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                try (Stream<String> emails = userRepo.streamAllEmails()) {
+                    emails.forEach(email -> fresh.put(BloomFilter.hash(email)));
+                }
+            });
+            filter = fresh;
+        } catch (RuntimeException e) {
+            log.warn("Could not build the registered email filter: {}", e.getMessage());
+            return;
+        } finally {
+            building = null;
+        }
+        double expected = fresh.expectedFalsePositiveRate();
+        if (expected > falsePositiveRate) {
+            log.warn("Registered email filter is capped at {}; false-positive rate is {} instead of {}",
+                    maxMemory, expected, falsePositiveRate);
+        }
+        log.info("Registered email filter built with {} users in {} KB in {} ms", users,
+                fresh.byteSize() / 1024, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void put(long hash) {
+        // building before filter: rebuild() publishes filter before clearing building, so one of them is the new one
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(hash);
+        }
+        BloomFilter current = filter;
+        if (current != null && current != next) {
+            current.put(hash);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.edu.SpringEcom.auth;
+
+import java.time.Instant;
+
+/**
+ * A freshly issued session token.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see SessionTokenService#issue(SessionUser)
+ */
+public record SessionToken(String value, Instant expiresAt) {
+}
@@ -0,0 +1,66 @@
+package com.edu.SpringEcom.auth;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Authenticates requests that carry {@code Authorization: Bearer <token>}.
+ *
+ * <p>
+ * A valid token is turned into a {@link SessionUser} stored as the
+ * {@value #ATTRIBUTE} request attribute, which controllers read with
+ * {@code @RequestAttribute}. An invalid or expired token is rejected with 401.
+ * Requests without a token pass through anonymously. No database access is
+ * involved, and the filter runs ahead of rate limiting so limits can be keyed
+ * per user.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see SessionTokenService
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+public class SessionTokenFilter extends OncePerRequestFilter {
+
+    /** Request attribute holding the authenticated {@link SessionUser}. */
+    public static final String ATTRIBUTE = "sessionUser";
+
+    private static final String BEARER = "Bearer ";
+
+    @Autowired
+    private SessionTokenService tokenService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Optional<SessionUser> user = tokenService.verify(header.substring(BEARER.length()).trim());
+        if (user.isEmpty()) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+            response.setContentType("text/plain");
+            response.getWriter().write("Invalid or expired session token");
+            return;
+        }
+        request.setAttribute(ATTRIBUTE, user.get());
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,130 @@
+package com.edu.SpringEcom.auth;
+
+import com.edu.SpringEcom.model.Role;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and verifies stateless, HMAC-signed session tokens.
+ *
+ * <p>
+ * A token is {@code <userId>.<role>.<expiresEpochSeconds>.<signature>}, where
+ * the signature is base64url HMAC-SHA256 of everything before it under
+ * {@code auth.token.secret}. Verifying one needs no database or server-side
+ * session, so any node holding the secret can authenticate a request with a
+ * single MAC computation. Tokens can't be revoked before they expire; keep
+ * {@code auth.token.ttl-minutes} short enough for that to be acceptable.
+ * </p>
+ *
+ * <p>
+ * If no secret is configured a random one is generated at startup. Tokens then
+ * stop working after a restart and aren't accepted by other nodes.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see SessionTokenFilter
+ */
+@Service
+public class SessionTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionTokenService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    @Value("${auth.token.secret:}")
+    private String secret;
+
+    @Value("${auth.token.ttl-minutes:720}")
+    private long ttlMinutes;
+
+    private SecretKeySpec key;
+
+    /** Mac instances aren't thread-safe and are costly to create, so keep one per thread. */
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    @PostConstruct
+    void init() {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            log.warn("auth.token.secret is not set; using a random key, so sessions won't survive a restart "
+                    + "or work across nodes");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        key = new SecretKeySpec(keyBytes, ALGORITHM);
+        newMac(); // fail fast if the algorithm is missing
+    }
+
+    /**
+     * @param user who the token is for
+     * @return the signed token and its expiry
+     */
+    public SessionToken issue(SessionUser user) {
+        Instant expiresAt = Instant.now().plus(Duration.ofMinutes(ttlMinutes));
+        String payload = user.userId() + "." + user.role().name() + "." + expiresAt.getEpochSecond();
+        return new SessionToken(payload + "." + sign(payload), expiresAt);
+    }
+
+    /**
+     * @param token a token from an {@code Authorization} header
+     * @return the user it was issued to, or empty if it is malformed,
+     *         tampered with or expired
+     */
+    public Optional<SessionUser> verify(String token) {
+        int sep = token.lastIndexOf('.');
+        if (sep <= 0) {
+            return Optional.empty();
+        }
+        String payload = token.substring(0, sep);
+        byte[] expected = sign(payload).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = token.substring(sep + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return Optional.empty();
+        }
+        String[] parts = payload.split("\\.");
+        if (parts.length != 3) {
+            return Optional.empty();
+        }
+        try {
+            if (Long.parseLong(parts[2]) <= Instant.now().getEpochSecond()) {
+                return Optional.empty();
+            }
+            return Optional.of(new SessionUser(Long.parseLong(parts[0]), Role.valueOf(parts[1])));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private String sign(String payload) {
+        byte[] mac = macs.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(mac);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + ALGORITHM, e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.edu.SpringEcom.auth;
+
+import com.edu.SpringEcom.model.Role;
+
+/**
+ * The caller identified by a verified session token.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see SessionTokenFilter
+ */
+public record SessionUser(
+        /** ID of the signed-in user. */
+        Long userId,
+
+        /** Role granted when the token was issued. */
+        Role role) {
+
+    /**
+     * Decides which user a request acts for.
+     *
+     * <p>
+     * With a session, customers always act as themselves and asking for
+     * another user is refused; admins may act for anyone. Without one the
+     * request acts for nobody, and naming a user is refused unless
+     * {@code anonymousUserIds} is set ({@code auth.anonymous-user-ids}, for
+     * clients that predate sessions), in which case the sent ID is trusted.
+     * </p>
+     *
+     * @param session          the caller, or {@code null} if the request carried no token
+     * @param requested        user ID from the path or body; may be {@code null}
+     * @param anonymousUserIds whether requests without a session may name a user
+     * @return the user ID to act for, or {@code null} for an anonymous request
+     *         naming nobody
+     * @throws RuntimeException if the caller may not act for {@code requested}
+     */
+    public static Long actingUserId(SessionUser session, Long requested, boolean anonymousUserIds) {
+        if (session == null) {
+            if (requested != null && !anonymousUserIds) {
+                throw new RuntimeException("Sign in to act for a user");
+            }
+            return requested;
+        }
+        if (requested == null || session.role() != Role.ADMIN) {
+            if (requested != null && !requested.equals(session.userId())) {
+                throw new RuntimeException("Not allowed to act for another user");
+            }
+            return session.userId();
+        }
+        return requested;
+    }
+}
@@ -0,0 +1,187 @@
+package com.edu.SpringEcom.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Shared plumbing for {@link InvalidationBus} implementations: node identity,
+ * the hybrid logical clock behind change versions, transactional publishing
+ * and local fan-out.
+ *
+ * <p>
+ * Versions are {@code wall-clock millis << 16} advanced past every version
+ * seen from other nodes, so they increase on every node and a change always
+ * carries a larger version than anything its writer had observed before it.
+ * </p>
+ *
+ * <p>
+ * Changes published inside a transaction are collected and handed to
+ * {@link #enlist(List)} just before it commits, so an implementation can send
+ * them on the transaction's own connection and have them delivered exactly
+ * when (and only if) it commits. Local subscribers are told after the commit.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public abstract class AbstractInvalidationBus implements InvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(AbstractInvalidationBus.class);
+
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong clock = new AtomicLong();
+    private final List<Consumer<EntityChange>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(String entity, Object id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive() && pending().add(entity, String.valueOf(id))) {
+            return;
+        }
+        EntityChange change = change(entity, String.valueOf(id));
+        deliver(change);
+        broadcast(change);
+    }
+
+    @Override
+    public void subscribe(Consumer<EntityChange> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public long currentVersion() {
+        return tick(0);
+    }
+
+    /** @return the changes collected for the current transaction, registered on first use */
+    private Pending pending() {
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    private EntityChange change(String entity, String id) {
+        return new EntityChange(entity, id, tick(0), nodeId);
+    }
+
+    /**
+     * Hands a change received from another node to local subscribers.
+     *
+     * @param change the remote change
+     */
+    protected void receive(EntityChange change) {
+        if (nodeId.equals(change.origin())) {
+            return; // already delivered locally when it was sent
+        }
+        tick(change.version());
+        deliver(change);
+    }
+
+    /**
+     * Sends a change to the other nodes outside any transaction.
+     *
+     * @param change a change already delivered locally
+     */
+    protected abstract void broadcast(EntityChange change);
+
+    /**
+     * Sends the changes made by the current transaction to the other nodes
+     * as part of that transaction. Called just before it commits, on the
+     * committing thread.
+     *
+     * @param changes the transaction's changes, in publish order
+     * @return {@code false} if they could not be sent; every node is then
+     *         told after the commit to drop all cached entities of the
+     *         affected types, since it can't be known which messages were lost
+     */
+    protected abstract boolean enlist(List<EntityChange> changes);
+
+    private void deliver(EntityChange change) {
+        for (Consumer<EntityChange> listener : listeners) {
+            try {
+                listener.accept(change);
+            } catch (RuntimeException e) {
+                log.warn("Invalidation listener failed for {}: {}", change, e.getMessage());
+            }
+        }
+    }
+
+    private long tick(long observed) {
+        return clock.updateAndGet(c -> Math.max(Math.max(c + 1, observed), System.currentTimeMillis() << 16));
+    }
+
+    /**
+     * Changes published during one transaction. Bound as a transaction
+     * resource so every publish in the transaction adds to the same list.
+     */
+    private final class Pending implements TransactionSynchronization {
+
+        private final Set<List<String>> keys = new LinkedHashSet<>();
+        private List<EntityChange> changes;
+        private boolean enlisted;
+
+        /** @return {@code false} if the transaction is already committing and the change must be sent on its own */
+        boolean add(String entity, String id) {
+            if (changes != null) {
+                return false;
+            }
+            keys.add(List.of(entity, id));
+            return true;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(AbstractInvalidationBus.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(AbstractInvalidationBus.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            changes = new ArrayList<>(keys.size());
+            for (List<String> key : keys) {
+                changes.add(change(key.get(0), key.get(1)));
+            }
+            enlisted = enlist(changes);
+        }
+
+        @Override
+        public void afterCommit() {
+            changes.forEach(AbstractInvalidationBus.this::deliver);
+            if (!enlisted) {
+                log.warn("Transaction committed {} changes that could not be sent; invalidating their types everywhere",
+                        changes.size());
+                changes.stream().map(EntityChange::entity).distinct()
+                        .forEach(entity -> broadcast(change(entity, EntityChange.ALL)));
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(AbstractInvalidationBus.this);
+        }
+    }
+}
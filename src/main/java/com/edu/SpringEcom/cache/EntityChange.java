@@ -0,0 +1,48 @@
+package com.edu.SpringEcom.cache;
+
+import java.util.List;
+
+/**
+ * Notification that an entity was written and cached copies must be dropped.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see InvalidationBus
+ */
+public record EntityChange(
+        /** Entity type, e.g. {@link #PRODUCT}. */
+        String entity,
+
+        /** Entity ID as a string, or {@link #ALL} for every entity of the type. */
+        String id,
+
+        /** Hybrid logical timestamp of the write; later writes have larger versions. */
+        long version,
+
+        /** ID of the node that made the write. */
+        String origin) {
+
+    public static final String PRODUCT = "product";
+    public static final String ORDER = "order";
+    public static final String USER = "user";
+    public static final String WEBHOOK = "webhook";
+    public static final String ALL = "*";
+
+    /** Every entity type sent on the bus. */
+    public static final List<String> ENTITIES = List.of(PRODUCT, ORDER, USER, WEBHOOK);
+
+    /** @return the wire format used on the bus */
+    public String encode() {
+        return entity + "|" + id + "|" + version + "|" + origin;
+    }
+
+    /**
+     * @param payload a string produced by {@link #encode()}
+     * @return the decoded change
+     */
+    public static EntityChange decode(String payload) {
+        String[] parts = payload.split("\\|", 4);
+        return new EntityChange(parts[0], parts[1], Long.parseLong(parts[2]), parts[3]);
+    }
+}
@@ -0,0 +1,30 @@
+package com.edu.SpringEcom.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Single-process {@link InvalidationBus}: changes only reach subscribers in
+ * this JVM. Used for tests and single-node deployments
+ * ({@code invalidation.bus=memory}).
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+@Component
+@ConditionalOnProperty(name = "invalidation.bus", havingValue = "memory")
+public class InMemoryInvalidationBus extends AbstractInvalidationBus {
+
+    @Override
+    protected void broadcast(EntityChange change) {
+        // Nothing to do: local subscribers have already been notified
+    }
+
+    @Override
+    protected boolean enlist(List<EntityChange> changes) {
+        return true; // local subscribers are notified after the commit
+    }
+}
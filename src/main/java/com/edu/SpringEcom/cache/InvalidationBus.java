@@ -0,0 +1,49 @@
+package com.edu.SpringEcom.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts {@link EntityChange}s to every application node.
+ *
+ * <p>
+ * Writers call {@link #publish(String, Object)} after changing an entity;
+ * anything holding an in-process copy subscribes and evicts it. Local
+ * subscribers are notified on the writing node too, so callers don't need to
+ * invalidate their own caches separately.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see PostgresInvalidationBus
+ * @see InMemoryInvalidationBus
+ */
+public interface InvalidationBus {
+
+    /**
+     * Announces a change. If a transaction is active the change is sent as
+     * part of it, reaches subscribers once it commits and is dropped if it
+     * rolls back.
+     *
+     * @param entity entity type, e.g. {@link EntityChange#PRODUCT}
+     * @param id     entity ID, or {@link EntityChange#ALL}
+     */
+    void publish(String entity, Object id);
+
+    /**
+     * @param listener called for every change, local or remote
+     */
+    void subscribe(Consumer<EntityChange> listener);
+
+    /** @return the ID of this node, as carried in {@link EntityChange#origin()} */
+    String nodeId();
+
+    /**
+     * Issues a version for a read that is about to populate a cache. A value
+     * loaded under this version is only cached if no newer change has been
+     * seen for its key since.
+     *
+     * @return the current logical time
+     */
+    long currentVersion();
+}
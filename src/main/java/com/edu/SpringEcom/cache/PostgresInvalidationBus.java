@@ -0,0 +1,208 @@
+package com.edu.SpringEcom.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link InvalidationBus} over PostgreSQL {@code LISTEN/NOTIFY}.
+ *
+ * <p>
+ * Every node holds one connection that {@code LISTEN}s on
+ * {@code invalidation.channel} from a background thread. It is opened straight
+ * from {@code spring.datasource.*}, outside the connection pool, so it never
+ * takes a pooled connection from request threads.
+ * </p>
+ *
+ * <p>
+ * Changes made in a transaction are sent with {@code pg_notify} on that
+ * transaction's own connection just before it commits. NOTIFY is
+ * transactional, so PostgreSQL delivers them exactly when the write commits,
+ * and a writer never needs a second pooled connection while holding its
+ * first (which would deadlock a saturated pool). The notify runs under a
+ * savepoint so a failure can't abort the write; the other nodes are then told
+ * to drop the whole entity type instead. Changes published outside a
+ * transaction are queued and sent by the listener thread on its own
+ * connection.
+ * </p>
+ *
+ * <p>
+ * If the listening connection drops, notifications sent in the meantime are
+ * lost, so after reconnecting the bus tells local subscribers to drop
+ * everything ({@link EntityChange#ALL}) for each of the
+ * {@link EntityChange#ENTITIES}.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+@Component
+@ConditionalOnProperty(name = "invalidation.bus", havingValue = "postgres", matchIfMissing = true)
+public class PostgresInvalidationBus extends AbstractInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresInvalidationBus.class);
+
+    private static final String NOTIFY_ALL = "SELECT pg_notify(?, payload) FROM unnest(?) AS payload";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${invalidation.channel:entity_changes}")
+    private String channel;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username:}")
+    private String username;
+
+    @Value("${spring.datasource.password:}")
+    private String password;
+
+    /** Changes published outside a transaction, sent by the listener thread. */
+    private final BlockingQueue<EntityChange> outbox = new ArrayBlockingQueue<>(10_000);
+    private final AtomicBoolean outboxOverflowed = new AtomicBoolean();
+
+    private volatile boolean running = true;
+
+    private Thread listener;
+
+    @PostConstruct
+    void start() {
+        listener = Thread.ofPlatform().daemon().name("invalidation-listener").start(this::listen);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        listener.interrupt();
+    }
+
+    @Override
+    protected void broadcast(EntityChange change) {
+        if (!outbox.offer(change)) {
+            outboxOverflowed.set(true);
+        }
+    }
+
+    @Override
+    protected boolean enlist(List<EntityChange> changes) {
+        // Only the connection the transaction already holds; fetching one here is what could deadlock the pool
+        if (!(TransactionSynchronizationManager.getResource(dataSource) instanceof ConnectionHolder holder)) {
+            log.warn("No transactional connection to send {} changes on", changes.size());
+            return false;
+        }
+        Connection connection = holder.getConnection();
+        Savepoint savepoint = null;
+        try {
+            savepoint = connection.setSavepoint();
+            try (PreparedStatement statement = connection.prepareStatement(NOTIFY_ALL)) {
+                statement.setString(1, channel);
+                statement.setArray(2, connection.createArrayOf("text",
+                        changes.stream().map(EntityChange::encode).toArray()));
+                statement.execute();
+            }
+            connection.releaseSavepoint(savepoint);
+            return true;
+        } catch (SQLException e) {
+            log.warn("Could not send {} changes with the transaction: {}", changes.size(), e.getMessage());
+            if (savepoint != null) {
+                try {
+                    connection.rollback(savepoint);
+                } catch (SQLException re) {
+                    log.warn("Could not roll back the failed notify: {}", re.getMessage());
+                }
+            }
+            return false;
+        }
+    }
+
+    /** Sends queued changes on the listener's connection, oldest first; unsent ones stay queued. */
+    private void sendOutbox(Connection connection) throws SQLException {
+        if (outboxOverflowed.getAndSet(false)) {
+            // Some changes were dropped, and nobody knows which: have every node drop everything
+            outbox.clear();
+            for (String entity : EntityChange.ENTITIES) {
+                outbox.add(new EntityChange(entity, EntityChange.ALL, currentVersion(), nodeId()));
+            }
+        }
+        EntityChange change;
+        while ((change = outbox.peek()) != null) {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+                statement.setString(1, channel);
+                statement.setString(2, change.encode());
+                statement.execute();
+            }
+            outbox.poll();
+        }
+    }
+
+    private void listen() {
+        long backoffMs = 500;
+        boolean reconnecting = false;
+        while (running) {
+            // Held for as long as the node runs, so not taken from the pool (auto-commit, so LISTEN applies at once)
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (reconnecting) {
+                    // Anything sent while we were disconnected is gone
+                    for (String entity : EntityChange.ENTITIES) {
+                        receive(new EntityChange(entity, EntityChange.ALL, 0, "reconnect"));
+                    }
+                }
+                backoffMs = 500;
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                while (running) {
+                    sendOutbox(connection);
+                    PGNotification[] notifications = pg.getNotifications(100);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        try {
+                            receive(EntityChange.decode(notification.getParameter()));
+                        } catch (RuntimeException e) {
+                            log.warn("Ignoring malformed invalidation '{}'", notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Invalidation listener lost its connection, retrying in {} ms: {}", backoffMs, e.getMessage());
+                reconnecting = true;
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, 30_000);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.edu.SpringEcom.cache;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key into one.
+ *
+ * <p>
+ * The first caller for a key (the originating call) runs the loader on its
+ * own thread. Callers that arrive while it is running don't load again: they
+ * wait for the same result, or the same exception, for at most
+ * {@code waitTimeout}. A burst of identical requests therefore costs one
+ * database round trip instead of one per request. The originating call is
+ * not bounded here; it relies on the loader's own timeouts.
+ * </p>
+ *
+ * <p>
+ * {@link #forget(Object)} detaches an in-flight load from its key, so callers
+ * arriving after a write start a fresh load instead of sharing one that may
+ * have read the old value.
+ * </p>
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see VersionedCache
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long waitTimeoutNanos;
+
+    private final LongAdder originating = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    /**
+     * @param waitTimeout how long a coalesced caller waits for the originating
+     *                    load before giving up
+     */
+    public SingleFlight(Duration waitTimeout) {
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+    }
+
+    /**
+     * Runs {@code loader}, or joins a load of the same key already running.
+     *
+     * @param key    the key
+     * @param loader produces the value; only run by the originating caller
+     * @return the loaded value, possibly {@code null}
+     * @throws RuntimeException if the load failed, or if a coalesced caller
+     *                          timed out waiting for it
+     */
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            coalesced.increment();
+            return await(key, running);
+        }
+        originating.increment();
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Lets later callers for {@code key} start a new load. Callers already
+     * waiting still get the running load's result.
+     *
+     * @param key the key
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    /** Same as {@link #forget(Object)} for every key. */
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    /** @return loads actually run */
+    public long getOriginating() {
+        return originating.sum();
+    }
+
+    /** @return calls served by joining another caller's load */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /** @return coalesced calls that gave up waiting */
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    private V await(K key, CompletableFuture<V> running) {
+        try {
+            return running.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new RuntimeException("Timed out waiting for concurrent load of " + key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for concurrent load of " + key);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.edu.SpringEcom.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache whose entries carry versions, so an invalidation
+ * can never be undone by a slower concurrent load.
+ *
+ * <p>
+ * The race it closes: a reader misses, starts loading from the database, a
+ * writer commits and the invalidation arrives, and only then does the reader
+ * put its (now stale) value. Here every load takes a version from the clock
+ * before reading, and every invalidation leaves a tombstone stamped with the
+ * clock at the time it was <em>received</em>. A put is rejected if the key has
+ * a tombstone newer than the load, so a value read before the invalidation
+ * arrived cannot be cached after it.
+ * </p>
+ *
+ * <p>
+ * Invalidations always evict whatever is cached. A late or duplicate message
+ * therefore costs at most one extra miss; it cannot make stale data visible.
+ * A message that never arrives would leave a stale entry forever, so entries
+ * also expire a fixed time after they were loaded.
+ * </p>
+ *
+ * <p>
+ * Given a {@link SingleFlight}, concurrent misses for one key share a single
+ * load. Only the originating caller caches the result, under its own version.
+ * An invalidation also detaches the running load, so callers arriving after a
+ * write never join a read that started before it.
+ * </p>
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see InvalidationBus
+ * @see SingleFlight
+ */
+public class VersionedCache<K, V> {
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+    private final int maxEntries;
+    private final long maxAgeNanos;
+    private final SingleFlight<K, V> flights;
+
+    /** Set by {@link #invalidateAll()}: older entries are invisible and older puts rejected. */
+    private volatile long clearedAt;
+
+    /** Highest version of any evicted tombstone; older puts for absent keys are rejected. */
+    private volatile long tombstoneFloor;
+
+    /**
+     * @param clock      monotonic version source, normally
+     *                   {@link InvalidationBus#currentVersion()}
+     * @param maxEntries upper bound on cached values and tombstones
+     * @param maxAge     how long a value may be served after it was cached
+     */
+    public VersionedCache(LongSupplier clock, int maxEntries, Duration maxAge) {
+        this(clock, maxEntries, maxAge, null);
+    }
+
+    /**
+     * @param clock      monotonic version source, normally
+     *                   {@link InvalidationBus#currentVersion()}
+     * @param maxEntries upper bound on cached values and tombstones
+     * @param maxAge     how long a value may be served after it was cached
+     * @param flights    coalesces concurrent misses for the same key; may be
+     *                   {@code null}
+     */
+    public VersionedCache(LongSupplier clock, int maxEntries, Duration maxAge, SingleFlight<K, V> flights) {
+        this.clock = clock;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.maxAgeNanos = maxAge.toNanos();
+        this.flights = flights;
+    }
+
+    /**
+     * @param key the key
+     * @return the cached value, or {@code null} on a miss
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null && entry.version >= clearedAt && System.nanoTime() - entry.cachedAt <= maxAgeNanos
+                ? entry.value
+                : null;
+    }
+
+    /**
+     * Returns the cached value or loads and caches it. The loader runs without
+     * any lock held. Concurrent misses for the same key share one load when
+     * the cache has a {@link SingleFlight}, and may each load otherwise.
+     *
+     * @param key    the key
+     * @param loader reads the value from the source of truth; may return
+     *               {@code null}, which is not cached
+     * @return the cached or loaded value
+     */
+    public V get(K key, Supplier<V> loader) {
+        V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        if (flights == null) {
+            return load(key, loader);
+        }
+        return flights.load(key, () -> load(key, loader));
+    }
+
+    /**
+     * Caches a value loaded at the given version, unless the key was
+     * invalidated after that version.
+     *
+     * @param key     the key
+     * @param value   the loaded value
+     * @param version the clock value taken before the load started
+     * @return {@code true} if the value was cached
+     */
+    public boolean put(K key, V value, long version) {
+        if (version < clearedAt) {
+            return false;
+        }
+        boolean[] stored = {false};
+        entries.compute(key, (k, existing) -> {
+            if (existing != null ? existing.version > version : version < tombstoneFloor) {
+                return existing;
+            }
+            stored[0] = true;
+            return new Entry<>(value, version, System.nanoTime());
+        });
+        if (stored[0] && entries.size() > maxEntries) {
+            trim();
+        }
+        return stored[0];
+    }
+
+    /**
+     * Evicts a key and records a tombstone so loads that started earlier can't
+     * repopulate it.
+     *
+     * @param key the key
+     */
+    public void invalidate(K key) {
+        long version = clock.getAsLong();
+        entries.compute(key, (k, existing) ->
+                existing != null && existing.value == null && existing.version >= version
+                        ? existing
+                        : new Entry<>(null, version, 0));
+        if (flights != null) {
+            flights.forget(key);
+        }
+        if (entries.size() > maxEntries) {
+            trim();
+        }
+    }
+
+    /** Evicts everything; loads that started before this call are not cached. */
+    public void invalidateAll() {
+        clearedAt = clock.getAsLong();
+        entries.clear();
+        if (flights != null) {
+            flights.forgetAll();
+        }
+    }
+
+    /** @return number of values and tombstones held */
+    public int size() {
+        return entries.size();
+    }
+
+    private V load(K key, Supplier<V> loader) {
+        long version = clock.getAsLong();
+        V loaded = loader.get();
+        if (loaded != null) {
+            put(key, loaded, version);
+        }
+        return loaded;
+    }
+
+    private synchronized void trim() {
+        int excess = entries.size() - maxEntries + maxEntries / 10;
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (excess-- > 0 && it.hasNext()) {
+            Entry<V> entry = it.next().getValue();
+            if (entry.value == null && entry.version > tombstoneFloor) {
+                // Raise the floor before the tombstone disappears
+                tombstoneFloor = entry.version;
+            }
+            it.remove();
+        }
+    }
+
+    private record Entry<V>(V value, long version, long cachedAt) {
+    }
+}
@@ -0,0 +1,150 @@
+package com.edu.SpringEcom.cart;
+
+import com.edu.SpringEcom.model.Money;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * A customer's shopping cart held in memory by {@link CartStore}.
+ *
+ * <p>
+ * The subtotal is maintained incrementally on every change instead of being
+ * recomputed from the lines. All methods are synchronized on the cart, so
+ * concurrent requests for the same user are serialized while different users
+ * never contend.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see CartStore
+ */
+public class Cart {
+
+    private final long userId;
+    private final Map<Integer, CartLine> lines = new LinkedHashMap<>();
+    private Money subtotal = Money.ZERO;
+    private int itemCount;
+    private volatile long lastAccessMillis;
+
+    public Cart(long userId) {
+        this.userId = userId;
+        touch();
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    long getLastAccessMillis() {
+        return lastAccessMillis;
+    }
+
+    void touch() {
+        lastAccessMillis = System.currentTimeMillis();
+    }
+
+    void restoreLastAccess(long millis) {
+        lastAccessMillis = millis;
+    }
+
+    /**
+     * Replaces the line for a product, or removes it if the quantity is zero or
+     * less.
+     *
+     * @param line the new line
+     */
+    public synchronized void put(CartLine line) {
+        CartLine previous = line.quantity() > 0 ? lines.put(line.productId(), line) : lines.remove(line.productId());
+        if (previous != null) {
+            subtotal = subtotal.minus(previous.lineTotal());
+            itemCount -= previous.quantity();
+        }
+        if (line.quantity() > 0) {
+            subtotal = subtotal.plus(line.lineTotal());
+            itemCount += line.quantity();
+        }
+        touch();
+    }
+
+    /**
+     * Replaces the line for a product with one computed from its current line,
+     * as one step, so concurrent changes to the same product are never lost.
+     *
+     * @param productId the product
+     * @param update    gets the current line, or {@code null}, and returns the
+     *                  new one; a quantity of zero or less removes it
+     * @return the new line
+     */
+    public synchronized CartLine compute(int productId, UnaryOperator<CartLine> update) {
+        CartLine line = update.apply(lines.get(productId));
+        put(line);
+        return line;
+    }
+
+    /**
+     * @param productId the product to look up
+     * @return the line for that product, or {@code null}
+     */
+    public synchronized CartLine getLine(int productId) {
+        return lines.get(productId);
+    }
+
+    /**
+     * Takes units of a product out of the cart, removing its line once none
+     * are left.
+     *
+     * @param productId the product
+     * @param quantity  number of units to take
+     */
+    public synchronized void take(int productId, int quantity) {
+        CartLine line = lines.get(productId);
+        if (line != null) {
+            put(line.withQuantity(line.quantity() - quantity));
+        }
+    }
+
+    /**
+     * Removes a product from the cart.
+     *
+     * @param productId the product to remove
+     * @return {@code true} if the product was in the cart
+     */
+    public synchronized boolean remove(int productId) {
+        CartLine previous = lines.remove(productId);
+        if (previous != null) {
+            subtotal = subtotal.minus(previous.lineTotal());
+            itemCount -= previous.quantity();
+        }
+        touch();
+        return previous != null;
+    }
+
+    public synchronized void clear() {
+        lines.clear();
+        subtotal = Money.ZERO;
+        itemCount = 0;
+        touch();
+    }
+
+    /** @return a copy of the lines in insertion order */
+    public synchronized List<CartLine> getLines() {
+        return new ArrayList<>(lines.values());
+    }
+
+    public synchronized int getLineCount() {
+        return lines.size();
+    }
+
+    public synchronized int getItemCount() {
+        return itemCount;
+    }
+
+    public synchronized Money getSubtotal() {
+        return subtotal;
+    }
+}
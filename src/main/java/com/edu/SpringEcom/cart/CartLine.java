@@ -0,0 +1,37 @@
+package com.edu.SpringEcom.cart;
+
+import com.edu.SpringEcom.model.Money;
+
+/**
+ * One product in a {@link Cart}.
+ *
+ * <p>
+ * Title, category and unit price are captured when the product is added so the
+ * cart can show running totals without going back to the catalog. Checkout
+ * re-prices everything from the database.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public record CartLine(
+        int productId,
+        String title,
+        String category,
+        Money unitPrice,
+        int quantity) {
+
+    /** @return unit price × quantity */
+    public Money lineTotal() {
+        return unitPrice.times(quantity);
+    }
+
+    /**
+     * @param newQuantity the new quantity
+     * @return a copy of this line with a different quantity
+     */
+    public CartLine withQuantity(int newQuantity) {
+        return new CartLine(productId, title, category, unitPrice, newQuantity);
+    }
+}
@@ -0,0 +1,282 @@
+package com.edu.SpringEcom.cart;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import com.edu.SpringEcom.model.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sharded, memory-bounded, in-process store for {@link Cart}s.
+ *
+ * <p>
+ * Carts are spread over a fixed number of shards by user ID. Each shard is an
+ * access-ordered map with its own lock and a capacity of
+ * {@code cart.max-carts / cart.shards}; when a shard is full the least recently
+ * used cart is evicted. Carts idle for longer than {@code cart.ttl-minutes}
+ * are treated as absent on read and removed by a periodic sweep.
+ * </p>
+ *
+ * <p>
+ * If {@code cart.snapshot.path} is set, the store is written behind to that
+ * file whenever it has changed (and on shutdown), and reloaded on startup so
+ * carts survive a restart.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see Cart
+ */
+@Component
+public class CartStore {
+
+    private static final Logger log = LoggerFactory.getLogger(CartStore.class);
+
+    /** Prices are stored as minor units and currency code. */
+    private static final int SNAPSHOT_VERSION = 2;
+
+    @Value("${cart.shards:16}")
+    private int shardCount;
+
+    @Value("${cart.max-carts:100000}")
+    private int maxCarts;
+
+    @Value("${cart.ttl-minutes:120}")
+    private long ttlMinutes;
+
+    @Value("${cart.snapshot.path:}")
+    private String snapshotPath;
+
+    private Shard[] shards;
+
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    @PostConstruct
+    void init() {
+        int capacity = Math.max(1, (maxCarts + shardCount - 1) / shardCount);
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(capacity);
+        }
+        loadSnapshot();
+    }
+
+    /**
+     * @param userId the cart owner
+     * @return the live cart, or {@code null} if there is none or it expired
+     */
+    public Cart get(long userId) {
+        Shard shard = shardFor(userId);
+        synchronized (shard) {
+            Cart cart = shard.get(userId);
+            if (cart != null && isExpired(cart, System.currentTimeMillis())) {
+                shard.remove(userId);
+                dirty.set(true);
+                return null;
+            }
+            if (cart != null) {
+                cart.touch(); // a cart that is only looked at is still in use
+            }
+            return cart;
+        }
+    }
+
+    /**
+     * @param userId the cart owner
+     * @return the live cart, created empty if necessary
+     */
+    public Cart getOrCreate(long userId) {
+        Cart cart = get(userId);
+        if (cart != null) {
+            return cart;
+        }
+        Shard shard = shardFor(userId);
+        synchronized (shard) {
+            return shard.computeIfAbsent(userId, Cart::new);
+        }
+    }
+
+    /**
+     * Removes a cart, e.g. after checkout.
+     *
+     * @param userId the cart owner
+     */
+    public void remove(long userId) {
+        Shard shard = shardFor(userId);
+        synchronized (shard) {
+            shard.remove(userId);
+        }
+        dirty.set(true);
+    }
+
+    /** Records that a cart changed so the next snapshot picks it up. */
+    public void markDirty() {
+        dirty.set(true);
+    }
+
+    /** @return number of carts currently held */
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                size += shard.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Removes carts that have been idle for longer than the TTL.
+     */
+    @Scheduled(fixedDelayString = "${cart.sweep-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                Iterator<Cart> it = shard.values().iterator();
+                while (it.hasNext()) {
+                    if (isExpired(it.next(), now)) {
+                        it.remove();
+                        evicted++;
+                    }
+                }
+            }
+        }
+        if (evicted > 0) {
+            dirty.set(true);
+            log.debug("Evicted {} expired carts", evicted);
+        }
+    }
+
+    /**
+     * Writes all carts to the snapshot file if anything changed since the last
+     * write. Does nothing when no snapshot path is configured.
+     */
+    @Scheduled(fixedDelayString = "${cart.snapshot.interval-ms:30000}")
+    public void writeSnapshot() {
+        if (snapshotPath.isBlank() || !dirty.getAndSet(false)) {
+            return;
+        }
+        List<Cart> carts = new ArrayList<>();
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                carts.addAll(shard.values());
+            }
+        }
+        Path target = Path.of(snapshotPath);
+        try {
+            Path tmp = Files.createTempFile(target.toAbsolutePath().getParent(), "carts", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeInt(carts.size());
+                for (Cart cart : carts) {
+                    List<CartLine> lines = cart.getLines();
+                    out.writeLong(cart.getUserId());
+                    out.writeLong(cart.getLastAccessMillis());
+                    out.writeInt(lines.size());
+                    for (CartLine line : lines) {
+                        out.writeInt(line.productId());
+                        out.writeUTF(line.title() != null ? line.title() : "");
+                        out.writeUTF(line.category() != null ? line.category() : "");
+                        out.writeLong(line.unitPrice().minorUnits());
+                        out.writeUTF(line.unitPrice().currency().getCurrencyCode());
+                        out.writeInt(line.quantity());
+                    }
+                }
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty.set(true);
+            log.warn("Could not write cart snapshot to {}: {}", target, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void flush() {
+        writeSnapshot();
+    }
+
+    private void loadSnapshot() {
+        if (snapshotPath.isBlank() || !Files.exists(Path.of(snapshotPath))) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        int loaded = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(Path.of(snapshotPath))))) {
+            int version = in.readInt();
+            if (version != SNAPSHOT_VERSION) {
+                log.warn("Ignoring cart snapshot {} with unknown version", snapshotPath);
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                Cart cart = new Cart(in.readLong());
+                long lastAccess = in.readLong();
+                int lineCount = in.readInt();
+                for (int j = 0; j < lineCount; j++) {
+                    int productId = in.readInt();
+                    String title = in.readUTF();
+                    String category = in.readUTF();
+                    Money unitPrice = new Money(in.readLong(), Currency.getInstance(in.readUTF()));
+                    int quantity = in.readInt();
+                    cart.put(new CartLine(productId, title, category.isEmpty() ? null : category, unitPrice, quantity));
+                }
+                cart.restoreLastAccess(lastAccess);
+                if (!isExpired(cart, now)) {
+                    Shard shard = shardFor(cart.getUserId());
+                    synchronized (shard) {
+                        shard.put(cart.getUserId(), cart);
+                    }
+                    loaded++;
+                }
+            }
+            log.info("Restored {} carts from {}", loaded, snapshotPath);
+        } catch (IOException e) {
+            log.warn("Could not read cart snapshot {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    private boolean isExpired(Cart cart, long now) {
+        return now - cart.getLastAccessMillis() > ttlMinutes * 60_000;
+    }
+
+    private Shard shardFor(long userId) {
+        return shards[Math.floorMod(Long.hashCode(userId) * 0x9E3779B9, shards.length)];
+    }
+
+    /**
+     * Access-ordered map that drops its least recently used cart when full.
+     * Guarded by its own monitor.
+     */
+    private static final class Shard extends LinkedHashMap<Long, Cart> {
+
+        private final int capacity;
+
+        Shard(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Cart> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.edu.SpringEcom.catalog;
+
+import com.edu.SpringEcom.cache.EntityChange;
+import com.edu.SpringEcom.cache.InvalidationBus;
+import com.edu.SpringEcom.model.Money;
+import com.edu.SpringEcom.model.Product;
+import com.edu.SpringEcom.projection.ProductField;
+import com.edu.SpringEcom.repo.ProductRepo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.Tuple;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Keeps catalog reads working while the database is slow or down.
+ *
+ * <p>
+ * Every {@code catalog.snapshot.interval-ms}, if a product changed, the
+ * catalog without image bytes is written to a {@link CatalogSnapshot} at
+ * {@code catalog.snapshot.path}. At startup the last snapshot is memory-mapped
+ * before anything touches the database.
+ * </p>
+ *
+ * <p>
+ * {@link #read(Supplier, Function)} runs a catalog read against the database
+ * and, if it fails, answers from the snapshot instead. After
+ * {@code catalog.fallback.failure-threshold} consecutive failed or slow
+ * (over {@code catalog.fallback.slow-call-ms}) database reads the catalog is
+ * <em>degraded</em>: for {@code catalog.fallback.open-ms} reads go straight to
+ * the snapshot without waiting on the database. Then a single read is let
+ * through as a probe while all others keep using the snapshot; success ends
+ * degraded mode, failure starts another open period. The
+ * {@code catalog.degraded} gauge is 1 while degraded. Answers from the
+ * snapshot may be up to one snapshot interval old and never include image
+ * bytes. Leaving {@code catalog.snapshot.path} empty turns the fallback off.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+@Component
+public class CatalogFallback {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogFallback.class);
+
+    /** Everything in a snapshot: all product fields but the image bytes. */
+    private static final List<ProductField> SNAPSHOT_FIELDS = List.copyOf(
+            EnumSet.complementOf(EnumSet.of(ProductField.IMAGE_DATA, ProductField.IMAGE_URL)));
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${catalog.snapshot.path:data/catalog.snapshot}")
+    private String snapshotPath;
+
+    @Value("${catalog.fallback.slow-call-ms:2000}")
+    private long slowCallMs;
+
+    @Value("${catalog.fallback.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${catalog.fallback.open-ms:30000}")
+    private long openMs;
+
+    private volatile CatalogSnapshot snapshot;
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicBoolean degraded = new AtomicBoolean();
+    private volatile long degradedUntil = System.nanoTime();
+    /** Set while the one read allowed through after an open period is running. */
+    private final AtomicBoolean probing = new AtomicBoolean();
+
+    @PostConstruct
+    void init() {
+        invalidationBus.subscribe(change -> {
+            if (EntityChange.PRODUCT.equals(change.entity())) {
+                dirty.set(true);
+            }
+        });
+        Gauge.builder("catalog.degraded", this, fallback -> fallback.isDegraded() ? 1 : 0)
+                .register(meterRegistry);
+        if (snapshotPath.isBlank()) {
+            return;
+        }
+        Path path = Path.of(snapshotPath).toAbsolutePath();
+        if (Files.exists(path)) {
+            try {
+                snapshot = CatalogSnapshot.map(path);
+                log.info("Mapped catalog snapshot of {} products written at {}", snapshot.size(),
+                        snapshot.writtenAt());
+            } catch (IOException e) {
+                log.warn("Ignoring unreadable catalog snapshot {}: {}", path, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Runs a catalog read against the database, falling back to the snapshot
+     * when the database fails or the catalog is degraded.
+     *
+     * @param database     the read against the database
+     * @param fromSnapshot the same read against the snapshot
+     * @param <T>          result type
+     * @return the result from the database, or from the snapshot
+     * @throws DataAccessException  if the database fails and there is no
+     *                              snapshot
+     * @throws TransactionException likewise
+     */
+    public <T> T read(Supplier<T> database, Function<CatalogSnapshot, T> fromSnapshot) {
+        CatalogSnapshot current = snapshot;
+        boolean probe = false;
+        if (current != null && degraded.get()) {
+            if (System.nanoTime() - degradedUntil < 0 || !probing.compareAndSet(false, true)) {
+                return fromSnapshot.apply(current);
+            }
+            probe = true;
+        }
+        long start = System.nanoTime();
+        try {
+            T result = database.get();
+            if (System.nanoTime() - start > TimeUnit.MILLISECONDS.toNanos(slowCallMs)) {
+                recordFailure("slow read");
+            } else {
+                recordSuccess();
+            }
+            return result;
+        } catch (DataAccessException | TransactionException e) {
+            recordFailure(e.getMessage());
+            if (current == null) {
+                throw e;
+            }
+            return fromSnapshot.apply(current);
+        } finally {
+            if (probe) {
+                probing.set(false);
+            }
+        }
+    }
+
+    /**
+     * @return whether reads are served from the snapshot, apart from the
+     *         single probe after each open period
+     */
+    public boolean isDegraded() {
+        return degraded.get();
+    }
+
+    /**
+     * Writes a fresh snapshot if any product changed since the last one, and
+     * maps it. Skipped while degraded, so the last good snapshot is kept.
+     */
+    @Scheduled(fixedDelayString = "${catalog.snapshot.interval-ms:300000}")
+    public void writeSnapshot() {
+        if (snapshotPath.isBlank() || isDegraded() || !dirty.getAndSet(false)) {
+            return;
+        }
+        Path target = Path.of(snapshotPath).toAbsolutePath();
+        try {
+            List<Tuple> rows = productRepo.findFields(SNAPSHOT_FIELDS, null);
+            List<Product> products = new ArrayList<>(rows.size());
+            for (Tuple row : rows) {
+                products.add(toProduct(row));
+            }
+            CatalogSnapshot.write(target, products);
+            snapshot = CatalogSnapshot.map(target);
+        } catch (IOException | DataAccessException | TransactionException e) {
+            dirty.set(true);
+            log.warn("Could not write catalog snapshot to {}: {}", target, e.getMessage());
+        }
+    }
+
+    private void recordSuccess() {
+        failures.set(0);
+        if (degraded.compareAndSet(true, false)) {
+            log.info("Catalog database is healthy again; serving reads from it");
+        }
+    }
+
+    private void recordFailure(String reason) {
+        if (failures.incrementAndGet() < failureThreshold) {
+            return;
+        }
+        // Stay one failure from the threshold, so a failed probe after the open period re-opens at once
+        failures.set(failureThreshold - 1);
+        degradedUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(openMs);
+        if (degraded.compareAndSet(false, true) && snapshot != null) {
+            log.warn("Catalog database failing ({}); serving reads from the snapshot written at {} for {} ms",
+                    reason, snapshot.writtenAt(), openMs);
+        }
+    }
+
+    private static Product toProduct(Tuple row) {
+        Product product = new Product();
+        product.setId(row.get("id", Integer.class));
+        product.setTitle(row.get("title", String.class));
+        product.setDescription(row.get("description", String.class));
+        product.setBrand(row.get("brand", String.class));
+        product.setPrice(row.get("price", Money.class));
+        product.setCategory(row.get("category", String.class));
+        product.setReleaseDate(row.get("releaseDate", Date.class));
+        product.setCreateDate(row.get("createDate", Date.class));
+        product.setAvailability(Boolean.TRUE.equals(row.get("availability")));
+        product.setStockQuantity(row.get("stockQuantity", Integer.class));
+        product.setImageName(row.get("imageName", String.class));
+        product.setImageType(row.get("imageType", String.class));
+        product.setImageHash(row.get("imageHash", String.class));
+        return product;
+    }
+}
@@ -0,0 +1,237 @@
+package com.edu.SpringEcom.catalog;
+
+import com.edu.SpringEcom.model.Money;
+import com.edu.SpringEcom.model.Product;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Read-only product catalog in a memory-mapped file.
+ *
+ * <p>
+ * Layout:
+ * <pre>
+ * MAGIC VERSION writtenAt(epoch ms) count
+ * index: count x (product ID, record offset)    sorted by product ID
+ * records: one per product, every field but the image bytes
+ * </pre>
+ * Opening a snapshot maps the file and checks its header; nothing is read
+ * into the heap until a product is asked for, and the OS page cache shares
+ * the pages between reads. Lookups by ID binary-search the index in place.
+ * Reads use absolute offsets only, so one snapshot is safe to share between
+ * threads.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see CatalogFallback
+ */
+public final class CatalogSnapshot {
+
+    private static final int MAGIC = 0x43415447; // "CATG"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 20;
+    private static final int INDEX_ENTRY_BYTES = 8;
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final MappedByteBuffer buffer;
+    private final Instant writtenAt;
+    private final int count;
+
+    private CatalogSnapshot(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a catalog snapshot");
+        }
+        this.writtenAt = Instant.ofEpochMilli(buffer.getLong(8));
+        this.count = buffer.getInt(16);
+        if (count < 0 || HEADER_BYTES + (long) count * INDEX_ENTRY_BYTES > buffer.capacity()) {
+            throw new IOException("Corrupt catalog snapshot");
+        }
+    }
+
+    /**
+     * Maps a snapshot file.
+     *
+     * @param path the file
+     * @return the snapshot
+     * @throws IOException if the file can't be mapped or isn't a snapshot
+     */
+    static CatalogSnapshot map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new CatalogSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Writes products to a snapshot file, replacing it atomically.
+     *
+     * @param target   the file to write
+     * @param products the catalog; image bytes are not written
+     * @throws IOException if the file can't be written
+     */
+    static void write(Path target, List<Product> products) throws IOException {
+        List<Product> sorted = new ArrayList<>(products);
+        sorted.sort(Comparator.comparing(Product::getId));
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), "catalog", ".tmp");
+        try {
+            // Records first into memory to learn their offsets; metadata only, so small
+            ByteArrayOutputStream records = new ByteArrayOutputStream(sorted.size() * 256);
+            DataOutputStream recordOut = new DataOutputStream(records);
+            int[] offsets = new int[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                offsets[i] = recordOut.size();
+                writeRecord(recordOut, sorted.get(i));
+            }
+            int recordsStart = HEADER_BYTES + sorted.size() * INDEX_ENTRY_BYTES;
+            try (FileOutputStream file = new FileOutputStream(tmp.toFile());
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(System.currentTimeMillis());
+                out.writeInt(sorted.size());
+                for (int i = 0; i < sorted.size(); i++) {
+                    out.writeInt(sorted.get(i).getId());
+                    out.writeInt(recordsStart + offsets[i]);
+                }
+                records.writeTo(out);
+                out.flush();
+                file.getFD().sync();
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /** @return when the snapshot was written */
+    public Instant writtenAt() {
+        return writtenAt;
+    }
+
+    /** @return number of products */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @param id a product ID
+     * @return the product without image bytes, or {@code null} if it wasn't
+     *         in the catalog when the snapshot was written
+     */
+    public Product get(int id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = buffer.getInt(HEADER_BYTES + mid * INDEX_ENTRY_BYTES);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return readRecord(buffer.getInt(HEADER_BYTES + mid * INDEX_ENTRY_BYTES + 4));
+            }
+        }
+        return null;
+    }
+
+    /** @return every product, by ID, without image bytes */
+    public List<Product> all() {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(readRecord(buffer.getInt(HEADER_BYTES + i * INDEX_ENTRY_BYTES + 4)));
+        }
+        return products;
+    }
+
+    private static void writeRecord(DataOutputStream out, Product product) throws IOException {
+        out.writeInt(product.getId());
+        writeString(out, product.getTitle());
+        writeString(out, product.getDescription());
+        writeString(out, product.getBrand());
+        out.writeLong(product.getPrice() != null ? product.getPrice().minorUnits() : NONE);
+        writeString(out, product.getCategory());
+        out.writeLong(product.getReleaseDate() != null ? product.getReleaseDate().getTime() : NONE);
+        out.writeLong(product.getCreateDate() != null ? product.getCreateDate().getTime() : NONE);
+        out.writeBoolean(product.isAvailability());
+        out.writeInt(product.getStockQuantity());
+        writeString(out, product.getImageName());
+        writeString(out, product.getImageType());
+        writeString(out, product.getImageHash());
+    }
+
+    private Product readRecord(int offset) {
+        int[] position = {offset};
+        Product product = new Product();
+        product.setId(readInt(position));
+        product.setTitle(readString(position));
+        product.setDescription(readString(position));
+        product.setBrand(readString(position));
+        long price = readLong(position);
+        product.setPrice(price != NONE ? Money.ofMinor(price) : null);
+        product.setCategory(readString(position));
+        long releaseDate = readLong(position);
+        product.setReleaseDate(releaseDate != NONE ? new Date(releaseDate) : null);
+        long createDate = readLong(position);
+        product.setCreateDate(createDate != NONE ? new Date(createDate) : null);
+        product.setAvailability(buffer.get(position[0]++) != 0);
+        product.setStockQuantity(readInt(position));
+        product.setImageName(readString(position));
+        product.setImageType(readString(position));
+        product.setImageHash(readString(position));
+        return product;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private String readString(int[] position) {
+        int length = readInt(position);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position[0], bytes);
+        position[0] += length;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int readInt(int[] position) {
+        int value = buffer.getInt(position[0]);
+        position[0] += 4;
+        return value;
+    }
+
+    private long readLong(int[] position) {
+        long value = buffer.getLong(position[0]);
+        position[0] += 8;
+        return value;
+    }
+}
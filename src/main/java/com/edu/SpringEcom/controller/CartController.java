@@ -0,0 +1,182 @@
+package com.edu.SpringEcom.controller;
+
+import com.edu.SpringEcom.auth.SessionTokenFilter;
+import com.edu.SpringEcom.auth.SessionUser;
+import com.edu.SpringEcom.model.dto.CartItemRequest;
+import com.edu.SpringEcom.model.dto.CartResponse;
+import com.edu.SpringEcom.model.dto.CheckoutRequest;
+import com.edu.SpringEcom.model.dto.OrderResponse;
+import com.edu.SpringEcom.service.CartService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for server-side shopping carts.
+ *
+ * <p>
+ * Provides endpoints for:
+ * <ul>
+ * <li>Viewing a cart with running totals</li>
+ * <li>Adding, updating and removing items</li>
+ * <li>Checking out the cart as a single order</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * <b>Base Path:</b> {@code /api/cart}
+ * </p>
+ * <p>
+ * <b>CORS:</b> Enabled for cross-origin requests
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see CartService
+ */
+@RestController
+@RequestMapping("/api/cart")
+@CrossOrigin
+public class CartController {
+
+    @Autowired
+    private CartService cartService;
+
+    /** Whether requests without a session may still name the user they act for. */
+    @Value("${auth.anonymous-user-ids:false}")
+    private boolean anonymousUserIds;
+
+    /**
+     * Retrieves a user's cart.
+     *
+     * @param userId  the cart owner
+     * @param session the signed-in caller, if any; customers may only use
+     *                their own cart
+     * @return {@link ResponseEntity} containing the cart with HTTP 200, or HTTP
+     *         400 on error
+     */
+    @GetMapping("/{userId}")
+    public ResponseEntity<?> getCart(@PathVariable Long userId,
+            @RequestAttribute(name = SessionTokenFilter.ATTRIBUTE, required = false) SessionUser session) {
+        try {
+            return new ResponseEntity<>(cartService.getCart(
+                    SessionUser.actingUserId(session, userId, anonymousUserIds)), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Adds units of a product to the cart.
+     *
+     * @param userId  the cart owner
+     * @param request product and quantity to add
+     * @param session the signed-in caller, if any; customers may only use
+     *                their own cart
+     * @return {@link ResponseEntity} with the updated cart and HTTP 200, or HTTP
+     *         400 on error
+     */
+    @PostMapping("/{userId}/items")
+    public ResponseEntity<?> addItem(@PathVariable Long userId, @RequestBody CartItemRequest request,
+            @RequestAttribute(name = SessionTokenFilter.ATTRIBUTE, required = false) SessionUser session) {
+        try {
+            return new ResponseEntity<>(cartService.addItem(
+                    SessionUser.actingUserId(session, userId, anonymousUserIds), request),
+                    HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Sets the quantity of a product in the cart; zero removes it.
+     *
+     * @param userId  the cart owner
+     * @param request product and new quantity
+     * @param session the signed-in caller, if any; customers may only use
+     *                their own cart
+     * @return {@link ResponseEntity} with the updated cart and HTTP 200, HTTP
+     *         404 if the user has no cart, or HTTP 400 on error
+     */
+    @PutMapping("/{userId}/items")
+    public ResponseEntity<?> setQuantity(@PathVariable Long userId, @RequestBody CartItemRequest request,
+            @RequestAttribute(name = SessionTokenFilter.ATTRIBUTE, required = false) SessionUser session) {
+        try {
+            CartResponse cart = cartService.setQuantity(
+                    SessionUser.actingUserId(session, userId, anonymousUserIds), request);
+            return cart != null
+                    ? new ResponseEntity<>(cart, HttpStatus.OK)
+                    : new ResponseEntity<>("Cart not found", HttpStatus.NOT_FOUND);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Removes a product from the cart.
+     *
+     * @param userId    the cart owner
+     * @param productId the product to remove
+     * @param session   the signed-in caller, if any; customers may only use
+     *                  their own cart
+     * @return {@link ResponseEntity} with the updated cart and HTTP 200, HTTP
+     *         404 if the user has no cart, or HTTP 400 on error
+     */
+    @DeleteMapping("/{userId}/items/{productId}")
+    public ResponseEntity<?> removeItem(@PathVariable Long userId, @PathVariable int productId,
+            @RequestAttribute(name = SessionTokenFilter.ATTRIBUTE, required = false) SessionUser session) {
+        try {
+            CartResponse cart = cartService.removeItem(
+                    SessionUser.actingUserId(session, userId, anonymousUserIds), productId);
+            return cart != null
+                    ? new ResponseEntity<>(cart, HttpStatus.OK)
+                    : new ResponseEntity<>("Cart not found", HttpStatus.NOT_FOUND);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Empties the cart.
+     *
+     * @param userId  the cart owner
+     * @param session the signed-in caller, if any; customers may only use
+     *                their own cart
+     * @return {@link ResponseEntity} with HTTP 204, or HTTP 400 on error
+     */
+    @DeleteMapping("/{userId}")
+    public ResponseEntity<?> clear(@PathVariable Long userId,
+            @RequestAttribute(name = SessionTokenFilter.ATTRIBUTE, required = false) SessionUser session) {
+        try {
+            cartService.clear(SessionUser.actingUserId(session, userId, anonymousUserIds));
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Places an order for everything in the cart.
+     *
+     * @param userId  the cart owner
+     * @param request shipping address and optional coupon
+     * @param session the signed-in caller, if any; customers may only check
+     *                out their own cart
+     * @return {@link ResponseEntity} containing the created order with HTTP 201,
+     *         or HTTP 400 on error
+     */
+    @PostMapping("/{userId}/checkout")
+    public ResponseEntity<?> checkout(@PathVariable Long userId, @RequestBody CheckoutRequest request,
+            @RequestAttribute(name = SessionTokenFilter.ATTRIBUTE, required = false) SessionUser session) {
+        try {
+            OrderResponse orderResponse = cartService.checkout(
+                    SessionUser.actingUserId(session, userId, anonymousUserIds), request);
+            return new ResponseEntity<>(orderResponse, HttpStatus.CREATED);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.edu.SpringEcom.controller;
+
+import com.edu.SpringEcom.auth.SessionTokenFilter;
+import com.edu.SpringEcom.auth.SessionUser;
+import com.edu.SpringEcom.model.dto.HoldRequest;
+import com.edu.SpringEcom.service.InventoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for time-limited stock holds.
+ *
+ * <p>
+ * Provides endpoints for:
+ * <ul>
+ * <li>Reserving stock for a product before checkout</li>
+ * <li>Releasing a reservation early</li>
+ * </ul>
+ * Holds are turned into an order with {@code POST /api/orders/confirm}. Each
+ * hold belongs to the signed-in user who placed it; only they can release or
+ * confirm it.
+ * </p>
+ *
+ * <p>
+ * <b>Base Path:</b> {@code /api/inventory}
+ * </p>
+ * <p>
+ * <b>CORS:</b> Enabled for cross-origin requests
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see InventoryService
+ */
+@RestController
+@RequestMapping("/api/inventory")
+@CrossOrigin
+public class InventoryController {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    /** Whether requests without a session may still name the user they act for. */
+    @Value("${auth.anonymous-user-ids:false}")
+    private boolean anonymousUserIds;
+
+    /**
+     * Reserves stock for {@code inventory.hold.minutes}.
+     *
+     * @param request product, quantity and optionally the user to hold for
+     * @param session the signed-in caller
+     * @return {@link ResponseEntity} with the hold and HTTP 201, HTTP 401
+     *         without a session, HTTP 403 when holding for another user, or
+     *         HTTP 400 if the product is unknown or out of stock or the user
+     *         has too many holds
+     */
+    @PostMapping("/holds")
+    public ResponseEntity<?> reserve(@RequestBody HoldRequest request,
+            @RequestAttribute(name = SessionTokenFilter.ATTRIBUTE, required = false) SessionUser session) {
+        Long userId;
+        try {
+            userId = SessionUser.actingUserId(session, request.userId(), anonymousUserIds);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.FORBIDDEN);
+        }
+        if (userId == null) {
+            return new ResponseEntity<>("Sign in to reserve stock", HttpStatus.UNAUTHORIZED);
+        }
+        try {
+            return new ResponseEntity<>(inventoryService.reserve(request, userId), HttpStatus.CREATED);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Gives a hold's stock back before it expires.
+     *
+     * @param holdId  the hold identifier
+     * @param session the signed-in caller, who must have placed the hold
+     * @return {@link ResponseEntity} with HTTP 204, HTTP 401 without a
+     *         session, or HTTP 404 if the hold is someone else's or was
+     *         already confirmed, released or expired
+     */
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<?> release(@PathVariable String holdId,
+            @RequestAttribute(name = SessionTokenFilter.ATTRIBUTE, required = false) SessionUser session) {
+        if (session == null) {
+            return new ResponseEntity<>("Sign in to release stock", HttpStatus.UNAUTHORIZED);
+        }
+        try {
+            inventoryService.release(holdId, session.userId());
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
+    }
+}
@@ -1,12 +1,26 @@
 package com.edu.SpringEcom.controller;
 
+import com.edu.SpringEcom.model.dto.BulkStatusRequest;
+import com.edu.SpringEcom.model.dto.BulkStatusResponse;
+import com.edu.SpringEcom.model.dto.ConfirmOrderRequest;
 import com.edu.SpringEcom.model.dto.OrderRequest;
 import com.edu.SpringEcom.model.dto.OrderResponse;
+import com.edu.SpringEcom.model.dto.StatusUpdateRequest;
+import com.edu.SpringEcom.auth.SessionTokenFilter;
+import com.edu.SpringEcom.auth.SessionUser;
+import com.edu.SpringEcom.events.OrderEventRegistry;
+import com.edu.SpringEcom.model.Role;
+import com.edu.SpringEcom.projection.JsonField;
+import com.edu.SpringEcom.projection.OrderField;
 import com.edu.SpringEcom.service.OrderService;
+import com.edu.SpringEcom.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -17,7 +31,11 @@ import java.util.List;
  * Provides endpoints for:
  * <ul>
  * <li>Placing new orders</li>
- * <li>Retrieving order history</li>
+ * <li>Confirming stock holds into orders</li>
+ * <li>Retrieving order history, optionally only selected fields</li>
+ * <li>Looking up single orders, including archived ones</li>
+ * <li>Moving orders through their status lifecycle, singly or in bulk</li>
+ * <li>Streaming status changes to clients as Server-Sent Events</li>
  * </ul>
  * </p>
  * 
@@ -43,6 +61,16 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OrderEventRegistry orderEventRegistry;
+
+    @Autowired
+    private UserService userService;
+
+    /** Whether requests without a session may still name the user they act for. */
+    @Value("${auth.anonymous-user-ids:false}")
+    private boolean anonymousUserIds;
+
     /**
      * Places a new order in the system.
      * 
@@ -51,25 +79,183 @@ public class OrderController {
      * updates inventory, and returns the created order details.
      * </p>
      * 
+     * <p>
+     * With a session token the order is placed for the signed-in user, and the
+     * {@code userId} in the body may be omitted.
+     * </p>
+     * 
      * @param orderRequest the order details including customer info and items
-     * @return {@link ResponseEntity} containing created order with HTTP 201
+     * @param session      the signed-in caller, if any
+     * @return {@link ResponseEntity} containing created order with HTTP 201, or
+     *         HTTP 403 if a customer orders for someone else
      * @see OrderRequest
      * @see OrderResponse
      */
     @PostMapping("/orders/place")
-    public ResponseEntity<OrderResponse> placeOrder(@RequestBody OrderRequest orderRequest) {
-        OrderResponse orderResponse = orderService.placeOrder(orderRequest);
+    public ResponseEntity<?> placeOrder(@RequestBody OrderRequest orderRequest,
+            @RequestAttribute(name = SessionTokenFilter.ATTRIBUTE, required = false) SessionUser session) {
+        Long userId;
+        try {
+            userId = SessionUser.actingUserId(session, orderRequest.userId(), anonymousUserIds);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.FORBIDDEN);
+        }
+        OrderResponse orderResponse = orderService.placeOrder(new OrderRequest(
+                userId, orderRequest.addressId(), orderRequest.couponCode(), orderRequest.items()));
         return new ResponseEntity<>(orderResponse, HttpStatus.CREATED);
     }
 
+    /**
+     * Places an order for the stock reserved by earlier holds.
+     *
+     * @param request customer details, coupon and the holds to consume
+     * @param session the signed-in caller, if any
+     * @return {@link ResponseEntity} containing created order with HTTP 201, or
+     *         HTTP 400 if a hold has expired or the order is invalid
+     * @see com.edu.SpringEcom.controller.InventoryController
+     */
+    @PostMapping("/orders/confirm")
+    public ResponseEntity<?> confirmOrder(@RequestBody ConfirmOrderRequest request,
+            @RequestAttribute(name = SessionTokenFilter.ATTRIBUTE, required = false) SessionUser session) {
+        try {
+            Long userId = SessionUser.actingUserId(session, request.userId(), anonymousUserIds);
+            return new ResponseEntity<>(orderService.confirmOrder(new ConfirmOrderRequest(
+                    userId, request.addressId(), request.couponCode(), request.holdIds())), HttpStatus.CREATED);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     /**
      * Retrieves all orders from the system.
      * 
-     * @return {@link ResponseEntity} containing list of all orders with HTTP 200
+     * @param fields optional comma-separated fields to return, e.g.
+     *               {@code orderId,status,total}; only those columns are
+     *               queried and items only when {@code items} is listed. All
+     *               fields when absent.
+     * @return {@link ResponseEntity} containing list of all orders with HTTP
+     *         200, or HTTP 400 for an unknown field
+     * @see OrderField
      */
     @GetMapping("/orders")
-    public ResponseEntity<List<OrderResponse>> getAllOrders() {
-        List<OrderResponse> response = orderService.getAllOrderResponses();
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public ResponseEntity<?> getAllOrders(@RequestParam(required = false) String fields) {
+        List<OrderField> selected;
+        try {
+            selected = JsonField.parse(fields, OrderField.class);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+        if (selected == null) {
+            List<OrderResponse> response = orderService.getAllOrderResponses();
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        }
+        return new ResponseEntity<>(orderService.getAllOrderFields(selected), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves one order, looking in the archive when it is no longer in the
+     * database.
+     *
+     * @param orderId the customer-facing order identifier
+     * @return {@link ResponseEntity} containing the order with HTTP 200, or
+     *         HTTP 404 if there is no such order
+     * @see com.edu.SpringEcom.archive.OrderArchive
+     */
+    @GetMapping("/orders/{orderId}")
+    public ResponseEntity<?> getOrder(@PathVariable String orderId) {
+        try {
+            return new ResponseEntity<>(orderService.getOrder(orderId), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Moves a single order to a new status.
+     *
+     * @param orderId the customer-facing order identifier
+     * @param request the requested status
+     * @param session the signed-in caller; must be an admin
+     * @return {@link ResponseEntity} containing the updated order with HTTP 200,
+     *         HTTP 400 if the order is unknown or the transition is not
+     *         allowed, or HTTP 403 for non-admins
+     */
+    @PutMapping("/orders/{orderId}/status")
+    public ResponseEntity<?> updateStatus(@PathVariable String orderId, @RequestBody StatusUpdateRequest request,
+            @RequestAttribute(name = SessionTokenFilter.ATTRIBUTE, required = false) SessionUser session) {
+        if (!isAdmin(session)) {
+            return new ResponseEntity<>("Admin only", HttpStatus.FORBIDDEN);
+        }
+        try {
+            return new ResponseEntity<>(orderService.updateStatus(orderId, request.status()), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Moves many orders to the same status at once.
+     *
+     * <p>
+     * Orders whose current status can't move to the requested one, and unknown
+     * order IDs, are left unchanged and listed in the response.
+     * </p>
+     *
+     * @param request target status and order IDs
+     * @param session the signed-in caller; must be an admin
+     * @return {@link ResponseEntity} containing counts and rejected IDs with
+     *         HTTP 200, or HTTP 403 for non-admins
+     * @see BulkStatusResponse
+     */
+    @PostMapping("/orders/status")
+    public ResponseEntity<?> bulkUpdateStatus(@RequestBody BulkStatusRequest request,
+            @RequestAttribute(name = SessionTokenFilter.ATTRIBUTE, required = false) SessionUser session) {
+        if (!isAdmin(session)) {
+            return new ResponseEntity<>("Admin only", HttpStatus.FORBIDDEN);
+        }
+        try {
+            BulkStatusResponse response = orderService.bulkUpdateStatus(request);
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Streams status changes of one order as Server-Sent Events, starting with
+     * its current status. Replaces polling {@code GET /orders}.
+     *
+     * @param orderId the customer-facing order identifier
+     * @return an event stream of {@code status} events
+     */
+    @GetMapping(value = "/orders/{orderId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter orderEvents(@PathVariable String orderId) {
+        return orderEventRegistry.subscribeToOrder(orderId);
+    }
+
+    /**
+     * Streams status changes of every order of the signed-in customer, matched
+     * by the email on their account.
+     *
+     * @param session the signed-in caller
+     * @return {@link ResponseEntity} with an event stream of {@code status}
+     *         events, or HTTP 401 without a session token
+     */
+    @GetMapping(value = "/orders/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> customerOrderEvents(
+            @RequestAttribute(name = SessionTokenFilter.ATTRIBUTE, required = false) SessionUser session) {
+        if (session == null) {
+            return new ResponseEntity<>("Sign in to follow your orders", HttpStatus.UNAUTHORIZED);
+        }
+        try {
+            return new ResponseEntity<>(orderEventRegistry.subscribeToCustomer(userService.getEmail(session.userId())),
+                    HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
+        }
+    }
+
+    private static boolean isAdmin(SessionUser session) {
+        return session != null && session.role() == Role.ADMIN;
     }
 }
@@ -1,14 +1,28 @@
 package com.edu.SpringEcom.controller;
 
+import com.edu.SpringEcom.image.ImageStore;
 import com.edu.SpringEcom.model.Product;
+import com.edu.SpringEcom.model.dto.ProductBatchRequest;
+import com.edu.SpringEcom.model.dto.ProductSummaryResponse;
+import com.edu.SpringEcom.model.dto.RelatedProductResponse;
+import com.edu.SpringEcom.model.dto.SuggestionResponse;
+import com.edu.SpringEcom.profiling.ImageServeEvent;
+import com.edu.SpringEcom.projection.JsonField;
+import com.edu.SpringEcom.projection.ProductField;
 import com.edu.SpringEcom.service.ProductService;
+import com.edu.SpringEcom.suggest.Suggestion;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -20,6 +34,9 @@ import java.util.List;
  * <li>Product CRUD operations</li>
  * <li>Image upload and retrieval</li>
  * <li>Product search functionality</li>
+ * <li>Sparse fieldsets ({@code ?fields=}) on listing, search and detail</li>
+ * <li>Search-as-you-type suggestions</li>
+ * <li>"Frequently bought together" recommendations</li>
  * </ul>
  * </p>
  * 
@@ -46,23 +63,52 @@ public class ProductController {
     /**
      * Retrieves all products from the catalog.
      * 
-     * @return {@link ResponseEntity} containing list of all products with HTTP 200
+     * @param fields optional comma-separated fields to return, e.g.
+     *               {@code id,title,price,imageUrl}; only those columns are
+     *               queried. All fields when absent.
+     * @return {@link ResponseEntity} containing list of all products with HTTP
+     *         200, or HTTP 400 for an unknown field
+     * @see ProductField
      */
     @GetMapping("products")
-    public ResponseEntity<List<Product>> getProducts() {
-        return new ResponseEntity<>(productService.getAllProducts(), HttpStatus.OK);
+    public ResponseEntity<?> getProducts(@RequestParam(required = false) String fields) {
+        List<ProductField> selected;
+        try {
+            selected = JsonField.parse(fields, ProductField.class);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+        if (selected == null) {
+            return new ResponseEntity<>(productService.getAllProducts(), HttpStatus.OK);
+        }
+        return new ResponseEntity<>(productService.getAllProducts(selected), HttpStatus.OK);
     }
 
     /**
      * Retrieves a single product by its ID.
      * 
-     * @param id the unique identifier of the product
-     * @return {@link ResponseEntity} with product and HTTP 200, or HTTP 404 if not
-     *         found
+     * @param id     the unique identifier of the product
+     * @param fields optional comma-separated fields to return; all when absent
+     * @return {@link ResponseEntity} with product and HTTP 200, HTTP 404 if not
+     *         found, HTTP 400 for an unknown field, or HTTP 503 if the product
+     *         couldn't be loaded in time
      */
     @GetMapping("/product/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable int id) {
-        Product product = productService.getProductById(id);
+    public ResponseEntity<?> getProductById(@PathVariable int id, @RequestParam(required = false) String fields) {
+        List<ProductField> selected;
+        try {
+            selected = JsonField.parse(fields, ProductField.class);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+        Object product;
+        try {
+            product = selected == null
+                    ? productService.getProductById(id)
+                    : productService.getProductById(id, selected);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
 
         if (product != null)
             return new ResponseEntity<>(product, HttpStatus.OK);
@@ -70,12 +116,52 @@ public class ProductController {
             return new ResponseEntity<>(product, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Looks up many products at once, e.g. for a cart or order history page.
+     *
+     * @param ids comma-separated product IDs, e.g. {@code 12,7,31}
+     * @return {@link ResponseEntity} with one summary per ID in request order
+     *         and HTTP 200, missing products marked {@code "found": false};
+     *         HTTP 400 if too many IDs are requested, or HTTP 503 if the
+     *         products couldn't be loaded
+     * @see ProductSummaryResponse
+     */
+    @GetMapping("/products/batch")
+    public ResponseEntity<?> getProductsBatch(@RequestParam List<Integer> ids) {
+        return productsBatch(ids);
+    }
+
+    /**
+     * Same as {@link #getProductsBatch(List)}, for ID lists too long for a
+     * query string.
+     *
+     * @param request the product IDs
+     * @return as {@link #getProductsBatch(List)}
+     */
+    @PostMapping("/products/batch")
+    public ResponseEntity<?> postProductsBatch(@RequestBody ProductBatchRequest request) {
+        return productsBatch(request.ids() != null ? request.ids() : List.of());
+    }
+
+    private ResponseEntity<?> productsBatch(List<Integer> ids) {
+        List<ProductSummaryResponse> summaries;
+        try {
+            summaries = productService.getProductSummaries(ids);
+        } catch (DataAccessException | TransactionException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(summaries, HttpStatus.OK);
+    }
+
     /**
      * Creates a new product with image upload.
      * 
      * @param product   the product details as JSON in multipart request
      * @param imageFile the product image file
-     * @return {@link ResponseEntity} with saved product and HTTP 201, or HTTP 500
+     * @return {@link ResponseEntity} with saved product and HTTP 201, HTTP 400
+     *         if the image is too large or not an allowed type, or HTTP 500
      *         on error
      */
     @PostMapping("/product")
@@ -86,23 +172,62 @@ public class ProductController {
             return new ResponseEntity<>(savedProduct, HttpStatus.CREATED);
         } catch (IOException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
 
     /**
      * Retrieves the image data for a product.
      * 
-     * @param productId the unique identifier of the product
-     * @return {@link ResponseEntity} with image bytes and HTTP 200, or HTTP 404 if
-     *         not found
+     * <p>
+     * Uploaded images carry their hash as ETag, so a client sending it back in
+     * {@code If-None-Match} gets HTTP 304 without the image being loaded.
+     * </p>
+     * 
+     * @param productId   the unique identifier of the product
+     * @param ifNoneMatch the ETag of the copy the client already has, if any
+     * @return {@link ResponseEntity} with image bytes and HTTP 200, HTTP 304 if
+     *         the client's copy is current, HTTP 404 if not found, or HTTP 503
+     *         if the product or image couldn't be loaded
      */
     @GetMapping("product/{productId}/image")
-    public ResponseEntity<byte[]> getImageByproductId(@PathVariable int productId) {
-        Product product = productService.getProductById(productId);
-        if (product.getId() > 0)
+    public ResponseEntity<byte[]> getImageByproductId(@PathVariable int productId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ImageServeEvent event = ImageServeEvent.start(productId);
+        ResponseEntity<byte[]> response = serveImage(productId, ifNoneMatch);
+        event.finish(response.getStatusCode().value(), response.getHeaders().getETag(),
+                response.getBody() != null ? response.getBody().length : 0);
+        return response;
+    }
+
+    private ResponseEntity<byte[]> serveImage(int productId, String ifNoneMatch) {
+        Product product;
+        try {
+            product = productService.getProductById(productId);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        if (product == null || product.getId() <= 0)
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        if (product.getImageHash() == null)
             return new ResponseEntity<>(product.getImageData(), HttpStatus.OK);
-        else
+
+        String etag = "\"" + product.getImageHash() + "\"";
+        if (etag.equals(ifNoneMatch))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        ImageStore.StoredImage image;
+        try {
+            image = productService.getImage(product.getImageHash());
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        if (image == null)
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.parseMediaType(image.contentType()))
+                .body(image.data());
     }
 
     /**
@@ -112,7 +237,8 @@ public class ProductController {
      * @param product   the updated product details
      * @param imageFile the new product image file
      * @return {@link ResponseEntity} with confirmation message and HTTP 200, or
-     *         HTTP 400 on error
+     *         HTTP 400 on error, including an image that is too large or not
+     *         an allowed type
      */
     @PutMapping("product/{id}")
     public ResponseEntity<String> updateProduct(@PathVariable int id, @RequestPart Product product,
@@ -121,7 +247,7 @@ public class ProductController {
         try {
             updateProduct = productService.addOrUpdateProduct(product, imageFile);
             return new ResponseEntity<>("Update", HttpStatus.OK);
-        } catch (IOException e) {
+        } catch (IOException | RuntimeException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
@@ -151,12 +277,60 @@ public class ProductController {
      * </p>
      * 
      * @param keyword the search term to match
-     * @return {@link ResponseEntity} containing matching products with HTTP 200
+     * @param fields  optional comma-separated fields to return; only those
+     *                columns are queried. All fields when absent.
+     * @return {@link ResponseEntity} containing matching products with HTTP
+     *         200, or HTTP 400 for an unknown field
      */
     @GetMapping("/products/search")
-    public ResponseEntity<List<Product>> searchProducts(@RequestParam String keyword) {
-        List<Product> products = productService.searchProducts(keyword);
+    public ResponseEntity<?> searchProducts(@RequestParam String keyword,
+            @RequestParam(required = false) String fields) {
+        List<ProductField> selected;
+        try {
+            selected = JsonField.parse(fields, ProductField.class);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
         System.out.println("search with : " + keyword);
-        return new ResponseEntity<>(products, HttpStatus.OK);
+        if (selected == null) {
+            return new ResponseEntity<>(productService.searchProducts(keyword), HttpStatus.OK);
+        }
+        return new ResponseEntity<>(productService.searchProducts(keyword, selected), HttpStatus.OK);
+    }
+
+    /**
+     * Returns typeahead suggestions for a partially typed search term.
+     *
+     * <p>
+     * Intended to be called on every keystroke instead of
+     * {@code /products/search}; returns only IDs and labels.
+     * </p>
+     *
+     * @param prefix what the user has typed so far
+     * @param limit  maximum number of suggestions (default 10)
+     * @return {@link ResponseEntity} containing suggestions with HTTP 200
+     */
+    @GetMapping("/products/suggest")
+    public ResponseEntity<List<SuggestionResponse>> suggest(@RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<SuggestionResponse> response = new ArrayList<>();
+        for (Suggestion suggestion : productService.suggest(prefix, limit)) {
+            response.add(new SuggestionResponse(suggestion.type(), suggestion.productId(), suggestion.label()));
+        }
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves products frequently bought together with a product.
+     *
+     * @param id    the product being viewed
+     * @param limit maximum number of products (default 10)
+     * @return {@link ResponseEntity} containing related products with HTTP 200;
+     *         empty when there is no order history for the product
+     */
+    @GetMapping("/product/{id}/related")
+    public ResponseEntity<List<RelatedProductResponse>> getRelatedProducts(@PathVariable int id,
+            @RequestParam(defaultValue = "10") int limit) {
+        return new ResponseEntity<>(productService.getRelatedProducts(id, limit), HttpStatus.OK);
     }
 }
@@ -0,0 +1,138 @@
+package com.edu.SpringEcom.controller;
+
+import com.edu.SpringEcom.auth.SessionTokenFilter;
+import com.edu.SpringEcom.auth.SessionUser;
+import com.edu.SpringEcom.model.Role;
+import com.edu.SpringEcom.model.dto.RecordingStatusResponse;
+import com.edu.SpringEcom.profiling.ProfilingRecorder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * REST controller for on-demand JDK Flight Recorder recordings.
+ *
+ * <p>
+ * Provides endpoints for:
+ * <ul>
+ * <li>Starting a bounded recording</li>
+ * <li>Stopping it early</li>
+ * <li>Checking its state</li>
+ * <li>Downloading the finished {@code .jfr} file, to open in JDK Mission
+ * Control or {@code jfr print}</li>
+ * </ul>
+ * Every endpoint needs an admin session token.
+ * </p>
+ *
+ * <p>
+ * <b>Base Path:</b> {@code /api/admin/profiling}
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see ProfilingRecorder
+ */
+@RestController
+@RequestMapping("/api/admin/profiling")
+public class ProfilingController {
+
+    @Autowired
+    private ProfilingRecorder profilingRecorder;
+
+    /**
+     * Starts a recording that stops by itself after {@code seconds}.
+     *
+     * @param seconds how long to record; capped at
+     *                {@code profiling.recording.max-duration}
+     * @param session the signed-in caller
+     * @return {@link ResponseEntity} with the recording and HTTP 201, HTTP 403
+     *         for non-admins, or HTTP 409 if a recording is already running
+     */
+    @PostMapping("/start")
+    public ResponseEntity<?> start(@RequestParam(defaultValue = "60") long seconds,
+            @RequestAttribute(name = SessionTokenFilter.ATTRIBUTE, required = false) SessionUser session) {
+        if (!isAdmin(session)) {
+            return new ResponseEntity<>("Admin only", HttpStatus.FORBIDDEN);
+        }
+        try {
+            return new ResponseEntity<>(profilingRecorder.start(Duration.ofSeconds(seconds)), HttpStatus.CREATED);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        }
+    }
+
+    /**
+     * Stops the running recording and writes its file.
+     *
+     * @param session the signed-in caller
+     * @return {@link ResponseEntity} with the recording and HTTP 200, HTTP 403
+     *         for non-admins, or HTTP 409 if no recording is running
+     */
+    @PostMapping("/stop")
+    public ResponseEntity<?> stop(
+            @RequestAttribute(name = SessionTokenFilter.ATTRIBUTE, required = false) SessionUser session) {
+        if (!isAdmin(session)) {
+            return new ResponseEntity<>("Admin only", HttpStatus.FORBIDDEN);
+        }
+        try {
+            return new ResponseEntity<>(profilingRecorder.stop(), HttpStatus.OK);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        }
+    }
+
+    /**
+     * @param session the signed-in caller
+     * @return {@link ResponseEntity} with the current or last recording and
+     *         HTTP 200, HTTP 404 if there was none, or HTTP 403 for non-admins
+     */
+    @GetMapping
+    public ResponseEntity<?> status(
+            @RequestAttribute(name = SessionTokenFilter.ATTRIBUTE, required = false) SessionUser session) {
+        if (!isAdmin(session)) {
+            return new ResponseEntity<>("Admin only", HttpStatus.FORBIDDEN);
+        }
+        RecordingStatusResponse status = profilingRecorder.status();
+        return status != null ? new ResponseEntity<>(status, HttpStatus.OK) : new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Downloads the finished recording.
+     *
+     * @param session the signed-in caller
+     * @return {@link ResponseEntity} with the {@code .jfr} file and HTTP 200,
+     *         HTTP 409 while the recording is running or if there is none, or
+     *         HTTP 403 for non-admins
+     */
+    @GetMapping("/recording")
+    public ResponseEntity<?> download(
+            @RequestAttribute(name = SessionTokenFilter.ATTRIBUTE, required = false) SessionUser session) {
+        if (!isAdmin(session)) {
+            return new ResponseEntity<>("Admin only", HttpStatus.FORBIDDEN);
+        }
+        Path file;
+        try {
+            file = profilingRecorder.recordingFile();
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+
+    private static boolean isAdmin(SessionUser session) {
+        return session != null && session.role() == Role.ADMIN;
+    }
+}
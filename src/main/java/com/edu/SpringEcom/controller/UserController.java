@@ -1,10 +1,13 @@
 package com.edu.SpringEcom.controller;
 
+import com.edu.SpringEcom.auth.SessionTokenFilter;
+import com.edu.SpringEcom.auth.SessionUser;
 import com.edu.SpringEcom.model.Address;
-import com.edu.SpringEcom.model.User;
 import com.edu.SpringEcom.model.dto.AuthRequest;
+import com.edu.SpringEcom.model.dto.AuthResponse;
 import com.edu.SpringEcom.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,11 +20,15 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    /** Whether requests without a session may still name the user they act for. */
+    @Value("${auth.anonymous-user-ids:false}")
+    private boolean anonymousUserIds;
+
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody AuthRequest request) {
         try {
-            User user = userService.register(request);
-            return new ResponseEntity<>(user, HttpStatus.CREATED);
+            AuthResponse session = userService.register(request);
+            return new ResponseEntity<>(session, HttpStatus.CREATED);
         } catch (Exception e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
@@ -30,17 +37,19 @@ public class UserController {
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody AuthRequest request) {
         try {
-            User user = userService.login(request.email(), request.password());
-            return new ResponseEntity<>(user, HttpStatus.OK);
+            AuthResponse session = userService.login(request.email(), request.password());
+            return new ResponseEntity<>(session, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
         }
     }
 
     @PostMapping("/{userId}/addresses")
-    public ResponseEntity<?> addAddress(@PathVariable Long userId, @RequestBody Address address) {
+    public ResponseEntity<?> addAddress(@PathVariable Long userId, @RequestBody Address address,
+            @RequestAttribute(name = SessionTokenFilter.ATTRIBUTE, required = false) SessionUser session) {
         try {
-            Address savedAddress = userService.addAddress(userId, address);
+            Address savedAddress = userService.addAddress(
+                    SessionUser.actingUserId(session, userId, anonymousUserIds), address);
             return new ResponseEntity<>(savedAddress, HttpStatus.CREATED);
         } catch (Exception e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
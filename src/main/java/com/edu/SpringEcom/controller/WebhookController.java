@@ -0,0 +1,98 @@
+package com.edu.SpringEcom.controller;
+
+import com.edu.SpringEcom.auth.SessionTokenFilter;
+import com.edu.SpringEcom.auth.SessionUser;
+import com.edu.SpringEcom.model.Role;
+import com.edu.SpringEcom.model.dto.WebhookEndpointRequest;
+import com.edu.SpringEcom.service.WebhookService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for partner webhook endpoints.
+ *
+ * <p>
+ * Provides endpoints for:
+ * <ul>
+ * <li>Registering a URL to receive order events</li>
+ * <li>Listing endpoints with their delivery backlog and circuit state</li>
+ * <li>Removing an endpoint</li>
+ * </ul>
+ * Every endpoint needs an admin session token.
+ * </p>
+ *
+ * <p>
+ * <b>Base Path:</b> {@code /api/admin/webhooks}
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see WebhookService
+ */
+@RestController
+@RequestMapping("/api/admin/webhooks")
+public class WebhookController {
+
+    @Autowired
+    private WebhookService webhookService;
+
+    /**
+     * @param request the endpoint's URL and optional signing secret
+     * @param session the signed-in caller
+     * @return {@link ResponseEntity} with the endpoint and HTTP 201, HTTP 400
+     *         for an invalid URL, or HTTP 403 for non-admins
+     */
+    @PostMapping
+    public ResponseEntity<?> register(@RequestBody WebhookEndpointRequest request,
+            @RequestAttribute(name = SessionTokenFilter.ATTRIBUTE, required = false) SessionUser session) {
+        if (!isAdmin(session)) {
+            return new ResponseEntity<>("Admin only", HttpStatus.FORBIDDEN);
+        }
+        try {
+            return new ResponseEntity<>(webhookService.register(request), HttpStatus.CREATED);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * @param session the signed-in caller
+     * @return {@link ResponseEntity} with every endpoint and HTTP 200, or HTTP
+     *         403 for non-admins
+     */
+    @GetMapping
+    public ResponseEntity<?> list(
+            @RequestAttribute(name = SessionTokenFilter.ATTRIBUTE, required = false) SessionUser session) {
+        if (!isAdmin(session)) {
+            return new ResponseEntity<>("Admin only", HttpStatus.FORBIDDEN);
+        }
+        return new ResponseEntity<>(webhookService.getEndpoints(), HttpStatus.OK);
+    }
+
+    /**
+     * @param id      the endpoint
+     * @param session the signed-in caller
+     * @return {@link ResponseEntity} with HTTP 204, HTTP 404 if there is no
+     *         such endpoint, or HTTP 403 for non-admins
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> delete(@PathVariable Long id,
+            @RequestAttribute(name = SessionTokenFilter.ATTRIBUTE, required = false) SessionUser session) {
+        if (!isAdmin(session)) {
+            return new ResponseEntity<>("Admin only", HttpStatus.FORBIDDEN);
+        }
+        try {
+            webhookService.delete(id);
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
+    }
+
+    private static boolean isAdmin(SessionUser session) {
+        return session != null && session.role() == Role.ADMIN;
+    }
+}
@@ -0,0 +1,311 @@
+package com.edu.SpringEcom.events;
+
+import com.edu.SpringEcom.archive.OrderArchive;
+import com.edu.SpringEcom.cache.EntityChange;
+import com.edu.SpringEcom.cache.InvalidationBus;
+import com.edu.SpringEcom.model.dto.OrderStatusEvent;
+import com.edu.SpringEcom.repo.OrderRepo;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Fan-out registry for order status Server-Sent Events.
+ *
+ * <p>
+ * Subscribers are {@link SseEmitter}s keyed by order ID or by customer email.
+ * An idle subscription is just an entry in a map plus a suspended async
+ * request, so no thread is held per connection. Sends run on virtual threads,
+ * so a slow client blocks only its own send and never the thread that changed
+ * the order.
+ * </p>
+ *
+ * <p>
+ * Status changes arrive as {@link EntityChange#ORDER} changes on the
+ * {@link InvalidationBus}, so a change made on any node reaches subscribers
+ * on every node. Their ID is {@link #changeId(String, String)}, which carries
+ * a hash of the customer's email next to the order ID, so the current status
+ * is read from the database only when a stream for that order or customer is
+ * open here, and never by more than {@code orders.events.max-lookups} threads
+ * at once. When the bus may have lost changes
+ * ({@link EntityChange#ALL}) every open stream is sent its orders' current
+ * status again. A heartbeat comment every {@code orders.events.heartbeat-ms}
+ * keeps proxies from closing idle streams and finds dead connections, which
+ * are then removed.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+@Component
+public class OrderEventRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventRegistry.class);
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Autowired
+    private OrderRepo orderRepo;
+
+    @Autowired
+    private OrderArchive orderArchive;
+
+    @Value("${orders.events.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${orders.events.max-lookups:4}")
+    private int maxLookups;
+
+    private final Map<String, Set<Subscriber>> byOrder = new ConcurrentHashMap<>();
+    /** Keyed by {@link #emailKey(String)}; subscribers sharing a key may have different emails. */
+    private final Map<String, Set<Subscriber>> byCustomer = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    /** Caps concurrent database reads, so bursts of changes can't drain the connection pool. */
+    private Semaphore lookups;
+
+    @PostConstruct
+    void init() {
+        lookups = new Semaphore(Math.max(1, maxLookups));
+        invalidationBus.subscribe(change -> {
+            if (!EntityChange.ORDER.equals(change.entity())) {
+                return;
+            }
+            if (EntityChange.ALL.equals(change.id())) {
+                onAllOrdersChanged();
+            } else {
+                onOrderChanged(change.id());
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+    }
+
+    /**
+     * ID to {@link InvalidationBus#publish(String, Object) publish} an
+     * {@link EntityChange#ORDER} change under, so that nodes can tell whether
+     * any of their streams could be interested without a database read.
+     *
+     * @param orderId the customer-facing order ID
+     * @param email   the customer's email address, may be {@code null}
+     * @return the order ID and a hash of the email
+     */
+    public static String changeId(String orderId, String email) {
+        return orderId + ":" + (email == null ? "" : emailKey(email));
+    }
+
+    /**
+     * Opens a stream of status changes for one order. The current status is
+     * sent straight away; for an archived order that is its final status.
+     *
+     * @param orderId the customer-facing order ID
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribeToOrder(String orderId) {
+        Subscriber subscriber = register(byOrder, orderId, null);
+        orderRepo.findStatusEvent(orderId)
+                .or(() -> orderArchive.find(orderId)
+                        .map(order -> new OrderStatusEvent(order.orderId(), order.email(), order.status())))
+                .ifPresent(event -> send(subscriber, event));
+        return subscriber.emitter();
+    }
+
+    /**
+     * Opens a stream of status changes for every order of a customer.
+     *
+     * @param email the customer's email address
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribeToCustomer(String email) {
+        String normalized = email.toLowerCase(Locale.ROOT);
+        return register(byCustomer, emailKey(normalized), normalized).emitter();
+    }
+
+    /** @return number of open streams */
+    public int getSubscriberCount() {
+        return subscribers.get();
+    }
+
+    /**
+     * Sends a comment line to every stream so dead connections surface and get
+     * removed, and intermediaries see traffic on idle ones.
+     */
+    @Scheduled(fixedDelayString = "${orders.events.heartbeat-ms:20000}")
+    public void heartbeat() {
+        heartbeat(byOrder);
+        heartbeat(byCustomer);
+    }
+
+    private void onOrderChanged(String changeId) {
+        int separator = changeId.lastIndexOf(':');
+        String orderId = separator < 0 ? changeId : changeId.substring(0, separator);
+        // A bare order ID (from a node predating changeId) could belong to any customer
+        boolean customerListening = separator < 0
+                ? !byCustomer.isEmpty()
+                : byCustomer.containsKey(changeId.substring(separator + 1));
+        if (!customerListening && !byOrder.containsKey(orderId)) {
+            return; // nobody here is interested; skip the lookup
+        }
+        lookup(() -> {
+            try {
+                orderRepo.findStatusEvent(orderId).ifPresent(event -> {
+                    broadcast(byOrder.get(orderId), event);
+                    broadcastToCustomer(event);
+                });
+            } catch (RuntimeException e) {
+                log.warn("Could not push status of order {}: {}", orderId, e.getMessage());
+            }
+        });
+    }
+
+    /** Re-sends current statuses to every stream, as changes may have been missed. */
+    private void onAllOrdersChanged() {
+        if (byOrder.isEmpty() && byCustomer.isEmpty()) {
+            return;
+        }
+        lookup(() -> {
+            try {
+                for (String orderId : byOrder.keySet()) {
+                    orderRepo.findStatusEvent(orderId).ifPresent(event -> broadcast(byOrder.get(orderId), event));
+                }
+                Set<String> emails = byCustomer.values().stream()
+                        .flatMap(Set::stream)
+                        .map(Subscriber::email)
+                        .collect(Collectors.toSet());
+                if (!emails.isEmpty()) {
+                    orderRepo.findStatusEventsByEmails(emails).forEach(this::broadcastToCustomer);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not re-send order statuses: {}", e.getMessage());
+            }
+        });
+    }
+
+    /** Runs a database read on a sender thread once one of the {@link #lookups} permits is free. */
+    private void lookup(Runnable read) {
+        sender.execute(() -> {
+            try {
+                lookups.acquire();
+            } catch (InterruptedException e) {
+                return; // shutting down
+            }
+            try {
+                read.run();
+            } finally {
+                lookups.release();
+            }
+        });
+    }
+
+    private static String emailKey(String email) {
+        return Integer.toHexString(email.toLowerCase(Locale.ROOT).hashCode());
+    }
+
+    private Subscriber register(Map<String, Set<Subscriber>> index, String key, String email) {
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMs), index, key, email);
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscribers.incrementAndGet();
+        subscriber.emitter().onCompletion(() -> unregister(subscriber));
+        subscriber.emitter().onTimeout(() -> unregister(subscriber));
+        subscriber.emitter().onError(e -> unregister(subscriber));
+        return subscriber;
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscriber.index().computeIfPresent(subscriber.key(), (k, set) -> {
+            if (set.remove(subscriber)) {
+                subscribers.decrementAndGet();
+            }
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private void broadcast(Set<Subscriber> targets, OrderStatusEvent event) {
+        if (targets != null) {
+            for (Subscriber subscriber : targets) {
+                send(subscriber, event);
+            }
+        }
+    }
+
+    private void broadcastToCustomer(OrderStatusEvent event) {
+        if (event.email() == null) {
+            return;
+        }
+        String email = event.email().toLowerCase(Locale.ROOT);
+        Set<Subscriber> targets = byCustomer.get(emailKey(email));
+        if (targets != null) {
+            for (Subscriber subscriber : targets) {
+                if (email.equals(subscriber.email())) {
+                    send(subscriber, event);
+                }
+            }
+        }
+    }
+
+    private void send(Subscriber subscriber, OrderStatusEvent event) {
+        try {
+            subscriber.emitter().send(SseEmitter.event().name("status").id(event.orderId()).data(event));
+        } catch (IOException | IllegalStateException e) {
+            drop(subscriber, e);
+        }
+    }
+
+    private void heartbeat(Map<String, Set<Subscriber>> index) {
+        for (Set<Subscriber> targets : index.values()) {
+            for (Subscriber subscriber : targets) {
+                sender.execute(() -> {
+                    try {
+                        subscriber.emitter().send(SseEmitter.event().comment("heartbeat"));
+                    } catch (IOException | IllegalStateException e) {
+                        drop(subscriber, e);
+                    }
+                });
+            }
+        }
+    }
+
+    private void drop(Subscriber subscriber, Exception cause) {
+        unregister(subscriber);
+        subscriber.emitter().completeWithError(cause);
+    }
+
+    /**
+     * An open stream and where it is registered; {@code email} is set for
+     * customer streams. Compared by identity.
+     */
+    private record Subscriber(SseEmitter emitter, Map<String, Set<Subscriber>> index, String key, String email) {
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
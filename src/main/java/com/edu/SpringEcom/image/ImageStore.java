@@ -0,0 +1,289 @@
+package com.edu.SpringEcom.image;
+
+import com.edu.SpringEcom.model.ProductImage;
+import com.edu.SpringEcom.repo.ProductImageRepo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Receives, deduplicates and serves product images.
+ *
+ * <p>
+ * {@link #receive(MultipartFile)} copies an upload to a temp file in 8 KB
+ * chunks, hashing as it goes, so an upload never sits in the heap whole. It
+ * is rejected before anything is read if the declared type isn't in
+ * {@code product.image.allowed-types} or the declared size is over
+ * {@code product.image.max-size}, and as soon as the first bytes don't look
+ * like an allowed image or the bytes read pass the limit.
+ * </p>
+ *
+ * <p>
+ * {@link #store(ImageUpload)} writes an image only if no {@link ProductImage}
+ * with its hash exists; re-uploading the same image, for the same product or
+ * another, costs one UPDATE. Images are immutable, so recently served ones
+ * are cached by hash up to {@code product.image.cache-size} bytes without any
+ * invalidation. Images no product uses any more are deleted by a periodic
+ * sweep once unused for {@code product.image.unused-grace-minutes}.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see ProductImage
+ */
+@Component
+public class ImageStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageStore.class);
+
+    /** Enough leading bytes to recognise every allowed format. */
+    private static final int SIGNATURE_LENGTH = 12;
+
+    @Autowired
+    private ProductImageRepo productImageRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${product.image.max-size:5MB}")
+    private DataSize maxSize;
+
+    @Value("${product.image.allowed-types:image/jpeg,image/png,image/gif,image/webp}")
+    private Set<String> allowedTypes;
+
+    @Value("${product.image.cache-size:16MB}")
+    private DataSize cacheSize;
+
+    @Value("${product.image.unused-grace-minutes:60}")
+    private long unusedGraceMinutes;
+
+    // Guarded by itself; access order, so the eldest entry is least recently served
+    private final Map<String, StoredImage> cache = new LinkedHashMap<>(64, 0.75f, true);
+    private long cachedBytes;
+
+    /**
+     * An image ready to serve.
+     *
+     * @param hash        its SHA-256, usable as an ETag
+     * @param contentType its MIME type
+     * @param data        its bytes
+     */
+    public record StoredImage(String hash, String contentType, byte[] data) {
+    }
+
+    /**
+     * Validates an upload and spools it to a temp file, hashing it on the way.
+     *
+     * @param file the uploaded image
+     * @return the accepted upload; close it to delete the temp file
+     * @throws RuntimeException if the image is too large or not an allowed type
+     * @throws IOException      if the upload can't be read or spooled
+     */
+    public ImageUpload receive(MultipartFile file) throws IOException {
+        String declared = normalize(file.getContentType());
+        if (!allowedTypes.contains(declared)) {
+            throw new RuntimeException("Unsupported image type " + file.getContentType()
+                    + "; expected one of " + allowedTypes);
+        }
+        long limit = maxSize.toBytes();
+        if (file.getSize() > limit) {
+            throw new RuntimeException("Image is larger than " + maxSize);
+        }
+
+        Path spool = Files.createTempFile("product-image", ".upload");
+        try {
+            MessageDigest digest = sha256();
+            byte[] signature = new byte[SIGNATURE_LENGTH];
+            int signatureLength = 0;
+            String detected = null;
+            long size = 0;
+            try (InputStream in = file.getInputStream(); OutputStream out = Files.newOutputStream(spool)) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    size += read;
+                    if (size > limit) {
+                        throw new RuntimeException("Image is larger than " + maxSize);
+                    }
+                    if (signatureLength < SIGNATURE_LENGTH) {
+                        int copy = Math.min(read, SIGNATURE_LENGTH - signatureLength);
+                        System.arraycopy(buffer, 0, signature, signatureLength, copy);
+                        signatureLength += copy;
+                        if (signatureLength == SIGNATURE_LENGTH) {
+                            detected = checkSignature(signature, signatureLength, declared);
+                        }
+                    }
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+            if (detected == null) {
+                detected = checkSignature(signature, signatureLength, declared);
+            }
+            return new ImageUpload(spool, HexFormat.of().formatHex(digest.digest()), size, detected);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spool);
+            throw e;
+        }
+    }
+
+    /**
+     * Makes sure an image is stored, writing it only if it isn't already.
+     *
+     * @param upload an accepted upload
+     * @return the image's hash, to reference from the product
+     * @throws IOException if the spooled file can't be read
+     */
+    public String store(ImageUpload upload) throws IOException {
+        if (productImageRepo.touch(upload.hash(), Instant.now()) > 0) {
+            return upload.hash();
+        }
+        try (InputStream in = Files.newInputStream(upload.file())) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                entityManager.persist(new ProductImage(upload.hash(), upload.contentType(), upload.size(),
+                        Instant.now(), Hibernate.getLobHelper().createBlob(in, upload.size())));
+                entityManager.flush();
+            });
+        } catch (DataIntegrityViolationException | PersistenceException e) {
+            // The same image was stored by a concurrent upload
+            if (productImageRepo.touch(upload.hash(), Instant.now()) == 0) {
+                throw e;
+            }
+        }
+        return upload.hash();
+    }
+
+    /**
+     * @param hash an image hash
+     * @return the image, or {@code null} if none is stored under that hash
+     */
+    public StoredImage load(String hash) {
+        synchronized (cache) {
+            StoredImage cached = cache.get(hash);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        StoredImage image = new TransactionTemplate(transactionManager).execute(status ->
+                productImageRepo.findById(hash).map(stored -> {
+                    try {
+                        return new StoredImage(hash, stored.getContentType(),
+                                stored.getData().getBytes(1, (int) stored.getSize()));
+                    } catch (SQLException e) {
+                        throw new RuntimeException("Could not read image " + hash, e);
+                    }
+                }).orElse(null));
+        if (image != null) {
+            cache(image);
+        }
+        return image;
+    }
+
+    /**
+     * Deletes images no product uses that haven't been uploaded again within
+     * the grace period.
+     */
+    @Scheduled(fixedDelayString = "${product.image.sweep-ms:3600000}")
+    public void deleteUnused() {
+        int deleted = productImageRepo.deleteUnused(Instant.now().minus(Duration.ofMinutes(unusedGraceMinutes)));
+        if (deleted > 0) {
+            log.info("Deleted {} unused product images", deleted);
+        }
+    }
+
+    private void cache(StoredImage image) {
+        long limit = cacheSize.toBytes();
+        if (image.data().length > limit / 4) {
+            return; // one huge image shouldn't flush everything else
+        }
+        synchronized (cache) {
+            if (cache.put(image.hash(), image) == null) {
+                cachedBytes += image.data().length;
+            }
+            Iterator<Map.Entry<String, StoredImage>> eldest = cache.entrySet().iterator();
+            while (cachedBytes > limit && eldest.hasNext()) {
+                cachedBytes -= eldest.next().getValue().data().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    private String checkSignature(byte[] signature, int length, String declared) {
+        String detected = detectType(signature, length);
+        if (detected == null || !allowedTypes.contains(detected)) {
+            throw new RuntimeException("File is not a supported image");
+        }
+        if (!detected.equals(declared)) {
+            throw new RuntimeException("Image content is " + detected + " but was uploaded as " + declared);
+        }
+        return detected;
+    }
+
+    private static String detectType(byte[] b, int length) {
+        if (length >= 8 && (b[0] & 0xFF) == 0x89 && b[1] == 'P' && b[2] == 'N' && b[3] == 'G'
+                && b[4] == 0x0D && b[5] == 0x0A && b[6] == 0x1A && b[7] == 0x0A) {
+            return "image/png";
+        }
+        if (length >= 3 && (b[0] & 0xFF) == 0xFF && (b[1] & 0xFF) == 0xD8 && (b[2] & 0xFF) == 0xFF) {
+            return "image/jpeg";
+        }
+        if (length >= 6 && b[0] == 'G' && b[1] == 'I' && b[2] == 'F' && b[3] == '8'
+                && (b[4] == '7' || b[4] == '9') && b[5] == 'a') {
+            return "image/gif";
+        }
+        if (length >= 12 && b[0] == 'R' && b[1] == 'I' && b[2] == 'F' && b[3] == 'F'
+                && b[8] == 'W' && b[9] == 'E' && b[10] == 'B' && b[11] == 'P') {
+            return "image/webp";
+        }
+        return null;
+    }
+
+    private static String normalize(String contentType) {
+        if (contentType == null) {
+            return "";
+        }
+        String type = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        return type.equals("image/jpg") ? "image/jpeg" : type;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
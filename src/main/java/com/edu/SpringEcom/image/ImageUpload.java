@@ -0,0 +1,29 @@
+package com.edu.SpringEcom.image;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * An accepted image upload, spooled to a temp file.
+ *
+ * <p>
+ * Closing it deletes the temp file, so use it in try-with-resources.
+ * </p>
+ *
+ * @param file        the temp file holding the bytes
+ * @param hash        lower-case hex SHA-256 of the bytes
+ * @param size        number of bytes
+ * @param contentType MIME type detected from the bytes
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see ImageStore#receive(org.springframework.web.multipart.MultipartFile)
+ */
+public record ImageUpload(Path file, String hash, long size, String contentType) implements AutoCloseable {
+
+    @Override
+    public void close() throws IOException {
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,271 @@
+package com.edu.SpringEcom.inventory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: O(1) scheduling and cancellation of very many timeouts
+ * driven by a single thread.
+ *
+ * <p>
+ * Time is cut into ticks of fixed length and the wheel is a ring of
+ * {@code slots} buckets, one per tick. A timeout due {@code n} ticks from now
+ * goes into bucket {@code (now + n) mod slots} with
+ * {@code n / slots} remaining rounds. Each tick the worker visits exactly one
+ * bucket, expiring entries whose rounds are used up and decrementing the rest,
+ * so the cost per tick is proportional to that bucket only and not to the
+ * number of outstanding timeouts. Expiry is accurate to one tick.
+ * </p>
+ *
+ * <p>
+ * Buckets are intrusive doubly linked lists touched only by the worker.
+ * {@link #schedule} and {@link Timeout#cancel()} may be called from any thread:
+ * they hand the timeout to the worker through lock-free queues that it drains
+ * at the start of every tick. Everything that expires in one tick is passed
+ * to the callback as one batch on the worker thread; if the callback is slow
+ * the wheel falls behind and then catches up, but never fires early.
+ * </p>
+ *
+ * @param <T> payload carried by each timeout
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public final class HashedTimingWheel<T> implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(HashedTimingWheel.class);
+
+    /** Upper bound on new timeouts moved into buckets per tick, so a burst can't stall expiry. */
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket<T>[] wheel;
+    private final int mask;
+    private final Consumer<List<T>> onExpired;
+    private final Queue<Timeout<T>> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout<T>> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicLong outstanding = new AtomicLong();
+    private final long startNanos = System.nanoTime();
+    private final Thread worker;
+
+    private volatile boolean running = true;
+
+    /** Ticks processed so far; worker thread only. */
+    private long tick;
+
+    /**
+     * Creates the wheel and starts its worker thread.
+     *
+     * @param tickDuration length of one tick
+     * @param unit         unit of {@code tickDuration}
+     * @param slots        buckets in the ring, rounded up to a power of two
+     * @param onExpired    receives the payloads that expired in a tick
+     * @param name         worker thread name
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickDuration, TimeUnit unit, int slots, Consumer<List<T>> onExpired, String name) {
+        this.tickNanos = Math.max(1, unit.toNanos(tickDuration));
+        int size = Integer.highestOneBit(Math.max(1, Math.min(slots, 1 << 30)) * 2 - 1);
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket<>();
+        }
+        this.mask = size - 1;
+        this.onExpired = onExpired;
+        this.worker = Thread.ofPlatform().daemon().name(name).start(this::run);
+    }
+
+    /**
+     * Schedules a payload to expire after a delay.
+     *
+     * @param payload what to hand to the expiry callback
+     * @param delay   time until expiry; zero or negative expires on the next tick
+     * @param unit    unit of {@code delay}
+     * @return a handle that can cancel the timeout
+     */
+    public Timeout<T> schedule(T payload, long delay, TimeUnit unit) {
+        long deadline = System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay));
+        Timeout<T> timeout = new Timeout<>(this, payload, deadline);
+        outstanding.incrementAndGet();
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    /** @return timeouts scheduled and neither expired nor cancelled */
+    public long size() {
+        return outstanding.get();
+    }
+
+    /** Stops the worker; outstanding timeouts never fire. */
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = (tick + 1) * tickNanos;
+            long sleepNanos = deadline - (System.nanoTime() - startNanos);
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+                continue; // re-check: park may return early
+            }
+            removeCancelled();
+            transferScheduled();
+            List<T> expired = expire(wheel[(int) (tick & mask)]);
+            tick++;
+            if (!expired.isEmpty()) {
+                try {
+                    onExpired.accept(expired);
+                } catch (RuntimeException e) {
+                    log.warn("Expiry callback failed for {} timeouts: {}", expired.size(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout<T> timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.unlink(timeout);
+            }
+        }
+    }
+
+    private void transferScheduled() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout<T> timeout = scheduled.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state != Timeout.PENDING) {
+                continue; // cancelled before it reached a bucket
+            }
+            long due = timeout.deadline / tickNanos;
+            timeout.remainingRounds = Math.max(0, (due - tick) / wheel.length);
+            wheel[(int) (Math.max(due, tick) & mask)].link(timeout);
+        }
+    }
+
+    private List<T> expire(Bucket<T> bucket) {
+        List<T> expired = new ArrayList<>();
+        Timeout<T> timeout = bucket.head;
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            if (timeout.remainingRounds <= 0) {
+                bucket.unlink(timeout);
+                if (Timeout.STATE.compareAndSet(timeout, Timeout.PENDING, Timeout.EXPIRED)) {
+                    outstanding.decrementAndGet();
+                    expired.add(timeout.payload);
+                }
+            } else {
+                timeout.remainingRounds--;
+            }
+            timeout = next;
+        }
+        return expired;
+    }
+
+    /**
+     * Handle for a scheduled payload.
+     *
+     * @param <T> payload type
+     */
+    public static final class Timeout<T> {
+
+        static final int PENDING = 0;
+        static final int CANCELLED = 1;
+        static final int EXPIRED = 2;
+
+        @SuppressWarnings("rawtypes")
+        static final AtomicIntegerFieldUpdater<Timeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final HashedTimingWheel<T> owner;
+        private final T payload;
+        private final long deadline;
+
+        volatile int state = PENDING;
+
+        // Worker thread only
+        long remainingRounds;
+        Bucket<T> bucket;
+        Timeout<T> prev;
+        Timeout<T> next;
+
+        Timeout(HashedTimingWheel<T> owner, T payload, long deadline) {
+            this.owner = owner;
+            this.payload = payload;
+            this.deadline = deadline;
+        }
+
+        /** @return the scheduled payload */
+        public T payload() {
+            return payload;
+        }
+
+        /**
+         * Cancels the timeout if it has not fired yet.
+         *
+         * @return {@code true} if this call prevented the expiry
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, PENDING, CANCELLED)) {
+                return false;
+            }
+            owner.outstanding.decrementAndGet();
+            owner.cancelled.add(this);
+            return true;
+        }
+    }
+
+    /** Doubly linked list of timeouts sharing a slot. */
+    private static final class Bucket<T> {
+
+        Timeout<T> head;
+        Timeout<T> tail;
+
+        void link(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = tail;
+            timeout.next = null;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void unlink(Timeout<T> timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+    }
+}
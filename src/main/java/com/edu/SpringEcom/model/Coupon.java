@@ -26,4 +26,25 @@ public class Coupon {
     private LocalDate expiryDate;
 
     private boolean isActive;
-}
\ No newline at end of file
+
+    @Enumerated(EnumType.STRING)
+    private DiscountType discountType; // null is treated as PERCENTAGE
+
+    private BigDecimal discountAmount; // used when discountType is FIXED
+
+    private String category; // if set, only items in this category are discounted
+
+    private BigDecimal minimumSpend; // eligible amount required before the coupon applies
+
+    private Boolean stackable; // may be combined with other stackable discounts
+
+    private Boolean autoApply; // applied to every order without the customer entering the code
+
+    private Long maxRedemptions; // redemptions allowed across all customers; null means unlimited
+
+    private Long maxRedemptionsPerUser; // redemptions allowed per customer; null means unlimited
+
+    private Long redemptionsLeased; // handed out to application nodes, used or not; never above maxRedemptions
+
+    private Long redemptionCount; // used redemptions, reconciled from the nodes in batches
+}
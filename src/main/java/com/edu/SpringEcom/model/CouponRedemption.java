@@ -0,0 +1,41 @@
+package com.edu.SpringEcom.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * How many times one customer has redeemed one coupon.
+ *
+ * <p>
+ * Only kept for coupons with a {@link Coupon#getMaxRedemptionsPerUser()} cap.
+ * Each customer has their own row, so checkouts by different customers never
+ * wait on each other to check it.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see com.edu.SpringEcom.pricing.RedemptionLimiter
+ */
+@Entity
+@Table(name = "coupon_redemptions",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"couponCode", "userId"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponRedemption {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String couponCode;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    private long redemptions;
+}
@@ -0,0 +1,18 @@
+package com.edu.SpringEcom.model;
+
+/**
+ * How a {@link Coupon} reduces the price of an order.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see Coupon
+ */
+public enum DiscountType {
+
+    /** Takes a percentage off the eligible amount (e.g., 10 for 10% off). */
+    PERCENTAGE,
+
+    /** Takes a fixed amount off, never more than the eligible amount. */
+    FIXED
+}
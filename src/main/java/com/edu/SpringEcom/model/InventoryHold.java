@@ -0,0 +1,47 @@
+package com.edu.SpringEcom.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Stock reserved for a customer for a limited time.
+ *
+ * <p>
+ * The held quantity is subtracted from {@link Product#getStockQuantity()} when
+ * the hold is created, so it can't be sold to anyone else. The hold ends in
+ * one of three ways: it is confirmed into an order, released by the customer,
+ * or expires and its stock is put back. Whichever happens first deletes this
+ * row; the other paths then find nothing to do.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see com.edu.SpringEcom.service.InventoryService
+ */
+@Entity
+@Table(name = "inventory_holds", indexes = @Index(name = "idx_inventory_holds_user", columnList = "userId"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryHold {
+
+    /** Customer-facing hold identifier. */
+    @Id
+    private String holdId;
+
+    /** User who placed the hold; only they can release or confirm it. */
+    private Long userId;
+
+    private Integer productId;
+
+    private int quantity;
+
+    private Instant createdAt;
+
+    private Instant expiresAt;
+}
@@ -0,0 +1,186 @@
+package com.edu.SpringEcom.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * An amount of money held as a whole number of minor units (cents for USD).
+ *
+ * <p>
+ * Arithmetic is plain {@code long} arithmetic: adding, subtracting and
+ * multiplying by a quantity are exact, allocate only the result and throw
+ * {@link ArithmeticException} on overflow instead of wrapping. Anything that
+ * can produce fractions of a minor unit ({@link #scale(long, long, RoundingMode)},
+ * {@link #of(BigDecimal, Currency, RoundingMode)}) takes an explicit
+ * {@link RoundingMode}, so results are deterministic. Amounts in different
+ * currencies can't be combined.
+ * </p>
+ *
+ * <p>
+ * Persisted as a decimal column through {@link MoneyConverter} and written to
+ * JSON as a plain number, so the schema and the API look the same as with
+ * {@link BigDecimal}. Stored amounts carry no currency column and are read as
+ * {@link #DEFAULT_CURRENCY}.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public record Money(long minorUnits, Currency currency) implements Comparable<Money> {
+
+    /** Currency of every stored price and order total. */
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("USD");
+
+    /** Zero in {@link #DEFAULT_CURRENCY}. */
+    public static final Money ZERO = new Money(0, DEFAULT_CURRENCY);
+
+    public Money {
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency is required");
+        }
+    }
+
+    /**
+     * @param minorUnits amount in minor units of {@link #DEFAULT_CURRENCY}
+     * @return the amount
+     */
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits, DEFAULT_CURRENCY);
+    }
+
+    /**
+     * Converts a decimal amount in {@link #DEFAULT_CURRENCY}, rounding half up
+     * to whole minor units. Used when reading JSON.
+     *
+     * @param amount the amount, e.g. {@code 19.99}
+     * @return the amount, or {@code null} if {@code amount} is {@code null}
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static Money of(BigDecimal amount) {
+        return amount != null ? of(amount, DEFAULT_CURRENCY, RoundingMode.HALF_UP) : null;
+    }
+
+    /**
+     * @param amount   decimal amount in major units
+     * @param currency its currency
+     * @param rounding how to round digits beyond the currency's minor unit
+     * @return the amount
+     * @throws ArithmeticException if it doesn't fit in a {@code long}, or
+     *                             rounding is needed but {@code rounding} is
+     *                             {@link RoundingMode#UNNECESSARY}
+     */
+    public static Money of(BigDecimal amount, Currency currency, RoundingMode rounding) {
+        return new Money(amount.movePointRight(digits(currency)).setScale(0, rounding).longValueExact(), currency);
+    }
+
+    /** @return the amount as a decimal in major units, e.g. {@code 19.99} */
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, digits(currency));
+    }
+
+    public Money plus(Money other) {
+        checkCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        checkCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    /**
+     * @param quantity a whole multiplier, e.g. units ordered
+     * @return this amount times {@code quantity}, exact
+     */
+    public Money times(long quantity) {
+        return new Money(Math.multiplyExact(minorUnits, quantity), currency);
+    }
+
+    /**
+     * Multiplies by the fraction {@code numerator / denominator}, for example
+     * a percentage as {@code (percent, 100)}.
+     *
+     * @param numerator   fraction numerator
+     * @param denominator fraction denominator, non-zero
+     * @param rounding    how to round to a whole minor unit
+     * @return the scaled amount
+     */
+    public Money scale(long numerator, long denominator, RoundingMode rounding) {
+        return new Money(divide(Math.multiplyExact(minorUnits, numerator), denominator, rounding), currency);
+    }
+
+    public Money min(Money other) {
+        return compareTo(other) <= 0 ? this : other;
+    }
+
+    public Money max(Money other) {
+        return compareTo(other) >= 0 ? this : other;
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        checkCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency.getCurrencyCode();
+    }
+
+    /**
+     * Integer division with an explicit rounding rule.
+     *
+     * @param dividend the dividend
+     * @param divisor  the divisor, non-zero
+     * @param rounding how to round a non-exact quotient
+     * @return the rounded quotient
+     * @throws ArithmeticException if the quotient isn't exact and
+     *                             {@code rounding} is
+     *                             {@link RoundingMode#UNNECESSARY}, or
+     *                             overflows ({@code Long.MIN_VALUE / -1})
+     */
+    public static long divide(long dividend, long divisor, RoundingMode rounding) {
+        long quotient = Math.divideExact(dividend, divisor);
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        int sign = (dividend < 0) == (divisor < 0) ? 1 : -1;
+        // Compare the discarded fraction with one half without overflowing
+        long absRemainder = Math.abs(remainder);
+        long rest = Math.abs(divisor) - absRemainder;
+        int half = Long.compare(absRemainder, rest);
+        boolean awayFromZero = switch (rounding) {
+            case UP -> true;
+            case DOWN -> false;
+            case CEILING -> sign > 0;
+            case FLOOR -> sign < 0;
+            case HALF_UP -> half >= 0;
+            case HALF_DOWN -> half > 0;
+            case HALF_EVEN -> half > 0 || (half == 0 && (quotient & 1) != 0);
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+        return awayFromZero ? quotient + sign : quotient;
+    }
+
+    private static int digits(Currency currency) {
+        return Math.max(0, currency.getDefaultFractionDigits());
+    }
+
+    private void checkCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " vs " + other.currency);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.edu.SpringEcom.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Stores {@link Money} in the existing decimal columns, so switching an entity
+ * field from {@link BigDecimal} to {@link Money} needs no schema change.
+ * Applied automatically to every {@link Money} attribute.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+@Converter(autoApply = true)
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money money) {
+        return money != null ? money.toBigDecimal() : null;
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal amount) {
+        return amount != null ? Money.of(amount, Money.DEFAULT_CURRENCY, RoundingMode.HALF_UP) : null;
+    }
+}
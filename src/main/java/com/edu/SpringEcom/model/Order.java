@@ -20,6 +20,7 @@ import java.util.List;
  * <li>Unique order identifier for customer reference</li>
  * <li>Customer contact information</li>
  * <li>Order status and tracking</li>
+ * <li>Priced totals (subtotal, discount, total)</li>
  * <li>Associated order items (one-to-many relationship)</li>
  * </ul>
  * </p>
@@ -35,8 +36,10 @@ import java.util.List;
  * @version 1.0
  * @since 2025-12-14
  * @see OrderItem
+ * @see OrderStatus
  */
 @Entity(name = "orders")
+@Table(name = "orders", indexes = @Index(name = "idx_orders_status_code", columnList = "status_code"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -68,14 +71,26 @@ public class Order {
     /**
      * Current order status.
      * <p>
-     * Possible values: PLACED, PROCESSING, SHIPPED, DELIVERED, CANCELLED
+     * Stored as a small integer code in an indexed column; see
+     * {@link OrderStatus} for the allowed transitions.
      * </p>
      */
-    private String status;
+    @Convert(converter = OrderStatusConverter.class)
+    @Column(name = "status_code")
+    private OrderStatus status;
 
     /** Date when the order was placed. */
     private LocalDate orderDate;
 
+    /** Sum of all item totals before discounts, as priced at checkout. */
+    private Money subtotal;
+
+    /** Total discount applied at checkout (coupons and promotions). */
+    private Money discount;
+
+    /** Amount payable by the customer ({@code subtotal - discount}). */
+    private Money total;
+
     /**
      * List of items included in this order.
      * <p>
@@ -6,7 +6,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 
 /**
  * Entity class representing a line item within an order.
@@ -63,7 +62,7 @@ public class OrderItem {
      * Formula: product.price × quantity
      * </p>
      */
-    private BigDecimal totalPrice;
+    private Money totalPrice;
 
     /**
      * Reference to the parent order.
@@ -0,0 +1,89 @@
+package com.edu.SpringEcom.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Lifecycle state of an {@link Order}.
+ *
+ * <p>
+ * Allowed transitions:
+ * </p>
+ *
+ * <pre>
+ * PLACED     -> PROCESSING, SHIPPED, CANCELLED
+ * PROCESSING -> SHIPPED, CANCELLED
+ * SHIPPED    -> DELIVERED
+ * DELIVERED, CANCELLED are final
+ * </pre>
+ *
+ * <p>
+ * Each state has a fixed numeric {@link #getCode() code} that is what gets
+ * stored, so reordering or adding constants never changes existing rows.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see OrderStatusConverter
+ */
+public enum OrderStatus {
+
+    PLACED(0),
+    PROCESSING(1),
+    SHIPPED(2),
+    DELIVERED(3),
+    CANCELLED(4);
+
+    private final short code;
+
+    OrderStatus(int code) {
+        this.code = (short) code;
+    }
+
+    /** @return the value stored in the database */
+    public short getCode() {
+        return code;
+    }
+
+    /**
+     * @param code a stored value
+     * @return the matching status
+     * @throws IllegalArgumentException if the code is unknown
+     */
+    public static OrderStatus fromCode(short code) {
+        for (OrderStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown order status code: " + code);
+    }
+
+    /**
+     * @param target the requested next state
+     * @return {@code true} if an order in this state may move to the target
+     */
+    public boolean canTransitionTo(OrderStatus target) {
+        return switch (this) {
+            case PLACED -> target == PROCESSING || target == SHIPPED || target == CANCELLED;
+            case PROCESSING -> target == SHIPPED || target == CANCELLED;
+            case SHIPPED -> target == DELIVERED;
+            case DELIVERED, CANCELLED -> false;
+        };
+    }
+
+    /**
+     * @param target the requested next state
+     * @return every state from which the target may be reached
+     */
+    public static Set<OrderStatus> predecessorsOf(OrderStatus target) {
+        Set<OrderStatus> from = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus status : values()) {
+            if (status.canTransitionTo(target)) {
+                from.add(status);
+            }
+        }
+        return from;
+    }
+}
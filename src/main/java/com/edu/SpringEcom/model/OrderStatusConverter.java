@@ -0,0 +1,33 @@
+package com.edu.SpringEcom.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores {@link OrderStatus} as its two-byte {@link OrderStatus#getCode()
+ * code} instead of the name.
+ *
+ * <p>
+ * A missing code reads as {@link OrderStatus#PLACED}: orders inserted by nodes
+ * that still write only the old text column have none until
+ * {@link com.edu.SpringEcom.service.OrderStatusBackfill} converts them, and
+ * every such order starts out placed.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+@Converter
+public class OrderStatusConverter implements AttributeConverter<OrderStatus, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(OrderStatus status) {
+        return status != null ? status.getCode() : null;
+    }
+
+    @Override
+    public OrderStatus convertToEntityAttribute(Short code) {
+        return code != null ? OrderStatus.fromCode(code) : OrderStatus.PLACED;
+    }
+}
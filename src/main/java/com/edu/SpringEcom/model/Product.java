@@ -6,7 +6,6 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.util.Date;
 
 /**
@@ -16,9 +15,9 @@ import java.util.Date;
  * This entity maps to the database table and contains:
  * <ul>
  * <li>Product identification and basic details</li>
- * <li>Pricing information using {@link BigDecimal} for precision</li>
+ * <li>Pricing information as {@link Money} (exact minor units)</li>
  * <li>Inventory management fields</li>
- * <li>Product image storage as binary data (BLOB)</li>
+ * <li>Product image, by hash of a shared {@link ProductImage}</li>
  * </ul>
  * </p>
  * 
@@ -27,6 +26,7 @@ import java.util.Date;
  * @since 2025-12-14
  */
 @Entity
+@Table(indexes = @Index(name = "idx_product_image_hash", columnList = "image_hash"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -49,10 +49,10 @@ public class Product {
     private String brand;
 
     /**
-     * Product price using BigDecimal for precise monetary calculations.
-     * Avoids floating-point precision issues.
+     * Product price in exact minor units. Stored in the same decimal column as
+     * before via {@link MoneyConverter}; appears in JSON as a plain number.
      */
-    private BigDecimal price;
+    private Money price;
 
     /** Product category for classification. */
     private String category;
@@ -78,8 +78,18 @@ public class Product {
     private String imageType;
 
     /**
-     * Binary image data stored as Large Object (BLOB).
-     * Consider external storage for production environments.
+     * SHA-256 of the product image, the ID of its {@link ProductImage}. Also
+     * serves as the image's ETag.
+     */
+    @Column(length = 64)
+    private String imageHash;
+
+    /**
+     * Binary image data stored inline as Large Object (BLOB).
+     * <p>
+     * Only set for images stored before {@link #imageHash}; uploads go to a
+     * shared {@link ProductImage} and leave this {@code null}.
+     * </p>
      */
     @Lob
     private byte[] imageData;
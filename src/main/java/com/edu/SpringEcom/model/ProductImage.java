@@ -0,0 +1,57 @@
+package com.edu.SpringEcom.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.sql.Blob;
+import java.time.Instant;
+
+/**
+ * A product image, stored once however many products show it.
+ *
+ * <p>
+ * Keyed by the SHA-256 of its bytes, so uploading an image that is already
+ * stored just points the product at the existing row. The bytes are a
+ * {@link Blob} so they can be written from the uploaded temp file without
+ * first being read into memory.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see Product#getImageHash()
+ * @see com.edu.SpringEcom.image.ImageStore
+ */
+@Entity
+@Table(name = "product_image")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImage {
+
+    /** Lower-case hex SHA-256 of {@link #data}. */
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    /** MIME type detected from the image bytes. */
+    private String contentType;
+
+    /** Length of {@link #data} in bytes. */
+    private long size;
+
+    /**
+     * Last time a product was pointed at this image; unreferenced images are
+     * only removed once this is old enough that no upload can be about to use
+     * them.
+     */
+    private Instant lastUsed;
+
+    /** The image bytes. */
+    @Lob
+    @ToString.Exclude
+    private Blob data;
+}
@@ -0,0 +1,15 @@
+package com.edu.SpringEcom.model;
+
+/**
+ * What a signed-in user is allowed to do.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public enum Role {
+    /** Shops and manages only their own account, cart and orders. */
+    CUSTOMER,
+    /** Staff; may act on behalf of any user. */
+    ADMIN
+}
@@ -28,6 +28,9 @@ public class User {
 
     private String password; // In production, this must be hashed!
 
+    @Enumerated(EnumType.STRING)
+    private Role role; // null is treated as CUSTOMER
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Address> addresses = new ArrayList<>();
 }
\ No newline at end of file
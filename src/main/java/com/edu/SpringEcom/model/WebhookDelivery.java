@@ -0,0 +1,57 @@
+package com.edu.SpringEcom.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One event still to be delivered to one {@link WebhookEndpoint}.
+ *
+ * <p>
+ * The row is deleted once the endpoint accepts the event. A node sending it
+ * marks it with its ID and a lock expiry first, so other nodes leave it alone
+ * until the send has had time to finish. After too many failed attempts the
+ * row is kept, marked dead, for inspection.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see com.edu.SpringEcom.webhook.WebhookDispatcher
+ */
+@Entity
+@Table(name = "webhook_deliveries", indexes = @Index(columnList = "nextAttemptAt"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookDelivery {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long endpointId;
+
+    /** The event as sent, in JSON. */
+    @Column(nullable = false, length = 1000)
+    private String payload;
+
+    private int attempts;
+
+    private Instant nextAttemptAt;
+
+    /** Claim of the node sending this delivery right now, if any. */
+    private String lockedBy;
+
+    private Instant lockedUntil;
+
+    private boolean dead;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private Instant createdAt;
+}
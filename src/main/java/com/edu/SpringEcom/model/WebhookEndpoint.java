@@ -0,0 +1,36 @@
+package com.edu.SpringEcom.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A partner URL that is notified of order events.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see com.edu.SpringEcom.webhook.WebhookDispatcher
+ */
+@Entity
+@Table(name = "webhook_endpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookEndpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 2048)
+    private String url;
+
+    /** Key for the HMAC-SHA256 signature of each request body; {@code null} sends unsigned requests. */
+    private String secret;
+
+    private Instant createdAt;
+}
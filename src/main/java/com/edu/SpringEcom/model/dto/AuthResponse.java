@@ -0,0 +1,27 @@
+package com.edu.SpringEcom.model.dto;
+
+import com.edu.SpringEcom.model.Role;
+
+import java.time.Instant;
+
+/**
+ * Result of registering or signing in.
+ *
+ * <p>
+ * Send {@code token} as {@code Authorization: Bearer <token>} on later
+ * requests. Passwords and addresses are never returned.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see AuthRequest
+ */
+public record AuthResponse(
+        Long userId,
+        String name,
+        String email,
+        Role role,
+        String token,
+        Instant expiresAt) {
+}
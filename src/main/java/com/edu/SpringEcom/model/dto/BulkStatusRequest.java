@@ -0,0 +1,32 @@
+package com.edu.SpringEcom.model.dto;
+
+import com.edu.SpringEcom.model.OrderStatus;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for moving many orders to the same status at once.
+ *
+ * <p>
+ * <b>Example JSON Request:</b>
+ * </p>
+ *
+ * <pre>
+ * {
+ *   "status": "SHIPPED",
+ *   "orderIds": ["A1B2C3D4", "E5F6G7H8"]
+ * }
+ * </pre>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see BulkStatusResponse
+ */
+public record BulkStatusRequest(
+        /** The status every listed order should move to. */
+        OrderStatus status,
+
+        /** Customer-facing order IDs (e.g., "A1B2C3D4"). */
+        List<String> orderIds) {
+}
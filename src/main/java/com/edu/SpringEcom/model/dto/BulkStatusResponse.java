@@ -0,0 +1,24 @@
+package com.edu.SpringEcom.model.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a {@link BulkStatusRequest}.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public record BulkStatusResponse(
+        /** Number of distinct order IDs in the request. */
+        int requested,
+
+        /** Number of orders moved to the new status. */
+        int updated,
+
+        /**
+         * Orders left unchanged because they don't exist or their current status
+         * can't move to the requested one.
+         */
+        List<String> rejected) {
+}
@@ -0,0 +1,18 @@
+package com.edu.SpringEcom.model.dto;
+
+/**
+ * Data Transfer Object for adding a product to a cart or changing its
+ * quantity.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see com.edu.SpringEcom.service.CartService
+ */
+public record CartItemRequest(
+        /** Unique identifier of the product. */
+        int productId,
+
+        /** Number of units; zero removes the product when setting a quantity. */
+        int quantity) {
+}
@@ -0,0 +1,28 @@
+package com.edu.SpringEcom.model.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object representing a single product in a cart.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see CartResponse
+ */
+public record CartItemResponse(
+        /** Unique identifier of the product. */
+        int productId,
+
+        /** Display name of the product. */
+        String productName,
+
+        /** Unit price captured when the product was added. */
+        BigDecimal unitPrice,
+
+        /** Number of units in the cart. */
+        int quantity,
+
+        /** Unit price × quantity. */
+        BigDecimal lineTotal) {
+}
@@ -0,0 +1,31 @@
+package com.edu.SpringEcom.model.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Data Transfer Object for cart responses.
+ *
+ * <p>
+ * The subtotal is a running estimate from prices captured when items were
+ * added; the authoritative total is computed at checkout.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see CartItemResponse
+ */
+public record CartResponse(
+        /** Owner of the cart. */
+        Long userId,
+
+        /** Total number of units across all items. */
+        int itemCount,
+
+        /** Running subtotal of all items. */
+        BigDecimal subtotal,
+
+        /** Items in the cart, in the order they were added. */
+        List<CartItemResponse> items) {
+}
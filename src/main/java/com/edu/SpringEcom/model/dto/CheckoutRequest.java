@@ -0,0 +1,17 @@
+package com.edu.SpringEcom.model.dto;
+
+/**
+ * Data Transfer Object for turning a cart into an order.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see com.edu.SpringEcom.service.CartService#checkout(Long, CheckoutRequest)
+ */
+public record CheckoutRequest(
+        /** Shipping address, must belong to the cart owner. */
+        Long addressId,
+
+        /** Optional coupon code. */
+        String couponCode) {
+}
@@ -0,0 +1,23 @@
+package com.edu.SpringEcom.model.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for turning stock holds into an order.
+ *
+ * <p>
+ * Same as {@link OrderRequest} except that the items are the products and
+ * quantities of the listed holds, whose stock is already reserved.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see HoldResponse
+ */
+public record ConfirmOrderRequest(
+        Long userId,
+        Long addressId,
+        String couponCode,
+        List<String> holdIds) {
+}
@@ -0,0 +1,20 @@
+package com.edu.SpringEcom.model.dto;
+
+/**
+ * Data Transfer Object for reserving stock before checkout.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see HoldResponse
+ */
+public record HoldRequest(
+        /** User to hold the stock for; the signed-in user when absent. */
+        Long userId,
+
+        /** Product to reserve. */
+        int productId,
+
+        /** Units to reserve. */
+        int quantity) {
+}
@@ -0,0 +1,18 @@
+package com.edu.SpringEcom.model.dto;
+
+import java.time.Instant;
+
+/**
+ * A stock reservation that must be confirmed before {@code expiresAt}.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see HoldRequest
+ */
+public record HoldResponse(
+        String holdId,
+        int productId,
+        int quantity,
+        Instant expiresAt) {
+}
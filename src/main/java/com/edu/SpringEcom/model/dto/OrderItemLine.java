@@ -0,0 +1,29 @@
+package com.edu.SpringEcom.model.dto;
+
+import com.edu.SpringEcom.model.Money;
+
+/**
+ * One order item with just what an order listing shows, loaded for many
+ * orders in one query instead of through each order's item collection.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see com.edu.SpringEcom.repo.OrderRepo#findItemLines(java.util.Collection)
+ */
+public record OrderItemLine(
+        /** Database ID of the order. */
+        Long orderId,
+
+        /** ID of the ordered product. */
+        Integer productId,
+
+        /** Display name of the ordered product. */
+        String productName,
+
+        /** Number of units ordered. */
+        int quantity,
+
+        /** Calculated total price (unit price × quantity). */
+        Money totalPrice) {
+}
@@ -1,5 +1,8 @@
 package com.edu.SpringEcom.model.dto;
 
+import com.edu.SpringEcom.model.OrderStatus;
+
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -22,6 +25,9 @@ import java.util.List;
  *   "email": "john@example.com",
  *   "status": "PLACED",
  *   "orderDate": "2025-12-14",
+ *   "subtotal": 120.00,
+ *   "discount": 12.00,
+ *   "total": 108.00,
  *   "items": [...]
  * }
  * </pre>
@@ -43,11 +49,20 @@ public record OrderResponse(
         String email,
 
         /** Current order status (e.g., PLACED, SHIPPED, DELIVERED). */
-        String status,
+        OrderStatus status,
 
         /** Date when the order was placed. */
         LocalDate orderDate,
 
+        /** Sum of item totals before discounts. */
+        BigDecimal subtotal,
+
+        /** Discount applied at checkout. */
+        BigDecimal discount,
+
+        /** Amount payable by the customer. */
+        BigDecimal total,
+
         /** List of items included in this order. */
         List<OrderItemResponse> items) {
 }
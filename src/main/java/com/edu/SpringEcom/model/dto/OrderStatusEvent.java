@@ -0,0 +1,28 @@
+package com.edu.SpringEcom.model.dto;
+
+import com.edu.SpringEcom.model.OrderStatus;
+
+/**
+ * Payload pushed to Server-Sent Events subscribers when an order changes
+ * status.
+ *
+ * <p>
+ * Also used as a projection by
+ * {@link com.edu.SpringEcom.repo.OrderRepo#findStatusEvent(String)}.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see com.edu.SpringEcom.events.OrderEventRegistry
+ */
+public record OrderStatusEvent(
+        /** Unique 8-character order identifier. */
+        String orderId,
+
+        /** Customer's email address, which keys per-customer streams. */
+        String email,
+
+        /** Status after the change. */
+        OrderStatus status) {
+}
@@ -0,0 +1,17 @@
+package com.edu.SpringEcom.model.dto;
+
+/**
+ * One product of one order, as streamed when rebuilding co-purchase counts.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see com.edu.SpringEcom.repo.OrderRepo#streamOrderedProducts()
+ */
+public record OrderedProduct(
+        /** Database ID of the order. */
+        Long orderId,
+
+        /** Unique identifier of the product. */
+        Integer productId) {
+}
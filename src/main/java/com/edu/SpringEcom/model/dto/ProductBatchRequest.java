@@ -0,0 +1,25 @@
+package com.edu.SpringEcom.model.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for looking up many products at once, for lists too
+ * long for a query string.
+ *
+ * <p>
+ * <b>Example JSON Request:</b>
+ * </p>
+ *
+ * <pre>
+ * {"ids": [12, 7, 31]}
+ * </pre>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see ProductSummaryResponse
+ */
+public record ProductBatchRequest(
+        /** Product IDs, in the order the summaries should come back. */
+        List<Integer> ids) {
+}
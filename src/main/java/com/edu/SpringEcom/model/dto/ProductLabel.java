@@ -0,0 +1,24 @@
+package com.edu.SpringEcom.model.dto;
+
+/**
+ * Projection of the text fields of a {@link com.edu.SpringEcom.model.Product},
+ * without description or image data.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see com.edu.SpringEcom.repo.ProductRepo#findAllLabels()
+ */
+public record ProductLabel(
+        /** Unique identifier of the product. */
+        Integer id,
+
+        /** Product display title. */
+        String title,
+
+        /** Brand or manufacturer name. */
+        String brand,
+
+        /** Product category. */
+        String category) {
+}
@@ -0,0 +1,17 @@
+package com.edu.SpringEcom.model.dto;
+
+/**
+ * Units sold of one product, aggregated over all order items.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see com.edu.SpringEcom.repo.ProductRepo#findUnitsSoldPerProduct()
+ */
+public record ProductSales(
+        /** Unique identifier of the product. */
+        Integer productId,
+
+        /** Total units ordered. */
+        Long unitsSold) {
+}
@@ -0,0 +1,49 @@
+package com.edu.SpringEcom.model.dto;
+
+import com.edu.SpringEcom.model.Money;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Data Transfer Object for the product details a cart or order history line
+ * needs, as returned by the batch lookup.
+ *
+ * <p>
+ * <b>Example JSON Response</b> (the second ID doesn't exist):
+ * </p>
+ *
+ * <pre>
+ * [
+ *   {"id": 12, "found": true, "title": "iPhone 15", "brand": "Apple", "category": "Electronics",
+ *    "price": 799.00, "availability": true, "stockQuantity": 40, "imageUrl": "/api/product/12/image"},
+ *   {"id": 99, "found": false}
+ * ]
+ * </pre>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see ProductBatchRequest
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProductSummaryResponse(
+        /** The requested product ID. */
+        int id,
+
+        /** Whether the product exists; all other fields are omitted when not. */
+        boolean found,
+
+        String title,
+
+        String brand,
+
+        String category,
+
+        Money price,
+
+        Boolean availability,
+
+        Integer stockQuantity,
+
+        /** Where to fetch the product image. */
+        String imageUrl) {
+}
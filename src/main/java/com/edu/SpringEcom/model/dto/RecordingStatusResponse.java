@@ -0,0 +1,33 @@
+package com.edu.SpringEcom.model.dto;
+
+import java.time.Instant;
+
+/**
+ * State of the on-demand JFR recording.
+ *
+ * <p>
+ * <b>Example JSON Response:</b>
+ * </p>
+ *
+ * <pre>
+ * {"state": "CLOSED", "startTime": "2026-10-19T09:30:00Z", "durationSeconds": 60, "sizeBytes": 2481152}
+ * </pre>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see com.edu.SpringEcom.profiling.ProfilingRecorder
+ */
+public record RecordingStatusResponse(
+        /** JFR recording state: RUNNING, then STOPPED or CLOSED once the file can be downloaded. */
+        String state,
+
+        /** When recording started. */
+        Instant startTime,
+
+        /** Length the recording stops at by itself. */
+        Long durationSeconds,
+
+        /** Size of the recording file, once stopped. */
+        Long sizeBytes) {
+}
@@ -0,0 +1,31 @@
+package com.edu.SpringEcom.model.dto;
+
+/**
+ * Data Transfer Object for a product frequently bought together with another.
+ *
+ * <p>
+ * <b>Example JSON Response:</b>
+ * </p>
+ *
+ * <pre>
+ * {"id": 7, "title": "USB-C Charger", "brand": "Apple", "category": "Accessories", "boughtTogether": 42}
+ * </pre>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see com.edu.SpringEcom.recommend.CoPurchaseIndex
+ */
+public record RelatedProductResponse(
+        /** Unique identifier of the related product. */
+        int id,
+
+        String title,
+
+        String brand,
+
+        String category,
+
+        /** Number of orders that contained both products. */
+        int boughtTogether) {
+}
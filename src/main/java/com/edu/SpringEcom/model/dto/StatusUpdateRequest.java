@@ -0,0 +1,15 @@
+package com.edu.SpringEcom.model.dto;
+
+import com.edu.SpringEcom.model.OrderStatus;
+
+/**
+ * Data Transfer Object for moving a single order to a new status.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public record StatusUpdateRequest(
+        /** The requested next status. */
+        OrderStatus status) {
+}
@@ -0,0 +1,29 @@
+package com.edu.SpringEcom.model.dto;
+
+/**
+ * Data Transfer Object for a single typeahead suggestion.
+ *
+ * <p>
+ * <b>Example JSON Response:</b>
+ * </p>
+ *
+ * <pre>
+ * {"type": "PRODUCT", "id": 12, "label": "iPhone 15 Pro"}
+ * {"type": "BRAND", "id": null, "label": "Apple"}
+ * </pre>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see com.edu.SpringEcom.suggest.SuggestionIndex
+ */
+public record SuggestionResponse(
+        /** What the suggestion refers to: PRODUCT, BRAND or CATEGORY. */
+        String type,
+
+        /** Product ID for PRODUCT suggestions, {@code null} otherwise. */
+        Integer id,
+
+        /** Text to display and to search for when the suggestion is picked. */
+        String label) {
+}
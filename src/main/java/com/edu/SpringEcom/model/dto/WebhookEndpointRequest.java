@@ -0,0 +1,25 @@
+package com.edu.SpringEcom.model.dto;
+
+/**
+ * Request body for registering a webhook endpoint.
+ *
+ * <p>
+ * <b>Example JSON Request:</b>
+ * </p>
+ *
+ * <pre>
+ * {"url": "https://partner.example.com/hooks/orders", "secret": "s3cret"}
+ * </pre>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see com.edu.SpringEcom.service.WebhookService
+ */
+public record WebhookEndpointRequest(
+        /** Absolute {@code http} or {@code https} URL events are posted to. */
+        String url,
+
+        /** Optional key for the {@code X-Webhook-Signature} header. */
+        String secret) {
+}
@@ -0,0 +1,43 @@
+package com.edu.SpringEcom.model.dto;
+
+import java.time.Instant;
+
+/**
+ * A registered webhook endpoint, without its secret.
+ *
+ * <p>
+ * <b>Example JSON Response:</b>
+ * </p>
+ *
+ * <pre>
+ * {"id": 3, "url": "https://partner.example.com/hooks/orders", "signed": true,
+ *  "createdAt": "2026-10-19T09:30:00Z", "circuit": "CLOSED", "pending": 0, "dead": 0}
+ * </pre>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see com.edu.SpringEcom.service.WebhookService
+ */
+public record WebhookEndpointResponse(
+        /** Endpoint identifier. */
+        Long id,
+
+        /** URL events are posted to. */
+        String url,
+
+        /** Whether requests carry an {@code X-Webhook-Signature}. */
+        boolean signed,
+
+        /** When the endpoint was registered. */
+        Instant createdAt,
+
+        /** This node's circuit breaker for the endpoint: CLOSED, OPEN or HALF_OPEN. */
+        String circuit,
+
+        /** Events waiting to be delivered, including those being retried. */
+        long pending,
+
+        /** Events given up on after too many failed attempts. */
+        long dead) {
+}
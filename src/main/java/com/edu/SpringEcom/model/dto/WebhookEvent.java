@@ -0,0 +1,48 @@
+package com.edu.SpringEcom.model.dto;
+
+import com.edu.SpringEcom.model.OrderStatus;
+
+import java.time.Instant;
+
+/**
+ * Order event sent to webhook endpoints.
+ *
+ * <p>
+ * Events are posted in batches as {@code {"events": [...]}}. Retries resend
+ * the same event with the same {@code id}, so receivers should use it to
+ * ignore duplicates; events may arrive out of order.
+ * </p>
+ *
+ * <p>
+ * <b>Example JSON:</b>
+ * </p>
+ *
+ * <pre>
+ * {"id": "6f1c...", "type": "order.status_changed", "orderId": "A1B2C3D4", "status": "SHIPPED",
+ *  "occurredAt": "2026-10-19T09:30:00Z"}
+ * </pre>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see com.edu.SpringEcom.webhook.WebhookDispatcher
+ */
+public record WebhookEvent(
+        /** Unique event identifier, the same on every retry. */
+        String id,
+
+        /** {@link #ORDER_PLACED} or {@link #ORDER_STATUS_CHANGED}. */
+        String type,
+
+        /** Unique 8-character order identifier. */
+        String orderId,
+
+        /** Order status after the event. */
+        OrderStatus status,
+
+        /** When the event happened. */
+        Instant occurredAt) {
+
+    public static final String ORDER_PLACED = "order.placed";
+    public static final String ORDER_STATUS_CHANGED = "order.status_changed";
+}
@@ -0,0 +1,126 @@
+package com.edu.SpringEcom.pricing;
+
+import com.edu.SpringEcom.model.Coupon;
+import com.edu.SpringEcom.model.DiscountType;
+import com.edu.SpringEcom.model.Money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Immutable, pre-validated form of a {@link Coupon}.
+ *
+ * <p>
+ * Compiled once by {@link PricingRules#compile(List)} so that pricing an order
+ * never touches the entity or the database.
+ * </p>
+ *
+ * <p>
+ * Amounts are {@link Money} and a percentage is held as parts per million of
+ * the eligible amount, so pricing an order is integer arithmetic only.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see PricingRules
+ */
+public record DiscountRule(
+        String code,
+        DiscountType type,
+        /** Percentage rules: share of the eligible amount, 10% = 100_000. */
+        long partsPerMillion,
+        /** Fixed rules: amount taken off. */
+        Money fixedAmount,
+        String category,
+        Money minimumSpend,
+        boolean stackable,
+        boolean autoApply,
+        boolean active,
+        LocalDate expiryDate,
+        /** Redemptions allowed across all customers, or {@code null} for no cap. */
+        Long maxRedemptions,
+        /** Redemptions allowed per customer, or {@code null} for no cap. */
+        Long maxRedemptionsPerUser) {
+
+    private static final long MILLION = 1_000_000;
+
+    /**
+     * Converts a coupon entity into a rule, filling in defaults for columns
+     * that older rows leave empty. Percentages are rounded half up to four
+     * decimal places and amounts to whole cents.
+     *
+     * @param coupon the coupon to compile
+     * @return the equivalent rule
+     */
+    public static DiscountRule from(Coupon coupon) {
+        DiscountType type = coupon.getDiscountType() != null ? coupon.getDiscountType() : DiscountType.PERCENTAGE;
+        BigDecimal percentage = coupon.getDiscountPercentage();
+        Money amount = Money.of(coupon.getDiscountAmount());
+        return new DiscountRule(
+                coupon.getCode(),
+                type,
+                percentage != null ? percentage.movePointRight(4).setScale(0, RoundingMode.HALF_UP).longValueExact() : 0,
+                amount != null ? amount : Money.ZERO,
+                coupon.getCategory(),
+                Money.of(coupon.getMinimumSpend()),
+                Boolean.TRUE.equals(coupon.getStackable()),
+                Boolean.TRUE.equals(coupon.getAutoApply()),
+                coupon.isActive(),
+                coupon.getExpiryDate(),
+                coupon.getMaxRedemptions(),
+                coupon.getMaxRedemptionsPerUser());
+    }
+
+    /**
+     * @param today the pricing date
+     * @return {@code true} if the rule is active and not expired on that date
+     */
+    public boolean isUsable(LocalDate today) {
+        return active && (expiryDate == null || !expiryDate.isBefore(today));
+    }
+
+    /**
+     * @param lines the order lines
+     * @return {@code true} if the eligible amount reaches the minimum spend
+     */
+    public boolean meetsMinimumSpend(List<PricedLine> lines) {
+        return minimumSpend == null || eligibleMinor(lines) >= minimumSpend.minorUnits();
+    }
+
+    /**
+     * Computes the discount this rule grants on the given lines, ignoring
+     * stacking. Returns zero if the minimum spend is not met.
+     *
+     * @param lines the order lines
+     * @return the discount, rounded half up to cents
+     */
+    public Money discountFor(List<PricedLine> lines) {
+        return Money.ofMinor(discountMinor(lines));
+    }
+
+    /** Same as {@link #discountFor(List)} in minor units, without allocating. */
+    long discountMinor(List<PricedLine> lines) {
+        long eligible = eligibleMinor(lines);
+        if (minimumSpend != null && eligible < minimumSpend.minorUnits()) {
+            return 0;
+        }
+        long discount = switch (type) {
+            case PERCENTAGE -> Money.divide(Math.multiplyExact(eligible, partsPerMillion), MILLION, RoundingMode.HALF_UP);
+            case FIXED -> Math.min(fixedAmount.minorUnits(), eligible);
+        };
+        return Math.max(discount, 0);
+    }
+
+    private long eligibleMinor(List<PricedLine> lines) {
+        long eligible = 0;
+        for (PricedLine line : lines) {
+            if (category == null || category.equalsIgnoreCase(line.category())) {
+                eligible = Math.addExact(eligible, line.lineTotal().minorUnits());
+            }
+        }
+        return eligible;
+    }
+}
@@ -0,0 +1,30 @@
+package com.edu.SpringEcom.pricing;
+
+import com.edu.SpringEcom.model.Money;
+
+import java.util.List;
+
+/**
+ * Result of pricing an order: what the items cost, how much was taken off and
+ * what the customer pays, and which rules it took.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public record PriceBreakdown(
+        /** Sum of all line totals before discounts. */
+        Money subtotal,
+
+        /** Total discount applied, never more than the subtotal. */
+        Money discount,
+
+        /** Amount payable ({@code subtotal - discount}). */
+        Money total,
+
+        /**
+         * Rules that make up the discount, each of which uses up a redemption;
+         * empty if there is no discount.
+         */
+        List<DiscountRule> applied) {
+}
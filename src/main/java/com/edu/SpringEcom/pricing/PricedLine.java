@@ -0,0 +1,19 @@
+package com.edu.SpringEcom.pricing;
+
+import com.edu.SpringEcom.model.Money;
+
+/**
+ * A single order line as seen by the pricing engine.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see PricingRules#price(java.util.List, DiscountRule, java.time.LocalDate)
+ */
+public record PricedLine(
+        /** Category of the ordered product, used by per-category rules. */
+        String category,
+
+        /** Line total (unit price × quantity). */
+        Money lineTotal) {
+}
@@ -0,0 +1,71 @@
+package com.edu.SpringEcom.pricing;
+
+import com.edu.SpringEcom.repo.CouponRepo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link PricingRules} and keeps them in sync with the
+ * {@code coupon} table.
+ *
+ * <p>
+ * Rules are compiled once and then read without locking on every order. A
+ * refresh compiles a complete new rule set off to the side and publishes it
+ * with a single atomic swap, so an order is always priced against one
+ * consistent snapshot. Coupons have no write path in the application, so
+ * rules are refreshed every {@code pricing.rules.refresh-ms}; code that does
+ * change coupons calls {@link #reload()}.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see PricingRules
+ */
+@Service
+public class PricingEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(PricingEngine.class);
+
+    @Autowired
+    private CouponRepo couponRepo;
+
+    private final AtomicReference<PricingRules> rules = new AtomicReference<>();
+
+    /**
+     * Returns the current rule set, loading it on first use.
+     *
+     * @return the compiled rules
+     */
+    public PricingRules current() {
+        PricingRules current = rules.get();
+        return current != null ? current : reload();
+    }
+
+    /**
+     * Recompiles the rules from the database and swaps them in. Call this after
+     * changing coupons to make the change visible immediately instead of on the
+     * next scheduled refresh.
+     *
+     * @return the newly published rules
+     */
+    public PricingRules reload() {
+        PricingRules compiled = PricingRules.compile(couponRepo.findAll());
+        rules.set(compiled);
+        log.debug("Pricing rules reloaded: {} rules", compiled.size());
+        return compiled;
+    }
+
+    /**
+     * Picks up coupon changes made directly in the database.
+     */
+    @Scheduled(fixedDelayString = "${pricing.rules.refresh-ms:60000}", initialDelayString = "${pricing.rules.refresh-ms:60000}")
+    void refresh() {
+        reload();
+    }
+}
@@ -0,0 +1,151 @@
+package com.edu.SpringEcom.pricing;
+
+import com.edu.SpringEcom.model.Coupon;
+import com.edu.SpringEcom.model.Money;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of all discount rules, ready to price orders.
+ *
+ * <p>
+ * Stacking works as follows:
+ * <ul>
+ * <li>All usable auto-apply rules plus the coupon entered by the customer are
+ * candidates</li>
+ * <li>Stackable candidates are added together</li>
+ * <li>A non-stackable candidate can only apply on its own</li>
+ * <li>Whichever of the two gives the larger discount wins, capped at the
+ * subtotal; only the rules on the winning side are reported as applied</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * Instances are never modified after {@link #compile(List)}; a rule change
+ * produces a new instance that {@link PricingEngine} swaps in atomically.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see PricingEngine
+ */
+public final class PricingRules {
+
+    /** Rule set with no coupons at all. */
+    public static final PricingRules EMPTY = new PricingRules(Map.of(), List.of());
+
+    private final Map<String, DiscountRule> byCode;
+    private final List<DiscountRule> automatic;
+
+    private PricingRules(Map<String, DiscountRule> byCode, List<DiscountRule> automatic) {
+        this.byCode = byCode;
+        this.automatic = automatic;
+    }
+
+    /**
+     * Compiles coupon entities into an immutable rule set.
+     *
+     * @param coupons every coupon known to the system
+     * @return the compiled rules
+     */
+    public static PricingRules compile(List<Coupon> coupons) {
+        Map<String, DiscountRule> byCode = new HashMap<>();
+        List<DiscountRule> automatic = new ArrayList<>();
+        for (Coupon coupon : coupons) {
+            DiscountRule rule = DiscountRule.from(coupon);
+            byCode.put(rule.code(), rule);
+            if (rule.autoApply() && rule.active()) {
+                automatic.add(rule);
+            }
+        }
+        return new PricingRules(Map.copyOf(byCode), List.copyOf(automatic));
+    }
+
+    /**
+     * @param code the coupon code entered by the customer
+     * @return the matching rule, or {@code null} if no such coupon exists
+     */
+    public DiscountRule findByCode(String code) {
+        return byCode.get(code);
+    }
+
+    /** @return number of compiled rules */
+    public int size() {
+        return byCode.size();
+    }
+
+    /**
+     * Prices an order.
+     *
+     * @param lines     the order lines
+     * @param requested the coupon entered by the customer, or {@code null};
+     *                  callers are expected to have validated it already
+     * @param today     the pricing date, used for expiry checks
+     * @return subtotal, discount, total and the rules that gave the discount
+     */
+    public PriceBreakdown price(List<PricedLine> lines, DiscountRule requested, LocalDate today) {
+        return price(lines, requested, today, Set.of());
+    }
+
+    /**
+     * Prices an order leaving out some auto-apply rules, e.g. ones that have
+     * run out of redemptions.
+     *
+     * @param lines     the order lines
+     * @param requested the coupon entered by the customer, or {@code null};
+     *                  callers are expected to have validated it already
+     * @param today     the pricing date, used for expiry checks
+     * @param excluded  codes of auto-apply rules to ignore
+     * @return subtotal, discount, total and the rules that gave the discount
+     */
+    public PriceBreakdown price(List<PricedLine> lines, DiscountRule requested, LocalDate today,
+            Set<String> excluded) {
+        long subtotal = 0;
+        for (PricedLine line : lines) {
+            subtotal = Math.addExact(subtotal, line.lineTotal().minorUnits());
+        }
+
+        long stacked = 0;
+        List<DiscountRule> stackedRules = new ArrayList<>();
+        long bestExclusive = 0;
+        DiscountRule bestExclusiveRule = null;
+        for (DiscountRule rule : automatic) {
+            if (rule == requested || !rule.isUsable(today) || excluded.contains(rule.code())) {
+                continue;
+            }
+            long discount = rule.discountMinor(lines);
+            if (discount == 0) {
+                continue;
+            }
+            if (rule.stackable()) {
+                stacked = Math.addExact(stacked, discount);
+                stackedRules.add(rule);
+            } else if (discount > bestExclusive) {
+                bestExclusive = discount;
+                bestExclusiveRule = rule;
+            }
+        }
+        if (requested != null) {
+            long discount = requested.discountMinor(lines);
+            if (discount > 0 && requested.stackable()) {
+                stacked = Math.addExact(stacked, discount);
+                stackedRules.add(requested);
+            } else if (discount > bestExclusive) {
+                bestExclusive = discount;
+                bestExclusiveRule = requested;
+            }
+        }
+
+        // Only the winning side counts as applied, so only its rules use up redemptions
+        List<DiscountRule> applied = stacked >= bestExclusive ? stackedRules : List.of(bestExclusiveRule);
+        long discount = Math.min(Math.max(stacked, bestExclusive), subtotal);
+        return new PriceBreakdown(Money.ofMinor(subtotal), Money.ofMinor(discount), Money.ofMinor(subtotal - discount),
+                List.copyOf(applied));
+    }
+}
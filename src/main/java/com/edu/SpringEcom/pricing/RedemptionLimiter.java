@@ -0,0 +1,473 @@
+package com.edu.SpringEcom.pricing;
+
+import com.edu.SpringEcom.model.CouponRedemption;
+import com.edu.SpringEcom.repo.CouponRedemptionRepo;
+import com.edu.SpringEcom.repo.CouponRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Enforces coupon redemption caps at checkout without locking the coupon row.
+ *
+ * <p>
+ * <b>Per coupon</b> ({@code maxRedemptions}): each node leases a block of
+ * redemptions from the {@code coupon} row with one conditional UPDATE that
+ * never lets the redemptions leased to all nodes together exceed the cap, and
+ * hands them out to checkouts from {@link StripedPermits} in memory. A block
+ * is at most {@code coupon.redemptions.lease-size} and at most a quarter of
+ * what is left, so near the cap the nodes share out the rest in smaller
+ * blocks. The next block is leased on a background thread once a stripe is
+ * half empty, so checkouts rarely wait for it, and then for at most
+ * {@code coupon.redemptions.refill-timeout-ms}. Every
+ * {@code coupon.redemptions.flush-ms} the redemptions used are added to
+ * {@code redemptionCount} in one UPDATE per coupon; a lease unused for
+ * {@code coupon.redemptions.idle-return-ms}, or leased under a cap that has
+ * since changed, is handed back then, as are all leases at shutdown.
+ * </p>
+ *
+ * <p>
+ * Redemptions leased by one node can't be used by another, so near the cap a
+ * checkout may be refused while another node still holds unused redemptions,
+ * until that node hands them back. Redemptions leased by a node that dies
+ * without shutting down are lost. Both err towards fewer redemptions than the
+ * cap, never more. A checkout that reserves inside its own transaction and
+ * finds the lease empty waits holding a pooled connection, which the leasing
+ * thread then competes for; when many do at once it is refused as busy, so
+ * reserve outside the order transaction where possible, as
+ * {@link com.edu.SpringEcom.service.OrderService#placeOrder} does.
+ * </p>
+ *
+ * <p>
+ * <b>Per customer</b> ({@code maxRedemptionsPerUser}): counted in the
+ * customer's own {@link CouponRedemption} row with a conditional UPDATE, which
+ * only contends with the same customer's checkouts.
+ * </p>
+ *
+ * <p>
+ * All database work here runs in its own transaction, so it never holds locks
+ * until the order's transaction commits. Metrics: {@code coupon.redemptions}
+ * counts checkouts by {@code result} ({@code reserved}, {@code limit_reached},
+ * {@code user_limit_reached}, {@code timeout}) and
+ * {@code coupon.redemption.leases} counts blocks leased from the database.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see StripedPermits
+ */
+@Component
+public class RedemptionLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(RedemptionLimiter.class);
+
+    @Autowired
+    private CouponRepo couponRepo;
+
+    @Autowired
+    private CouponRedemptionRepo couponRedemptionRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${coupon.redemptions.lease-size:100}")
+    private long leaseSize;
+
+    @Value("${coupon.redemptions.stripes:0}")
+    private int stripes;
+
+    @Value("${coupon.redemptions.idle-return-ms:10000}")
+    private long idleReturnMs;
+
+    @Value("${coupon.redemptions.refill-timeout-ms:2000}")
+    private long refillTimeoutMs;
+
+    private final ConcurrentHashMap<String, Lease> leases = new ConcurrentHashMap<>();
+
+    // A thread of its own, so a checkout holding a pooled connection never waits on a lease that needs another
+    private final ExecutorService leasing = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "coupon-leasing");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private TransactionTemplate ownTransaction;
+    private Counter reserved;
+    private Counter limitReached;
+    private Counter userLimitReached;
+    private Counter timedOut;
+    private Counter leased;
+
+    @PostConstruct
+    void init() {
+        if (stripes <= 0) {
+            stripes = Runtime.getRuntime().availableProcessors();
+        }
+        ownTransaction = new TransactionTemplate(transactionManager);
+        ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        reserved = Counter.builder("coupon.redemptions").tag("result", "reserved").register(meterRegistry);
+        limitReached = Counter.builder("coupon.redemptions").tag("result", "limit_reached")
+                .register(meterRegistry);
+        userLimitReached = Counter.builder("coupon.redemptions").tag("result", "user_limit_reached")
+                .register(meterRegistry);
+        timedOut = Counter.builder("coupon.redemptions").tag("result", "timeout").register(meterRegistry);
+        leased = Counter.builder("coupon.redemption.leases").register(meterRegistry);
+    }
+
+    /**
+     * Reserves one redemption of a coupon for a checkout. If the checkout then
+     * fails, {@link Reservation#release()} gives it back; inside a transaction
+     * that happens by itself if the transaction rolls back.
+     *
+     * @param rule   the coupon
+     * @param userId the customer checking out
+     * @return the reservation
+     * @throws RuntimeException if the coupon, or this customer's use of it, is
+     *                          at its cap, or no redemption could be leased in
+     *                          time
+     */
+    public Reservation reserve(DiscountRule rule, Long userId) {
+        if (rule.maxRedemptions() == null && rule.maxRedemptionsPerUser() == null) {
+            return Reservation.NONE;
+        }
+        Lease lease = null;
+        if (rule.maxRedemptions() != null) {
+            lease = acquire(rule);
+            if (lease == null) {
+                limitReached.increment();
+                throw new RuntimeException("Coupon redemption limit reached");
+            }
+        }
+        boolean perUser = rule.maxRedemptionsPerUser() != null;
+        if (perUser && !countForUser(rule.code(), userId, rule.maxRedemptionsPerUser())) {
+            if (lease != null) {
+                lease.giveBack();
+            }
+            userLimitReached.increment();
+            throw new RuntimeException("Coupon already used the maximum number of times");
+        }
+        reserved.increment();
+        Reservation reservation = new Reservation(this, rule.code(), lease, perUser ? userId : null);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        reservation.release();
+                    }
+                }
+            });
+        }
+        return reservation;
+    }
+
+    /**
+     * Records used redemptions in the database and hands back leases that
+     * went unused.
+     */
+    @Scheduled(fixedDelayString = "${coupon.redemptions.flush-ms:1000}")
+    public void flush() {
+        long now = System.nanoTime();
+        for (Lease lease : leases.values()) {
+            long used = lease.used.sumThenReset();
+            if (used != 0) {
+                lease.idleSince = 0;
+            } else if (lease.idleSince == 0) {
+                lease.idleSince = now;
+            }
+            if (lease.idleSince != 0 && now - lease.idleSince > TimeUnit.MILLISECONDS.toNanos(idleReturnMs)) {
+                retire(lease);
+                continue;
+            }
+            if (used != 0) {
+                settle(lease, used, 0);
+            }
+            // Other nodes may have handed back redemptions since the database last had none
+            lease.exhausted = false;
+        }
+    }
+
+    /**
+     * Records used redemptions and hands back every lease. Runs at shutdown;
+     * checkouts after this lease again.
+     */
+    public void returnAll() {
+        for (Lease lease : leases.values()) {
+            retire(lease);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        leasing.shutdown();
+        try {
+            leasing.awaitTermination(refillTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        returnAll();
+    }
+
+    private Lease acquire(DiscountRule rule) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(refillTimeoutMs);
+        for (;;) {
+            Lease lease = leases.computeIfAbsent(rule.code(), code -> new Lease(code, rule.maxRedemptions(), stripes));
+            if (!Objects.equals(lease.maxRedemptions, rule.maxRedemptions())) {
+                // Cap changed since this block was leased: give it back and lease under the new one
+                retire(lease);
+                continue;
+            }
+            long left = lease.permits.tryAcquire();
+            if (left >= 0) {
+                lease.used.increment();
+                // One stripe is half empty and the others won't be far behind
+                if (left < lease.lowWater && lease.refill == null && !lease.exhausted) {
+                    refill(lease);
+                }
+                return lease;
+            }
+            if (lease.exhausted) {
+                return null;
+            }
+            long wait = deadline - System.nanoTime();
+            try {
+                if (wait <= 0) {
+                    throw new TimeoutException();
+                }
+                refill(lease).get(wait, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                timedOut.increment();
+                throw new RuntimeException("Coupon is busy, please try again");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while reserving a coupon redemption", e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Could not reserve a coupon redemption", e.getCause());
+            }
+        }
+    }
+
+    /** Starts leasing the next block for {@code lease}, unless that is already under way. */
+    private CompletableFuture<Long> refill(Lease lease) {
+        synchronized (lease) {
+            if (lease.refill == null) {
+                lease.refill = CompletableFuture.supplyAsync(() -> {
+                    long granted;
+                    try {
+                        granted = leaseFromDatabase(lease.code);
+                    } catch (RuntimeException e) {
+                        synchronized (lease) {
+                            lease.refill = null;
+                        }
+                        log.warn("Could not lease redemptions of coupon {}: {}", lease.code, e.getMessage());
+                        throw e;
+                    }
+                    boolean handBack;
+                    synchronized (lease) {
+                        lease.refill = null;
+                        lease.exhausted = granted == 0;
+                        handBack = lease.closed && granted > 0;
+                        if (!lease.closed) {
+                            lease.granted += granted;
+                            lease.lowWater = Math.max(1, granted / lease.permits.stripes() / 2);
+                            lease.permits.add(granted);
+                        }
+                    }
+                    if (handBack) {
+                        settle(lease, 0, granted); // retired while leasing
+                    }
+                    return granted;
+                }, leasing);
+            }
+            return lease.refill;
+        }
+    }
+
+    private long leaseFromDatabase(String code) {
+        Long granted = ownTransaction.execute(status -> {
+            for (;;) {
+                long unleased = couponRepo.findUnleasedRedemptions(code).orElse(0L);
+                if (unleased <= 0) {
+                    return 0L;
+                }
+                long count = Math.min(leaseSize, Math.max(1, unleased / 4));
+                // Fails only if another node leased in between; read what's left again
+                if (couponRepo.leaseRedemptions(code, count) == 1) {
+                    return count;
+                }
+            }
+        });
+        if (granted != null && granted > 0) {
+            leased.increment();
+        }
+        return granted != null ? granted : 0;
+    }
+
+    /** Closes a lease and settles it: used redemptions counted, unused ones handed back. */
+    private void retire(Lease lease) {
+        long used;
+        long unused;
+        synchronized (lease) {
+            if (lease.closed) {
+                return;
+            }
+            lease.closed = true;
+            unused = lease.permits.drain();
+            // Exact, unlike the running count: every permit granted was either used or is drained now
+            used = lease.granted - unused - lease.settled;
+        }
+        leases.remove(lease.code, lease);
+        settle(lease, used, unused);
+    }
+
+    private void settle(Lease lease, long used, long returned) {
+        try {
+            ownTransaction.executeWithoutResult(status -> couponRepo.settleRedemptions(lease.code, used, returned));
+            synchronized (lease) {
+                lease.settled += used;
+            }
+        } catch (RuntimeException e) {
+            if (returned == 0) {
+                lease.used.add(used); // try again on the next flush
+            }
+            log.warn("Could not record {} used and {} returned redemptions of coupon {}: {}", used, returned,
+                    lease.code, e.getMessage());
+        }
+    }
+
+    private boolean countForUser(String code, Long userId, long max) {
+        if (userId == null || max <= 0) {
+            return false;
+        }
+        for (int attempt = 0; attempt < 2; attempt++) {
+            boolean mayInsert = attempt == 0;
+            try {
+                Boolean counted = ownTransaction.execute(status -> {
+                    if (couponRedemptionRepo.incrementIfBelow(code, userId, max) == 1) {
+                        return true;
+                    }
+                    if (!mayInsert) {
+                        return false;
+                    }
+                    couponRedemptionRepo.saveAndFlush(new CouponRedemption(null, code, userId, 1));
+                    return true;
+                });
+                return Boolean.TRUE.equals(counted);
+            } catch (DataIntegrityViolationException e) {
+                // The customer already has a row, made just now by a concurrent checkout or earlier
+            }
+        }
+        return false;
+    }
+
+    private void uncountForUser(String code, Long userId) {
+        ownTransaction.executeWithoutResult(status -> couponRedemptionRepo.decrement(code, userId));
+    }
+
+    /**
+     * A redemption reserved for one checkout.
+     */
+    public static final class Reservation {
+
+        /** Reservation for a coupon without caps; releasing it does nothing. */
+        static final Reservation NONE = new Reservation(null, null, null, null);
+
+        private final RedemptionLimiter limiter;
+        private final String code;
+        private final Lease lease;
+        private final Long userId;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Reservation(RedemptionLimiter limiter, String code, Lease lease, Long userId) {
+            this.limiter = limiter;
+            this.code = code;
+            this.lease = lease;
+            this.userId = userId;
+        }
+
+        /**
+         * Gives the redemption back after the checkout failed. Safe to call
+         * more than once.
+         */
+        public void release() {
+            if (limiter == null || !released.compareAndSet(false, true)) {
+                return;
+            }
+            if (lease != null) {
+                lease.giveBack();
+            }
+            if (userId != null) {
+                try {
+                    limiter.uncountForUser(code, userId);
+                } catch (RuntimeException e) {
+                    log.warn("Could not give back a redemption of coupon {} to user {}: {}", code, userId,
+                            e.getMessage());
+                }
+            }
+        }
+    }
+
+    /** Redemptions this node leased for one coupon. */
+    private static final class Lease {
+
+        final String code;
+        final Long maxRedemptions;
+        final StripedPermits permits;
+        /** Redemptions used since the last flush; given-back ones are subtracted. */
+        final LongAdder used = new LongAdder();
+        /** Set when the database had none left; cleared on every flush. */
+        volatile boolean exhausted;
+        /** Guarded by this. */
+        volatile boolean closed;
+        /** Guarded by this: redemptions leased from the database. */
+        long granted;
+        /** Guarded by this: used redemptions already recorded in the database. */
+        long settled;
+        /** Guarded by this for writes: the block being leased, if any. */
+        volatile CompletableFuture<Long> refill;
+        /** Permits left in a stripe below which the next block is leased: half a stripe's share of the last. */
+        volatile long lowWater = 1;
+        /** Touched only by {@link #flush()}. */
+        long idleSince;
+
+        Lease(String code, Long maxRedemptions, int stripes) {
+            this.code = code;
+            this.maxRedemptions = maxRedemptions;
+            this.permits = new StripedPermits(stripes);
+        }
+
+        /** A redemption given back after the lease is retired is lost, erring towards fewer. */
+        void giveBack() {
+            used.decrement();
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.edu.SpringEcom.pricing;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Pool of permits split over several counters ("stripes"), so many threads
+ * can take permits at once without all hitting the same memory location.
+ *
+ * <p>
+ * Each thread starts at its own stripe and takes a permit there with a CAS
+ * that never lets a stripe go below zero; only if that stripe is empty does it
+ * look at the others. Stripes sit 128 bytes apart so two of them never share a
+ * cache line. The pool as a whole can therefore never hand out more permits
+ * than were {@link #add(long) added}; in exchange, a permit being given back
+ * to one stripe while a thread scans past it may be missed, and the caller
+ * then treats the pool as empty.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see RedemptionLimiter
+ */
+final class StripedPermits {
+
+    /** Longs between two stripes: 128 bytes, which also defeats adjacent-line prefetch. */
+    private static final int STRIDE = 16;
+
+    private final AtomicLongArray cells;
+    private final int mask;
+
+    /**
+     * @param stripes number of stripes; rounded up to a power of two
+     */
+    StripedPermits(int stripes) {
+        int count = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.cells = new AtomicLongArray(count * STRIDE);
+        this.mask = count - 1;
+    }
+
+    /** @return number of stripes */
+    int stripes() {
+        return mask + 1;
+    }
+
+    /**
+     * @return permits left in the stripe the permit was taken from, so
+     *         {@code 0} when this took the stripe's last one; or {@code -1} if
+     *         no permit was found
+     */
+    long tryAcquire() {
+        int home = home();
+        for (int i = 0; i <= mask; i++) {
+            int cell = ((home + i) & mask) * STRIDE;
+            long current = cells.get(cell);
+            while (current > 0) {
+                long witness = cells.compareAndExchange(cell, current, current - 1);
+                if (witness == current) {
+                    return current - 1;
+                }
+                current = witness;
+            }
+        }
+        return -1;
+    }
+
+    /** Gives a taken permit back, to the caller's own stripe. */
+    void release() {
+        cells.getAndIncrement(home() * STRIDE);
+    }
+
+    /**
+     * Adds permits, spread evenly over the stripes.
+     *
+     * @param permits permits to add
+     */
+    void add(long permits) {
+        int stripes = mask + 1;
+        long each = permits / stripes;
+        long rest = permits % stripes;
+        for (int i = 0; i < stripes; i++) {
+            long share = each + (i < rest ? 1 : 0);
+            if (share > 0) {
+                cells.getAndAdd(i * STRIDE, share);
+            }
+        }
+    }
+
+    /**
+     * Takes every permit left. Each permit is either taken by a concurrent
+     * {@link #tryAcquire()} or counted here, never both.
+     *
+     * @return permits taken
+     */
+    long drain() {
+        long drained = 0;
+        for (int i = 0; i <= mask; i++) {
+            drained += cells.getAndSet(i * STRIDE, 0);
+        }
+        return drained;
+    }
+
+    private int home() {
+        long h = Thread.currentThread().threadId() * 0x9e3779b97f4a7c15L;
+        return (int) (h >>> 32) & mask;
+    }
+}
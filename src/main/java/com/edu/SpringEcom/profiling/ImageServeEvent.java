@@ -0,0 +1,68 @@
+package com.edu.SpringEcom.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event timing one product image request, from product lookup to the
+ * bytes being ready to send. Recorded only while a recording has it enabled.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see ProfilingRecorder
+ */
+@Name("com.edu.SpringEcom.ImageServe")
+@Label("Image Serve")
+@Category({"SpringEcom", "Catalog"})
+@Description("A product image request")
+@StackTrace(false)
+public class ImageServeEvent extends Event {
+
+    @Label("Product ID")
+    int productId;
+
+    @Label("ETag")
+    @Description("Quoted image hash, or null for legacy inline images and errors")
+    String etag;
+
+    @Label("HTTP Status")
+    int status;
+
+    @Label("Size")
+    @DataAmount
+    int bytes;
+
+    /**
+     * @param productId the product whose image is requested
+     * @return the started event
+     */
+    public static ImageServeEvent start(int productId) {
+        ImageServeEvent event = new ImageServeEvent();
+        event.productId = productId;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the request and records it if a recording wants it.
+     *
+     * @param status HTTP status of the response
+     * @param etag   the response ETag, or {@code null}
+     * @param bytes  image bytes sent
+     */
+    public void finish(int status, String etag, int bytes) {
+        end();
+        if (shouldCommit()) {
+            this.status = status;
+            this.etag = etag;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
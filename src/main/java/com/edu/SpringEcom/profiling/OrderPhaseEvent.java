@@ -0,0 +1,73 @@
+package com.edu.SpringEcom.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event timing one phase of placing or confirming an order.
+ *
+ * <p>
+ * Usage: {@code OrderPhaseEvent phase = OrderPhaseEvent.start(LOAD_PRODUCTS);}
+ * ... {@code phase.finish(orderId, items);}. While no recording has the event
+ * enabled, {@link #finish(String, int)} returns after one check and the
+ * event object is normally optimized away.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see ProfilingRecorder
+ */
+@Name("com.edu.SpringEcom.OrderPhase")
+@Label("Order Phase")
+@Category({"SpringEcom", "Orders"})
+@Description("One phase of placing or confirming an order")
+@StackTrace(false)
+public class OrderPhaseEvent extends Event {
+
+    public static final String VALIDATE = "validate";
+    public static final String LOAD_PRODUCTS = "load-products";
+    public static final String RESERVE_STOCK = "reserve-stock";
+    public static final String PRICE = "price";
+    public static final String SAVE = "save";
+    public static final String INDEX = "index";
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Order ID")
+    String orderId;
+
+    @Label("Items")
+    int items;
+
+    /**
+     * @param phase which phase, e.g. {@link #PRICE}
+     * @return the started event
+     */
+    public static OrderPhaseEvent start(String phase) {
+        OrderPhaseEvent event = new OrderPhaseEvent();
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the phase and records it if a recording wants it.
+     *
+     * @param orderId the customer-facing order ID
+     * @param items   number of order lines
+     */
+    public void finish(String orderId, int items) {
+        end();
+        if (shouldCommit()) {
+            this.orderId = orderId;
+            this.items = items;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.edu.SpringEcom.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event timing a catalog read, with where it was answered from.
+ *
+ * <p>
+ * {@link #source} starts as {@link #CACHE}; the read sets it to
+ * {@link #DATABASE} or {@link #SNAPSHOT} when it goes further. A read that
+ * waited on another caller's identical load counts as a cache read. As with
+ * {@link OrderPhaseEvent}, nothing is recorded or formatted unless a
+ * recording has the event enabled.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see ProfilingRecorder
+ */
+@Name("com.edu.SpringEcom.ProductRead")
+@Label("Product Read")
+@Category({"SpringEcom", "Catalog"})
+@Description("A product lookup, listing or search")
+@StackTrace(false)
+public class ProductReadEvent extends Event {
+
+    public static final String CACHE = "cache";
+    public static final String DATABASE = "database";
+    public static final String SNAPSHOT = "snapshot";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Product ID")
+    @Description("The product looked up, or 0 for reads of many products")
+    int productId;
+
+    @Label("Keyword")
+    String keyword;
+
+    @Label("Results")
+    int results;
+
+    @Label("Source")
+    String source = CACHE;
+
+    /**
+     * @param operation what is read, e.g. {@code get} or {@code search}
+     * @return the started event
+     */
+    public static ProductReadEvent start(String operation) {
+        ProductReadEvent event = new ProductReadEvent();
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @param source {@link #DATABASE} or {@link #SNAPSHOT}
+     */
+    public void from(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Ends the read and records it if a recording wants it.
+     *
+     * @param productId the product looked up, or 0
+     * @param keyword   the search term, or {@code null}
+     * @param results   number of products returned
+     */
+    public void finish(int productId, String keyword, int results) {
+        end();
+        if (shouldCommit()) {
+            this.productId = productId;
+            this.keyword = keyword;
+            this.results = results;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.edu.SpringEcom.profiling;
+
+import com.edu.SpringEcom.model.dto.RecordingStatusResponse;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Runs on-demand JDK Flight Recorder recordings for diagnosing latency in
+ * production.
+ *
+ * <p>
+ * One recording at a time, using the JDK's {@code profiling.recording.settings}
+ * configuration ({@code default} is meant to run continuously, {@code profile}
+ * adds method sampling at a few percent overhead) plus the application's own
+ * {@link OrderPhaseEvent}, {@link ProductReadEvent} and
+ * {@link ImageServeEvent} for anything slower than
+ * {@code profiling.event-threshold-ms}. Every recording is bounded: it stops
+ * by itself after at most {@code profiling.recording.max-duration} and keeps
+ * at most {@code profiling.recording.max-size} on disk. When it stops the
+ * file is written to {@code profiling.recording.dir}, replacing the previous
+ * one, and stays there for download.
+ * </p>
+ *
+ * <p>
+ * With no recording running the application events cost one
+ * {@code shouldCommit()} check each.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+@Component
+public class ProfilingRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfilingRecorder.class);
+
+    private static final List<Class<? extends jdk.jfr.Event>> EVENTS =
+            List.of(OrderPhaseEvent.class, ProductReadEvent.class, ImageServeEvent.class);
+
+    @Value("${profiling.recording.dir:${java.io.tmpdir}/springecom-jfr}")
+    private String dir;
+
+    @Value("${profiling.recording.settings:profile}")
+    private String settings;
+
+    @Value("${profiling.recording.max-duration:10m}")
+    private Duration maxDuration;
+
+    @Value("${profiling.recording.max-size:100MB}")
+    private DataSize maxSize;
+
+    @Value("${profiling.event-threshold-ms:0}")
+    private long eventThresholdMs;
+
+    // Guarded by this
+    private Recording recording;
+
+    /**
+     * Starts a recording.
+     *
+     * @param duration how long to record; capped at
+     *                 {@code profiling.recording.max-duration}
+     * @return the running recording
+     * @throws IllegalStateException if a recording is already running
+     * @throws RuntimeException      if the recording can't be set up
+     */
+    public synchronized RecordingStatusResponse start(Duration duration) {
+        if (recording != null && isActive(recording)) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        closeCurrent();
+        Duration bounded = duration == null || duration.isNegative() || duration.isZero()
+                || duration.compareTo(maxDuration) > 0 ? maxDuration : duration;
+        Recording fresh;
+        try {
+            Files.createDirectories(Path.of(dir));
+            fresh = new Recording(Configuration.getConfiguration(settings));
+            fresh.setDestination(file());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not prepare recording in " + dir, e);
+        } catch (ParseException e) {
+            throw new RuntimeException("Invalid JFR settings " + settings, e);
+        }
+        for (Class<? extends jdk.jfr.Event> event : EVENTS) {
+            fresh.enable(event).withThreshold(Duration.ofMillis(eventThresholdMs));
+        }
+        fresh.setName("springecom-on-demand");
+        fresh.setToDisk(true);
+        fresh.setMaxSize(maxSize.toBytes());
+        fresh.setDuration(bounded);
+        fresh.start();
+        recording = fresh;
+        log.info("Started JFR recording with '{}' settings for {}", settings, bounded);
+        return status();
+    }
+
+    /**
+     * Stops the running recording early and writes its file.
+     *
+     * @return the stopped recording
+     * @throws IllegalStateException if no recording is running
+     */
+    public synchronized RecordingStatusResponse stop() {
+        if (recording == null || !isActive(recording)) {
+            throw new IllegalStateException("No recording is running");
+        }
+        recording.stop();
+        log.info("Stopped JFR recording; written to {}", file());
+        return status();
+    }
+
+    /** @return the current or last recording, or {@code null} if there was none */
+    public synchronized RecordingStatusResponse status() {
+        if (recording == null) {
+            return null;
+        }
+        Path file = file();
+        Long size = null;
+        if (!isActive(recording)) {
+            try {
+                size = Files.size(file);
+            } catch (IOException e) {
+                // not written (yet), or removed
+            }
+        }
+        Instant started = recording.getStartTime();
+        Duration duration = recording.getDuration();
+        return new RecordingStatusResponse(recording.getState().name(), started,
+                duration != null ? duration.toSeconds() : null, size);
+    }
+
+    /**
+     * @return the finished recording's file
+     * @throws IllegalStateException if there is no finished recording
+     */
+    public synchronized Path recordingFile() {
+        if (recording == null || isActive(recording) || !Files.exists(file())) {
+            throw new IllegalStateException(recording != null && isActive(recording)
+                    ? "The recording is still running" : "No finished recording");
+        }
+        return file();
+    }
+
+    @PreDestroy
+    synchronized void closeCurrent() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private Path file() {
+        return Path.of(dir, "springecom.jfr").toAbsolutePath();
+    }
+
+    private static boolean isActive(Recording recording) {
+        RecordingState state = recording.getState();
+        return state == RecordingState.NEW || state == RecordingState.DELAYED || state == RecordingState.RUNNING;
+    }
+}
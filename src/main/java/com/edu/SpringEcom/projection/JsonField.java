@@ -0,0 +1,64 @@
+package com.edu.SpringEcom.projection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * A field a client can ask for with a {@code ?fields=} parameter.
+ *
+ * <p>
+ * Implemented by enums listing the selectable fields of one resource, e.g.
+ * {@link ProductField}. {@link #parse(String, Class)} turns the parameter
+ * into the requested fields in the order given.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public interface JsonField {
+
+    /** @return the field's name in JSON and in {@code ?fields=} */
+    String fieldName();
+
+    /**
+     * Parses a comma-separated field list such as {@code id,title,price}.
+     * Names are case-sensitive; blanks and repeats are ignored.
+     *
+     * @param fields the {@code ?fields=} value, possibly {@code null}
+     * @param type   the enum of selectable fields
+     * @param <E>    field type
+     * @return the requested fields in order, or {@code null} if none were
+     *         given, meaning the full representation
+     * @throws RuntimeException if a name is not a field of {@code type}
+     */
+    static <E extends Enum<E> & JsonField> List<E> parse(String fields, Class<E> type) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        List<E> selected = new ArrayList<>();
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            E field = find(trimmed, type);
+            if (!selected.contains(field)) {
+                selected.add(field);
+            }
+        }
+        return selected.isEmpty() ? null : selected;
+    }
+
+    private static <E extends Enum<E> & JsonField> E find(String name, Class<E> type) {
+        StringJoiner known = new StringJoiner(", ");
+        for (E field : type.getEnumConstants()) {
+            if (field.fieldName().equals(name)) {
+                return field;
+            }
+            known.add(field.fieldName());
+        }
+        throw new RuntimeException("Unknown field '" + name + "'; expected one of: " + known);
+    }
+}
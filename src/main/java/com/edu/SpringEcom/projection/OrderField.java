@@ -0,0 +1,98 @@
+package com.edu.SpringEcom.projection;
+
+import com.edu.SpringEcom.model.dto.OrderResponse;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Order fields selectable with {@code ?fields=}.
+ *
+ * <p>
+ * The names match {@link com.edu.SpringEcom.model.dto.OrderResponse}. All but
+ * {@code items} map to one column of the orders table; order items are only
+ * queried when {@code items} is asked for.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public enum OrderField implements JsonField {
+
+    ORDER_ID("orderId", "orderId"),
+    CUSTOMER_NAME("customerName", "customerName"),
+    EMAIL("email", "email"),
+    STATUS("status", "status"),
+    ORDER_DATE("orderDate", "orderDate"),
+    SUBTOTAL("subtotal", "subtotal"),
+    DISCOUNT("discount", "discount"),
+    TOTAL("total", "total"),
+    ITEMS("items", null);
+
+    private final String fieldName;
+    private final String attribute;
+
+    OrderField(String fieldName, String attribute) {
+        this.fieldName = fieldName;
+        this.attribute = attribute;
+    }
+
+    @Override
+    public String fieldName() {
+        return fieldName;
+    }
+
+    /** @return the {@code Order} attribute, or {@code null} for {@code items} */
+    public String attribute() {
+        return attribute;
+    }
+
+    /**
+     * @param fields requested fields
+     * @return the order attributes they need, always including {@code id}
+     *         (to attach items) and {@code orderId} (to skip archived copies
+     *         of the same orders) and, for {@code total}, {@code subtotal}
+     *         (the fallback for orders stored without a total)
+     */
+    public static Set<String> attributes(List<OrderField> fields) {
+        Set<String> attributes = new LinkedHashSet<>();
+        attributes.add("id");
+        attributes.add(ORDER_ID.attribute);
+        for (OrderField field : fields) {
+            if (field == TOTAL) {
+                attributes.add(SUBTOTAL.attribute);
+            }
+            if (field.attribute != null) {
+                attributes.add(field.attribute);
+            }
+        }
+        return attributes;
+    }
+
+    /**
+     * @param order  a complete order, e.g. one read from the archive
+     * @param fields requested fields
+     * @return just those fields, in order, ready to serialize
+     */
+    public static Map<String, Object> toJson(OrderResponse order, List<OrderField> fields) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        for (OrderField field : fields) {
+            json.put(field.fieldName, switch (field) {
+                case ORDER_ID -> order.orderId();
+                case CUSTOMER_NAME -> order.customerName();
+                case EMAIL -> order.email();
+                case STATUS -> order.status();
+                case ORDER_DATE -> order.orderDate();
+                case SUBTOTAL -> order.subtotal();
+                case DISCOUNT -> order.discount();
+                case TOTAL -> order.total();
+                case ITEMS -> order.items();
+            });
+        }
+        return json;
+    }
+}
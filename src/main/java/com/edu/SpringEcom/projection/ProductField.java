@@ -0,0 +1,114 @@
+package com.edu.SpringEcom.projection;
+
+import com.edu.SpringEcom.model.Product;
+import jakarta.persistence.Tuple;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Product fields selectable with {@code ?fields=}.
+ *
+ * <p>
+ * Each field maps to one {@link Product} attribute, so a projection query
+ * selects exactly the columns asked for. {@code imageUrl} is computed from the
+ * ID and points at the image endpoint, letting listing pages skip
+ * {@code imageData} (the whole image, base64 encoded). Values are written the
+ * same way as in the full {@link Product} JSON.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public enum ProductField implements JsonField {
+
+    ID("id", "id", Product::getId),
+    TITLE("title", "title", Product::getTitle),
+    DESCRIPTION("description", "description", Product::getDescription),
+    BRAND("brand", "brand", Product::getBrand),
+    PRICE("price", "price", Product::getPrice),
+    CATEGORY("category", "category", Product::getCategory),
+    RELEASE_DATE("releaseDate", "releaseDate", Product::getReleaseDate),
+    CREATE_DATE("createDate", "createDate", Product::getCreateDate),
+    AVAILABILITY("availability", "availability", Product::isAvailability),
+    STOCK_QUANTITY("stockQuantity", "stockQuantity", Product::getStockQuantity),
+    IMAGE_NAME("imageName", "imageName", Product::getImageName),
+    IMAGE_TYPE("imageType", "imageType", Product::getImageType),
+    IMAGE_HASH("imageHash", "imageHash", Product::getImageHash),
+    IMAGE_DATA("imageData", "imageData", Product::getImageData),
+    /** Derived from {@code id}: where to fetch the image. */
+    IMAGE_URL("imageUrl", "id", Product::getId);
+
+    /** Same format as the {@code @JsonFormat} on {@link Product}'s dates. */
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy")
+            .withZone(ZoneOffset.UTC);
+
+    private final String fieldName;
+    private final String attribute;
+    private final Function<Product, Object> getter;
+
+    ProductField(String fieldName, String attribute, Function<Product, Object> getter) {
+        this.fieldName = fieldName;
+        this.attribute = attribute;
+        this.getter = getter;
+    }
+
+    @Override
+    public String fieldName() {
+        return fieldName;
+    }
+
+    /**
+     * @param fields requested fields
+     * @return the distinct entity attributes they need
+     */
+    public static Set<String> attributes(List<ProductField> fields) {
+        Set<String> attributes = new LinkedHashSet<>();
+        for (ProductField field : fields) {
+            attributes.add(field.attribute);
+        }
+        return attributes;
+    }
+
+    /**
+     * @param product a loaded product
+     * @param fields  requested fields
+     * @return just those fields, in order, ready to serialize
+     */
+    public static Map<String, Object> toJson(Product product, List<ProductField> fields) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        for (ProductField field : fields) {
+            json.put(field.fieldName, field.json(field.getter.apply(product)));
+        }
+        return json;
+    }
+
+    /**
+     * @param row    a projection row with one element per attribute, aliased
+     *               by attribute name
+     * @param fields requested fields
+     * @return just those fields, in order, ready to serialize
+     */
+    public static Map<String, Object> toJson(Tuple row, List<ProductField> fields) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        for (ProductField field : fields) {
+            json.put(field.fieldName, field.json(row.get(field.attribute)));
+        }
+        return json;
+    }
+
+    private Object json(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (this) {
+            case IMAGE_URL -> "/api/product/" + value + "/image";
+            case RELEASE_DATE, CREATE_DATE -> DATE_FORMAT.format(Instant.ofEpochMilli(((Date) value).getTime()));
+            default -> value;
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.edu.SpringEcom.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking cap on requests in flight.
+ *
+ * <p>
+ * Requests over the limit are rejected immediately rather than queued, which
+ * keeps latency bounded for the requests that are admitted.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class ConcurrencyLimiter {
+
+    private final int limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * @param limit maximum concurrent requests; zero or less disables the limit
+     */
+    public ConcurrencyLimiter(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * @return {@code true} if admitted; the caller must then call
+     *         {@link #release()}
+     */
+    public boolean tryAcquire() {
+        if (limit <= 0) {
+            inFlight.incrementAndGet();
+            return true;
+        }
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /** @return requests currently in flight */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
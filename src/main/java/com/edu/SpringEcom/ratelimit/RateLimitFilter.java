@@ -0,0 +1,179 @@
+package com.edu.SpringEcom.ratelimit;
+
+import com.edu.SpringEcom.auth.SessionTokenFilter;
+import com.edu.SpringEcom.auth.SessionUser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admission control for expensive endpoints.
+ *
+ * <p>
+ * For every endpoint configured in {@link RateLimitProperties} the filter:
+ * <ol>
+ * <li>Takes a slot from the endpoint's {@link ConcurrencyLimiter}; if the
+ * endpoint is saturated the request is shed with HTTP 429</li>
+ * <li>Takes a token from the calling client's {@link TokenBucket} (per user
+ * for requests with a session token, otherwise per IP address, taken from
+ * {@code X-Forwarded-For} when a trusted proxy sent it, see
+ * {@code server.forward-headers-strategy}); if none is
+ * left the slot is given back and the request gets HTTP 429 with a
+ * Retry-After of when the next token is due</li>
+ * </ol>
+ * The slot is taken first so that a request shed for load doesn't also use
+ * up the client's rate budget. Both checks are lock-free and happen before
+ * the request reaches a controller, so rejected traffic never takes a
+ * database connection.
+ * </p>
+ *
+ * <p>
+ * Metrics: {@code ratelimit.admitted} and {@code ratelimit.rejected} (tagged
+ * by endpoint and, for rejections, reason {@code rate} or
+ * {@code concurrency}), plus a {@code ratelimit.inflight} gauge.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see RateLimitProperties
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final List<Limit> limits = new ArrayList<>();
+
+    @PostConstruct
+    void init() {
+        for (Map.Entry<String, RateLimitProperties.Endpoint> entry : properties.getEndpoints().entrySet()) {
+            String name = entry.getKey();
+            Limit limit = new Limit(name, entry.getValue(),
+                    new ConcurrencyLimiter(entry.getValue().getMaxConcurrent()),
+                    Counter.builder("ratelimit.admitted").tag("endpoint", name).register(meterRegistry),
+                    Counter.builder("ratelimit.rejected").tag("endpoint", name).tag("reason", "rate").register(meterRegistry),
+                    Counter.builder("ratelimit.rejected").tag("endpoint", name).tag("reason", "concurrency").register(meterRegistry));
+            Gauge.builder("ratelimit.inflight", limit.concurrency, ConcurrencyLimiter::getInFlight)
+                    .tag("endpoint", name)
+                    .register(meterRegistry);
+            limits.add(limit);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || limits.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Limit limit = match(request);
+        if (limit == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (!limit.concurrency.tryAcquire()) {
+            limit.rejectedConcurrency.increment();
+            reject(response, limit.config.getRetryAfterSeconds());
+            return;
+        }
+
+        long now = System.nanoTime();
+        TokenBucket bucket = limit.buckets.computeIfAbsent(clientKey(request),
+                k -> new TokenBucket(limit.config.getPermitsPerSecond(), limit.config.getBurst(), now));
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            limit.concurrency.release();
+            limit.rejectedRate.increment();
+            reject(response, (int) Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L));
+            return;
+        }
+        limit.admitted.increment();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limit.concurrency.release();
+        }
+    }
+
+    /**
+     * Drops buckets of clients that have been quiet long enough to be full
+     * again, so the per-client maps don't grow without bound.
+     */
+    @Scheduled(fixedDelayString = "${ratelimit.sweep-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        for (Limit limit : limits) {
+            limit.buckets.values().removeIf(bucket -> bucket.isIdle(now));
+        }
+    }
+
+    private Limit match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Limit limit : limits) {
+            String method = limit.config.getMethod();
+            if ((method == null || method.isEmpty() || method.equalsIgnoreCase(request.getMethod()))
+                    && pathMatcher.match(limit.config.getPath(), path)) {
+                return limit;
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        // Signed-in callers get their own budget even when they share an address
+        if (request.getAttribute(SessionTokenFilter.ATTRIBUTE) instanceof SessionUser user) {
+            return "user:" + user.userId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, int retryAfterSeconds) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("text/plain");
+        response.getWriter().write("Too many requests");
+    }
+
+    private record Limit(
+            String name,
+            RateLimitProperties.Endpoint config,
+            ConcurrencyLimiter concurrency,
+            Counter admitted,
+            Counter rejectedRate,
+            Counter rejectedConcurrency,
+            Map<String, TokenBucket> buckets) {
+
+        Limit(String name, RateLimitProperties.Endpoint config, ConcurrencyLimiter concurrency,
+                Counter admitted, Counter rejectedRate, Counter rejectedConcurrency) {
+            this(name, config, concurrency, admitted, rejectedRate, rejectedConcurrency, new ConcurrentHashMap<>());
+        }
+    }
+}
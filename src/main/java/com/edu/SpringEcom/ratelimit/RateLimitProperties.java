@@ -0,0 +1,60 @@
+package com.edu.SpringEcom.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Admission control settings, bound from {@code ratelimit.*}.
+ *
+ * <p>
+ * <b>Example:</b>
+ * </p>
+ *
+ * <pre>
+ * ratelimit.endpoints.checkout.method=POST
+ * ratelimit.endpoints.checkout.path=/api/orders/place
+ * ratelimit.endpoints.checkout.permits-per-second=2
+ * ratelimit.endpoints.checkout.burst=5
+ * ratelimit.endpoints.checkout.max-concurrent=20
+ * </pre>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see RateLimitFilter
+ */
+@Data
+@ConfigurationProperties(prefix = "ratelimit")
+public class RateLimitProperties {
+
+    /** Master switch for all limits. */
+    private boolean enabled = true;
+
+    /** Limits keyed by a short endpoint name used in metrics. */
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    @Data
+    public static class Endpoint {
+
+        /** HTTP method to match, or empty for any method. */
+        private String method;
+
+        /** Path pattern to match, e.g. {@code /api/products/search}. */
+        private String path;
+
+        /** Sustained requests per second allowed per client. */
+        private double permitsPerSecond = 10;
+
+        /** Requests a client may send at once before being throttled. */
+        private int burst = 20;
+
+        /** Requests in flight across all clients; zero or less is unlimited. */
+        private int maxConcurrent = 0;
+
+        /** Retry-After (seconds) sent when shedding for concurrency. */
+        private int retryAfterSeconds = 1;
+    }
+}
@@ -0,0 +1,65 @@
+package com.edu.SpringEcom.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ *
+ * <p>
+ * Implemented as the generic cell rate algorithm: the whole bucket is one
+ * {@link AtomicLong} holding the theoretical arrival time of the next request.
+ * Taking a token is a single compare-and-set, so contended buckets never park
+ * threads.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param permitsPerSecond sustained refill rate
+     * @param burst            maximum tokens that can be taken at once
+     * @param nowNanos         current {@link System#nanoTime()}
+     */
+    public TokenBucket(double permitsPerSecond, int burst, long nowNanos) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.capacityNanos = intervalNanos * Math.max(1, burst);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Tries to take one token.
+     *
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return {@code 0} if a token was taken, otherwise the nanoseconds until
+     *         one will be available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            // Compared by difference, as System.nanoTime() values may wrap around
+            long next = (tat - nowNanos > 0 ? tat : nowNanos) + intervalNanos;
+            long excess = next - nowNanos - capacityNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return {@code true} if the bucket is full again and can be discarded
+     */
+    public boolean isIdle(long nowNanos) {
+        return theoreticalArrival.get() - nowNanos <= 0;
+    }
+}
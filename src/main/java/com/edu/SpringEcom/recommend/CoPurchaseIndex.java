@@ -0,0 +1,363 @@
+package com.edu.SpringEcom.recommend;
+
+import com.edu.SpringEcom.archive.ArchivedOrder;
+import com.edu.SpringEcom.archive.OrderArchive;
+import com.edu.SpringEcom.model.dto.OrderedProduct;
+import com.edu.SpringEcom.repo.OrderRepo;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory "frequently bought together" counts.
+ *
+ * <p>
+ * For every product the index keeps how many orders contained it together with
+ * each other product. Placing an order adds one to every pair of distinct
+ * products in it, after the order commits. Nothing is recomputed with SQL at
+ * request time.
+ * </p>
+ *
+ * <p>
+ * Memory is bounded per product. Partner counts are {@link IntIntMap}s
+ * (primitive arrays, no boxing), and once a product has
+ * {@code recommend.max-partners} partners the least frequent half is dropped,
+ * so popular pairs stay while one-off pairs are forgotten. The top
+ * {@code recommend.top-k} partners of each product are cached and recomputed
+ * only after that product's counts change.
+ * </p>
+ *
+ * <p>
+ * On startup the index is loaded from {@code recommend.snapshot.path} when
+ * that file exists. Otherwise it is rebuilt in one streaming pass over order
+ * items, followed by archived orders. The snapshot is rewritten every
+ * {@code recommend.snapshot.interval-ms} when something changed, and on
+ * shutdown. Each node counts the orders it places itself. Under a load
+ * balancer that is an even sample of all orders, which is enough to rank
+ * partners.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+@Component
+public class CoPurchaseIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CoPurchaseIndex.class);
+
+    private static final int SNAPSHOT_VERSION = 1;
+
+    /** Pairs grow quadratically with order size; very large orders say little about affinity. */
+    private static final int MAX_PRODUCTS_PER_ORDER = 50;
+
+    @Autowired
+    private OrderRepo orderRepo;
+
+    @Autowired
+    private OrderArchive orderArchive;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${recommend.top-k:10}")
+    private int topK;
+
+    @Value("${recommend.max-partners:100}")
+    private int maxPartners;
+
+    @Value("${recommend.snapshot.path:}")
+    private String snapshotPath;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    // Guarded by lock
+    private IntObjectMap<Partners> index = new IntObjectMap<>(1024);
+
+    /**
+     * Loads the snapshot, or rebuilds from order history if there is none.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void load() {
+        if (!loadSnapshot()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recomputes all counts from order history in a single ordered scan of
+     * the database and one pass over the archive.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        IntObjectMap<Partners> fresh = new IntObjectMap<>(1024);
+        int[] orders = {0};
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try (Stream<OrderedProduct> rows = orderRepo.streamOrderedProducts()) {
+                int[] basket = new int[MAX_PRODUCTS_PER_ORDER];
+                int basketSize = 0;
+                Long currentOrder = null;
+                for (OrderedProduct row : (Iterable<OrderedProduct>) rows::iterator) {
+                    if (!row.orderId().equals(currentOrder)) {
+                        count(fresh, basket, basketSize);
+                        currentOrder = row.orderId();
+                        basketSize = 0;
+                        orders[0]++;
+                    }
+                    if (basketSize < basket.length && row.productId() != null
+                            && !contains(basket, basketSize, row.productId())) {
+                        basket[basketSize++] = row.productId();
+                    }
+                }
+                count(fresh, basket, basketSize);
+            }
+        });
+        int[] archivedBasket = new int[MAX_PRODUCTS_PER_ORDER];
+        orderArchive.forEach(null, null, order -> {
+            int basketSize = 0;
+            for (ArchivedOrder.Item item : order.items()) {
+                if (basketSize < archivedBasket.length && item.productId() != null
+                        && !contains(archivedBasket, basketSize, item.productId())) {
+                    archivedBasket[basketSize++] = item.productId();
+                }
+            }
+            count(fresh, archivedBasket, basketSize);
+            orders[0]++;
+        });
+        lock.writeLock().lock();
+        try {
+            index = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        dirty.set(true);
+        log.info("Co-purchase index rebuilt from {} orders in {} ms", orders[0],
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Counts an order's products as bought together. Inside a transaction the
+     * update waits for commit, so rolled-back orders are never counted.
+     *
+     * @param productIds products of one order; duplicates are ignored
+     */
+    public void record(Collection<Integer> productIds) {
+        int[] basket = productIds.stream().mapToInt(Integer::intValue).distinct()
+                .limit(MAX_PRODUCTS_PER_ORDER).toArray();
+        if (basket.length < 2) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(basket);
+                }
+            });
+        } else {
+            apply(basket);
+        }
+    }
+
+    /**
+     * @param productId a product
+     * @param limit     maximum partners to return
+     * @return partners packed as {@code (long) count << 32 | productId}, most
+     *         frequent first
+     */
+    public long[] related(int productId, int limit) {
+        lock.readLock().lock();
+        try {
+            Partners partners = index.get(productId);
+            if (partners == null) {
+                return new long[0];
+            }
+            long[] top = partners.top;
+            if (top == null) {
+                // Safe under the read lock: counts only change under the write lock
+                long[] sorted = partners.counts.entriesByCount();
+                top = Arrays.copyOf(sorted, Math.min(topK, sorted.length));
+                partners.top = top;
+            }
+            return Arrays.copyOf(top, Math.min(Math.max(limit, 0), top.length));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the index to the snapshot file if anything changed since the last
+     * write. Does nothing when no snapshot path is configured.
+     */
+    @Scheduled(fixedDelayString = "${recommend.snapshot.interval-ms:300000}")
+    public void writeSnapshot() {
+        if (snapshotPath.isBlank() || !dirty.getAndSet(false)) {
+            return;
+        }
+        Path target = Path.of(snapshotPath).toAbsolutePath();
+        try {
+            Files.createDirectories(target.getParent());
+            Path tmp = Files.createTempFile(target.getParent(), "related", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                lock.readLock().lock();
+                try {
+                    out.writeInt(SNAPSHOT_VERSION);
+                    out.writeInt(index.size());
+                    IOException[] failure = {null};
+                    index.forEach((partners, productId) -> {
+                        if (failure[0] != null) {
+                            return;
+                        }
+                        try {
+                            long[] entries = partners.counts.entriesByCount();
+                            out.writeInt(productId);
+                            out.writeInt(entries.length);
+                            for (long entry : entries) {
+                                out.writeInt((int) entry);
+                                out.writeInt((int) (entry >>> 32));
+                            }
+                        } catch (IOException e) {
+                            failure[0] = e;
+                        }
+                    });
+                    if (failure[0] != null) {
+                        throw failure[0];
+                    }
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty.set(true);
+            log.warn("Could not write co-purchase snapshot to {}: {}", target, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void flush() {
+        writeSnapshot();
+    }
+
+    private void apply(int[] basket) {
+        lock.writeLock().lock();
+        try {
+            count(index, basket, basket.length);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        dirty.set(true);
+    }
+
+    /** @param basket distinct product IDs of one order */
+    private void count(IntObjectMap<Partners> target, int[] basket, int size) {
+        for (int i = 0; i < size; i++) {
+            Partners partners = partnersOf(target, basket[i]);
+            for (int j = 0; j < size; j++) {
+                if (i != j) {
+                    partners.add(basket[j], 1, maxPartners);
+                }
+            }
+        }
+    }
+
+    private static boolean contains(int[] basket, int size, int productId) {
+        for (int i = 0; i < size; i++) {
+            if (basket[i] == productId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Partners partnersOf(IntObjectMap<Partners> target, int productId) {
+        Partners partners = target.get(productId);
+        if (partners == null) {
+            partners = new Partners();
+            target.put(productId, partners);
+        }
+        return partners;
+    }
+
+    private boolean loadSnapshot() {
+        if (snapshotPath.isBlank() || !Files.exists(Path.of(snapshotPath))) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(Path.of(snapshotPath))))) {
+            if (in.readInt() != SNAPSHOT_VERSION) {
+                log.warn("Ignoring co-purchase snapshot {} with unknown version", snapshotPath);
+                return false;
+            }
+            int products = in.readInt();
+            IntObjectMap<Partners> loaded = new IntObjectMap<>(products);
+            for (int i = 0; i < products; i++) {
+                Partners partners = partnersOf(loaded, in.readInt());
+                int count = in.readInt();
+                for (int j = 0; j < count; j++) {
+                    int partnerId = in.readInt();
+                    partners.add(partnerId, in.readInt(), maxPartners);
+                }
+            }
+            lock.writeLock().lock();
+            try {
+                index = loaded;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Restored co-purchase counts for {} products from {}", products, snapshotPath);
+            return true;
+        } catch (IOException e) {
+            log.warn("Could not read co-purchase snapshot {}: {}", snapshotPath, e.getMessage());
+            return false;
+        }
+    }
+
+    /** Partner counts of one product plus its cached top list. */
+    private static final class Partners {
+
+        IntIntMap counts = new IntIntMap(8);
+
+        /** Top partners, or {@code null} when counts changed since it was computed. */
+        volatile long[] top;
+
+        void add(int partnerId, int delta, int maxPartners) {
+            if (counts.size() >= maxPartners && counts.get(partnerId) == 0) {
+                prune(maxPartners / 2);
+            }
+            counts.increment(partnerId, delta);
+            top = null;
+        }
+
+        /** Keeps only the {@code keep} most frequent partners. */
+        private void prune(int keep) {
+            long[] sorted = counts.entriesByCount();
+            IntIntMap kept = new IntIntMap(Math.max(keep, 8));
+            for (int i = 0; i < Math.min(keep, sorted.length); i++) {
+                kept.increment((int) sorted[i], (int) (sorted[i] >>> 32));
+            }
+            counts = kept;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.edu.SpringEcom.recommend;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from positive {@code int} keys to {@code int}
+ * counts.
+ *
+ * <p>
+ * Keys and values live in two parallel primitive arrays with linear probing,
+ * so an entry costs 8 bytes instead of the roughly 60 of a boxed
+ * {@code HashMap<Integer, Integer>} entry and increments never allocate. Key
+ * {@code 0} marks an empty slot and can't be stored; product IDs start at 1.
+ * There is no single-key removal; {@link CoPurchaseIndex} prunes by building a
+ * smaller map. Not thread-safe.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+final class IntIntMap {
+
+    private static final int EMPTY = 0;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+
+    /** @param expected number of entries to size the table for */
+    IntIntMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, expected * 2) * 2 - 1);
+        keys = new int[capacity];
+        values = new int[capacity];
+    }
+
+    /** @return the count for {@code key}, or 0 if absent */
+    int get(int key) {
+        int mask = keys.length - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == key) {
+                return values[i];
+            }
+            if (k == EMPTY) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Adds to the count of a key, inserting it if absent.
+     *
+     * @param key   a positive key
+     * @param delta amount to add
+     * @return the new count
+     */
+    int increment(int key, int delta) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+        int mask = keys.length - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == key) {
+                return values[i] += delta;
+            }
+            if (k == EMPTY) {
+                keys[i] = key;
+                values[i] = delta;
+                if (++size * 2 > keys.length) {
+                    grow();
+                }
+                return delta;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return every entry packed as {@code (long) count << 32 | key}, sorted by
+     *         count descending and then key descending
+     */
+    long[] entriesByCount() {
+        long[] packed = new long[size];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                packed[n++] = (long) values[i] << 32 | keys[i];
+            }
+        }
+        Arrays.sort(packed);
+        for (int i = 0, j = n - 1; i < j; i++, j--) {
+            long t = packed[i];
+            packed[i] = packed[j];
+            packed[j] = t;
+        }
+        return packed;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            int key = oldKeys[j];
+            if (key != EMPTY) {
+                int i = mix(key) & mask;
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    /** Spreads sequential IDs across the table. */
+    static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,103 @@
+package com.edu.SpringEcom.recommend;
+
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Open-addressing hash map from positive {@code int} keys to objects, without
+ * boxing the keys.
+ *
+ * <p>
+ * Same layout as {@link IntIntMap}: parallel arrays, linear probing, key
+ * {@code 0} reserved for empty slots, no removal. Not thread-safe.
+ * </p>
+ *
+ * @param <V> value type
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+final class IntObjectMap<V> {
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+
+    IntObjectMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, expected * 2) * 2 - 1);
+        keys = new int[capacity];
+        values = new Object[capacity];
+    }
+
+    /** @return the value for {@code key}, or {@code null} if absent */
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        int mask = keys.length - 1;
+        for (int i = IntIntMap.mix(key) & mask; ; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == key) {
+                return (V) values[i];
+            }
+            if (k == 0) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * @param key   a positive key
+     * @param value the value; replaces any existing one
+     */
+    void put(int key, V value) {
+        if (key == 0) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+        int mask = keys.length - 1;
+        for (int i = IntIntMap.mix(key) & mask; ; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == key) {
+                values[i] = value;
+                return;
+            }
+            if (k == 0) {
+                keys[i] = key;
+                values[i] = value;
+                if (++size * 2 > keys.length) {
+                    grow();
+                }
+                return;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEach(ObjIntConsumer<V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept((V) values[i], keys[i]);
+            }
+        }
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new Object[oldValues.length * 2];
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            int key = oldKeys[j];
+            if (key != 0) {
+                int i = IntIntMap.mix(key) & mask;
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+}
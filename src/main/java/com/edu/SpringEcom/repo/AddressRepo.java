@@ -2,8 +2,23 @@ package com.edu.SpringEcom.repo;
 
 import com.edu.SpringEcom.model.Address;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface AddressRepo extends JpaRepository<Address, Long> {
-}
\ No newline at end of file
+
+    /**
+     * Loads an address together with its owner, only if it belongs to the given
+     * user. Replaces separate user and address lookups when placing orders.
+     *
+     * @param addressId the address
+     * @param userId    the expected owner
+     * @return the address with its user initialised, or empty if either
+     *         doesn't exist or they don't match
+     */
+    @Query("SELECT a FROM Address a JOIN FETCH a.user u WHERE a.id = :addressId AND u.id = :userId")
+    Optional<Address> findOwnedAddress(Long addressId, Long userId);
+}
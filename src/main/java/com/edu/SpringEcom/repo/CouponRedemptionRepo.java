@@ -0,0 +1,49 @@
+package com.edu.SpringEcom.repo;
+
+import com.edu.SpringEcom.model.CouponRedemption;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository interface for {@link CouponRedemption} entity database operations.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see CouponRedemption
+ */
+@Repository
+public interface CouponRedemptionRepo extends JpaRepository<CouponRedemption, Long> {
+
+    /**
+     * Counts one more redemption for a customer if they are under the cap, in
+     * one conditional UPDATE.
+     *
+     * @param couponCode the coupon code
+     * @param userId     the customer
+     * @param max        redemptions allowed per customer
+     * @return {@code 1} if counted, {@code 0} if the customer has no row yet
+     *         or is at the cap
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE CouponRedemption r SET r.redemptions = r.redemptions + 1 " +
+            "WHERE r.couponCode = :couponCode AND r.userId = :userId AND r.redemptions < :max")
+    int incrementIfBelow(String couponCode, Long userId, long max);
+
+    /**
+     * Takes back a redemption counted for an order that then failed.
+     *
+     * @param couponCode the coupon code
+     * @param userId     the customer
+     * @return number of rows updated
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE CouponRedemption r SET r.redemptions = r.redemptions - 1 " +
+            "WHERE r.couponCode = :couponCode AND r.userId = :userId AND r.redemptions > 0")
+    int decrement(String couponCode, Long userId);
+}
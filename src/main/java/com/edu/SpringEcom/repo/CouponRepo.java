@@ -2,11 +2,53 @@ package com.edu.SpringEcom.repo;
 
 import com.edu.SpringEcom.model.Coupon;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
 public interface CouponRepo extends JpaRepository<Coupon, Long> {
     Optional<Coupon> findByCode(String code);
-}
\ No newline at end of file
+
+    /**
+     * @param code the coupon code
+     * @return redemptions of a capped coupon not yet leased to any node, or
+     *         empty if there is no such coupon or it has no cap
+     */
+    @Query("SELECT c.maxRedemptions - COALESCE(c.redemptionsLeased, 0) FROM Coupon c " +
+            "WHERE c.code = :code AND c.maxRedemptions IS NOT NULL")
+    Optional<Long> findUnleasedRedemptions(String code);
+
+    /**
+     * Leases redemptions to a node if that many are left under the cap, in
+     * one conditional UPDATE, so nodes leasing at the same time can never
+     * lease more than the cap between them.
+     *
+     * @param code  the coupon code
+     * @param count redemptions to lease
+     * @return {@code 1} if they were leased, {@code 0} if fewer are left
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Coupon c SET c.redemptionsLeased = COALESCE(c.redemptionsLeased, 0) + :count " +
+            "WHERE c.code = :code AND COALESCE(c.redemptionsLeased, 0) + :count <= c.maxRedemptions")
+    int leaseRedemptions(String code, long count);
+
+    /**
+     * Records redemptions a node used and hands back the ones it leased but
+     * won't use.
+     *
+     * @param code     the coupon code
+     * @param used     redemptions used since the last call
+     * @param returned leased redemptions given back
+     * @return number of coupons updated
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Coupon c SET c.redemptionCount = COALESCE(c.redemptionCount, 0) + :used, " +
+            "c.redemptionsLeased = COALESCE(c.redemptionsLeased, 0) - :returned WHERE c.code = :code")
+    int settleRedemptions(String code, long used, long returned);
+}
@@ -0,0 +1,42 @@
+package com.edu.SpringEcom.repo;
+
+import com.edu.SpringEcom.model.InventoryHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository interface for {@link InventoryHold} entity database operations.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see InventoryHold
+ */
+@Repository
+public interface InventoryHoldRepo extends JpaRepository<InventoryHold, String> {
+
+    /**
+     * Deletes a hold without loading it. Confirmation, release and expiry all
+     * go through this, and only the caller that gets {@code 1} may act on the
+     * hold's stock.
+     *
+     * @param holdId the hold identifier
+     * @return {@code 1} if this call removed the hold, {@code 0} if it was
+     *         already gone
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM InventoryHold h WHERE h.holdId = :holdId")
+    int claim(String holdId);
+
+    /**
+     * Counts a user's outstanding holds.
+     *
+     * @param userId the user who placed the holds
+     * @return the number of holds not yet confirmed, released or expired
+     */
+    long countByUserId(Long userId);
+}
@@ -0,0 +1,32 @@
+package com.edu.SpringEcom.repo;
+
+import com.edu.SpringEcom.projection.OrderField;
+import jakarta.persistence.Tuple;
+
+import java.util.List;
+
+/**
+ * Order queries that select only the columns a client asked for.
+ *
+ * <p>
+ * Mixed into {@link OrderRepo}; implemented by {@link OrderProjectionRepoImpl}
+ * with the Criteria API because the selected columns are only known at
+ * request time.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see OrderField
+ */
+public interface OrderProjectionRepo {
+
+    /**
+     * Loads the given fields of every order, without touching order items.
+     *
+     * @param fields requested fields
+     * @return one row per order, elements aliased by attribute name
+     * @see OrderField#attributes(List)
+     */
+    List<Tuple> findFields(List<OrderField> fields);
+}
@@ -0,0 +1,41 @@
+package com.edu.SpringEcom.repo;
+
+import com.edu.SpringEcom.model.Order;
+import com.edu.SpringEcom.projection.OrderField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria API implementation of {@link OrderProjectionRepo}.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class OrderProjectionRepoImpl implements OrderProjectionRepo {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Tuple> findFields(List<OrderField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Order> order = query.from(Order.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String attribute : OrderField.attributes(fields)) {
+            selections.add(order.get(attribute).alias(attribute));
+        }
+        query.select(cb.tuple(selections)).orderBy(cb.asc(order.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+}
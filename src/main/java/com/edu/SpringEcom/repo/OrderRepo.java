@@ -1,10 +1,26 @@
 package com.edu.SpringEcom.repo;
 
 import com.edu.SpringEcom.model.Order;
+import com.edu.SpringEcom.model.OrderStatus;
+import com.edu.SpringEcom.model.dto.OrderItemLine;
+import com.edu.SpringEcom.model.dto.OrderStatusEvent;
+import com.edu.SpringEcom.model.dto.OrderedProduct;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for {@link Order} entity database operations.
@@ -26,7 +42,7 @@ import java.util.Optional;
  * @see JpaRepository
  */
 @Repository
-public interface OrderRepo extends JpaRepository<Order, Integer> {
+public interface OrderRepo extends JpaRepository<Order, Integer>, OrderProjectionRepo {
 
     /**
      * Finds an order by its unique order ID string.
@@ -40,4 +56,132 @@ public interface OrderRepo extends JpaRepository<Order, Integer> {
      * @return {@link Optional} containing the order if found, empty otherwise
      */
     Optional<Order> findByOrderId(String orderId);
+
+    /**
+     * Moves every listed order whose current status is one of {@code from} to
+     * {@code target} in a single set-based UPDATE, without loading entities.
+     *
+     * <p>
+     * Runs in its own transaction so callers can commit large batches in
+     * chunks.
+     * </p>
+     *
+     * @param orderIds customer-facing order IDs
+     * @param target   the new status
+     * @param from     statuses allowed to move to {@code target}
+     * @param uncoded  whether orders without a status code (not yet
+     *                 backfilled, so {@link OrderStatus#PLACED}) may move too
+     * @return number of orders updated
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE orders o SET o.status = :target WHERE o.orderId IN :orderIds " +
+            "AND (o.status IN :from OR (o.status IS NULL AND :uncoded = true))")
+    int bulkUpdateStatus(Collection<String> orderIds, OrderStatus target, Collection<OrderStatus> from,
+                         boolean uncoded);
+
+    /**
+     * Locks those of the given orders whose status is one of {@code from}, so
+     * exactly they can be moved on in the same transaction.
+     *
+     * @param orderIds customer-facing order IDs
+     * @param from     statuses allowed to move on
+     * @param uncoded  whether orders without a status code (not yet
+     *                 backfilled, so {@link OrderStatus#PLACED}) may move on
+     * @return ID, email and current status of the orders from
+     *         {@code orderIds} whose status is in {@code from}
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.edu.SpringEcom.model.dto.OrderStatusEvent(o.orderId, o.email, o.status) " +
+            "FROM orders o WHERE o.orderId IN :orderIds " +
+            "AND (o.status IN :from OR (o.status IS NULL AND :uncoded = true))")
+    List<OrderStatusEvent> lockOrdersWithStatusIn(Collection<String> orderIds, Collection<OrderStatus> from,
+                                                  boolean uncoded);
+
+    /**
+     * Returns which of the given orders currently have a status.
+     *
+     * @param orderIds customer-facing order IDs
+     * @param status   the status to match
+     * @return order IDs from {@code orderIds} that are in {@code status}
+     */
+    @Query("SELECT o.orderId FROM orders o WHERE o.orderId IN :orderIds AND o.status = :status")
+    List<String> findOrderIdsWithStatus(Collection<String> orderIds, OrderStatus status);
+
+    /**
+     * Loads just the ID, email and status of an order.
+     *
+     * @param orderId the unique order identifier
+     * @return {@link Optional} containing the projection if the order exists
+     */
+    @Query("SELECT new com.edu.SpringEcom.model.dto.OrderStatusEvent(o.orderId, o.email, o.status) " +
+            "FROM orders o WHERE o.orderId = :orderId")
+    Optional<OrderStatusEvent> findStatusEvent(String orderId);
+
+    /**
+     * Loads just the ID, email and status of every order of some customers.
+     *
+     * @param emails lower-case customer email addresses
+     * @return {@link List} of projections, one per order
+     */
+    @Query("SELECT new com.edu.SpringEcom.model.dto.OrderStatusEvent(o.orderId, o.email, o.status) " +
+            "FROM orders o WHERE LOWER(o.email) IN :emails")
+    List<OrderStatusEvent> findStatusEventsByEmails(Collection<String> emails);
+
+    /**
+     * Streams every (order, product) pair, grouped by order. A single pass over
+     * order items, used instead of a self-join to count co-purchases. Must be
+     * consumed inside a transaction and closed.
+     *
+     * @return pairs ordered by order ID
+     */
+    @Query("SELECT new com.edu.SpringEcom.model.dto.OrderedProduct(o.id, oi.product.id) " +
+            "FROM orders o JOIN o.orderItems oi ORDER BY o.id")
+    Stream<OrderedProduct> streamOrderedProducts();
+
+    /**
+     * Loads the items of many orders in one query, with the product title
+     * instead of the whole product.
+     *
+     * @param orderIds database IDs of the orders
+     * @return their items, in insertion order
+     */
+    @Query("SELECT new com.edu.SpringEcom.model.dto.OrderItemLine(oi.order.id, p.id, p.title, oi.quantity, oi.totalPrice) " +
+            "FROM OrderItem oi JOIN oi.product p WHERE oi.order.id IN :orderIds ORDER BY oi.id")
+    List<OrderItemLine> findItemLines(Collection<Long> orderIds);
+
+    /**
+     * Locks the oldest orders placed before a date for archiving. Rows locked
+     * by another node's archiver are skipped rather than waited for.
+     *
+     * @param cutoff orders placed before this date qualify
+     * @param page   how many to take
+     * @return the orders, by database ID
+     * @see com.edu.SpringEcom.archive.OrderArchiver
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM orders o WHERE o.orderDate < :cutoff ORDER BY o.id")
+    List<Order> lockOrdersPlacedBefore(LocalDate cutoff, Pageable page);
+
+    /**
+     * Deletes the items of many orders without loading them.
+     *
+     * @param orderIds database IDs of the orders
+     * @return number of items deleted
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM OrderItem oi WHERE oi.order.id IN :orderIds")
+    int deleteItemsOfOrders(Collection<Long> orderIds);
+
+    /**
+     * Deletes many orders without loading them. Their items must be deleted
+     * first.
+     *
+     * @param ids database IDs of the orders
+     * @return number of orders deleted
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM orders o WHERE o.id IN :ids")
+    int deleteOrders(Collection<Long> ids);
 }
@@ -0,0 +1,47 @@
+package com.edu.SpringEcom.repo;
+
+import com.edu.SpringEcom.model.ProductImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Repository interface for {@link ProductImage} entity database operations.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see ProductImage
+ */
+@Repository
+public interface ProductImageRepo extends JpaRepository<ProductImage, String> {
+
+    /**
+     * Marks a stored image as just used, without loading its bytes.
+     *
+     * @param hash the image hash
+     * @param now  the current time
+     * @return {@code 1} if the image is stored, {@code 0} if not
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProductImage i SET i.lastUsed = :now WHERE i.hash = :hash")
+    int touch(String hash, Instant now);
+
+    /**
+     * Deletes images no product shows any more and that haven't been used
+     * since {@code cutoff}.
+     *
+     * @param cutoff images used after this are kept
+     * @return number of images deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ProductImage i WHERE i.lastUsed < :cutoff " +
+            "AND NOT EXISTS (SELECT 1 FROM Product p WHERE p.imageHash = i.hash)")
+    int deleteUnused(Instant cutoff);
+}
@@ -0,0 +1,34 @@
+package com.edu.SpringEcom.repo;
+
+import com.edu.SpringEcom.projection.ProductField;
+import jakarta.persistence.Tuple;
+
+import java.util.List;
+
+/**
+ * Product queries that select only the columns a client asked for.
+ *
+ * <p>
+ * Mixed into {@link ProductRepo}; implemented by
+ * {@link ProductProjectionRepoImpl} with the Criteria API because the
+ * selected columns are only known at request time.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see ProductField
+ */
+public interface ProductProjectionRepo {
+
+    /**
+     * Loads the given fields of every product, or of the products matching a
+     * keyword the same way as {@link ProductRepo#searchProducts(String)}.
+     *
+     * @param fields  requested fields
+     * @param keyword search term, or {@code null} for all products
+     * @return one row per product, elements aliased by attribute name
+     * @see ProductField#toJson(Tuple, List)
+     */
+    List<Tuple> findFields(List<ProductField> fields, String keyword);
+}
@@ -0,0 +1,51 @@
+package com.edu.SpringEcom.repo;
+
+import com.edu.SpringEcom.model.Product;
+import com.edu.SpringEcom.projection.ProductField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Criteria API implementation of {@link ProductProjectionRepo}.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public class ProductProjectionRepoImpl implements ProductProjectionRepo {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Tuple> findFields(List<ProductField> fields, String keyword) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> product = query.from(Product.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String attribute : ProductField.attributes(fields)) {
+            selections.add(product.get(attribute).alias(attribute));
+        }
+        query.select(cb.tuple(selections));
+
+        if (keyword != null) {
+            String pattern = "%" + keyword.toLowerCase(Locale.ROOT) + "%";
+            query.where(cb.or(
+                    cb.like(cb.lower(product.get("title")), pattern),
+                    cb.like(cb.lower(product.get("description")), pattern),
+                    cb.like(cb.lower(product.get("brand")), pattern),
+                    cb.like(cb.lower(product.get("category")), pattern)));
+        }
+        return entityManager.createQuery(query).getResultList();
+    }
+}
@@ -1,11 +1,16 @@
 package com.edu.SpringEcom.repo;
 
 import com.edu.SpringEcom.model.Product;
+import com.edu.SpringEcom.model.dto.ProductLabel;
+import com.edu.SpringEcom.model.dto.ProductSales;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for {@link Product} entity database operations.
@@ -25,9 +30,10 @@ import java.util.List;
  * @since 2025-12-14
  * @see Product
  * @see JpaRepository
+ * @see ProductProjectionRepo
  */
 @Repository
-public interface ProductRepo extends JpaRepository<Product, Integer> {
+public interface ProductRepo extends JpaRepository<Product, Integer>, ProductProjectionRepo {
 
     /**
      * Searches for products matching the given keyword.
@@ -51,4 +57,60 @@ public interface ProductRepo extends JpaRepository<Product, Integer> {
             "LOWER(p.brand) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(p.category) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Product> searchProducts(String keyword);
+
+    /**
+     * Loads the text fields of every product, skipping description and image
+     * data.
+     *
+     * @return {@link List} of {@link ProductLabel} projections
+     */
+    @Query("SELECT new com.edu.SpringEcom.model.dto.ProductLabel(p.id, p.title, p.brand, p.category) FROM Product p")
+    List<ProductLabel> findAllLabels();
+
+    /**
+     * Loads the text fields of a single product.
+     *
+     * @param id the unique identifier of the product
+     * @return {@link Optional} containing the projection if the product exists
+     */
+    @Query("SELECT new com.edu.SpringEcom.model.dto.ProductLabel(p.id, p.title, p.brand, p.category) " +
+            "FROM Product p WHERE p.id = :id")
+    Optional<ProductLabel> findLabelById(Integer id);
+
+    /**
+     * Sums ordered units per product across all order items.
+     *
+     * @return {@link List} of {@link ProductSales}, one per product that has
+     *         been ordered at least once
+     */
+    @Query("SELECT new com.edu.SpringEcom.model.dto.ProductSales(oi.product.id, SUM(oi.quantity)) " +
+            "FROM OrderItem oi GROUP BY oi.product.id")
+    List<ProductSales> findUnitsSoldPerProduct();
+
+    /**
+     * Takes units out of stock if enough are left, in one conditional UPDATE,
+     * so concurrent reservations can never drive stock negative.
+     *
+     * @param productId the product
+     * @param quantity  units to take
+     * @return {@code 1} if the stock was reduced, {@code 0} if the product
+     *         doesn't exist or has too few units
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity " +
+            "WHERE p.id = :productId AND p.stockQuantity >= :quantity")
+    int reserveStock(int productId, int quantity);
+
+    /**
+     * Puts units back into stock.
+     *
+     * @param productId the product
+     * @param quantity  units to return
+     * @return number of products updated
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :quantity WHERE p.id = :productId")
+    int releaseStock(int productId, int quantity);
 }
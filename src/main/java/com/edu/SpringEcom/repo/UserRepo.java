@@ -2,12 +2,29 @@ package com.edu.SpringEcom.repo;
 
 import com.edu.SpringEcom.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepo extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
-    boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * @param id the user
+     * @return just the user's email, if the user exists
+     */
+    @Query("SELECT u.email FROM User u WHERE u.id = :id")
+    Optional<String> findEmailById(Long id);
+
+    /**
+     * Streams every registered email. Must be consumed inside a transaction
+     * and closed.
+     *
+     * @return all emails, in no particular order
+     */
+    @Query("SELECT u.email FROM User u")
+    Stream<String> streamAllEmails();
+}
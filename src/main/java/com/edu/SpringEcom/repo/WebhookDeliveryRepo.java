@@ -0,0 +1,112 @@
+package com.edu.SpringEcom.repo;
+
+import com.edu.SpringEcom.model.WebhookDelivery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for {@link WebhookDelivery} entity database operations.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see WebhookDelivery
+ */
+@Repository
+public interface WebhookDeliveryRepo extends JpaRepository<WebhookDelivery, Long> {
+
+    /**
+     * @param now       the current time
+     * @param skipped   endpoints not to send to now; must not be empty
+     * @param pageable  how many to return
+     * @return IDs of deliveries due and not being sent by any node, oldest first
+     */
+    @Query("SELECT d.id FROM WebhookDelivery d WHERE d.dead = false AND d.nextAttemptAt <= :now " +
+            "AND (d.lockedUntil IS NULL OR d.lockedUntil < :now) AND d.endpointId NOT IN :skipped ORDER BY d.id")
+    List<Long> findDueIds(Instant now, Collection<Long> skipped, Pageable pageable);
+
+    /**
+     * @param skipped endpoints not to send to now; must not be empty
+     * @return when the next delivery not being sent is due, if there is one
+     */
+    @Query("SELECT MIN(d.nextAttemptAt) FROM WebhookDelivery d WHERE d.dead = false AND d.lockedBy IS NULL " +
+            "AND d.endpointId NOT IN :skipped")
+    Optional<Instant> findNextAttemptAt(Collection<Long> skipped);
+
+    /**
+     * Marks deliveries as being sent by one node, skipping any another node
+     * claimed since they were found.
+     *
+     * @param ids   deliveries from {@link #findDueIds}
+     * @param claim the claiming node's ID for this claim, unique per claim
+     * @param until when the claim lapses if the node never reports back
+     * @param now   the current time
+     * @return number of deliveries claimed
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE WebhookDelivery d SET d.lockedBy = :claim, d.lockedUntil = :until " +
+            "WHERE d.id IN :ids AND (d.lockedUntil IS NULL OR d.lockedUntil < :now)")
+    int claim(Collection<Long> ids, String claim, Instant until, Instant now);
+
+    /**
+     * @param claim the ID passed to {@link #claim}
+     * @return the deliveries claimed, oldest first
+     */
+    List<WebhookDelivery> findByLockedByOrderById(String claim);
+
+    /**
+     * Schedules failed deliveries for another attempt, or gives up on those
+     * that have had {@code maxAttempts}.
+     *
+     * @param ids         the deliveries
+     * @param next        when to try again
+     * @param error       why this attempt failed
+     * @param maxAttempts attempts after which a delivery is dead
+     * @return number of deliveries updated
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE WebhookDelivery d SET d.attempts = d.attempts + 1, d.nextAttemptAt = :next, " +
+            "d.lastError = :error, d.lockedBy = NULL, d.lockedUntil = NULL, " +
+            "d.dead = CASE WHEN d.attempts + 1 >= :maxAttempts THEN true ELSE false END WHERE d.id IN :ids")
+    int retryLater(Collection<Long> ids, Instant next, String error, int maxAttempts);
+
+    /**
+     * Hands claimed deliveries back unsent, for any node to pick up.
+     *
+     * @param ids the deliveries
+     * @return number of deliveries updated
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE WebhookDelivery d SET d.lockedBy = NULL, d.lockedUntil = NULL WHERE d.id IN :ids")
+    int unclaim(Collection<Long> ids);
+
+    /**
+     * @param endpointId the endpoint
+     * @param dead       whether to count dead deliveries or the rest
+     * @return number of matching deliveries
+     */
+    long countByEndpointIdAndDead(Long endpointId, boolean dead);
+
+    /**
+     * Deletes every delivery to an endpoint.
+     *
+     * @param endpointId the endpoint
+     * @return number of deliveries deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM WebhookDelivery d WHERE d.endpointId = :endpointId")
+    int deleteByEndpointId(Long endpointId);
+}
@@ -0,0 +1,17 @@
+package com.edu.SpringEcom.repo;
+
+import com.edu.SpringEcom.model.WebhookEndpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for {@link WebhookEndpoint} entity database operations.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see WebhookEndpoint
+ */
+@Repository
+public interface WebhookEndpointRepo extends JpaRepository<WebhookEndpoint, Long> {
+}
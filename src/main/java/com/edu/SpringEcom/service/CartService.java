@@ -0,0 +1,178 @@
+package com.edu.SpringEcom.service;
+
+import com.edu.SpringEcom.cart.Cart;
+import com.edu.SpringEcom.cart.CartLine;
+import com.edu.SpringEcom.cart.CartStore;
+import com.edu.SpringEcom.model.Money;
+import com.edu.SpringEcom.model.Product;
+import com.edu.SpringEcom.model.dto.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service class responsible for server-side shopping carts.
+ *
+ * <p>
+ * Carts live in {@link CartStore}. A product is read once, through the
+ * product cache, when it is first added; later quantity changes and cart reads
+ * use the price captured at that point. Checkout hands every line to
+ * {@link OrderService#placeOrder(OrderRequest)} in a single call and removes
+ * the cart once the order is placed.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see CartStore
+ */
+@Service
+public class CartService {
+
+    @Autowired
+    private CartStore cartStore;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Value("${cart.max-lines:100}")
+    private int maxLines;
+
+    /**
+     * @param userId the cart owner
+     * @return the cart, empty if the user has none
+     */
+    public CartResponse getCart(Long userId) {
+        Cart cart = cartStore.get(userId);
+        return cart != null ? toResponse(cart) : new CartResponse(userId, 0, Money.ZERO.toBigDecimal(), List.of());
+    }
+
+    /**
+     * Adds units of a product to the cart.
+     *
+     * @param userId  the cart owner
+     * @param request product and number of units to add
+     * @return the updated cart
+     */
+    public CartResponse addItem(Long userId, CartItemRequest request) {
+        if (request.quantity() <= 0) {
+            throw new RuntimeException("Quantity must be positive");
+        }
+        Cart cart = cartStore.getOrCreate(userId);
+        // The product is looked up before taking the cart's lock; the quantity is added under it
+        CartLine looked = cart.getLine(request.productId()) == null ? newLine(request.productId()) : null;
+        cart.compute(request.productId(), existing -> {
+            CartLine line = lineOrNew(cart, existing, looked, request.productId());
+            return line.withQuantity(line.quantity() + request.quantity());
+        });
+        cartStore.markDirty();
+        return toResponse(cart);
+    }
+
+    /**
+     * Sets the number of units of a product; zero removes it.
+     *
+     * @param userId  the cart owner
+     * @param request product and new quantity
+     * @return the updated cart, or {@code null} if the user has no cart
+     */
+    public CartResponse setQuantity(Long userId, CartItemRequest request) {
+        Cart cart = cartStore.get(userId);
+        if (cart == null) {
+            return null;
+        }
+        if (request.quantity() <= 0) {
+            cart.remove(request.productId());
+        } else {
+            CartLine looked = cart.getLine(request.productId()) == null ? newLine(request.productId()) : null;
+            cart.compute(request.productId(), existing -> lineOrNew(cart, existing, looked, request.productId())
+                    .withQuantity(request.quantity()));
+        }
+        cartStore.markDirty();
+        return toResponse(cart);
+    }
+
+    /**
+     * @param userId    the cart owner
+     * @param productId the product to remove
+     * @return the updated cart, or {@code null} if the user has no cart
+     */
+    public CartResponse removeItem(Long userId, int productId) {
+        Cart cart = cartStore.get(userId);
+        if (cart == null) {
+            return null;
+        }
+        cart.remove(productId);
+        cartStore.markDirty();
+        return toResponse(cart);
+    }
+
+    /**
+     * @param userId the cart owner
+     */
+    public void clear(Long userId) {
+        cartStore.remove(userId);
+    }
+
+    /**
+     * Places an order for everything in the cart, then takes the ordered
+     * units out of it. Lines added or raised while the order was being placed
+     * stay in the cart.
+     *
+     * @param userId  the cart owner
+     * @param request shipping address and optional coupon
+     * @return the placed order
+     */
+    public OrderResponse checkout(Long userId, CheckoutRequest request) {
+        Cart cart = cartStore.get(userId);
+        if (cart == null || cart.getLineCount() == 0) {
+            throw new RuntimeException("Cart is empty");
+        }
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (CartLine line : cart.getLines()) {
+            items.add(new OrderItemRequest(line.productId(), line.quantity()));
+        }
+        OrderResponse response = orderService.placeOrder(
+                new OrderRequest(userId, request.addressId(), request.couponCode(), items));
+        for (OrderItemRequest ordered : items) {
+            cart.take(ordered.productId(), ordered.quantity());
+        }
+        cartStore.markDirty();
+        return response;
+    }
+
+    /** Called under the cart's lock: the current line, or a new one if there is room. */
+    private CartLine lineOrNew(Cart cart, CartLine existing, CartLine looked, int productId) {
+        if (existing != null) {
+            return existing;
+        }
+        if (cart.getLineCount() >= maxLines) {
+            throw new RuntimeException("Cart is full");
+        }
+        return looked != null ? looked : newLine(productId);
+    }
+
+    /** @return a line for a product not yet in the cart, with no units */
+    private CartLine newLine(int productId) {
+        Product product = productService.getProductById(productId);
+        if (product == null) {
+            throw new RuntimeException("Product not found");
+        }
+        return new CartLine(product.getId(), product.getTitle(), product.getCategory(), product.getPrice(), 0);
+    }
+
+    private CartResponse toResponse(Cart cart) {
+        List<CartItemResponse> items = new ArrayList<>();
+        for (CartLine line : cart.getLines()) {
+            items.add(new CartItemResponse(line.productId(), line.title(), line.unitPrice().toBigDecimal(),
+                    line.quantity(), line.lineTotal().toBigDecimal()));
+        }
+        return new CartResponse(cart.getUserId(), cart.getItemCount(), cart.getSubtotal().toBigDecimal(), items);
+    }
+}
@@ -0,0 +1,265 @@
+package com.edu.SpringEcom.service;
+
+import com.edu.SpringEcom.cache.EntityChange;
+import com.edu.SpringEcom.cache.InvalidationBus;
+import com.edu.SpringEcom.inventory.HashedTimingWheel;
+import com.edu.SpringEcom.model.InventoryHold;
+import com.edu.SpringEcom.model.dto.HoldRequest;
+import com.edu.SpringEcom.model.dto.HoldResponse;
+import com.edu.SpringEcom.repo.InventoryHoldRepo;
+import com.edu.SpringEcom.repo.ProductRepo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time-limited stock reservations (holds) for reserve-then-confirm checkout.
+ *
+ * <p>
+ * A hold takes stock out of {@code Product.stockQuantity} straight away with a
+ * conditional UPDATE, so a customer learns about a stock-out when adding to the
+ * basket rather than at the last step, and overselling is impossible across
+ * nodes. Each hold is a row in {@code inventory_holds}; whoever deletes that
+ * row first (confirmation, release or expiry) decides what happens to the
+ * stock.
+ * </p>
+ *
+ * <p>
+ * Expiry is driven by a {@link HashedTimingWheel}: one thread, O(1) per hold to
+ * schedule or cancel, and all holds expiring in the same tick are released in
+ * one transaction with one stock update per product. Nothing polls the
+ * database. Holds that outlive a restart are re-scheduled from the table on
+ * startup; a hold whose release fails is retried later.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see InventoryHold
+ * @see HashedTimingWheel
+ */
+@Service
+public class InventoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryService.class);
+
+    private static final int RELEASE_BATCH_SIZE = 500;
+
+    private static final long RETRY_DELAY_SECONDS = 30;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private InventoryHoldRepo holdRepo;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${inventory.hold.minutes:15}")
+    private long holdMinutes;
+
+    @Value("${inventory.hold.max-per-user:20}")
+    private long maxHoldsPerUser;
+
+    @Value("${inventory.wheel.tick-ms:100}")
+    private long tickMs;
+
+    @Value("${inventory.wheel.slots:8192}")
+    private int slots;
+
+    private HashedTimingWheel<String> wheel;
+
+    /** Expiry timers of holds created or recovered on this node, by hold ID. */
+    private final Map<String, HashedTimingWheel.Timeout<String>> timers = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        wheel = new HashedTimingWheel<>(tickMs, TimeUnit.MILLISECONDS, slots, this::expire, "inventory-hold-expiry");
+        Gauge.builder("inventory.holds.outstanding", wheel, HashedTimingWheel::size).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        wheel.close();
+    }
+
+    /**
+     * Schedules expiry of holds that were outstanding when the application
+     * last stopped. Holds already past their expiry are released on the next
+     * tick.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void recover() {
+        Instant now = Instant.now();
+        List<InventoryHold> holds = holdRepo.findAll();
+        for (InventoryHold hold : holds) {
+            schedule(hold.getHoldId(), Duration.between(now, hold.getExpiresAt()).toMillis());
+        }
+        if (!holds.isEmpty()) {
+            log.info("Recovered {} inventory holds", holds.size());
+        }
+    }
+
+    /**
+     * Reserves stock for {@code inventory.hold.minutes}. A user may have at
+     * most {@code inventory.hold.max-per-user} holds outstanding, so one
+     * account can't lock up the catalogue's stock.
+     *
+     * @param request product and quantity
+     * @param userId  the user placing the hold
+     * @return the hold and when it expires
+     */
+    @Transactional
+    public HoldResponse reserve(HoldRequest request, Long userId) {
+        if (userId == null) {
+            throw new RuntimeException("Sign in to reserve stock");
+        }
+        if (request.quantity() <= 0) {
+            throw new RuntimeException("Quantity must be positive");
+        }
+        if (holdRepo.countByUserId(userId) >= maxHoldsPerUser) {
+            throw new RuntimeException("Too many outstanding holds");
+        }
+        if (productRepo.reserveStock(request.productId(), request.quantity()) == 0) {
+            throw new RuntimeException(productRepo.existsById(request.productId())
+                    ? "Insufficient stock for product: " + request.productId()
+                    : "Product not found");
+        }
+        Instant now = Instant.now();
+        InventoryHold hold = new InventoryHold(UUID.randomUUID().toString(), userId, request.productId(),
+                request.quantity(), now, now.plus(Duration.ofMinutes(holdMinutes)));
+        holdRepo.save(hold);
+        invalidationBus.publish(EntityChange.PRODUCT, request.productId());
+
+        long delayMs = Duration.ofMinutes(holdMinutes).toMillis();
+        afterCommit(() -> schedule(hold.getHoldId(), delayMs));
+        return new HoldResponse(hold.getHoldId(), hold.getProductId(), hold.getQuantity(), hold.getExpiresAt());
+    }
+
+    /**
+     * Gives a hold's stock back before it expires.
+     *
+     * @param holdId the hold identifier
+     * @param userId the user releasing it, who must have placed it
+     */
+    @Transactional
+    public void release(String holdId, Long userId) {
+        InventoryHold hold = holdRepo.findById(holdId)
+                .filter(h -> Objects.equals(h.getUserId(), userId))
+                .orElseThrow(() -> new RuntimeException("Hold not found"));
+        if (holdRepo.claim(holdId) == 0) {
+            throw new RuntimeException("Hold not found");
+        }
+        productRepo.releaseStock(hold.getProductId(), hold.getQuantity());
+        invalidationBus.publish(EntityChange.PRODUCT, hold.getProductId());
+        afterCommit(() -> cancelTimer(holdId));
+    }
+
+    /**
+     * Consumes holds for an order. Must run inside the caller's transaction so
+     * that the holds come back if the order is not saved.
+     *
+     * @param holdIds holds to consume
+     * @param userId  the user the order is for, who must have placed every hold
+     * @return the consumed holds, whose stock now belongs to the order
+     */
+    @Transactional
+    public List<InventoryHold> claimForOrder(Collection<String> holdIds, Long userId) {
+        Set<String> unique = new LinkedHashSet<>(holdIds);
+        Map<String, InventoryHold> found = new HashMap<>();
+        for (InventoryHold hold : holdRepo.findAllById(unique)) {
+            found.put(hold.getHoldId(), hold);
+        }
+        Instant now = Instant.now();
+        List<InventoryHold> claimed = new ArrayList<>();
+        for (String holdId : unique) {
+            InventoryHold hold = found.get(holdId);
+            if (hold == null || !Objects.equals(hold.getUserId(), userId)
+                    || !hold.getExpiresAt().isAfter(now) || holdRepo.claim(holdId) == 0) {
+                throw new RuntimeException("Hold expired or not found: " + holdId);
+            }
+            claimed.add(hold);
+        }
+        afterCommit(() -> unique.forEach(this::cancelTimer));
+        return claimed;
+    }
+
+    private void schedule(String holdId, long delayMs) {
+        timers.put(holdId, wheel.schedule(holdId, delayMs, TimeUnit.MILLISECONDS));
+    }
+
+    private void cancelTimer(String holdId) {
+        HashedTimingWheel.Timeout<String> timer = timers.remove(holdId);
+        if (timer != null) {
+            timer.cancel();
+        }
+    }
+
+    /** Runs on the wheel thread with every hold that expired in one tick. */
+    private void expire(List<String> holdIds) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        for (int start = 0; start < holdIds.size(); start += RELEASE_BATCH_SIZE) {
+            List<String> batch = holdIds.subList(start, Math.min(start + RELEASE_BATCH_SIZE, holdIds.size()));
+            batch.forEach(timers::remove);
+            try {
+                Map<Integer, Integer> restock = tx.execute(status -> {
+                    Map<Integer, Integer> quantities = new HashMap<>();
+                    for (InventoryHold hold : holdRepo.findAllById(batch)) {
+                        // Confirmed or released in the meantime if the claim fails
+                        if (holdRepo.claim(hold.getHoldId()) == 1) {
+                            quantities.merge(hold.getProductId(), hold.getQuantity(), Integer::sum);
+                        }
+                    }
+                    quantities.forEach(productRepo::releaseStock);
+                    return quantities;
+                });
+                if (restock != null) {
+                    restock.keySet().forEach(productId -> invalidationBus.publish(EntityChange.PRODUCT, productId));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not release {} expired holds, retrying in {} s: {}",
+                        batch.size(), RETRY_DELAY_SECONDS, e.getMessage());
+                batch.forEach(holdId -> schedule(holdId, TimeUnit.SECONDS.toMillis(RETRY_DELAY_SECONDS)));
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,20 +1,52 @@
 package com.edu.SpringEcom.service;
 
+import com.edu.SpringEcom.archive.ArchivedOrder;
+import com.edu.SpringEcom.archive.OrderArchive;
+import com.edu.SpringEcom.cache.EntityChange;
+import com.edu.SpringEcom.cache.InvalidationBus;
+import com.edu.SpringEcom.events.OrderEventRegistry;
 import com.edu.SpringEcom.model.*;
 import com.edu.SpringEcom.model.dto.*;
+import com.edu.SpringEcom.pricing.DiscountRule;
+import com.edu.SpringEcom.pricing.PriceBreakdown;
+import com.edu.SpringEcom.pricing.PricedLine;
+import com.edu.SpringEcom.pricing.PricingEngine;
+import com.edu.SpringEcom.pricing.PricingRules;
+import com.edu.SpringEcom.pricing.RedemptionLimiter;
+import com.edu.SpringEcom.profiling.OrderPhaseEvent;
+import com.edu.SpringEcom.projection.OrderField;
+import com.edu.SpringEcom.recommend.CoPurchaseIndex;
 import com.edu.SpringEcom.repo.*;
+import com.edu.SpringEcom.suggest.SuggestionIndex;
+import com.edu.SpringEcom.webhook.WebhookDispatcher;
+import jakarta.persistence.Tuple;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class OrderService {
 
+    /** Orders per item query when listing with {@code ?fields=...,items}. */
+    private static final int ITEM_LOOKUP_BATCH_SIZE = 1000;
+
     @Autowired
     ProductRepo productRepo;
 
@@ -22,56 +54,116 @@ public class OrderService {
     OrderRepo orderRepo;
 
     @Autowired
-    UserRepo userRepo;
+    AddressRepo addressRepo;
 
     @Autowired
-    AddressRepo addressRepo;
+    PricingEngine pricingEngine;
+
+    @Autowired
+    RedemptionLimiter redemptionLimiter;
+
+    @Autowired
+    SuggestionIndex suggestionIndex;
 
     @Autowired
-    CouponRepo couponRepo;
+    InvalidationBus invalidationBus;
 
+    @Autowired
+    InventoryService inventoryService;
+
+    @Autowired
+    CoPurchaseIndex coPurchaseIndex;
+
+    @Autowired
+    OrderArchive orderArchive;
+
+    @Autowired
+    WebhookDispatcher webhookDispatcher;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Value("${orders.bulk-status.batch-size:1000}")
+    int bulkStatusBatchSize;
+
+    /**
+     * Places an order in three steps, so that waiting for a coupon redemption
+     * never holds a pooled connection or a stock row lock:
+     * <ol>
+     * <li>Loads the products and address and validates the coupon in a short
+     * read-only transaction</li>
+     * <li>Prices the order and reserves redemptions outside any transaction</li>
+     * <li>Takes the stock and saves the order in one transaction; if that
+     * fails the redemptions are given back</li>
+     * </ol>
+     * Called inside a transaction, everything joins it instead.
+     *
+     * @param request the customer, address, optional coupon and items
+     * @return the saved order
+     * @throws RuntimeException if anything about the order is invalid
+     */
     public OrderResponse placeOrder(OrderRequest request) {
-        // 1. Validate User
-        User user = userRepo.findById(request.userId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        TransactionTemplate read = new TransactionTemplate(transactionManager);
+        read.setReadOnly(true);
+        PreparedOrder prepared = read.execute(status -> prepareOrder(request));
+        Order order = prepared.order();
+        int items = request.items().size();
 
-        // 2. Validate Address
-        Address address = addressRepo.findById(request.addressId())
-                .orElseThrow(() -> new RuntimeException("Address not found"));
+        OrderPhaseEvent phase = OrderPhaseEvent.start(OrderPhaseEvent.PRICE);
+        PricedOrder priced = priceAndReserve(prepared.rules(), prepared.pricedLines(), prepared.coupon(),
+                request.userId());
+        phase.finish(order.getOrderId(), items);
 
-        if (!address.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("Address does not belong to user");
+        try {
+            return new TransactionTemplate(transactionManager).execute(status -> {
+                // Conditional UPDATEs, so concurrent orders can't oversell; a later failure rolls them back
+                OrderPhaseEvent reserve = OrderPhaseEvent.start(OrderPhaseEvent.RESERVE_STOCK);
+                for (OrderItemRequest itemReq : request.items()) {
+                    if (productRepo.reserveStock(itemReq.productId(), itemReq.quantity()) == 0) {
+                        throw new RuntimeException("Insufficient stock for product: "
+                                + prepared.products().get(itemReq.productId()).getTitle());
+                    }
+                }
+                // Stock changed: drop cached copies of these products on every node
+                for (Integer productId : prepared.products().keySet()) {
+                    invalidationBus.publish(EntityChange.PRODUCT, productId);
+                }
+                reserve.finish(order.getOrderId(), items);
+                return completeOrder(order, prepared.orderItems(), priced.price());
+            });
+        } catch (RuntimeException e) {
+            priced.release();
+            throw e;
         }
+    }
 
-        // 3. Create Order
-        Order order = new Order();
-        String orderId = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        order.setOrderId(orderId);
-        order.setCustomerName(user.getName());
-        order.setEmail(user.getEmail());
-        order.setStatus("PLACED");
-        order.setOrderDate(LocalDate.now());
-        // For simplicity in this demo, I'm concatenating address to a string,
-        // but you could add an Address relation to Order entity too.
-        String fullAddress = address.getStreet() + ", " + address.getCity() + ", " + address.getZipCode();
-        // Note: You might want to add a 'shippingAddress' field to your Order entity.
+    private PreparedOrder prepareOrder(OrderRequest request) {
+        int items = request.items().size();
+        OrderPhaseEvent phase = OrderPhaseEvent.start(OrderPhaseEvent.VALIDATE);
+        Order order = newOrder(request.userId(), request.addressId());
+        phase.finish(order.getOrderId(), items);
 
         List<OrderItem> orderItems = new ArrayList<>();
-        BigDecimal subTotal = BigDecimal.ZERO;
+        List<PricedLine> pricedLines = new ArrayList<>();
 
+        // Load every product in one query instead of one findById per item
+        phase = OrderPhaseEvent.start(OrderPhaseEvent.LOAD_PRODUCTS);
+        List<Integer> productIds = new ArrayList<>();
         for (OrderItemRequest itemReq : request.items()) {
-            Product product = productRepo.findById(itemReq.productId())
-                    .orElseThrow(() -> new RuntimeException("Product not found"));
-
-            if (product.getStockQuantity() < itemReq.quantity()) {
-                throw new RuntimeException("Insufficient stock for product: " + product.getTitle());
+            productIds.add(itemReq.productId());
+        }
+        Map<Integer, Product> products = new HashMap<>();
+        for (Product product : productRepo.findAllById(productIds)) {
+            products.put(product.getId(), product);
+        }
+        for (OrderItemRequest itemReq : request.items()) {
+            Product product = products.get(itemReq.productId());
+            if (product == null) {
+                throw new RuntimeException("Product not found");
             }
 
-            product.setStockQuantity(product.getStockQuantity() - itemReq.quantity());
-            productRepo.save(product);
-
-            BigDecimal itemTotal = product.getPrice().multiply(BigDecimal.valueOf(itemReq.quantity()));
-            subTotal = subTotal.add(itemTotal);
+            Money itemTotal = product.getPrice().times(itemReq.quantity());
+            pricedLines.add(new PricedLine(product.getCategory(), itemTotal));
 
             OrderItem orderItem = OrderItem.builder()
                     .product(product)
@@ -82,53 +174,378 @@ public class OrderService {
 
             orderItems.add(orderItem);
         }
+        phase.finish(order.getOrderId(), items);
 
-        order.setOrderItems(orderItems);
+        // Reject a bad coupon before any redemption or stock is taken
+        PricingRules rules = pricingEngine.current();
+        DiscountRule coupon = validateCoupon(rules, request.couponCode(), pricedLines);
+        return new PreparedOrder(order, orderItems, pricedLines, products, rules, coupon);
+    }
 
-        // 4. Apply Coupon
-        BigDecimal finalTotal = subTotal;
-        if (request.couponCode() != null && !request.couponCode().isEmpty()) {
-            Coupon coupon = couponRepo.findByCode(request.couponCode())
-                    .orElseThrow(() -> new RuntimeException("Invalid Coupon"));
+    @Transactional
+    public OrderResponse confirmOrder(ConfirmOrderRequest request) {
+        if (request.holdIds() == null || request.holdIds().isEmpty()) {
+            throw new RuntimeException("At least one hold is required");
+        }
+        int items = request.holdIds().size();
+        OrderPhaseEvent phase = OrderPhaseEvent.start(OrderPhaseEvent.VALIDATE);
+        Order order = newOrder(request.userId(), request.addressId());
+        phase.finish(order.getOrderId(), items);
 
-            if (!coupon.isActive() || (coupon.getExpiryDate() != null && coupon.getExpiryDate().isBefore(LocalDate.now()))) {
-                throw new RuntimeException("Coupon expired or inactive");
+        // Stock was taken when the holds were created; consuming them just moves it to this order
+        phase = OrderPhaseEvent.start(OrderPhaseEvent.RESERVE_STOCK);
+        List<InventoryHold> holds = inventoryService.claimForOrder(request.holdIds(), request.userId());
+        phase.finish(order.getOrderId(), items);
+
+        phase = OrderPhaseEvent.start(OrderPhaseEvent.LOAD_PRODUCTS);
+        Map<Integer, Product> products = new HashMap<>();
+        for (InventoryHold hold : holds) {
+            products.put(hold.getProductId(), null);
+        }
+        for (Product product : productRepo.findAllById(products.keySet())) {
+            products.put(product.getId(), product);
+        }
+        phase.finish(order.getOrderId(), items);
+
+        List<OrderItem> orderItems = new ArrayList<>();
+        List<PricedLine> pricedLines = new ArrayList<>();
+        for (InventoryHold hold : holds) {
+            Product product = products.get(hold.getProductId());
+            if (product == null) {
+                throw new RuntimeException("Product not found");
             }
+            Money itemTotal = product.getPrice().times(hold.getQuantity());
+            pricedLines.add(new PricedLine(product.getCategory(), itemTotal));
+            orderItems.add(OrderItem.builder()
+                    .product(product)
+                    .quantity(hold.getQuantity())
+                    .totalPrice(itemTotal)
+                    .order(order)
+                    .build());
+        }
 
-            BigDecimal discount = subTotal.multiply(coupon.getDiscountPercentage()).divide(BigDecimal.valueOf(100));
-            finalTotal = subTotal.subtract(discount);
+        PricingRules rules = pricingEngine.current();
+        DiscountRule coupon = validateCoupon(rules, request.couponCode(), pricedLines);
+        // Reserved inside this transaction: its rollback hands the redemptions back
+        phase = OrderPhaseEvent.start(OrderPhaseEvent.PRICE);
+        PriceBreakdown price = priceAndReserve(rules, pricedLines, coupon, request.userId()).price();
+        phase.finish(order.getOrderId(), items);
+        return completeOrder(order, orderItems, price);
+    }
+
+    private Order newOrder(Long userId, Long addressId) {
+        // 1. Validate the address belongs to the user; the user comes back in the same query
+        Address address = addressRepo.findOwnedAddress(addressId, userId)
+                .orElseThrow(() -> new RuntimeException("Address not found for user"));
+        User user = address.getUser();
+
+        // 3. Create Order
+        Order order = new Order();
+        String orderId = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        order.setOrderId(orderId);
+        order.setCustomerName(user.getName());
+        order.setEmail(user.getEmail());
+        order.setStatus(OrderStatus.PLACED);
+        order.setOrderDate(LocalDate.now());
+        // For simplicity in this demo, I'm concatenating address to a string,
+        // but you could add an Address relation to Order entity too.
+        String fullAddress = address.getStreet() + ", " + address.getCity() + ", " + address.getZipCode();
+        // Note: You might want to add a 'shippingAddress' field to your Order entity.
+        return order;
+    }
+
+    /**
+     * @return the rule for the coupon the customer entered, or {@code null} if
+     *         none was entered
+     * @throws RuntimeException if the coupon doesn't exist, has expired or the
+     *                          order doesn't reach its minimum spend
+     */
+    private static DiscountRule validateCoupon(PricingRules rules, String couponCode, List<PricedLine> pricedLines) {
+        if (couponCode == null || couponCode.isEmpty()) {
+            return null;
+        }
+        DiscountRule coupon = rules.findByCode(couponCode);
+        if (coupon == null) {
+            throw new RuntimeException("Invalid Coupon");
+        }
+        if (!coupon.isUsable(LocalDate.now())) {
+            throw new RuntimeException("Coupon expired or inactive");
         }
+        if (!coupon.meetsMinimumSpend(pricedLines)) {
+            throw new RuntimeException("Order does not meet the coupon minimum spend");
+        }
+        return coupon;
+    }
+
+    /**
+     * Prices the order and reserves a redemption of every capped rule that
+     * gives it a discount. An auto-apply rule at its cap is left out and the
+     * order priced again without it; the customer's own coupon at its cap
+     * fails the order. Inside a transaction the reservations are given back
+     * if it rolls back; otherwise the caller releases them if the order fails.
+     *
+     * @throws RuntimeException if the customer's coupon can't be redeemed
+     */
+    private PricedOrder priceAndReserve(PricingRules rules, List<PricedLine> pricedLines, DiscountRule coupon,
+            Long userId) {
+        Set<String> excluded = new HashSet<>();
+        for (;;) {
+            PricedOrder priced = new PricedOrder(rules.price(pricedLines, coupon, LocalDate.now(), excluded),
+                    new ArrayList<>());
+            DiscountRule refused = null;
+            for (DiscountRule rule : priced.price().applied()) {
+                try {
+                    priced.redemptions().add(redemptionLimiter.reserve(rule, userId));
+                } catch (RuntimeException e) {
+                    priced.release();
+                    if (rule == coupon) {
+                        throw e;
+                    }
+                    refused = rule;
+                    break;
+                }
+            }
+            if (refused == null) {
+                return priced;
+            }
+            excluded.add(refused.code());
+        }
+    }
+
+    private OrderResponse completeOrder(Order order, List<OrderItem> orderItems, PriceBreakdown price) {
+        order.setOrderItems(orderItems);
+        int items = orderItems.size();
+        order.setSubtotal(price.subtotal());
+        order.setDiscount(price.discount());
+        order.setTotal(price.total());
 
         // Save Order
+        OrderPhaseEvent phase = OrderPhaseEvent.start(OrderPhaseEvent.SAVE);
         Order saveOrder = orderRepo.save(order);
+        invalidationBus.publish(EntityChange.ORDER,
+                OrderEventRegistry.changeId(saveOrder.getOrderId(), saveOrder.getEmail()));
+        webhookDispatcher.orderPlaced(saveOrder.getOrderId());
+        phase.finish(order.getOrderId(), items);
+
+        phase = OrderPhaseEvent.start(OrderPhaseEvent.INDEX);
+        Map<Integer, Integer> sold = new LinkedHashMap<>();
+        for (OrderItem item : orderItems) {
+            sold.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+        }
+        // Only sales that commit count towards rankings; a rolled-back order (or warm-up) leaves them alone
+        afterCommit(() -> {
+            sold.forEach(suggestionIndex::recordSale);
+            coPurchaseIndex.record(sold.keySet());
+        });
+        phase.finish(order.getOrderId(), items);
 
         return buildOrderResponse(saveOrder);
     }
 
+    /** Runs {@code action} once the current transaction commits, or now if there is none. */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Finds one order, in the database or, for old orders, in the archive.
+     *
+     * @param orderId the customer-facing order ID
+     * @return the order
+     * @throws RuntimeException if there is no such order
+     */
+    public OrderResponse getOrder(String orderId) {
+        // Item lines carry just the product title, not the whole product with its image
+        return orderRepo.findByOrderId(orderId)
+                .map(order -> ArchivedOrder.of(order, orderRepo.findItemLines(List.of(order.getId()))).toResponse())
+                .or(() -> orderArchive.find(orderId).map(ArchivedOrder::toResponse))
+                .orElseThrow(() -> new RuntimeException("Order not found"));
+    }
+
+    public OrderResponse updateStatus(String orderId, OrderStatus target) {
+        Order order = orderRepo.findByOrderId(orderId)
+                .orElseThrow(() -> new RuntimeException(orderArchive.find(orderId).isPresent()
+                        ? "Order is archived and can no longer change" : "Order not found"));
+        if (!order.getStatus().canTransitionTo(target)) {
+            throw new RuntimeException("Cannot move order from " + order.getStatus() + " to " + target);
+        }
+        order.setStatus(target);
+        Order saved = orderRepo.save(order);
+        invalidationBus.publish(EntityChange.ORDER, OrderEventRegistry.changeId(orderId, order.getEmail()));
+        webhookDispatcher.orderStatusChanged(orderId, target);
+        return buildOrderResponse(saved);
+    }
+
+    public BulkStatusResponse bulkUpdateStatus(BulkStatusRequest request) {
+        if (request.status() == null) {
+            throw new RuntimeException("Target status is required");
+        }
+        // Set-based UPDATEs in chunks, each committed on its own, so large warehouse
+        // batches never load entities or hold locks on all rows at once
+        List<String> orderIds = new ArrayList<>(new LinkedHashSet<>(request.orderIds()));
+        Set<OrderStatus> from = OrderStatus.predecessorsOf(request.status());
+        // Orders not yet backfilled have no code and count as placed
+        boolean uncoded = from.contains(OrderStatus.PLACED);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int updated = 0;
+        List<String> rejected = new ArrayList<>();
+        for (int start = 0; start < orderIds.size(); start += bulkStatusBatchSize) {
+            List<String> chunk = orderIds.subList(start, Math.min(start + bulkStatusBatchSize, orderIds.size()));
+            // Lock the rows that can move, then move exactly those, so only real changes are announced
+            List<String> moved = transaction.execute(status -> {
+                List<OrderStatusEvent> movable = orderRepo.lockOrdersWithStatusIn(chunk, from, uncoded);
+                List<String> movableIds = movable.stream().map(OrderStatusEvent::orderId).toList();
+                if (!movable.isEmpty()) {
+                    orderRepo.bulkUpdateStatus(movableIds, request.status(), from, uncoded);
+                }
+                // Sent with the chunk's commit
+                for (OrderStatusEvent order : movable) {
+                    invalidationBus.publish(EntityChange.ORDER,
+                            OrderEventRegistry.changeId(order.orderId(), order.email()));
+                    webhookDispatcher.orderStatusChanged(order.orderId(), request.status());
+                }
+                return movableIds;
+            });
+            updated += moved.size();
+            if (moved.size() < chunk.size()) {
+                // Orders already in the target status are not rejected, just left alone
+                Set<String> done = new HashSet<>(moved);
+                done.addAll(orderRepo.findOrderIdsWithStatus(chunk, request.status()));
+                for (String orderId : chunk) {
+                    if (!done.contains(orderId)) {
+                        rejected.add(orderId);
+                    }
+                }
+            }
+        }
+        return new BulkStatusResponse(orderIds.size(), updated, rejected);
+    }
+
     public List<OrderResponse> getAllOrderResponses() {
         List<Order> orders = orderRepo.findAll();
         List<OrderResponse> orderResponses = new ArrayList<>();
+        Set<String> hot = new HashSet<>();
         for (Order order : orders) {
             orderResponses.add(buildOrderResponse(order));
+            hot.add(order.getOrderId());
         }
+        orderArchive.forEach(null, null, archived -> {
+            if (!hot.contains(archived.orderId())) {
+                orderResponses.add(archived.toResponse());
+            }
+        });
         return orderResponses;
     }
 
+    /**
+     * Lists selected fields of all orders. Only the columns those fields need
+     * are read; items are loaded, in one query per 1000 orders, only when
+     * asked for or when an old order has no stored subtotal. Archived orders
+     * follow those still in the database.
+     *
+     * @param fields the requested fields
+     * @return one map per order with just those fields
+     */
+    public List<Map<String, Object>> getAllOrderFields(List<OrderField> fields) {
+        List<Tuple> rows = orderRepo.findFields(fields);
+        boolean wantsItems = fields.contains(OrderField.ITEMS);
+        boolean wantsTotals = fields.contains(OrderField.SUBTOTAL) || fields.contains(OrderField.TOTAL);
+        List<Long> itemOrderIds = new ArrayList<>();
+        for (Tuple row : rows) {
+            if (wantsItems || (wantsTotals && row.get("subtotal") == null)) {
+                itemOrderIds.add(row.get("id", Long.class));
+            }
+        }
+        Map<Long, List<OrderItemLine>> items = new HashMap<>();
+        for (int start = 0; start < itemOrderIds.size(); start += ITEM_LOOKUP_BATCH_SIZE) {
+            List<Long> chunk = itemOrderIds.subList(start,
+                    Math.min(start + ITEM_LOOKUP_BATCH_SIZE, itemOrderIds.size()));
+            for (OrderItemLine line : orderRepo.findItemLines(chunk)) {
+                items.computeIfAbsent(line.orderId(), id -> new ArrayList<>()).add(line);
+            }
+        }
+
+        List<Map<String, Object>> orders = new ArrayList<>(rows.size());
+        Set<String> hot = new HashSet<>();
+        for (Tuple row : rows) {
+            hot.add(row.get("orderId", String.class));
+            List<OrderItemLine> lines = items.getOrDefault(row.get("id", Long.class), List.of());
+            Money subtotal = wantsTotals ? (Money) row.get("subtotal") : null;
+            if (subtotal == null && wantsTotals) {
+                // Orders placed before totals were persisted
+                subtotal = Money.ZERO;
+                for (OrderItemLine line : lines) {
+                    subtotal = subtotal.plus(line.totalPrice());
+                }
+            }
+            Map<String, Object> json = new LinkedHashMap<>();
+            for (OrderField field : fields) {
+                json.put(field.fieldName(), switch (field) {
+                    case SUBTOTAL -> subtotal.toBigDecimal();
+                    case DISCOUNT -> row.get("discount") != null
+                            ? ((Money) row.get("discount")).toBigDecimal() : BigDecimal.ZERO;
+                    case TOTAL -> (row.get("total") != null ? (Money) row.get("total") : subtotal).toBigDecimal();
+                    case ITEMS -> lines.stream()
+                            .map(line -> new OrderItemResponse(line.productName(), line.quantity(),
+                                    line.totalPrice().toBigDecimal()))
+                            .toList();
+                    default -> row.get(field.attribute());
+                });
+            }
+            orders.add(json);
+        }
+        orderArchive.forEach(null, null, archived -> {
+            if (!hot.contains(archived.orderId())) {
+                orders.add(OrderField.toJson(archived.toResponse(), fields));
+            }
+        });
+        return orders;
+    }
+
     private OrderResponse buildOrderResponse(Order order) {
         List<OrderItemResponse> itemResponses = new ArrayList<>();
+        Money itemsTotal = Money.ZERO;
         for (OrderItem item : order.getOrderItems()) {
             OrderItemResponse orderItemResponse = new OrderItemResponse(
                     item.getProduct().getTitle(),
                     item.getQuantity(),
-                    item.getTotalPrice());
+                    item.getTotalPrice().toBigDecimal());
             itemResponses.add(orderItemResponse);
+            itemsTotal = itemsTotal.plus(item.getTotalPrice());
         }
+        // Orders placed before totals were persisted have no subtotal
+        Money subtotal = order.getSubtotal() != null ? order.getSubtotal() : itemsTotal;
         return new OrderResponse(
                 order.getOrderId(),
                 order.getCustomerName(),
                 order.getEmail(),
                 order.getStatus(),
                 order.getOrderDate(),
+                subtotal.toBigDecimal(),
+                order.getDiscount() != null ? order.getDiscount().toBigDecimal() : BigDecimal.ZERO,
+                (order.getTotal() != null ? order.getTotal() : subtotal).toBigDecimal(),
                 itemResponses);
     }
-}
\ No newline at end of file
+
+    /** What {@link #placeOrder(OrderRequest)} read before taking any redemption or stock. */
+    private record PreparedOrder(Order order, List<OrderItem> orderItems, List<PricedLine> pricedLines,
+            Map<Integer, Product> products, PricingRules rules, DiscountRule coupon) {
+    }
+
+    /** An order's price and the redemptions reserved for it. */
+    private record PricedOrder(PriceBreakdown price, List<RedemptionLimiter.Reservation> redemptions) {
+
+        void release() {
+            redemptions.forEach(RedemptionLimiter.Reservation::release);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.edu.SpringEcom.service;
+
+import com.edu.SpringEcom.model.OrderStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Migration of order statuses from the old free-text {@code status} column to
+ * the {@code status_code} column.
+ *
+ * <p>
+ * Runs on startup and then every {@code orders.status-backfill.interval-ms},
+ * since during a rolling deploy nodes still on the old version keep inserting
+ * orders without a code. Rows are converted {@code orders.status-backfill.batch-size}
+ * at a time, each batch in its own transaction, so the migration never locks
+ * the whole table. Until a row is converted it reads as
+ * {@link OrderStatus#PLACED} (see {@link com.edu.SpringEcom.model.OrderStatusConverter}).
+ * Does nothing once every order has a code, or on databases that never had
+ * the old column. The startup run comes before any other
+ * {@link ApplicationRunner}, in particular the warm-up.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see OrderStatus
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class OrderStatusBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderStatusBackfill.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${orders.status-backfill.batch-size:1000}")
+    private int batchSize;
+
+    /** Set once the old column is known not to exist, so later runs cost nothing. */
+    private volatile boolean noLegacyColumn;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        backfill();
+    }
+
+    /**
+     * Gives every order without a status code the code of its old text status.
+     */
+    @Scheduled(fixedDelayString = "${orders.status-backfill.interval-ms:600000}",
+            initialDelayString = "${orders.status-backfill.interval-ms:600000}")
+    public void backfill() {
+        if (noLegacyColumn) {
+            return;
+        }
+        Integer legacyColumns = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns " +
+                        "WHERE LOWER(table_name) = 'orders' AND LOWER(column_name) = 'status'",
+                Integer.class);
+        if (legacyColumns == null || legacyColumns == 0) {
+            noLegacyColumn = true;
+            return;
+        }
+
+        StringBuilder cases = new StringBuilder("CASE UPPER(status)");
+        for (OrderStatus status : OrderStatus.values()) {
+            cases.append(" WHEN '").append(status.name()).append("' THEN ").append(status.getCode());
+        }
+        cases.append(" ELSE ").append(OrderStatus.PLACED.getCode()).append(" END");
+        String update = "UPDATE orders SET status_code = " + cases + " WHERE id IN " +
+                "(SELECT id FROM orders WHERE status_code IS NULL LIMIT ?)";
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int total = 0;
+        int updated;
+        do {
+            Integer batch = transaction.execute(tx -> jdbcTemplate.update(update, Math.max(1, batchSize)));
+            updated = batch != null ? batch : 0;
+            total += updated;
+        } while (updated >= Math.max(1, batchSize));
+        if (total > 0) {
+            log.info("Backfilled status_code for {} orders", total);
+        }
+    }
+}
@@ -1,13 +1,43 @@
 package com.edu.SpringEcom.service;
 
+import com.edu.SpringEcom.cache.EntityChange;
+import com.edu.SpringEcom.cache.InvalidationBus;
+import com.edu.SpringEcom.cache.SingleFlight;
+import com.edu.SpringEcom.cache.VersionedCache;
+import com.edu.SpringEcom.catalog.CatalogFallback;
+import com.edu.SpringEcom.catalog.CatalogSnapshot;
+import com.edu.SpringEcom.image.ImageStore;
+import com.edu.SpringEcom.image.ImageUpload;
 import com.edu.SpringEcom.model.Product;
+import com.edu.SpringEcom.model.dto.ProductLabel;
+import com.edu.SpringEcom.model.dto.ProductSummaryResponse;
+import com.edu.SpringEcom.model.dto.RelatedProductResponse;
+import com.edu.SpringEcom.profiling.ProductReadEvent;
+import com.edu.SpringEcom.projection.ProductField;
+import com.edu.SpringEcom.recommend.CoPurchaseIndex;
 import com.edu.SpringEcom.repo.ProductRepo;
+import com.edu.SpringEcom.suggest.Suggestion;
+import com.edu.SpringEcom.suggest.SuggestionIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.Tuple;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Service class responsible for product management operations.
@@ -16,10 +46,34 @@ import java.util.List;
  * This service provides the business logic layer for:
  * <ul>
  * <li>Product CRUD operations</li>
- * <li>Product image upload and storage</li>
+ * <li>Product image upload and storage, one copy per distinct image</li>
  * <li>Product search functionality</li>
+ * <li>Batch lookup of many products in one cache pass and one query</li>
+ * <li>Sparse fieldsets: listing and search select only the requested
+ * columns</li>
+ * <li>Typeahead suggestions, kept in sync with every product change</li>
+ * <li>"Frequently bought together" recommendations</li>
  * </ul>
  * </p>
+ *
+ * <p>
+ * Single-product reads go through a {@link VersionedCache}. Every write is
+ * announced on the {@link InvalidationBus}, which evicts the product here and
+ * on every other node. Concurrent misses for the same product (a product going
+ * live, say) share one database load through a {@link SingleFlight}; the
+ * {@code cache.loads} counter shows originating vs. coalesced calls.
+ * </p>
+ *
+ * <p>
+ * Catalog reads (listing, search, single products) go through the
+ * {@link CatalogFallback}, which answers them from the last catalog snapshot
+ * while the database is failing or too slow.
+ * </p>
+ *
+ * <p>
+ * Every catalog read emits a {@link ProductReadEvent} saying where it was
+ * answered from, for on-demand JFR recordings.
+ * </p>
  * 
  * @author SpringEcom Team
  * @version 1.0
@@ -33,23 +87,198 @@ public class ProductService {
     @Autowired
     private ProductRepo productRepo;
 
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Autowired
+    private CoPurchaseIndex coPurchaseIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private CatalogFallback catalogFallback;
+
+    @Value("${product.cache.max-entries:1000}")
+    private int cacheMaxEntries;
+
+    @Value("${product.cache.max-age-ms:300000}")
+    private long cacheMaxAgeMs;
+
+    @Value("${product.load.wait-timeout-ms:2000}")
+    private long loadWaitTimeoutMs;
+
+    @Value("${product.batch.max-ids:100}")
+    private int batchMaxIds;
+
+    private VersionedCache<Integer, Product> productCache;
+
+    @PostConstruct
+    void init() {
+        SingleFlight<Integer, Product> flights = new SingleFlight<>(Duration.ofMillis(loadWaitTimeoutMs));
+        productCache = new VersionedCache<>(invalidationBus::currentVersion, cacheMaxEntries,
+                Duration.ofMillis(cacheMaxAgeMs), flights);
+        FunctionCounter.builder("cache.loads", flights, SingleFlight::getOriginating)
+                .tag("cache", "product").tag("result", "originating").register(meterRegistry);
+        FunctionCounter.builder("cache.loads", flights, SingleFlight::getCoalesced)
+                .tag("cache", "product").tag("result", "coalesced").register(meterRegistry);
+        FunctionCounter.builder("cache.loads", flights, SingleFlight::getTimeouts)
+                .tag("cache", "product").tag("result", "timeout").register(meterRegistry);
+        invalidationBus.subscribe(change -> {
+            if (EntityChange.PRODUCT.equals(change.entity())) {
+                if (EntityChange.ALL.equals(change.id())) {
+                    productCache.invalidateAll();
+                } else {
+                    productCache.invalidate(Integer.valueOf(change.id()));
+                }
+            }
+        });
+    }
+
     /**
      * Retrieves all products from the database.
      * 
      * @return {@link List} of all {@link Product} entities in the database
      */
     public List<Product> getAllProducts() {
-        return productRepo.findAll();
+        ProductReadEvent event = ProductReadEvent.start("list");
+        List<Product> products = read(event, productRepo::findAll, CatalogSnapshot::all);
+        event.finish(0, null, products.size());
+        return products;
+    }
+
+    /**
+     * Retrieves selected fields of all products, querying only the columns
+     * they need.
+     *
+     * @param fields the requested fields
+     * @return one map per product with just those fields
+     */
+    public List<Map<String, Object>> getAllProducts(List<ProductField> fields) {
+        ProductReadEvent event = ProductReadEvent.start("list-fields");
+        List<Map<String, Object>> products = read(event, () -> toJson(productRepo.findFields(fields, null), fields),
+                snapshot -> productsToJson(snapshot.all(), fields));
+        event.finish(0, null, products.size());
+        return products;
     }
 
     /**
      * Retrieves a single product by its unique identifier.
      * 
+     * <p>
+     * Served from the product cache when possible. On a miss, concurrent
+     * callers for the same product share one database load.
+     * </p>
+     * 
      * @param id the unique identifier of the product
      * @return the {@link Product} if found, {@code null} otherwise
+     * @throws RuntimeException if a shared load failed or didn't finish within
+     *                          {@code product.load.wait-timeout-ms}
      */
     public Product getProductById(int id) {
-        return productRepo.findById(id).orElse(null);
+        ProductReadEvent event = ProductReadEvent.start("get");
+        Product product = catalogFallback.read(() -> productCache.get(id, () -> {
+                    event.from(ProductReadEvent.DATABASE);
+                    return productRepo.findById(id).orElse(null);
+                }),
+                snapshot -> {
+                    // Prefer a cached copy: it is at least as fresh and has the image bytes
+                    Product cached = productCache.get(id);
+                    if (cached != null) {
+                        return cached;
+                    }
+                    event.from(ProductReadEvent.SNAPSHOT);
+                    return snapshot.get(id);
+                });
+        event.finish(id, null, product != null ? 1 : 0);
+        return product;
+    }
+
+    /**
+     * Retrieves selected fields of a single product.
+     *
+     * <p>
+     * Narrows the cached product rather than running a projection query, so
+     * a cache hit still costs no database round trip.
+     * </p>
+     *
+     * @param id     the unique identifier of the product
+     * @param fields the requested fields
+     * @return a map with just those fields, or {@code null} if not found
+     * @throws RuntimeException as {@link #getProductById(int)}
+     */
+    public Map<String, Object> getProductById(int id, List<ProductField> fields) {
+        Product product = getProductById(id);
+        return product != null ? ProductField.toJson(product, fields) : null;
+    }
+
+    /**
+     * Looks up many products at once, for pages that would otherwise fetch
+     * them one by one.
+     *
+     * <p>
+     * Cached products are used as they are; all the others are loaded with
+     * one query and cached, under a version taken before the query so a
+     * concurrent write still evicts them.
+     * </p>
+     *
+     * @param ids product IDs; may repeat
+     * @return one summary per requested ID, in request order, marked not
+     *         found for IDs with no product
+     * @throws RuntimeException if more than {@code product.batch.max-ids}
+     *                          distinct IDs are requested
+     */
+    public List<ProductSummaryResponse> getProductSummaries(List<Integer> ids) {
+        Set<Integer> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        if (distinct.size() > batchMaxIds) {
+            throw new RuntimeException("At most " + batchMaxIds + " product IDs per request");
+        }
+        ProductReadEvent event = ProductReadEvent.start("batch");
+        Map<Integer, Product> products = new HashMap<>();
+        List<Integer> misses = new ArrayList<>();
+        for (Integer id : distinct) {
+            Product cached = productCache.get(id);
+            if (cached != null) {
+                products.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            read(event, () -> {
+                long version = invalidationBus.currentVersion();
+                for (Product product : productRepo.findAllById(misses)) {
+                    products.put(product.getId(), product);
+                    productCache.put(product.getId(), product, version);
+                }
+                return null;
+            }, snapshot -> {
+                for (Integer id : misses) {
+                    Product product = snapshot.get(id);
+                    if (product != null) {
+                        products.put(id, product);
+                    }
+                }
+                return null;
+            });
+        }
+        List<ProductSummaryResponse> summaries = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            if (id == null) {
+                continue;
+            }
+            Product product = products.get(id);
+            summaries.add(product != null ? toSummary(product) : missingSummary(id));
+        }
+        event.finish(0, null, products.size());
+        return summaries;
     }
 
     /**
@@ -58,23 +287,43 @@ public class ProductService {
      * <p>
      * This method handles multipart file upload by:
      * <ol>
-     * <li>Extracting the original filename from the uploaded file</li>
-     * <li>Determining the content type (MIME type) of the image</li>
-     * <li>Converting the image to a byte array for database storage</li>
-     * <li>Persisting the complete product entity</li>
+     * <li>Streaming the image to a temp file, hashing it and checking its size
+     * and type on the way</li>
+     * <li>Storing the image unless one with the same hash is already stored,
+     * e.g. because the product is updated with its current image</li>
+     * <li>Persisting the product, referencing the image by hash</li>
      * </ol>
      * </p>
      * 
      * @param product   the product entity containing product details
      * @param imageFile the multipart file containing the product image
      * @return the saved {@link Product} entity with generated ID
-     * @throws IOException if the image file cannot be read or processed
+     * @throws RuntimeException if the image is too large or not an allowed
+     *                          image type
+     * @throws IOException      if the image file cannot be read or processed
+     * @see ImageStore
      */
     public Product addOrUpdateProduct(Product product, MultipartFile imageFile) throws IOException {
-        product.setImageName(imageFile.getOriginalFilename());
-        product.setImageType(imageFile.getContentType());
-        product.setImageData(imageFile.getBytes());
-        return productRepo.save(product);
+        try (ImageUpload image = imageStore.receive(imageFile)) {
+            product.setImageName(imageFile.getOriginalFilename());
+            product.setImageType(image.contentType());
+            product.setImageHash(imageStore.store(image));
+            product.setImageData(null);
+        }
+        Product saved = productRepo.save(product);
+        suggestionIndex.upsert(saved);
+        invalidationBus.publish(EntityChange.PRODUCT, saved.getId());
+        return saved;
+    }
+
+    /**
+     * Retrieves a stored product image.
+     *
+     * @param hash the image hash, from {@link Product#getImageHash()}
+     * @return the image, or {@code null} if it is no longer stored
+     */
+    public ImageStore.StoredImage getImage(String hash) {
+        return imageStore.load(hash);
     }
 
     /**
@@ -84,6 +333,8 @@ public class ProductService {
      */
     public void deleteProduct(int id) {
         productRepo.deleteById(id);
+        suggestionIndex.remove(id);
+        invalidationBus.publish(EntityChange.PRODUCT, id);
     }
 
     /**
@@ -99,6 +350,122 @@ public class ProductService {
      * @see ProductRepo#searchProducts(String)
      */
     public List<Product> searchProducts(String keyword) {
-        return productRepo.searchProducts(keyword);
+        ProductReadEvent event = ProductReadEvent.start("search");
+        List<Product> products = read(event, () -> productRepo.searchProducts(keyword),
+                snapshot -> search(snapshot, keyword));
+        event.finish(0, keyword, products.size());
+        return products;
+    }
+
+    /**
+     * Searches like {@link #searchProducts(String)}, querying only the
+     * columns the requested fields need.
+     *
+     * @param keyword the search term to match against product fields
+     * @param fields  the requested fields
+     * @return one map per matching product with just those fields
+     */
+    public List<Map<String, Object>> searchProducts(String keyword, List<ProductField> fields) {
+        ProductReadEvent event = ProductReadEvent.start("search-fields");
+        List<Map<String, Object>> products = read(event, () -> toJson(productRepo.findFields(fields, keyword), fields),
+                snapshot -> productsToJson(search(snapshot, keyword), fields));
+        event.finish(0, keyword, products.size());
+        return products;
+    }
+
+    /**
+     * Returns typeahead suggestions for a partially typed search term.
+     *
+     * <p>
+     * Answered from the in-memory {@link SuggestionIndex} without a database
+     * query. Matches product titles (from the start of any word), brands and
+     * categories, ranked by units sold.
+     * </p>
+     *
+     * @param prefix what the user has typed so far
+     * @param limit  maximum number of suggestions
+     * @return {@link List} of {@link Suggestion}s, most popular first
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        return suggestionIndex.suggest(prefix, limit);
+    }
+
+    /**
+     * Returns the products most often ordered together with a product.
+     *
+     * <p>
+     * Answered from memory: counts come from the {@link CoPurchaseIndex} and
+     * titles from the {@link SuggestionIndex}. Deleted products are skipped.
+     * </p>
+     *
+     * @param id    the product being viewed
+     * @param limit maximum number of products
+     * @return related products, most frequently co-purchased first
+     */
+    public List<RelatedProductResponse> getRelatedProducts(int id, int limit) {
+        List<RelatedProductResponse> related = new ArrayList<>();
+        for (long entry : coPurchaseIndex.related(id, limit)) {
+            int partnerId = (int) entry;
+            ProductLabel label = suggestionIndex.label(partnerId);
+            if (label != null) {
+                related.add(new RelatedProductResponse(partnerId, label.title(), label.brand(), label.category(),
+                        (int) (entry >>> 32)));
+            }
+        }
+        return related;
+    }
+
+    /** {@link CatalogFallback#read(Supplier, Function)}, noting on the event which source answered. */
+    private <T> T read(ProductReadEvent event, Supplier<T> database, Function<CatalogSnapshot, T> fromSnapshot) {
+        return catalogFallback.read(() -> {
+            event.from(ProductReadEvent.DATABASE);
+            return database.get();
+        }, snapshot -> {
+            event.from(ProductReadEvent.SNAPSHOT);
+            return fromSnapshot.apply(snapshot);
+        });
+    }
+
+    /** Same match as {@link ProductRepo#searchProducts(String)}, over the snapshot. */
+    private static List<Product> search(CatalogSnapshot snapshot, String keyword) {
+        String needle = keyword.toLowerCase(Locale.ROOT);
+        List<Product> matches = new ArrayList<>();
+        for (Product product : snapshot.all()) {
+            if (contains(product.getTitle(), needle) || contains(product.getDescription(), needle)
+                    || contains(product.getBrand(), needle) || contains(product.getCategory(), needle)) {
+                matches.add(product);
+            }
+        }
+        return matches;
+    }
+
+    private static boolean contains(String value, String needle) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(needle);
+    }
+
+    private static ProductSummaryResponse toSummary(Product product) {
+        return new ProductSummaryResponse(product.getId(), true, product.getTitle(), product.getBrand(),
+                product.getCategory(), product.getPrice(), product.isAvailability(), product.getStockQuantity(),
+                "/api/product/" + product.getId() + "/image");
+    }
+
+    private static ProductSummaryResponse missingSummary(int id) {
+        return new ProductSummaryResponse(id, false, null, null, null, null, null, null, null);
+    }
+
+    private static List<Map<String, Object>> productsToJson(List<Product> products, List<ProductField> fields) {
+        List<Map<String, Object>> json = new ArrayList<>(products.size());
+        for (Product product : products) {
+            json.add(ProductField.toJson(product, fields));
+        }
+        return json;
+    }
+
+    private static List<Map<String, Object>> toJson(List<Tuple> rows, List<ProductField> fields) {
+        List<Map<String, Object>> products = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            products.add(ProductField.toJson(row, fields));
+        }
+        return products;
     }
 }
@@ -1,13 +1,25 @@
 package com.edu.SpringEcom.service;
 
+import com.edu.SpringEcom.auth.RegisteredEmails;
+import com.edu.SpringEcom.auth.SessionToken;
+import com.edu.SpringEcom.auth.SessionTokenService;
+import com.edu.SpringEcom.auth.SessionUser;
 import com.edu.SpringEcom.model.Address;
+import com.edu.SpringEcom.model.Role;
 import com.edu.SpringEcom.model.User;
 import com.edu.SpringEcom.model.dto.AuthRequest;
+import com.edu.SpringEcom.model.dto.AuthResponse;
 import com.edu.SpringEcom.repo.AddressRepo;
 import com.edu.SpringEcom.repo.UserRepo;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+import java.util.Set;
+
 @Service
 public class UserService {
 
@@ -17,22 +29,75 @@ public class UserService {
     @Autowired
     private AddressRepo addressRepo;
 
-    public User register(AuthRequest request) {
-        if (userRepo.existsByEmail(request.email())) {
-            throw new RuntimeException("Email already exists");
+    @Autowired
+    private SessionTokenService tokenService;
+
+    @Autowired
+    private RegisteredEmails registeredEmails;
+
+    /** Accounts with these emails are made admins when they register or log in. */
+    @Value("${auth.admin-emails:}")
+    private Set<String> adminEmails;
+
+    /**
+     * Creates a customer and starts a session. Taken emails are caught by the
+     * unique constraint on insert rather than checked first, so two racing
+     * registrations can't both succeed and the common case is one statement.
+     */
+    public AuthResponse register(AuthRequest request) {
+        if (request.email() == null || request.email().isBlank()) {
+            throw new RuntimeException("Email is required");
         }
         User user = new User();
         user.setEmail(request.email());
         user.setPassword(request.password()); // In real app, hash this!
         user.setName(request.name());
         user.setPhone(request.phone());
-        return userRepo.save(user);
+        user.setRole(isAdminEmail(request.email()) ? Role.ADMIN : Role.CUSTOMER);
+        User saved;
+        try {
+            saved = userRepo.save(user);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException violation
+                    && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+                throw new RuntimeException("Email already exists");
+            }
+            throw e;
+        }
+        registeredEmails.add(saved.getEmail());
+        return startSession(saved);
     }
 
-    public User login(String email, String password) {
-        return userRepo.findByEmail(email)
+    /**
+     * Starts a session for matching credentials. Emails the
+     * {@link RegisteredEmails} filter has never seen, as in credential
+     * stuffing, are rejected without a query.
+     */
+    public AuthResponse login(String email, String password) {
+        if (email == null || !registeredEmails.mightBeRegistered(email)) {
+            throw new RuntimeException("Invalid credentials");
+        }
+        Optional<User> found = userRepo.findByEmail(email);
+        if (found.isEmpty()) {
+            registeredEmails.recordFalsePositive();
+        }
+        User user = found
                 .filter(u -> u.getPassword().equals(password))
                 .orElseThrow(() -> new RuntimeException("Invalid credentials"));
+        if (user.getRole() != Role.ADMIN && isAdminEmail(user.getEmail())) {
+            user.setRole(Role.ADMIN);
+            user = userRepo.save(user);
+        }
+        return startSession(user);
+    }
+
+    /**
+     * @param userId the user
+     * @return the user's email
+     * @throws RuntimeException if there is no such user
+     */
+    public String getEmail(Long userId) {
+        return userRepo.findEmailById(userId).orElseThrow(() -> new RuntimeException("User not found"));
     }
 
     public Address addAddress(Long userId, Address address) {
@@ -41,4 +106,14 @@ public class UserService {
         address.setUser(user);
         return addressRepo.save(address);
     }
-}
\ No newline at end of file
+
+    private boolean isAdminEmail(String email) {
+        return adminEmails.stream().anyMatch(admin -> admin.trim().equalsIgnoreCase(email));
+    }
+
+    private AuthResponse startSession(User user) {
+        Role role = user.getRole() != null ? user.getRole() : Role.CUSTOMER;
+        SessionToken token = tokenService.issue(new SessionUser(user.getId(), role));
+        return new AuthResponse(user.getId(), user.getName(), user.getEmail(), role, token.value(), token.expiresAt());
+    }
+}
@@ -0,0 +1,115 @@
+package com.edu.SpringEcom.service;
+
+import com.edu.SpringEcom.cache.EntityChange;
+import com.edu.SpringEcom.cache.InvalidationBus;
+import com.edu.SpringEcom.model.WebhookEndpoint;
+import com.edu.SpringEcom.model.dto.WebhookEndpointRequest;
+import com.edu.SpringEcom.model.dto.WebhookEndpointResponse;
+import com.edu.SpringEcom.repo.WebhookDeliveryRepo;
+import com.edu.SpringEcom.repo.WebhookEndpointRepo;
+import com.edu.SpringEcom.webhook.WebhookDispatcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registration of partner webhook endpoints.
+ *
+ * <p>
+ * Changes are announced on the {@link InvalidationBus} as
+ * {@link EntityChange#WEBHOOK} changes, so every node's
+ * {@link WebhookDispatcher} starts or stops sending to the endpoint.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see WebhookDispatcher
+ */
+@Service
+public class WebhookService {
+
+    @Autowired
+    private WebhookEndpointRepo endpointRepo;
+
+    @Autowired
+    private WebhookDeliveryRepo deliveryRepo;
+
+    @Autowired
+    private WebhookDispatcher webhookDispatcher;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    /**
+     * Registers an endpoint; order events from now on are sent to it.
+     *
+     * @param request the endpoint's URL and optional signing secret
+     * @return the registered endpoint
+     * @throws RuntimeException if the URL is not an absolute http or https URL
+     */
+    public WebhookEndpointResponse register(WebhookEndpointRequest request) {
+        if (request.url() == null || !isHttpUrl(request.url())) {
+            throw new RuntimeException("Webhook URL must be an absolute http or https URL");
+        }
+        String secret = request.secret() != null && !request.secret().isEmpty() ? request.secret() : null;
+        WebhookEndpoint saved = endpointRepo.save(new WebhookEndpoint(null, request.url(), secret, Instant.now()));
+        changed(saved.getId());
+        return toResponse(saved);
+    }
+
+    /** @return every registered endpoint */
+    public List<WebhookEndpointResponse> getEndpoints() {
+        List<WebhookEndpointResponse> responses = new ArrayList<>();
+        for (WebhookEndpoint endpoint : endpointRepo.findAll()) {
+            responses.add(toResponse(endpoint));
+        }
+        return responses;
+    }
+
+    /**
+     * Removes an endpoint together with its undelivered events.
+     *
+     * @param id the endpoint
+     * @throws RuntimeException if there is no such endpoint
+     */
+    public void delete(Long id) {
+        if (!endpointRepo.existsById(id)) {
+            throw new RuntimeException("Webhook endpoint not found");
+        }
+        endpointRepo.deleteById(id);
+        deliveryRepo.deleteByEndpointId(id);
+        changed(id);
+    }
+
+    private void changed(Long id) {
+        webhookDispatcher.reloadEndpoints(); // at once here; other nodes when the bus delivers
+        invalidationBus.publish(EntityChange.WEBHOOK, id);
+    }
+
+    private WebhookEndpointResponse toResponse(WebhookEndpoint endpoint) {
+        return new WebhookEndpointResponse(
+                endpoint.getId(),
+                endpoint.getUrl(),
+                endpoint.getSecret() != null,
+                endpoint.getCreatedAt(),
+                webhookDispatcher.circuitState(endpoint.getId()),
+                deliveryRepo.countByEndpointIdAndDead(endpoint.getId(), false),
+                deliveryRepo.countByEndpointIdAndDead(endpoint.getId(), true));
+    }
+
+    private static boolean isHttpUrl(String url) {
+        try {
+            URI uri = new URI(url);
+            return uri.isAbsolute() && uri.getHost() != null
+                    && ("http".equalsIgnoreCase(uri.getScheme()) || "https".equalsIgnoreCase(uri.getScheme()));
+        } catch (URISyntaxException e) {
+            return false;
+        }
+    }
+}
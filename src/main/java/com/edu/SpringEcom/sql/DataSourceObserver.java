@@ -0,0 +1,41 @@
+package com.edu.SpringEcom.sql;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps the application's {@link DataSource} in an {@link ObservedDataSource}
+ * so that every statement is timed and slow ones are logged.
+ *
+ * <p>
+ * Replaces {@code spring.jpa.show-sql}: instead of printing every statement
+ * without its parameters, only statements slower than
+ * {@code sql.slow-query-ms} are logged, with their bind parameters only if
+ * {@code sql.slow-query.log-parameters} is on.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+@Component
+public class DataSourceObserver implements BeanPostProcessor {
+
+    @Value("${sql.slow-query-ms:500}")
+    private long slowQueryMs;
+
+    @Value("${sql.slow-query.log-parameters:false}")
+    private boolean logParameters;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return ObservedDataSource.wrap(dataSource, TimeUnit.MILLISECONDS.toNanos(slowQueryMs), logParameters);
+        }
+        return bean;
+    }
+}
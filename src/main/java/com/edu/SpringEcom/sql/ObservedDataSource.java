@@ -0,0 +1,245 @@
+package com.edu.SpringEcom.sql;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * JDBC proxy that times every statement, logs slow ones and feeds
+ * {@link SqlStatistics}.
+ *
+ * <p>
+ * Wraps the data source, and through it every connection, statement and
+ * result set handed out, in JDK dynamic proxies. Each call is passed straight
+ * to the real object; on the way the proxy:
+ * <ul>
+ * <li>remembers the SQL of a prepared statement and the bind parameters set
+ * on it</li>
+ * <li>times each {@code execute*} call and, if it took at least the slow
+ * query threshold, logs it at WARN with the SQL, bind parameters and row
+ * count as key/value pairs (fields when structured logging is on). Statements
+ * that mention a sensitive column ({@code password}, {@code secret},
+ * {@code token}) are always logged with their parameters masked, as it
+ * can't reliably be told which {@code ?} belongs to which column</li>
+ * <li>counts statements, rows and column bytes for the current thread's
+ * {@link SqlStatistics}, if it has one</li>
+ * </ul>
+ * {@code unwrap} and {@code isWrapperFor} are delegated, so driver-specific
+ * APIs and connection pool metrics keep working.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see DataSourceObserver
+ */
+public final class ObservedDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ObservedDataSource.class);
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    /** Columns whose values never appear in the log. */
+    private static final Pattern SENSITIVE_COLUMN = Pattern.compile("(?i)\\b(password|secret|token)\\w*");
+
+    private static final String MASK = "***";
+
+    /** Bind parameter strings longer than this are cut in the log. */
+    private static final int MAX_LOGGED_PARAMETER_LENGTH = 100;
+
+    private ObservedDataSource() {
+    }
+
+    /**
+     * @param dataSource     the data source to observe
+     * @param slowQueryNanos statements taking at least this long are logged
+     * @param logParameters  whether slow query logs include bind parameters
+     * @return a data source that behaves like {@code dataSource}
+     */
+    public static DataSource wrap(DataSource dataSource, long slowQueryNanos, boolean logParameters) {
+        Settings settings = new Settings(slowQueryNanos, logParameters);
+        return proxy(DataSource.class, dataSource, (target, method, args) -> {
+            Object result = method.invoke(target, args);
+            if (result instanceof Connection connection) {
+                return observe(connection, settings);
+            }
+            return result;
+        });
+    }
+
+    private static Connection observe(Connection connection, Settings settings) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = method.invoke(target, args);
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            return switch (result) {
+                case CallableStatement statement when method.getName().equals("prepareCall") ->
+                        proxy(CallableStatement.class, statement, new StatementHandler(settings, sql));
+                case PreparedStatement statement when method.getName().equals("prepareStatement") ->
+                        proxy(PreparedStatement.class, statement, new StatementHandler(settings, sql));
+                case Statement statement when method.getName().equals("createStatement") ->
+                        proxy(Statement.class, statement, new StatementHandler(settings, null));
+                case null, default -> result;
+            };
+        });
+    }
+
+    private static ResultSet observe(ResultSet resultSet) {
+        return proxy(ResultSet.class, resultSet, (target, method, args) -> {
+            Object result = method.invoke(target, args);
+            SqlStatistics statistics = SqlStatistics.current();
+            if (statistics != null) {
+                if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                    statistics.row();
+                } else if (method.getName().startsWith("get") && args != null && args.length > 0) {
+                    statistics.bytes(sizeOf(result));
+                }
+            }
+            return result;
+        });
+    }
+
+    /** Rough size of a column value as it came over the wire. */
+    private static long sizeOf(Object value) throws SQLException {
+        return switch (value) {
+            case null -> 0;
+            case byte[] data -> data.length;
+            case Blob blob -> blob.length();
+            case Clob clob -> clob.length();
+            case String text -> text.length();
+            case Boolean ignored -> 1;
+            case Number ignored -> 8;
+            default -> 16;
+        };
+    }
+
+    private static String describe(Object value) {
+        return switch (value) {
+            case null -> "null";
+            case byte[] data -> "<" + data.length + " bytes>";
+            case String text when text.length() > MAX_LOGGED_PARAMETER_LENGTH ->
+                    "'" + text.substring(0, MAX_LOGGED_PARAMETER_LENGTH) + "...'";
+            case String text -> "'" + text + "'";
+            default -> value.toString();
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler<? super T> handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            try {
+                return handler.invoke(target, method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(ObservedDataSource.class.getClassLoader(), new Class<?>[]{type},
+                invocationHandler);
+    }
+
+    @FunctionalInterface
+    private interface Handler<T> {
+        Object invoke(T target, Method method, Object[] args) throws Throwable;
+    }
+
+    private record Settings(long slowQueryNanos, boolean logParameters) {
+    }
+
+    /** Tracks the SQL and bind parameters of one statement. */
+    private static final class StatementHandler implements Handler<Statement> {
+
+        private final Settings settings;
+        private final String preparedSql;
+        private final List<Object> parameters = new ArrayList<>();
+        private int batched;
+
+        StatementHandler(Settings settings, String preparedSql) {
+            this.settings = settings;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Statement target, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (EXECUTE_METHODS.contains(name)) {
+                return execute(target, method, args);
+            }
+            Object result = method.invoke(target, args);
+            if (preparedSql != null && name.startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer index) {
+                bind(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.equals("addBatch")) {
+                batched++;
+            } else if (result instanceof ResultSet resultSet && SqlStatistics.current() != null) {
+                return observe(resultSet);
+            }
+            return result;
+        }
+
+        private Object execute(Statement target, Method method, Object[] args) throws Throwable {
+            String sql = preparedSql != null ? preparedSql
+                    : args != null && args.length > 0 && args[0] instanceof String text ? text : "<batch>";
+            long start = System.nanoTime();
+            Object result = method.invoke(target, args);
+            long elapsed = System.nanoTime() - start;
+
+            if (elapsed >= settings.slowQueryNanos()) {
+                logSlow(sql, elapsed, result);
+            }
+            batched = 0;
+            SqlStatistics statistics = SqlStatistics.current();
+            if (statistics == null) {
+                return result;
+            }
+            statistics.statement(sql);
+            return result instanceof ResultSet resultSet ? observe(resultSet) : result;
+        }
+
+        private void logSlow(String sql, long elapsedNanos, Object result) {
+            long millis = elapsedNanos / 1_000_000;
+            boolean sensitive = SENSITIVE_COLUMN.matcher(sql).find();
+            // A plain statement may carry the values inline
+            String logged = sensitive && preparedSql == null ? "<unprepared statement on sensitive columns>" : sql;
+            List<String> params = new ArrayList<>();
+            if (settings.logParameters()) {
+                for (Object parameter : parameters) {
+                    params.add(sensitive ? MASK : describe(parameter));
+                }
+            }
+            var event = log.atWarn()
+                    .setMessage("Slow SQL ({} ms): {} params={}")
+                    .addArgument(millis)
+                    .addArgument(logged)
+                    .addArgument(params)
+                    .addKeyValue("durationMs", millis)
+                    .addKeyValue("sql", logged)
+                    .addKeyValue("params", params);
+            if (result instanceof Number count) {
+                event = event.addKeyValue("rowsAffected", count);
+            }
+            if (batched > 0) {
+                event = event.addKeyValue("batchSize", batched);
+            }
+            event.log();
+        }
+
+        private void bind(int index, Object value) {
+            while (parameters.size() < index) {
+                parameters.add(null);
+            }
+            parameters.set(index - 1, value);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.edu.SpringEcom.sql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SQL work done by one thread between {@link #start()} and {@link #close()}.
+ *
+ * <p>
+ * {@link ObservedDataSource} adds every statement it executes, every row read
+ * and an estimate of the bytes read to the statistics of the executing
+ * thread, if any. A request is handled on a single thread, so wrapping a
+ * request in {@code start()}/{@code close()} gives its database cost. Nothing
+ * is recorded, and nothing allocated, on threads that never called
+ * {@code start()}.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see ObservedDataSource
+ */
+public final class SqlStatistics implements AutoCloseable {
+
+    /** Statements kept verbatim for diagnostics; later ones are only counted. */
+    private static final int MAX_RECORDED_SQL = 200;
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long rows;
+    private long bytes;
+    private final List<String> sql = new ArrayList<>();
+
+    private SqlStatistics() {
+    }
+
+    /**
+     * Starts counting on the calling thread, replacing any statistics already
+     * being collected there.
+     *
+     * @return the statistics, to be closed when done
+     */
+    public static SqlStatistics start() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /** @return statistics being collected on the calling thread, or {@code null} */
+    static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    /** Stops counting on the calling thread. The counts stay readable. */
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    /** @return statements executed (a JDBC batch counts once) */
+    public long getStatements() {
+        return statements;
+    }
+
+    /** @return result set rows read */
+    public long getRows() {
+        return rows;
+    }
+
+    /** @return approximate size of the column values read */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /** @return SQL of the executed statements, in order, up to the first 200 */
+    public List<String> getSql() {
+        return Collections.unmodifiableList(sql);
+    }
+
+    void statement(String text) {
+        statements++;
+        if (sql.size() < MAX_RECORDED_SQL) {
+            sql.add(text);
+        }
+    }
+
+    void row() {
+        rows++;
+    }
+
+    void bytes(long count) {
+        bytes += count;
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements, " + rows + " rows, " + bytes + " bytes";
+    }
+}
@@ -0,0 +1,186 @@
+package com.edu.SpringEcom.suggest;
+
+import java.util.*;
+
+/**
+ * Character trie that answers "top K entries under this prefix" in
+ * O(prefix length).
+ *
+ * <p>
+ * Every node caches the K most popular entries of its whole subtree, so a
+ * lookup is a walk down the prefix followed by returning that cached array;
+ * nothing below the prefix node is visited. Writes update the nodes on the
+ * path of the changed term and recompute their caches bottom-up from the
+ * children's caches, which is exact because anything in a subtree's top K must
+ * be in the top K of one of its children.
+ * </p>
+ *
+ * <p>
+ * Children are held as sorted {@code char[]}/{@code Node[]} pairs rather than
+ * maps to keep nodes small. Both the child table and the cached top K are
+ * immutable and published through volatile fields, so readers never lock.
+ * Writers must be externally serialized.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see SuggestionIndex
+ */
+final class PrefixTrie {
+
+    private static final Suggestion[] NONE = new Suggestion[0];
+
+    private static final Comparator<Suggestion> RANKING = Comparator
+            .comparingLong(Suggestion::popularity).reversed()
+            .thenComparing(Suggestion::label, String.CASE_INSENSITIVE_ORDER);
+
+    private final int topK;
+    private final Node root = new Node();
+
+    PrefixTrie(int topK) {
+        this.topK = topK;
+    }
+
+    /**
+     * @param prefix normalized prefix
+     * @return the most popular entries whose terms start with the prefix, best
+     *         first; never {@code null}
+     */
+    Suggestion[] lookup(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        return node != null ? node.top : NONE;
+    }
+
+    /**
+     * Adds an entry under a term, replacing any entry with the same key there.
+     *
+     * @param term       normalized term
+     * @param suggestion the entry
+     */
+    void put(String term, Suggestion suggestion) {
+        Node[] path = new Node[term.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < term.length(); i++) {
+            Node child = path[i].children.get(term.charAt(i));
+            if (child == null) {
+                child = new Node();
+                path[i].children = path[i].children.with(term.charAt(i), child);
+            }
+            path[i + 1] = child;
+        }
+        Node leaf = path[term.length()];
+        if (leaf.terminals == null) {
+            leaf.terminals = new HashMap<>(2);
+        }
+        leaf.terminals.put(suggestion.key(), suggestion);
+        recompute(path, term.length());
+    }
+
+    /**
+     * Removes the entry with the given key from a term.
+     *
+     * @param term normalized term
+     * @param key  the entry key
+     */
+    void remove(String term, String key) {
+        Node[] path = new Node[term.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < term.length(); i++) {
+            Node child = path[i].children.get(term.charAt(i));
+            if (child == null) {
+                return;
+            }
+            path[i + 1] = child;
+        }
+        Node leaf = path[term.length()];
+        if (leaf.terminals == null || leaf.terminals.remove(key) == null) {
+            return;
+        }
+        if (leaf.terminals.isEmpty()) {
+            leaf.terminals = null;
+        }
+        // Prune nodes that no longer lead anywhere
+        int depth = term.length();
+        while (depth > 0 && path[depth].terminals == null && path[depth].children.isEmpty()) {
+            path[depth - 1].children = path[depth - 1].children.without(term.charAt(depth - 1));
+            depth--;
+        }
+        recompute(path, depth);
+    }
+
+    private void recompute(Node[] path, int deepest) {
+        for (int i = deepest; i >= 0; i--) {
+            Node node = path[i];
+            Map<String, Suggestion> candidates = new HashMap<>();
+            if (node.terminals != null) {
+                for (Suggestion s : node.terminals.values()) {
+                    candidates.merge(s.key(), s, PrefixTrie::newer);
+                }
+            }
+            for (Node child : node.children.nodes) {
+                for (Suggestion s : child.top) {
+                    candidates.merge(s.key(), s, PrefixTrie::newer);
+                }
+            }
+            Suggestion[] sorted = candidates.values().toArray(NONE);
+            Arrays.sort(sorted, RANKING);
+            node.top = sorted.length > topK ? Arrays.copyOf(sorted, topK) : sorted;
+        }
+    }
+
+    private static Suggestion newer(Suggestion a, Suggestion b) {
+        return a.popularity() >= b.popularity() ? a : b;
+    }
+
+    private static final class Node {
+        volatile Children children = Children.EMPTY;
+        volatile Suggestion[] top = NONE;
+        Map<String, Suggestion> terminals;
+    }
+
+    /** Immutable sorted child table. */
+    private record Children(char[] keys, Node[] nodes) {
+
+        static final Children EMPTY = new Children(new char[0], new Node[0]);
+
+        Node get(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? nodes[i] : null;
+        }
+
+        boolean isEmpty() {
+            return keys.length == 0;
+        }
+
+        Children with(char c, Node node) {
+            int i = -(Arrays.binarySearch(keys, c) + 1);
+            char[] k = new char[keys.length + 1];
+            Node[] n = new Node[nodes.length + 1];
+            System.arraycopy(keys, 0, k, 0, i);
+            System.arraycopy(nodes, 0, n, 0, i);
+            k[i] = c;
+            n[i] = node;
+            System.arraycopy(keys, i, k, i + 1, keys.length - i);
+            System.arraycopy(nodes, i, n, i + 1, nodes.length - i);
+            return new Children(k, n);
+        }
+
+        Children without(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i < 0) {
+                return this;
+            }
+            char[] k = new char[keys.length - 1];
+            Node[] n = new Node[nodes.length - 1];
+            System.arraycopy(keys, 0, k, 0, i);
+            System.arraycopy(nodes, 0, n, 0, i);
+            System.arraycopy(keys, i + 1, k, i, keys.length - i - 1);
+            System.arraycopy(nodes, i + 1, n, i, nodes.length - i - 1);
+            return new Children(k, n);
+        }
+    }
+}
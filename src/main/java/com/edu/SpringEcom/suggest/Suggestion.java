@@ -0,0 +1,25 @@
+package com.edu.SpringEcom.suggest;
+
+/**
+ * An entry in the {@link PrefixTrie}.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public record Suggestion(
+        /** Identity of the entry, e.g. {@code p:12} or {@code b:apple}. */
+        String key,
+
+        /** PRODUCT, BRAND or CATEGORY. */
+        String type,
+
+        /** Product ID for PRODUCT entries, {@code null} otherwise. */
+        Integer productId,
+
+        /** Text shown to the user. */
+        String label,
+
+        /** Ranking weight; higher comes first. */
+        long popularity) {
+}
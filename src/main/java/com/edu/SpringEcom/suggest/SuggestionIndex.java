@@ -0,0 +1,307 @@
+package com.edu.SpringEcom.suggest;
+
+import com.edu.SpringEcom.cache.EntityChange;
+import com.edu.SpringEcom.cache.InvalidationBus;
+import com.edu.SpringEcom.model.Product;
+import com.edu.SpringEcom.model.dto.ProductLabel;
+import com.edu.SpringEcom.model.dto.ProductSales;
+import com.edu.SpringEcom.repo.ProductRepo;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * In-memory typeahead index over product titles, brands and categories.
+ *
+ * <p>
+ * Built from the database once at startup (before the application reports
+ * ready) and then kept current incrementally:
+ * <ul>
+ * <li>{@link #upsert(ProductLabel)} / {@link #remove(int)} when products are
+ * saved or deleted</li>
+ * <li>{@link #recordSale(int, int)} when an order is placed, which raises the
+ * product's popularity and that of its brand and category</li>
+ * </ul>
+ * Product changes made on other nodes arrive through the
+ * {@link InvalidationBus} and re-index the product from the database.
+ * Titles are indexed from the start of every word, so "pro" finds
+ * "iPhone 15 Pro". Lookups never touch the database.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see PrefixTrie
+ */
+@Component
+public class SuggestionIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestionIndex.class);
+
+    private static final int MAX_TERM_LENGTH = 64;
+
+    @Value("${suggest.max-results:10}")
+    private int maxResults;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    private final Object writeLock = new Object();
+
+    private volatile PrefixTrie trie = new PrefixTrie(1);
+
+    // Guarded by writeLock
+    private final Map<Integer, ProductLabel> products = new HashMap<>();
+    private final Map<Integer, Long> unitsSold = new HashMap<>();
+    private final Map<String, Group> brands = new HashMap<>();
+    private final Map<String, Group> categories = new HashMap<>();
+
+    @PostConstruct
+    void init() {
+        invalidationBus.subscribe(change -> {
+            if (!EntityChange.PRODUCT.equals(change.entity()) || invalidationBus.nodeId().equals(change.origin())) {
+                return; // local writes update the index directly
+            }
+            if (EntityChange.ALL.equals(change.id())) {
+                rebuild();
+            } else {
+                int productId = Integer.parseInt(change.id());
+                productRepo.findLabelById(productId).ifPresentOrElse(this::upsert, () -> remove(productId));
+            }
+        });
+    }
+
+    /**
+     * Rebuilds the whole index from the database.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        List<ProductLabel> labels = productRepo.findAllLabels();
+        List<ProductSales> sales = productRepo.findUnitsSoldPerProduct();
+        synchronized (writeLock) {
+            products.clear();
+            unitsSold.clear();
+            brands.clear();
+            categories.clear();
+            trie = new PrefixTrie(maxResults);
+            for (ProductSales s : sales) {
+                unitsSold.put(s.productId(), s.unitsSold());
+            }
+            for (ProductLabel label : labels) {
+                add(label);
+            }
+        }
+        log.info("Suggestion index built with {} products in {} ms", labels.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @param prefix what the user has typed so far
+     * @param limit  maximum suggestions to return
+     * @return suggestions ranked by popularity, best first
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        Suggestion[] top = trie.lookup(normalized);
+        return Arrays.asList(top).subList(0, Math.min(Math.max(limit, 0), top.length));
+    }
+
+    /**
+     * @param productId a product
+     * @return the product's indexed title, brand and category, or {@code null}
+     *         if it isn't indexed (for example because it was deleted)
+     */
+    public ProductLabel label(int productId) {
+        synchronized (writeLock) {
+            return products.get(productId);
+        }
+    }
+
+    /**
+     * Adds or re-indexes a product after it was saved.
+     *
+     * @param product the saved product
+     */
+    public void upsert(Product product) {
+        upsert(new ProductLabel(product.getId(), product.getTitle(), product.getBrand(), product.getCategory()));
+    }
+
+    /**
+     * Adds or re-indexes a product after it was saved.
+     *
+     * @param label the product's text fields
+     */
+    public void upsert(ProductLabel label) {
+        synchronized (writeLock) {
+            ProductLabel previous = products.get(label.id());
+            if (previous != null) {
+                unindex(previous);
+            }
+            add(label);
+        }
+    }
+
+    /**
+     * Drops a product after it was deleted.
+     *
+     * @param productId the deleted product
+     */
+    public void remove(int productId) {
+        synchronized (writeLock) {
+            ProductLabel previous = products.get(productId);
+            if (previous != null) {
+                unindex(previous);
+            }
+            unitsSold.remove(productId);
+        }
+    }
+
+    /**
+     * Raises the popularity of a product, its brand and its category.
+     *
+     * @param productId the ordered product
+     * @param quantity  units ordered
+     */
+    public void recordSale(int productId, int quantity) {
+        synchronized (writeLock) {
+            ProductLabel label = products.get(productId);
+            if (label == null) {
+                return;
+            }
+            unitsSold.merge(productId, (long) quantity, Long::sum);
+            PrefixTrie t = trie;
+            Suggestion product = productSuggestion(label);
+            for (String term : terms(label.title())) {
+                t.put(term, product);
+            }
+            bump(brands, "BRAND", "b:", label.brand(), quantity);
+            bump(categories, "CATEGORY", "c:", label.category(), quantity);
+        }
+    }
+
+    private void add(ProductLabel label) {
+        products.put(label.id(), label);
+        PrefixTrie t = trie;
+        Suggestion product = productSuggestion(label);
+        for (String term : terms(label.title())) {
+            t.put(term, product);
+        }
+        long sold = unitsSold.getOrDefault(label.id(), 0L);
+        join(brands, "BRAND", "b:", label.brand(), sold);
+        join(categories, "CATEGORY", "c:", label.category(), sold);
+    }
+
+    private void unindex(ProductLabel label) {
+        products.remove(label.id());
+        PrefixTrie t = trie;
+        String key = "p:" + label.id();
+        for (String term : terms(label.title())) {
+            t.remove(term, key);
+        }
+        long sold = unitsSold.getOrDefault(label.id(), 0L);
+        leave(brands, "BRAND", "b:", label.brand(), sold);
+        leave(categories, "CATEGORY", "c:", label.category(), sold);
+    }
+
+    private Suggestion productSuggestion(ProductLabel label) {
+        return new Suggestion("p:" + label.id(), "PRODUCT", label.id(), label.title(),
+                unitsSold.getOrDefault(label.id(), 0L));
+    }
+
+    private void join(Map<String, Group> groups, String type, String keyPrefix, String name, long sold) {
+        String normalized = normalize(name);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        Group group = groups.computeIfAbsent(normalized, n -> new Group(name.trim()));
+        group.products++;
+        group.popularity += sold;
+        publish(type, keyPrefix + normalized, group);
+    }
+
+    private void leave(Map<String, Group> groups, String type, String keyPrefix, String name, long sold) {
+        String normalized = normalize(name);
+        Group group = groups.get(normalized);
+        if (group == null) {
+            return;
+        }
+        group.products--;
+        group.popularity -= sold;
+        if (group.products <= 0) {
+            groups.remove(normalized);
+            for (String term : terms(group.label)) {
+                trie.remove(term, keyPrefix + normalized);
+            }
+        } else {
+            publish(type, keyPrefix + normalized, group);
+        }
+    }
+
+    private void bump(Map<String, Group> groups, String type, String keyPrefix, String name, int quantity) {
+        String normalized = normalize(name);
+        Group group = groups.get(normalized);
+        if (group != null) {
+            group.popularity += quantity;
+            publish(type, keyPrefix + normalized, group);
+        }
+    }
+
+    private void publish(String type, String key, Group group) {
+        Suggestion suggestion = new Suggestion(key, type, null, group.label, group.popularity);
+        for (String term : terms(group.label)) {
+            trie.put(term, suggestion);
+        }
+    }
+
+    /**
+     * @return the normalized text plus every suffix that starts a word, each
+     *         capped at {@value #MAX_TERM_LENGTH} characters
+     */
+    private static List<String> terms(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        int from = 0;
+        while (from >= 0) {
+            String term = normalized.substring(from);
+            terms.add(term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term);
+            int space = normalized.indexOf(' ', from);
+            from = space >= 0 ? space + 1 : -1;
+        }
+        return terms;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    /** Brand or category aggregate. */
+    private static final class Group {
+        final String label;
+        int products;
+        long popularity;
+
+        Group(String label) {
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.edu.SpringEcom.warmup;
+
+import com.edu.SpringEcom.model.*;
+import com.edu.SpringEcom.model.dto.OrderItemRequest;
+import com.edu.SpringEcom.model.dto.OrderRequest;
+import com.edu.SpringEcom.model.dto.OrderResponse;
+import com.edu.SpringEcom.model.dto.ProductSales;
+import com.edu.SpringEcom.pricing.PricingEngine;
+import com.edu.SpringEcom.projection.ProductField;
+import com.edu.SpringEcom.repo.*;
+import com.edu.SpringEcom.service.OrderService;
+import com.edu.SpringEcom.service.ProductService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Runs a warm-up phase before the application reports itself ready.
+ *
+ * <p>
+ * Spring Boot only publishes {@link ReadinessState#ACCEPTING_TRAFFIC} after
+ * every {@link ApplicationRunner} has returned, so doing the work here keeps
+ * the instance out of the load balancer until:
+ * <ul>
+ * <li>The best-selling {@code warmup.top-products} products have been loaded
+ * into the product cache in one query, and the listing projection and the
+ * coupon lookup have run (Hibernate metadata, query plans)</li>
+ * <li>The {@code placeOrder} pricing path has been executed against synthetic
+ * data inside a transaction that is always rolled back</li>
+ * <li>Jackson serializers for {@link Product} and {@link OrderResponse} have
+ * been built and run</li>
+ * </ul>
+ * Warm-up touches a bounded set of hot rows, never the whole catalogue. Each
+ * step is timed and reported; a failing step is logged and skipped so a
+ * warm-up problem never prevents the application from starting. It runs after
+ * every other {@link ApplicationRunner}, so the orders it reads have already
+ * been through {@link com.edu.SpringEcom.service.OrderStatusBackfill}.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see OrderService#placeOrder(OrderRequest)
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private static final List<ProductField> LISTING_FIELDS = List.of(ProductField.ID, ProductField.TITLE,
+            ProductField.PRICE, ProductField.CATEGORY, ProductField.IMAGE_URL);
+
+    @Value("${warmup.enabled:true}")
+    private boolean enabled;
+
+    /** Number of times each step is repeated so the JIT sees hot code. */
+    @Value("${warmup.iterations:50}")
+    private int iterations;
+
+    /** Best-selling products loaded into the product cache. */
+    @Value("${warmup.top-products:100}")
+    private int topProducts;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private CouponRepo couponRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private AddressRepo addressRepo;
+
+    @Autowired
+    private OrderRepo orderRepo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        AvailabilityChangeEvent.publish(context, ReadinessState.REFUSING_TRAFFIC);
+
+        Map<String, Long> timings = new LinkedHashMap<>();
+        long start = System.nanoTime();
+
+        step(timings, "catalog", this::warmCatalog);
+        step(timings, "pricing-rules", pricingEngine::reload);
+        step(timings, "repository-queries", this::warmRepositoryQueries);
+        step(timings, "suggest", this::warmSuggest);
+        step(timings, "place-order", this::warmPlaceOrder);
+        step(timings, "json", this::warmJson);
+
+        long totalMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Warm-up finished in {} ms, per step (ms): {}", totalMs, timings);
+    }
+
+    private void step(Map<String, Long> timings, String name, Runnable work) {
+        long start = System.nanoTime();
+        try {
+            work.run();
+        } catch (RuntimeException e) {
+            log.warn("Warm-up step '{}' failed: {}", name, e.getMessage());
+        }
+        timings.put(name, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void warmCatalog() {
+        // Listing through the projection, so no image data is read
+        productService.getAllProducts(LISTING_FIELDS);
+        List<Integer> hot = productRepo.findUnitsSoldPerProduct().stream()
+                .sorted(Comparator.comparing(ProductSales::unitsSold).reversed())
+                .limit(topProducts)
+                .map(ProductSales::productId)
+                .toList();
+        if (!hot.isEmpty()) {
+            productService.getProductSummaries(hot);
+        }
+    }
+
+    private void warmRepositoryQueries() {
+        for (int i = 0; i < iterations; i++) {
+            productService.searchProducts("warmup-" + i);
+            orderRepo.findByOrderId("WARMUP");
+            couponRepo.findByCode("WARMUP");
+            userRepo.findByEmail("warmup@warmup.invalid");
+        }
+    }
+
+    private void warmSuggest() {
+        for (int i = 0; i < iterations; i++) {
+            for (char c = 'a'; c <= 'z'; c++) {
+                productService.suggest(String.valueOf(c), 10);
+            }
+        }
+    }
+
+    /**
+     * Drives {@link OrderService#placeOrder(OrderRequest)} end to end with a
+     * synthetic user, address, product and coupon. Everything happens in one
+     * transaction that is marked rollback-only, so nothing is left behind; the
+     * order side effects that run after commit (search ranking, co-purchase
+     * counts, webhooks) never see these orders. The synthetic coupon has to be
+     * in the published pricing rules while the orders are placed, so the rules
+     * are reloaded again afterwards whether or not the orders went through.
+     */
+    private void warmPlaceOrder() {
+        try {
+            placeSyntheticOrders();
+        } finally {
+            // Drop the rolled-back synthetic coupon from the published rules
+            pricingEngine.reload();
+        }
+    }
+
+    private void placeSyntheticOrders() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            String tag = UUID.randomUUID().toString().substring(0, 8);
+
+            User user = new User();
+            user.setName("warmup");
+            user.setEmail("warmup-" + tag + "@warmup.invalid");
+            user = userRepo.save(user);
+
+            Address address = new Address();
+            address.setStreet("warmup");
+            address.setCity("warmup");
+            address.setZipCode("00000");
+            address.setUser(user);
+            address = addressRepo.save(address);
+
+            Product product = new Product();
+            product.setTitle("warmup");
+            product.setPrice(Money.ofMinor(1999));
+            product.setAvailability(true);
+            product.setStockQuantity(Integer.MAX_VALUE);
+            product = productRepo.save(product);
+
+            Coupon coupon = new Coupon();
+            coupon.setCode("WARMUP-" + tag);
+            coupon.setDiscountPercentage(BigDecimal.TEN);
+            coupon.setExpiryDate(LocalDate.now().plusDays(1));
+            coupon.setActive(true);
+            couponRepo.save(coupon);
+            pricingEngine.reload();
+
+            List<OrderItemRequest> items = List.of(new OrderItemRequest(product.getId(), 1));
+            for (int i = 0; i < iterations; i++) {
+                orderService.placeOrder(new OrderRequest(user.getId(), address.getId(), coupon.getCode(), items));
+            }
+        });
+    }
+
+    private void warmJson() {
+        Product product = new Product();
+        product.setId(0);
+        product.setTitle("warmup");
+        product.setPrice(Money.ofMinor(1999));
+        product.setReleaseDate(new Date());
+        product.setCreateDate(new Date());
+        product.setImageData(new byte[64]);
+
+        OrderResponse response = new OrderResponse("WARMUP00", "warmup", "warmup@warmup.invalid",
+                OrderStatus.PLACED, LocalDate.now(), BigDecimal.TEN, BigDecimal.ONE, BigDecimal.valueOf(9), List.of());
+
+        for (int i = 0; i < iterations; i++) {
+            objectMapper.writeValueAsBytes(product);
+            objectMapper.writeValueAsBytes(response);
+            objectMapper.readValue(objectMapper.writeValueAsBytes(product), Product.class);
+        }
+    }
+}
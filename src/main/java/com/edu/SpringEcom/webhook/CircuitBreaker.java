@@ -0,0 +1,90 @@
+package com.edu.SpringEcom.webhook;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker for one webhook endpoint.
+ *
+ * <p>
+ * <em>Closed</em>: batches are sent. After {@code failureThreshold}
+ * consecutive failed batches it <em>opens</em>: nothing is sent for
+ * {@code openMs}. Then it is <em>half open</em>: one batch is let through as
+ * a probe; success closes the breaker, failure opens it again.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see WebhookDispatcher
+ */
+final class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    // Guarded by this
+    private State state = State.CLOSED;
+    private int failures;
+    private long openUntil;
+    private boolean probing;
+
+    CircuitBreaker(int failureThreshold, long openMs) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMs);
+    }
+
+    /**
+     * @return {@code true} if a batch may be sent now; in half-open state only
+     *         the first caller gets {@code true}, as the probe
+     */
+    synchronized boolean tryAcquire() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> {
+                if (System.nanoTime() - openUntil < 0) {
+                    yield false;
+                }
+                state = State.HALF_OPEN;
+                probing = true;
+                yield true;
+            }
+            case HALF_OPEN -> {
+                if (probing) {
+                    yield false;
+                }
+                probing = true;
+                yield true;
+            }
+        };
+    }
+
+    /** @return {@code false} while {@link #tryAcquire()} would certainly refuse */
+    synchronized boolean mightAcquire() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> System.nanoTime() - openUntil >= 0;
+            case HALF_OPEN -> !probing;
+        };
+    }
+
+    synchronized void onSuccess() {
+        state = State.CLOSED;
+        failures = 0;
+        probing = false;
+    }
+
+    synchronized void onFailure() {
+        probing = false;
+        if (state == State.HALF_OPEN || ++failures >= failureThreshold) {
+            state = State.OPEN;
+            failures = 0;
+            openUntil = System.nanoTime() + openNanos;
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+}
@@ -0,0 +1,466 @@
+package com.edu.SpringEcom.webhook;
+
+import com.edu.SpringEcom.cache.EntityChange;
+import com.edu.SpringEcom.cache.InvalidationBus;
+import com.edu.SpringEcom.model.OrderStatus;
+import com.edu.SpringEcom.model.WebhookDelivery;
+import com.edu.SpringEcom.model.WebhookEndpoint;
+import com.edu.SpringEcom.model.dto.WebhookEvent;
+import com.edu.SpringEcom.repo.WebhookDeliveryRepo;
+import com.edu.SpringEcom.repo.WebhookEndpointRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.ObjectMapper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers order events to partner webhook endpoints off the request path.
+ *
+ * <p>
+ * {@link #orderPlaced(String)} and {@link #orderStatusChanged(String, OrderStatus)}
+ * only queue the event in memory, once the caller's transaction commits, so
+ * rolled-back changes are never announced. Every {@code webhooks.dispatch-ms} the queue
+ * is written to {@code webhook_deliveries}, one row per event and endpoint,
+ * and due deliveries are sent: each node claims up to
+ * {@code webhooks.claim-limit} rows so no other node sends them too, and posts
+ * them to each endpoint in batches of up to {@code webhooks.batch-size} with
+ * one shared, non-blocking {@link HttpClient} that keeps connections open
+ * between batches; results are written by {@code webhooks.result-threads}
+ * threads of their own. A 2xx response deletes the batch; anything else schedules
+ * it again after an exponential backoff with jitter, from
+ * {@code webhooks.retry.initial-ms} doubling up to {@code webhooks.retry.max-ms},
+ * and after {@code webhooks.retry.max-attempts} the rows are kept as dead.
+ * </p>
+ *
+ * <p>
+ * Each endpoint has a {@link CircuitBreaker} on each node, so a failing
+ * partner gets one probe batch per {@code webhooks.breaker.open-ms} instead of
+ * every retry. Deliveries survive restarts: the queue is written out at
+ * shutdown, and rows a node had claimed but not finished become due again
+ * once the claim lapses. Events queued but not yet written are lost if the
+ * process dies, which is at most one dispatch interval's worth. With nothing
+ * queued locally the table is checked only every
+ * {@code webhooks.idle-poll-ms}, for retries and other nodes' leftovers.
+ * Nothing is dispatched while the application refuses traffic, e.g. during
+ * warm-up.
+ * </p>
+ *
+ * <p>
+ * Requests carry {@code X-Webhook-Signature: sha256=<hex>}, the HMAC-SHA256
+ * of the body under the endpoint's secret, when it has one. Metrics:
+ * {@code webhooks.deliveries} counts events by {@code result}
+ * ({@code delivered}, {@code failed}, {@code dead}) and
+ * {@code webhooks.events.dropped} counts events dropped because the queue was
+ * full.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ * @see WebhookEvent
+ */
+@Component
+public class WebhookDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookDispatcher.class);
+
+    /** Time a claim outlives the request timeout, for the result to be written. */
+    private static final long CLAIM_MARGIN_MS = 30_000;
+
+    private static final List<Long> NO_ENDPOINT = List.of(-1L);
+
+    @Autowired
+    private WebhookEndpointRepo endpointRepo;
+
+    @Autowired
+    private WebhookDeliveryRepo deliveryRepo;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Value("${webhooks.enabled:true}")
+    private boolean enabled;
+
+    @Value("${webhooks.batch-size:50}")
+    private int batchSize;
+
+    @Value("${webhooks.claim-limit:1000}")
+    private int claimLimit;
+
+    @Value("${webhooks.max-queued:100000}")
+    private int maxQueued;
+
+    @Value("${webhooks.idle-poll-ms:5000}")
+    private long idlePollMs;
+
+    @Value("${webhooks.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${webhooks.request-timeout-ms:10000}")
+    private long requestTimeoutMs;
+
+    @Value("${webhooks.retry.initial-ms:1000}")
+    private long retryInitialMs;
+
+    @Value("${webhooks.retry.max-ms:600000}")
+    private long retryMaxMs;
+
+    @Value("${webhooks.retry.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${webhooks.breaker.failure-threshold:5}")
+    private int breakerFailureThreshold;
+
+    @Value("${webhooks.breaker.open-ms:60000}")
+    private long breakerOpenMs;
+
+    @Value("${webhooks.result-threads:2}")
+    private int resultThreads;
+
+    private final String node = UUID.randomUUID().toString();
+    private final AtomicLong claims = new AtomicLong();
+    private final ConcurrentLinkedQueue<WebhookEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Map<Long, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    /** System.nanoTime() at which to look for due deliveries even with nothing queued. */
+    private final AtomicLong nextPoll = new AtomicLong(System.nanoTime());
+    private volatile Map<Long, WebhookEndpoint> endpoints = Map.of();
+
+    private HttpClient http;
+    /** Writes send results, so the client's own threads never wait on the database. */
+    private ThreadPoolExecutor results;
+    private Counter delivered;
+    private Counter failed;
+    private Counter dead;
+    private Counter dropped;
+
+    @PostConstruct
+    void init() {
+        http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        AtomicInteger threads = new AtomicInteger();
+        // At most one claim's worth of batches waits; beyond that the completing thread writes its own result
+        results = new ThreadPoolExecutor(resultThreads, resultThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, claimLimit / Math.max(1, batchSize))), task -> {
+                    Thread thread = new Thread(task, "webhook-results-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        delivered = Counter.builder("webhooks.deliveries").tag("result", "delivered").register(meterRegistry);
+        failed = Counter.builder("webhooks.deliveries").tag("result", "failed").register(meterRegistry);
+        dead = Counter.builder("webhooks.deliveries").tag("result", "dead").register(meterRegistry);
+        dropped = Counter.builder("webhooks.events.dropped").register(meterRegistry);
+        invalidationBus.subscribe(change -> {
+            if (EntityChange.WEBHOOK.equals(change.entity())) {
+                reloadEndpoints();
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writeQueued();
+        http.close();
+        results.shutdown();
+        try {
+            results.awaitTermination(requestTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queues an {@link WebhookEvent#ORDER_PLACED} event.
+     *
+     * @param orderId the new order
+     */
+    public void orderPlaced(String orderId) {
+        publish(WebhookEvent.ORDER_PLACED, orderId, OrderStatus.PLACED);
+    }
+
+    /**
+     * Queues an {@link WebhookEvent#ORDER_STATUS_CHANGED} event.
+     *
+     * @param orderId the order
+     * @param status  its new status
+     */
+    public void orderStatusChanged(String orderId, OrderStatus status) {
+        publish(WebhookEvent.ORDER_STATUS_CHANGED, orderId, status);
+    }
+
+    /**
+     * @param endpointId an endpoint
+     * @return this node's circuit breaker state for it
+     */
+    public String circuitState(Long endpointId) {
+        CircuitBreaker breaker = breakers.get(endpointId);
+        return (breaker != null ? breaker.state() : CircuitBreaker.State.CLOSED).name();
+    }
+
+    /**
+     * Reloads the registered endpoints. Runs at startup and whenever any node
+     * changes them.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void reloadEndpoints() {
+        Map<Long, WebhookEndpoint> loaded = new LinkedHashMap<>();
+        for (WebhookEndpoint endpoint : endpointRepo.findAll()) {
+            loaded.put(endpoint.getId(), endpoint);
+        }
+        endpoints = loaded;
+        breakers.keySet().retainAll(loaded.keySet());
+        nextPoll.set(System.nanoTime());
+    }
+
+    /**
+     * Writes queued events out and sends what is due.
+     */
+    @Scheduled(fixedDelayString = "${webhooks.dispatch-ms:200}")
+    public void dispatch() {
+        if (availability.getReadinessState() == ReadinessState.REFUSING_TRAFFIC) {
+            return; // still warming up, or shutting down; the queue is written out at shutdown
+        }
+        boolean wrote = writeQueued();
+        if (!wrote && System.nanoTime() - nextPoll.get() < 0) {
+            return;
+        }
+        nextPoll.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(idlePollMs));
+        try {
+            List<Long> skipped = new ArrayList<>();
+            for (Map.Entry<Long, CircuitBreaker> entry : breakers.entrySet()) {
+                if (!entry.getValue().mightAcquire()) {
+                    skipped.add(entry.getKey());
+                }
+            }
+            if (skipped.isEmpty()) {
+                skipped = NO_ENDPOINT;
+            }
+            sendDue(skipped);
+            deliveryRepo.findNextAttemptAt(skipped).ifPresent(at -> pollAt(Duration.between(Instant.now(), at)));
+        } catch (RuntimeException e) {
+            log.warn("Could not dispatch webhooks: {}", e.getMessage());
+        }
+    }
+
+    private void publish(String type, String orderId, OrderStatus status) {
+        if (!enabled || endpoints.isEmpty()) {
+            return;
+        }
+        // Only changes that commit are announced; a rolled-back order (or warm-up) sends nothing
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(type, orderId, status);
+                }
+            });
+        } else {
+            enqueue(type, orderId, status);
+        }
+    }
+
+    private void enqueue(String type, String orderId, OrderStatus status) {
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            dropped.increment();
+            return;
+        }
+        queue.add(new WebhookEvent(UUID.randomUUID().toString(), type, orderId, status, Instant.now()));
+    }
+
+    /** @return whether any deliveries were written */
+    private boolean writeQueued() {
+        List<WebhookEvent> events = new ArrayList<>();
+        for (WebhookEvent event; (event = queue.poll()) != null; ) {
+            events.add(event);
+        }
+        queued.addAndGet(-events.size());
+        Map<Long, WebhookEndpoint> targets = endpoints;
+        if (events.isEmpty() || targets.isEmpty()) {
+            return false;
+        }
+        Instant now = Instant.now();
+        List<WebhookDelivery> deliveries = new ArrayList<>(events.size() * targets.size());
+        for (WebhookEvent event : events) {
+            String payload = objectMapper.writeValueAsString(event);
+            for (Long endpointId : targets.keySet()) {
+                deliveries.add(new WebhookDelivery(null, endpointId, payload, 0, now, null, null, false, null, now));
+            }
+        }
+        try {
+            deliveryRepo.saveAll(deliveries);
+            return true;
+        } catch (RuntimeException e) {
+            // Keep them for the next run rather than lose them
+            queue.addAll(events);
+            queued.addAndGet(events.size());
+            log.warn("Could not store {} webhook events: {}", events.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void sendDue(List<Long> skipped) {
+        Instant now = Instant.now();
+        List<Long> ids = deliveryRepo.findDueIds(now, skipped, PageRequest.of(0, claimLimit));
+        if (ids.isEmpty()) {
+            return;
+        }
+        String claim = node + "/" + claims.incrementAndGet();
+        deliveryRepo.claim(ids, claim, now.plusMillis(requestTimeoutMs + CLAIM_MARGIN_MS), now);
+        List<WebhookDelivery> claimed = deliveryRepo.findByLockedByOrderById(claim);
+        if (ids.size() == claimLimit) {
+            nextPoll.set(System.nanoTime()); // more are waiting
+        }
+
+        Map<Long, List<WebhookDelivery>> byEndpoint = new LinkedHashMap<>();
+        for (WebhookDelivery delivery : claimed) {
+            byEndpoint.computeIfAbsent(delivery.getEndpointId(), id -> new ArrayList<>()).add(delivery);
+        }
+        Map<Long, WebhookEndpoint> targets = endpoints;
+        for (Map.Entry<Long, List<WebhookDelivery>> entry : byEndpoint.entrySet()) {
+            WebhookEndpoint endpoint = targets.get(entry.getKey());
+            List<WebhookDelivery> deliveries = entry.getValue();
+            if (endpoint == null) {
+                // Registered on another node after the last reload, or removed since the rows were written
+                deliveryRepo.unclaim(ids(deliveries));
+                continue;
+            }
+            CircuitBreaker breaker = breakers.computeIfAbsent(endpoint.getId(),
+                    id -> new CircuitBreaker(breakerFailureThreshold, breakerOpenMs));
+            for (int start = 0; start < deliveries.size(); start += batchSize) {
+                List<WebhookDelivery> batch = deliveries.subList(start, Math.min(start + batchSize, deliveries.size()));
+                if (!breaker.tryAcquire()) {
+                    deliveryRepo.unclaim(ids(deliveries.subList(start, deliveries.size())));
+                    break;
+                }
+                send(endpoint, batch, breaker);
+            }
+        }
+    }
+
+    private void send(WebhookEndpoint endpoint, List<WebhookDelivery> batch, CircuitBreaker breaker) {
+        StringBuilder body = new StringBuilder("{\"events\":[");
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append(batch.get(i).getPayload());
+        }
+        body.append("]}");
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(endpoint.getUrl()))
+                .timeout(Duration.ofMillis(requestTimeoutMs))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()));
+        if (endpoint.getSecret() != null && !endpoint.getSecret().isEmpty()) {
+            request.header("X-Webhook-Signature", "sha256=" + sign(endpoint.getSecret(), body.toString()));
+        }
+        List<Long> ids = ids(batch);
+        int attempts = batch.stream().mapToInt(WebhookDelivery::getAttempts).max().orElse(0) + 1;
+        http.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding()).whenCompleteAsync((response, error) -> {
+            try {
+                if (error == null && response.statusCode() / 100 == 2) {
+                    breaker.onSuccess();
+                    deliveryRepo.deleteAllByIdInBatch(ids);
+                    delivered.increment(ids.size());
+                } else {
+                    breaker.onFailure();
+                    retryLater(endpoint, ids, attempts, error != null
+                            ? error.getClass().getSimpleName() + ": " + error.getMessage()
+                            : "HTTP " + response.statusCode());
+                }
+            } catch (RuntimeException e) {
+                // The claim lapses and the batch is sent again
+                log.warn("Could not record webhook result for endpoint {}: {}", endpoint.getId(), e.getMessage());
+            }
+        }, results);
+    }
+
+    private void retryLater(WebhookEndpoint endpoint, List<Long> ids, int attempts, String error) {
+        long backoff = Math.min(retryMaxMs, retryInitialMs << Math.min(attempts - 1, 30));
+        long delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        String reason = error.length() > 500 ? error.substring(0, 500) : error;
+        deliveryRepo.retryLater(ids, Instant.now().plusMillis(delay), reason, maxAttempts);
+        if (attempts >= maxAttempts) {
+            dead.increment(ids.size());
+            log.warn("Gave up on {} webhook events for endpoint {} after {} attempts: {}", ids.size(),
+                    endpoint.getId(), attempts, reason);
+        } else {
+            failed.increment(ids.size());
+            pollAt(Duration.ofMillis(delay));
+        }
+    }
+
+    /** Brings the next look for due deliveries forward to {@code delay} from now, if that is sooner. */
+    private void pollAt(Duration delay) {
+        long at = System.nanoTime() + Math.max(0, delay.toNanos());
+        nextPoll.accumulateAndGet(at, (current, wanted) -> wanted - current < 0 ? wanted : current);
+    }
+
+    private static List<Long> ids(List<WebhookDelivery> deliveries) {
+        List<Long> ids = new ArrayList<>(deliveries.size());
+        for (WebhookDelivery delivery : deliveries) {
+            ids.add(delivery.getId());
+        }
+        return ids;
+    }
+
+    private static String sign(String secret, String body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(body.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.edu.SpringEcom.archive;
+
+import com.edu.SpringEcom.model.Money;
+import com.edu.SpringEcom.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for writing, reopening and reading {@link OrderSegment} files.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+class OrderSegmentTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 1);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsEveryOrderThroughAReopenedFile() throws IOException {
+        List<ArchivedOrder> orders = orders(25);
+        Path file = dir.resolve("seg-1.bin");
+        OrderSegment.write(file, orders, 4);
+
+        OrderSegment segment = OrderSegment.open(file);
+        assertEquals(25, segment.size());
+        for (ArchivedOrder order : orders) {
+            assertEquals(order, segment.find(order.orderId()));
+        }
+        List<ArchivedOrder> all = new ArrayList<>();
+        segment.forEach(null, null, all::add);
+        assertEquals(orders, all);
+    }
+
+    @Test
+    void findMissesIdsOutsideOrBetweenOrders() throws IOException {
+        OrderSegment segment = OrderSegment.write(dir.resolve("seg.bin"), orders(10), 3);
+        assertNull(segment.find("A"));
+        assertNull(segment.find("Z"));
+        assertNull(segment.find("O00005X")); // sorts between O00005 and O00006
+    }
+
+    @Test
+    void forEachKeepsInclusiveDateBounds() throws IOException {
+        // Order i is dated DAY + i
+        OrderSegment segment = OrderSegment.write(dir.resolve("seg.bin"), orders(20), 4);
+        assertEquals(List.of("O00005", "O00006", "O00007"),
+                ids(segment, DAY.plusDays(5), DAY.plusDays(7)));
+        assertEquals(List.of("O00018", "O00019"), ids(segment, DAY.plusDays(18), null));
+        assertEquals(List.of("O00000", "O00001"), ids(segment, null, DAY.plusDays(1)));
+        assertEquals(List.of(), ids(segment, DAY.plusDays(100), null));
+        assertEquals(List.of(), ids(segment, null, DAY.minusDays(1)));
+    }
+
+    @Test
+    void keepsMissingFields() throws IOException {
+        ArchivedOrder sparse = new ArchivedOrder("O1", null, null, null, null, null, null, null,
+                List.of(new ArchivedOrder.Item(null, null, 2, null)));
+        OrderSegment.write(dir.resolve("seg.bin"), List.of(sparse), 8);
+        assertEquals(sparse, OrderSegment.open(dir.resolve("seg.bin")).find("O1"));
+    }
+
+    @Test
+    void refusesTruncatedOrForeignFiles() throws IOException {
+        Path file = dir.resolve("seg.bin");
+        OrderSegment.write(file, orders(5), 2);
+        byte[] bytes = Files.readAllBytes(file);
+
+        Path truncated = dir.resolve("truncated.bin");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 3));
+        assertThrows(IOException.class, () -> OrderSegment.open(truncated));
+
+        Path foreign = dir.resolve("foreign.bin");
+        Files.write(foreign, "not an order segment at all".getBytes());
+        assertThrows(IOException.class, () -> OrderSegment.open(foreign));
+
+        Path tiny = dir.resolve("tiny.bin");
+        Files.write(tiny, new byte[4]);
+        assertThrows(IOException.class, () -> OrderSegment.open(tiny));
+    }
+
+    @Test
+    void leavesNoTemporaryFilesBehind() throws IOException {
+        OrderSegment.write(dir.resolve("seg.bin"), orders(3), 2);
+        try (var files = Files.list(dir)) {
+            assertFalse(files.anyMatch(path -> path.toString().endsWith(".tmp")));
+        }
+    }
+
+    private static List<String> ids(OrderSegment segment, LocalDate from, LocalDate to) throws IOException {
+        List<String> ids = new ArrayList<>();
+        segment.forEach(from, to, order -> ids.add(order.orderId()));
+        return ids;
+    }
+
+    /** Orders {@code O00000..}, sorted by ID, order {@code i} dated {@code DAY + i}. */
+    private static List<ArchivedOrder> orders(int count) {
+        List<ArchivedOrder> orders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<ArchivedOrder.Item> items = new ArrayList<>();
+            for (int j = 0; j <= i % 3; j++) {
+                items.add(new ArchivedOrder.Item(100 + j, "Product é " + j, j + 1, Money.ofMinor(999L * (j + 1))));
+            }
+            orders.add(new ArchivedOrder(String.format("O%05d", i), "Customer " + i, "c" + i + "@example.test",
+                    OrderStatus.values()[i % OrderStatus.values().length], DAY.plusDays(i),
+                    Money.ofMinor(1000 + i), Money.ofMinor(i), Money.ofMinor(1000), items));
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,136 @@
+package com.edu.SpringEcom.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link BloomFilter}.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+class BloomFilterTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(KEYS, 0.01, 1 << 20);
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(filter.mightContain(BloomFilter.hash("user" + i + "@example.com")));
+        }
+        assertEquals(0.0, filter.expectedFalsePositiveRate());
+    }
+
+    @Test
+    void neverForgetsAnAddedKey() {
+        BloomFilter filter = new BloomFilter(KEYS, 0.01, 1 << 20);
+        for (int i = 0; i < KEYS; i++) {
+            filter.put(BloomFilter.hash("user" + i + "@example.com"));
+        }
+        for (int i = 0; i < KEYS; i++) {
+            assertTrue(filter.mightContain(BloomFilter.hash("user" + i + "@example.com")), "user" + i);
+        }
+    }
+
+    @Test
+    void falsePositiveRateIsNearTheTarget() {
+        BloomFilter filter = new BloomFilter(KEYS, 0.01, 1 << 20);
+        for (int i = 0; i < KEYS; i++) {
+            filter.put(BloomFilter.hash("user" + i + "@example.com"));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < KEYS; i++) {
+            if (filter.mightContain(BloomFilter.hash("other" + i + "@example.com"))) {
+                falsePositives++;
+            }
+        }
+        double measured = (double) falsePositives / KEYS;
+        assertTrue(measured < 0.015, "measured " + measured);
+        assertEquals(filter.expectedFalsePositiveRate(), measured, 0.005);
+    }
+
+    @Test
+    void respectsTheMemoryBudget() {
+        BloomFilter capped = new BloomFilter(KEYS, 0.01, 4096);
+        assertEquals(4096, capped.byteSize());
+        for (int i = 0; i < KEYS; i++) {
+            capped.put(BloomFilter.hash("user" + i + "@example.com"));
+        }
+        assertTrue(capped.expectedFalsePositiveRate() > 0.01);
+        assertTrue(capped.mightContain(BloomFilter.hash("user0@example.com")));
+
+        // Degenerate sizes still get a usable filter
+        BloomFilter tiny = new BloomFilter(0, 0.5, 0);
+        assertEquals(8, tiny.byteSize());
+        tiny.put(BloomFilter.hash("only"));
+        assertTrue(tiny.mightContain(BloomFilter.hash("only")));
+    }
+
+    @Test
+    void firstAndLastBitsAreReachable() {
+        BloomFilter filter = new BloomFilter(1, 0.5, 8);
+        long lowest = 0L;               // h1 = 0, h2 = 0: every probe hits bit 0
+        long highest = 0xFFFFFFFFL;     // h1 = -1, h2 = 0: every probe hits the last bit
+        assertFalse(filter.mightContain(lowest));
+        assertFalse(filter.mightContain(highest));
+        filter.put(lowest);
+        double oneBit = filter.expectedFalsePositiveRate();
+        assertTrue(filter.mightContain(lowest));
+        assertFalse(filter.mightContain(highest));
+        filter.put(lowest);
+        assertEquals(oneBit, filter.expectedFalsePositiveRate());
+        filter.put(highest);
+        assertTrue(filter.mightContain(highest));
+        assertTrue(filter.expectedFalsePositiveRate() > oneBit);
+    }
+
+    @Test
+    void hashIsStableAndSpreadsSimilarKeys() {
+        assertEquals(BloomFilter.hash("alice@example.com"), BloomFilter.hash("alice@example.com"));
+        assertNotEquals(BloomFilter.hash("alice@example.com"), BloomFilter.hash("alicf@example.com"));
+        assertNotEquals(BloomFilter.hash("ab"), BloomFilter.hash("ba"));
+        assertNotEquals(BloomFilter.hash(""), BloomFilter.hash("\0"));
+    }
+
+    @Test
+    void concurrentPutsCountEachBitOnce() throws Exception {
+        BloomFilter sequential = new BloomFilter(KEYS, 0.01, 1 << 20);
+        BloomFilter concurrent = new BloomFilter(KEYS, 0.01, 1 << 20);
+        for (int i = 0; i < KEYS; i++) {
+            sequential.put(BloomFilter.hash("user" + i + "@example.com"));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                // Every thread adds every key, so threads race on the same bits
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < KEYS; i++) {
+                        concurrent.put(BloomFilter.hash("user" + i + "@example.com"));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(sequential.expectedFalsePositiveRate(), concurrent.expectedFalsePositiveRate());
+        for (int i = 0; i < KEYS; i++) {
+            assertTrue(concurrent.mightContain(BloomFilter.hash("user" + i + "@example.com")));
+        }
+    }
+}
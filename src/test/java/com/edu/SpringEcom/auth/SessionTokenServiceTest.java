@@ -0,0 +1,83 @@
+package com.edu.SpringEcom.auth;
+
+import com.edu.SpringEcom.model.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link SessionTokenService} signing and expiry.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+class SessionTokenServiceTest {
+
+    private static final SessionUser CUSTOMER = new SessionUser(42L, Role.CUSTOMER);
+
+    @Test
+    void verifiesWhatItIssued() {
+        SessionTokenService tokens = service("secret", 60);
+        SessionToken token = tokens.issue(CUSTOMER);
+        assertEquals(Optional.of(CUSTOMER), tokens.verify(token.value()));
+        assertTrue(token.expiresAt().isAfter(Instant.now().plusSeconds(59 * 60)));
+    }
+
+    @Test
+    void rejectsTamperedPayload() {
+        SessionTokenService tokens = service("secret", 60);
+        String token = tokens.issue(CUSTOMER).value();
+        assertEquals(Optional.empty(), tokens.verify(token.replace(".CUSTOMER.", ".ADMIN.")));
+        assertEquals(Optional.empty(), tokens.verify(token.replaceFirst("^42\\.", "43.")));
+    }
+
+    @Test
+    void rejectsTamperedSignature() {
+        SessionTokenService tokens = service("secret", 60);
+        String token = tokens.issue(CUSTOMER).value();
+        char last = token.charAt(token.length() - 1);
+        String flipped = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+        assertEquals(Optional.empty(), tokens.verify(flipped));
+        assertEquals(Optional.empty(), tokens.verify(token.substring(0, token.length() - 1)));
+    }
+
+    @Test
+    void rejectsTokensSignedWithAnotherSecret() {
+        String token = service("secret", 60).issue(CUSTOMER).value();
+        assertEquals(Optional.empty(), service("other-secret", 60).verify(token));
+    }
+
+    @Test
+    void randomKeysDifferPerInstance() {
+        String token = service("", 60).issue(CUSTOMER).value();
+        assertEquals(Optional.empty(), service("", 60).verify(token));
+    }
+
+    @Test
+    void rejectsExpiredTokens() {
+        SessionTokenService expired = service("secret", -1);
+        assertEquals(Optional.empty(), expired.verify(expired.issue(CUSTOMER).value()));
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        SessionTokenService tokens = service("secret", 60);
+        for (String token : new String[] {"", ".", "abc", ".sig", "42.CUSTOMER.sig", "42.NOBODY.9999999999.x"}) {
+            assertEquals(Optional.empty(), tokens.verify(token), token);
+        }
+    }
+
+    private static SessionTokenService service(String secret, long ttlMinutes) {
+        SessionTokenService service = new SessionTokenService();
+        ReflectionTestUtils.setField(service, "secret", secret);
+        ReflectionTestUtils.setField(service, "ttlMinutes", ttlMinutes);
+        service.init();
+        return service;
+    }
+}
@@ -0,0 +1,47 @@
+package com.edu.SpringEcom.auth;
+
+import com.edu.SpringEcom.model.Role;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link SessionUser#actingUserId(SessionUser, Long, boolean)}.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+class SessionUserTest {
+
+    private static final SessionUser CUSTOMER = new SessionUser(7L, Role.CUSTOMER);
+    private static final SessionUser ADMIN = new SessionUser(1L, Role.ADMIN);
+
+    @Test
+    void anonymousRequestsCannotNameAUser() {
+        assertThrows(RuntimeException.class, () -> SessionUser.actingUserId(null, 7L, false));
+        assertNull(SessionUser.actingUserId(null, null, false));
+    }
+
+    @Test
+    void anonymousUserIdsAreTrustedOnlyWhenEnabled() {
+        assertEquals(7L, SessionUser.actingUserId(null, 7L, true));
+        assertNull(SessionUser.actingUserId(null, null, true));
+    }
+
+    @Test
+    void customersActAsThemselves() {
+        assertEquals(7L, SessionUser.actingUserId(CUSTOMER, null, false));
+        assertEquals(7L, SessionUser.actingUserId(CUSTOMER, 7L, false));
+        assertThrows(RuntimeException.class, () -> SessionUser.actingUserId(CUSTOMER, 8L, false));
+        assertThrows(RuntimeException.class, () -> SessionUser.actingUserId(CUSTOMER, 8L, true));
+    }
+
+    @Test
+    void adminsMayActForAnyone() {
+        assertEquals(1L, SessionUser.actingUserId(ADMIN, null, false));
+        assertEquals(8L, SessionUser.actingUserId(ADMIN, 8L, false));
+    }
+}
@@ -0,0 +1,219 @@
+package com.edu.SpringEcom.benchmark;
+
+import com.edu.SpringEcom.model.Coupon;
+import com.edu.SpringEcom.model.DiscountType;
+import com.edu.SpringEcom.model.Money;
+import com.edu.SpringEcom.pricing.DiscountRule;
+import com.edu.SpringEcom.pricing.PriceBreakdown;
+import com.edu.SpringEcom.pricing.PricedLine;
+import com.edu.SpringEcom.pricing.PricingRules;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * JMH comparison of order pricing with {@link Money} against the previous
+ * {@link BigDecimal} implementation.
+ *
+ * <p>
+ * Both benchmarks price the same order the way {@code OrderService} does:
+ * unit price times quantity per line, then subtotal, an auto-applied
+ * stackable percentage rule, a per-category fixed rule and a requested
+ * percentage coupon. The {@link BigDecimal} version is a copy of the pricing
+ * code before the switch, kept here only as the baseline.
+ * </p>
+ *
+ * <p>
+ * Not part of the normal build. Run with:
+ * </p>
+ *
+ * <pre>
+ * mvn -Pbenchmark test
+ * </pre>
+ *
+ * <p>
+ * Time and allocation per order ({@code gc.alloc.rate.norm}) are written to
+ * {@code target/jmh/results.json}.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PricingBenchmark {
+
+    private static final int LINES = 8;
+    private static final String[] CATEGORIES = {"Laptop", "Headphone", "Mobile", "Electronics"};
+
+    private final LocalDate today = LocalDate.now();
+
+    private String[] categories;
+    private int[] quantities;
+
+    private Money[] prices;
+    private PricingRules rules;
+    private DiscountRule requested;
+
+    private BigDecimal[] legacyPrices;
+    private List<LegacyRule> legacyRules;
+    private LegacyRule legacyRequested;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        categories = new String[LINES];
+        quantities = new int[LINES];
+        prices = new Money[LINES];
+        legacyPrices = new BigDecimal[LINES];
+        for (int i = 0; i < LINES; i++) {
+            categories[i] = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            quantities[i] = 1 + random.nextInt(3);
+            long cents = 100 + random.nextInt(100_000);
+            prices[i] = Money.ofMinor(cents);
+            legacyPrices[i] = BigDecimal.valueOf(cents, 2);
+        }
+
+        Coupon automatic = coupon("SITEWIDE", DiscountType.PERCENTAGE, "2.5", null, true, true);
+        Coupon laptops = coupon("LAPTOP20", DiscountType.FIXED, "20", "Laptop", true, true);
+        Coupon entered = coupon("SAVE15", DiscountType.PERCENTAGE, "15", null, false, false);
+        rules = PricingRules.compile(List.of(automatic, laptops, entered));
+        requested = rules.findByCode("SAVE15");
+
+        legacyRules = List.of(LegacyRule.from(automatic), LegacyRule.from(laptops));
+        legacyRequested = LegacyRule.from(entered);
+    }
+
+    @Benchmark
+    public PriceBreakdown money() {
+        List<PricedLine> lines = new ArrayList<>(LINES);
+        for (int i = 0; i < LINES; i++) {
+            lines.add(new PricedLine(categories[i], prices[i].times(quantities[i])));
+        }
+        return rules.price(lines, requested, today);
+    }
+
+    @Benchmark
+    public BigDecimal[] bigDecimal() {
+        List<LegacyLine> lines = new ArrayList<>(LINES);
+        for (int i = 0; i < LINES; i++) {
+            lines.add(new LegacyLine(categories[i], legacyPrices[i].multiply(BigDecimal.valueOf(quantities[i]))));
+        }
+        return LegacyRule.price(lines, legacyRules, legacyRequested);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void run() throws Exception {
+        setUp();
+        BigDecimal[] expected = bigDecimal();
+        PriceBreakdown actual = money();
+        assertEquals(0, expected[0].compareTo(actual.subtotal().toBigDecimal()));
+        assertEquals(0, expected[1].compareTo(actual.discount().toBigDecimal()));
+        assertEquals(0, expected[2].compareTo(actual.total().toBigDecimal()));
+
+        Path results = Path.of("target", "jmh", "results.json");
+        Files.createDirectories(results.getParent());
+        Options options = new OptionsBuilder()
+                .include(PricingBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(results.toString())
+                .build();
+        new Runner(options).run();
+    }
+
+    private static Coupon coupon(String code, DiscountType type, String value, String category,
+                                 boolean stackable, boolean autoApply) {
+        Coupon coupon = new Coupon();
+        coupon.setCode(code);
+        coupon.setDiscountType(type);
+        if (type == DiscountType.FIXED) {
+            coupon.setDiscountAmount(new BigDecimal(value));
+        } else {
+            coupon.setDiscountPercentage(new BigDecimal(value));
+        }
+        coupon.setCategory(category);
+        coupon.setStackable(stackable);
+        coupon.setAutoApply(autoApply);
+        coupon.setActive(true);
+        return coupon;
+    }
+
+    record LegacyLine(String category, BigDecimal lineTotal) {
+    }
+
+    /** The {@link BigDecimal} pricing code this benchmark compares against. */
+    record LegacyRule(DiscountType type, BigDecimal value, String category, BigDecimal minimumSpend,
+                      boolean stackable) {
+
+        private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+        static LegacyRule from(Coupon coupon) {
+            BigDecimal value = coupon.getDiscountType() == DiscountType.FIXED
+                    ? coupon.getDiscountAmount() : coupon.getDiscountPercentage();
+            return new LegacyRule(coupon.getDiscountType(), value, coupon.getCategory(), coupon.getMinimumSpend(),
+                    Boolean.TRUE.equals(coupon.getStackable()));
+        }
+
+        static BigDecimal[] price(List<LegacyLine> lines, List<LegacyRule> automatic, LegacyRule requested) {
+            BigDecimal subtotal = BigDecimal.ZERO;
+            for (LegacyLine line : lines) {
+                subtotal = subtotal.add(line.lineTotal());
+            }
+            BigDecimal stacked = BigDecimal.ZERO;
+            BigDecimal bestExclusive = BigDecimal.ZERO;
+            List<LegacyRule> candidates = new ArrayList<>(automatic);
+            candidates.add(requested);
+            for (LegacyRule rule : candidates) {
+                BigDecimal discount = rule.discountFor(lines);
+                if (rule.stackable()) {
+                    stacked = stacked.add(discount);
+                } else {
+                    bestExclusive = bestExclusive.max(discount);
+                }
+            }
+            BigDecimal discount = stacked.max(bestExclusive).min(subtotal).setScale(2, RoundingMode.HALF_UP);
+            return new BigDecimal[]{subtotal, discount, subtotal.subtract(discount)};
+        }
+
+        BigDecimal discountFor(List<LegacyLine> lines) {
+            BigDecimal eligible = BigDecimal.ZERO;
+            for (LegacyLine line : lines) {
+                if (category == null || category.equalsIgnoreCase(line.category())) {
+                    eligible = eligible.add(line.lineTotal());
+                }
+            }
+            if (minimumSpend != null && eligible.compareTo(minimumSpend) < 0) {
+                return BigDecimal.ZERO;
+            }
+            BigDecimal discount = switch (type) {
+                case PERCENTAGE -> eligible.multiply(value).divide(HUNDRED, 2, RoundingMode.HALF_UP);
+                case FIXED -> value.min(eligible);
+            };
+            return discount.max(BigDecimal.ZERO);
+        }
+    }
+}
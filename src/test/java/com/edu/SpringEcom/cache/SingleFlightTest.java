@@ -0,0 +1,163 @@
+package com.edu.SpringEcom.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link SingleFlight}. A latch holds the originating load
+ * open while other callers arrive.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+class SingleFlightTest {
+
+    private final ExecutorService threads = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void stopThreads() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        Future<Integer> origin = threads.submit(() -> flight.load("k", () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            await(release);
+            return 42;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<Integer> joined = threads.submit(() -> flight.load("k", () -> loads.incrementAndGet() + 100));
+        waitFor(() -> flight.getCoalesced() == 1);
+        release.countDown();
+
+        assertEquals(42, origin.get(5, TimeUnit.SECONDS));
+        assertEquals(42, joined.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals(1, flight.getOriginating());
+    }
+
+    @Test
+    void sequentialCallersLoadAgain() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(Duration.ofSeconds(5));
+        AtomicInteger loads = new AtomicInteger();
+        assertEquals(1, flight.load("k", loads::incrementAndGet));
+        assertEquals(2, flight.load("k", loads::incrementAndGet));
+        assertEquals(0, flight.getCoalesced());
+    }
+
+    @Test
+    void joinedCallersGetTheSameException() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("database down");
+
+        Future<Integer> origin = threads.submit(() -> flight.load("k", () -> {
+            started.countDown();
+            await(release);
+            throw failure;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<Integer> joined = threads.submit(() -> flight.load("k", () -> 1));
+        waitFor(() -> flight.getCoalesced() == 1);
+        release.countDown();
+
+        assertSame(failure, cause(origin));
+        assertSame(failure, cause(joined));
+        // The failed load isn't remembered
+        assertEquals(7, flight.load("k", () -> 7));
+    }
+
+    @Test
+    void joinedCallersGiveUpAfterTheWaitTimeout() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Integer> origin = threads.submit(() -> flight.load("k", () -> {
+            started.countDown();
+            await(release);
+            return 1;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        RuntimeException timeout = assertThrows(RuntimeException.class, () -> flight.load("k", () -> 2));
+        assertTrue(timeout.getMessage().startsWith("Timed out"));
+        assertEquals(1, flight.getTimeouts());
+
+        release.countDown();
+        assertEquals(1, origin.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void forgetStartsAFreshLoad() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Integer> stale = threads.submit(() -> flight.load("k", () -> {
+            started.countDown();
+            await(release);
+            return 1;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        flight.forget("k");
+        assertEquals(2, flight.load("k", () -> 2));
+
+        release.countDown();
+        assertEquals(1, stale.get(5, TimeUnit.SECONDS));
+        assertEquals(2, flight.getOriginating());
+    }
+
+    @Test
+    void keysLoadIndependently() {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofSeconds(5));
+        assertEquals("a", flight.load("a", () -> flight.load("b", () -> "b").replace("b", "a")));
+        assertEquals(2, flight.getOriginating());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Throwable cause(Future<?> future) throws Exception {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        return e.getCause();
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("condition not met in time");
+            }
+            Thread.sleep(1);
+        }
+    }
+}
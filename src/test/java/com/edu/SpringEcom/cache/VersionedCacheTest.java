@@ -0,0 +1,117 @@
+package com.edu.SpringEcom.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link VersionedCache}. The clock is a counter, so every
+ * load and invalidation gets a strictly higher version than the one before.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+class VersionedCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void loadsOnMissAndCachesTheResult() {
+        VersionedCache<String, String> cache = new VersionedCache<>(clock::incrementAndGet, 100, Duration.ofMinutes(5));
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v", cache.get("k", () -> {
+            loads.incrementAndGet();
+            return "v";
+        }));
+        assertEquals("v", cache.get("k", () -> "other"));
+        assertEquals(1, loads.get());
+
+        // Nothing is cached for a missing row
+        assertNull(cache.get("missing", () -> null));
+        assertEquals("found", cache.get("missing", () -> "found"));
+    }
+
+    @Test
+    void loadStartedBeforeAnInvalidationIsNotCached() {
+        VersionedCache<String, String> cache = new VersionedCache<>(clock::incrementAndGet, 100, Duration.ofMinutes(5));
+        long loadVersion = clock.incrementAndGet();
+        cache.invalidate("k");
+
+        assertFalse(cache.put("k", "stale", loadVersion));
+        assertNull(cache.get("k"));
+
+        assertTrue(cache.put("k", "fresh", clock.incrementAndGet()));
+        assertEquals("fresh", cache.get("k"));
+    }
+
+    @Test
+    void invalidationEvictsWhateverIsCached() {
+        VersionedCache<String, String> cache = new VersionedCache<>(clock::incrementAndGet, 100, Duration.ofMinutes(5));
+        assertTrue(cache.put("k", "v", clock.incrementAndGet()));
+        cache.invalidate("k");
+        assertNull(cache.get("k"));
+
+        // A late duplicate of the same invalidation only costs a miss
+        assertTrue(cache.put("k", "v2", clock.incrementAndGet()));
+        cache.invalidate("k");
+        assertNull(cache.get("k"));
+    }
+
+    @Test
+    void olderVersionNeverOverwritesANewerOne() {
+        VersionedCache<String, String> cache = new VersionedCache<>(clock::incrementAndGet, 100, Duration.ofMinutes(5));
+        assertTrue(cache.put("k", "new", 5));
+        assertFalse(cache.put("k", "old", 3));
+        assertEquals("new", cache.get("k"));
+    }
+
+    @Test
+    void invalidateAllRejectsLoadsThatStartedBeforeIt() {
+        VersionedCache<String, String> cache = new VersionedCache<>(clock::incrementAndGet, 100, Duration.ofMinutes(5));
+        long loadVersion = clock.incrementAndGet();
+        assertTrue(cache.put("a", "a", loadVersion));
+        cache.invalidateAll();
+
+        assertNull(cache.get("a"));
+        assertFalse(cache.put("b", "stale", loadVersion));
+        assertNull(cache.get("b"));
+        assertTrue(cache.put("b", "fresh", clock.incrementAndGet()));
+        assertEquals("fresh", cache.get("b"));
+    }
+
+    @Test
+    void trimmedTombstonesStillRejectOlderLoads() {
+        VersionedCache<String, String> cache = new VersionedCache<>(clock::incrementAndGet, 10, Duration.ofMinutes(5));
+        long loadVersion = clock.incrementAndGet();
+        for (int i = 0; i < 50; i++) {
+            cache.invalidate("k" + i);
+        }
+        assertTrue(cache.size() <= 10);
+
+        // Whether its tombstone was kept or trimmed, no key takes the old load
+        for (int i = 0; i < 50; i++) {
+            assertFalse(cache.put("k" + i, "stale", loadVersion), "k" + i);
+        }
+        assertTrue(cache.put("k0", "fresh", clock.incrementAndGet()));
+    }
+
+    @Test
+    void entriesExpireAfterMaxAge() throws InterruptedException {
+        VersionedCache<String, String> cache = new VersionedCache<>(clock::incrementAndGet, 100, Duration.ofMillis(200));
+        assertTrue(cache.put("k", "v", clock.incrementAndGet()));
+        assertEquals("v", cache.get("k"));
+
+        Thread.sleep(300);
+        assertNull(cache.get("k"));
+        assertEquals("reloaded", cache.get("k", () -> "reloaded"));
+    }
+}
@@ -0,0 +1,134 @@
+package com.edu.SpringEcom.catalog;
+
+import com.edu.SpringEcom.model.Money;
+import com.edu.SpringEcom.model.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for writing and mapping {@link CatalogSnapshot} files.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+class CatalogSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void mapsBackEveryProductSortedById() throws IOException {
+        List<Product> products = List.of(product(30), product(1), product(7), product(Integer.MAX_VALUE));
+        Path file = dir.resolve("catalog/products.bin");
+        Instant before = Instant.now().minusMillis(1);
+        CatalogSnapshot.write(file, products);
+
+        CatalogSnapshot snapshot = CatalogSnapshot.map(file);
+        assertEquals(4, snapshot.size());
+        assertTrue(!snapshot.writtenAt().isBefore(before));
+        for (Product product : products) {
+            assertEquals(product, snapshot.get(product.getId()));
+        }
+        assertEquals(List.of(1, 7, 30, Integer.MAX_VALUE), snapshot.all().stream().map(Product::getId).toList());
+    }
+
+    @Test
+    void missingIdsAreNull() throws IOException {
+        Path file = dir.resolve("products.bin");
+        CatalogSnapshot.write(file, List.of(product(2), product(4), product(6)));
+        CatalogSnapshot snapshot = CatalogSnapshot.map(file);
+        for (int id : new int[] {Integer.MIN_VALUE, 0, 1, 3, 5, 7, Integer.MAX_VALUE}) {
+            assertNull(snapshot.get(id), "id " + id);
+        }
+    }
+
+    @Test
+    void leavesOutImagesAndKeepsNulls() throws IOException {
+        Product withImage = product(1);
+        withImage.setImageData(new byte[] {1, 2, 3});
+        Product sparse = new Product();
+        sparse.setId(2);
+        Path file = dir.resolve("products.bin");
+        CatalogSnapshot.write(file, List.of(withImage, sparse));
+
+        CatalogSnapshot snapshot = CatalogSnapshot.map(file);
+        assertNull(snapshot.get(1).getImageData());
+        assertEquals("hash-1", snapshot.get(1).getImageHash());
+        assertEquals(sparse, snapshot.get(2));
+    }
+
+    @Test
+    void emptyCatalog() throws IOException {
+        Path file = dir.resolve("products.bin");
+        CatalogSnapshot.write(file, List.of());
+        CatalogSnapshot snapshot = CatalogSnapshot.map(file);
+        assertEquals(0, snapshot.size());
+        assertNull(snapshot.get(1));
+        assertEquals(List.of(), snapshot.all());
+    }
+
+    @Test
+    void rewritingReplacesTheFile() throws IOException {
+        Path file = dir.resolve("products.bin");
+        CatalogSnapshot.write(file, List.of(product(1), product(2)));
+        CatalogSnapshot.write(file, List.of(product(3)));
+        CatalogSnapshot snapshot = CatalogSnapshot.map(file);
+        assertEquals(1, snapshot.size());
+        assertNull(snapshot.get(1));
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void refusesForeignAndCorruptFiles() throws IOException {
+        Path foreign = dir.resolve("foreign.bin");
+        Files.write(foreign, "definitely not a catalog".getBytes());
+        assertThrows(IOException.class, () -> CatalogSnapshot.map(foreign));
+
+        Path tiny = dir.resolve("tiny.bin");
+        Files.write(tiny, new byte[8]);
+        assertThrows(IOException.class, () -> CatalogSnapshot.map(tiny));
+
+        // A count claiming more index entries than the file holds
+        Path file = dir.resolve("products.bin");
+        CatalogSnapshot.write(file, List.of(product(1)));
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).putInt(16, 1_000_000);
+        Path corrupt = dir.resolve("corrupt.bin");
+        Files.write(corrupt, bytes);
+        assertThrows(IOException.class, () -> CatalogSnapshot.map(corrupt));
+    }
+
+    private static Product product(int id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setTitle("Product " + id + " – ünïcode");
+        product.setDescription("Description " + id);
+        product.setBrand("brand-" + id % 3);
+        product.setPrice(Money.ofMinor(1999L + id));
+        product.setCategory("Category");
+        product.setReleaseDate(new Date(1_700_000_000_000L + id));
+        product.setCreateDate(new Date(1_600_000_000_000L));
+        product.setAvailability(id % 2 == 0);
+        product.setStockQuantity(id % 1000);
+        product.setImageName("image-" + id + ".png");
+        product.setImageType("image/png");
+        product.setImageHash("hash-" + id);
+        return product;
+    }
+}
@@ -0,0 +1,109 @@
+package com.edu.SpringEcom.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link HashedTimingWheel}, on a small wheel with short ticks
+ * so that delays span many rounds.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+class HashedTimingWheelTest {
+
+    private static final long TICK_MS = 5;
+
+    /** Four slots of 5 ms: one round every 20 ms. */
+    private static final int SLOTS = 4;
+
+    @Test
+    void neverExpiresEarlyAcrossRounds() throws InterruptedException {
+        Map<Integer, Long> scheduledAt = new ConcurrentHashMap<>();
+        Map<Integer, Long> firedAt = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(6);
+        try (HashedTimingWheel<Integer> wheel = wheel(expired -> {
+            for (Integer delayMs : expired) {
+                firedAt.put(delayMs, System.nanoTime());
+                done.countDown();
+            }
+        })) {
+            for (int delayMs : new int[] {0, 7, 20, 33, 80, 150}) {
+                scheduledAt.put(delayMs, System.nanoTime());
+                wheel.schedule(delayMs, delayMs, TimeUnit.MILLISECONDS);
+            }
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(0, wheel.size());
+        }
+        firedAt.forEach((delayMs, at) -> {
+            long waited = at - scheduledAt.get(delayMs);
+            assertTrue(waited >= TimeUnit.MILLISECONDS.toNanos(delayMs),
+                    delayMs + " ms timeout fired after " + waited / 1_000_000 + " ms");
+        });
+    }
+
+    @Test
+    void cancelledTimeoutsNeverFire() throws InterruptedException {
+        List<String> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch kept = new CountDownLatch(1);
+        try (HashedTimingWheel<String> wheel = wheel(expired -> {
+            fired.addAll(expired);
+            if (expired.contains("kept")) {
+                kept.countDown();
+            }
+        })) {
+            HashedTimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 30, TimeUnit.MILLISECONDS);
+            wheel.schedule("kept", 60, TimeUnit.MILLISECONDS);
+            assertEquals(2, wheel.size());
+
+            assertTrue(cancelled.cancel());
+            assertFalse(cancelled.cancel());
+            assertEquals(1, wheel.size());
+
+            assertTrue(kept.await(5, TimeUnit.SECONDS));
+        }
+        assertEquals(List.of("kept"), fired);
+    }
+
+    @Test
+    void cancelAfterExpiryFails() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        try (HashedTimingWheel<String> wheel = wheel(expired -> done.countDown())) {
+            HashedTimingWheel.Timeout<String> timeout = wheel.schedule("hold", 0, TimeUnit.MILLISECONDS);
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertFalse(timeout.cancel());
+            assertEquals(0, wheel.size());
+        }
+    }
+
+    @Test
+    void keepsTickingAfterAFailingCallback() throws InterruptedException {
+        CountDownLatch second = new CountDownLatch(1);
+        try (HashedTimingWheel<String> wheel = wheel(expired -> {
+            if (expired.contains("first")) {
+                throw new IllegalStateException("callback failed");
+            }
+            second.countDown();
+        })) {
+            wheel.schedule("first", 0, TimeUnit.MILLISECONDS);
+            wheel.schedule("second", 40, TimeUnit.MILLISECONDS);
+            assertTrue(second.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private static <T> HashedTimingWheel<T> wheel(Consumer<List<T>> onExpired) {
+        return new HashedTimingWheel<>(TICK_MS, TimeUnit.MILLISECONDS, SLOTS, onExpired, "wheel-test");
+    }
+}
@@ -0,0 +1,273 @@
+package com.edu.SpringEcom.loadtest;
+
+import com.edu.SpringEcom.model.Coupon;
+import com.edu.SpringEcom.model.CouponRedemption;
+import com.edu.SpringEcom.pricing.DiscountRule;
+import com.edu.SpringEcom.pricing.PricingEngine;
+import com.edu.SpringEcom.pricing.RedemptionLimiter;
+import com.edu.SpringEcom.repo.CouponRedemptionRepo;
+import com.edu.SpringEcom.repo.CouponRepo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Contention test for coupon redemption caps: many threads checking out with
+ * the same coupon at once.
+ *
+ * <p>
+ * {@link #throughput()} compares redemptions per second through
+ * {@link RedemptionLimiter} with the locking baseline it replaces, where each
+ * checkout transaction takes the coupon row with {@code SELECT ... FOR UPDATE},
+ * checks and bumps the count, and holds the lock until it commits. Both do
+ * the same simulated order work inside their transaction. Results go to a JSON
+ * file like {@link LoadTest}'s.
+ * </p>
+ *
+ * <p>
+ * {@link #neverExceedsCap()} runs two limiters, standing in for two nodes,
+ * against one capped coupon, with every tenth checkout rolling back (on fewer
+ * threads than pooled connections, as each holds one while it reserves), and
+ * checks that exactly the cap is redeemed, overall and per customer.
+ * </p>
+ *
+ * <p>
+ * Not part of the normal build. Run with:
+ * </p>
+ *
+ * <pre>
+ * mvn -Ploadtest test -Dtest=CouponContentionTest -Dcontention.threads=64
+ * </pre>
+ *
+ * <p>
+ * Settings (system properties, all optional): {@code contention.threads},
+ * {@code contention.duration-seconds}, {@code contention.order-work-ms} and
+ * {@code contention.output}.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+@Tag("loadtest")
+@SpringBootTest(properties = {"ratelimit.enabled=false", "spring.jpa.show-sql=false"})
+class CouponContentionTest {
+
+    @Autowired
+    private CouponRepo couponRepo;
+
+    @Autowired
+    private CouponRedemptionRepo couponRedemptionRepo;
+
+    @Autowired
+    private RedemptionLimiter redemptionLimiter;
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void throughput() throws Exception {
+        int threads = Integer.getInteger("contention.threads", 32);
+        int durationSeconds = Integer.getInteger("contention.duration-seconds", 10);
+        int orderWorkMs = Integer.getInteger("contention.order-work-ms", 2);
+        Path output = Path.of(System.getProperty("contention.output", "target/loadtest/coupon-contention.json"));
+        long cap = Long.MAX_VALUE / 4;
+
+        seedCoupon("CONTEND-LOCK", cap, null);
+        seedCoupon("CONTEND-STRIPED", cap, null);
+        DiscountRule striped = pricingEngine.reload().findByCode("CONTEND-STRIPED");
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        Result locking = run(threads, durationSeconds, () -> transaction.executeWithoutResult(status -> {
+            Coupon coupon = entityManager
+                    .createQuery("SELECT c FROM Coupon c WHERE c.code = :code", Coupon.class)
+                    .setParameter("code", "CONTEND-LOCK")
+                    .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                    .getSingleResult();
+            long count = coupon.getRedemptionCount() != null ? coupon.getRedemptionCount() : 0;
+            if (count >= coupon.getMaxRedemptions()) {
+                throw new RuntimeException("Coupon redemption limit reached");
+            }
+            coupon.setRedemptionCount(count + 1);
+            orderWork(orderWorkMs);
+        }));
+        // Reserved before the order transaction, as placeOrder does
+        Result limiter = run(threads, durationSeconds, () -> {
+            redemptionLimiter.reserve(striped, null);
+            transaction.executeWithoutResult(status -> orderWork(orderWorkMs));
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("threads", threads);
+        report.put("durationSeconds", durationSeconds);
+        report.put("orderWorkMs", orderWorkMs);
+        report.put("locking", locking.toJson(durationSeconds));
+        report.put("striped", limiter.toJson(durationSeconds));
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        JsonMapper.builder().build().writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+        System.out.printf("Coupon redemptions/s with %d threads: locking %.0f, striped %.0f; written to %s%n",
+                threads, (double) locking.ok.sum() / durationSeconds, (double) limiter.ok.sum() / durationSeconds,
+                output.toAbsolutePath());
+
+        assertEquals(0, locking.errors.sum());
+        assertEquals(0, limiter.errors.sum());
+        assertTrue(limiter.ok.sum() > locking.ok.sum(), "striped counters should outrun the row lock");
+    }
+
+    @Test
+    void neverExceedsCap() throws Exception {
+        int threads = 8;
+        long cap = 1000;
+        long perUser = 3;
+        int users = 500;
+        seedCoupon("CONTEND-CAP", cap, perUser);
+        DiscountRule rule = pricingEngine.reload().findByCode("CONTEND-CAP");
+        RedemptionLimiter otherNode = beanFactory.createBean(RedemptionLimiter.class);
+        RedemptionLimiter[] nodes = {redemptionLimiter, otherNode};
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        // Reserved inside the transaction, as confirmOrder does, so a rollback hands the redemption back
+
+        AtomicLong attempts = new AtomicLong();
+        Map<Long, AtomicLong> committedPerUser = new ConcurrentHashMap<>();
+        Result result = run(threads, 0, () -> {
+            long attempt = attempts.incrementAndGet();
+            long userId = 1 + ThreadLocalRandom.current().nextInt(users);
+            transaction.executeWithoutResult(status -> {
+                nodes[(int) (attempt & 1)].reserve(rule, userId);
+                if (attempt % 10 == 0) {
+                    throw new IllegalStateException("order failed after reserving");
+                }
+            });
+            committedPerUser.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+        });
+        redemptionLimiter.returnAll();
+        otherNode.returnAll();
+
+        Coupon coupon = couponRepo.findByCode("CONTEND-CAP").orElseThrow();
+        assertEquals(0, result.errors.sum());
+        assertEquals(cap, result.ok.sum());
+        assertEquals(cap, coupon.getRedemptionCount());
+        assertEquals(cap, coupon.getRedemptionsLeased());
+        Map<Long, Long> stored = new HashMap<>();
+        for (CouponRedemption redemption : couponRedemptionRepo.findAll()) {
+            if (redemption.getCouponCode().equals("CONTEND-CAP")) {
+                stored.put(redemption.getUserId(), redemption.getRedemptions());
+            }
+        }
+        committedPerUser.forEach((userId, count) -> {
+            assertTrue(count.get() <= perUser, "user " + userId + " redeemed " + count.get());
+            assertEquals(count.get(), stored.get(userId));
+        });
+    }
+
+    /**
+     * Runs {@code checkout} on {@code threads} threads for {@code seconds}, or
+     * with {@code seconds} 0 until the coupon's cap stops every thread.
+     */
+    private static Result run(int threads, int seconds, Runnable checkout) throws InterruptedException {
+        Result result = new Result();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds > 0 ? seconds : 120);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            pool.submit(() -> {
+                int refusedInARow = 0;
+                while (System.nanoTime() < deadline) {
+                    try {
+                        checkout.run();
+                        result.ok.increment();
+                        refusedInARow = 0;
+                    } catch (IllegalStateException e) {
+                        result.refused.increment(); // checkout failed on purpose
+                    } catch (RuntimeException e) {
+                        String message = String.valueOf(e.getMessage());
+                        if (!message.startsWith("Coupon")) {
+                            result.errors.increment();
+                        } else {
+                            result.refused.increment();
+                        }
+                        // Keep going a while, for redemptions rolled-back checkouts give back
+                        if (seconds == 0 && message.equals("Coupon redemption limit reached")
+                                && ++refusedInARow >= 100) {
+                            return;
+                        }
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(seconds + 180, TimeUnit.SECONDS));
+        return result;
+    }
+
+    private void seedCoupon(String code, long maxRedemptions, Long maxRedemptionsPerUser) {
+        Coupon coupon = new Coupon();
+        coupon.setCode(code);
+        coupon.setDiscountPercentage(BigDecimal.TEN);
+        coupon.setExpiryDate(LocalDate.now().plusDays(1));
+        coupon.setActive(true);
+        coupon.setMaxRedemptions(maxRedemptions);
+        coupon.setMaxRedemptionsPerUser(maxRedemptionsPerUser);
+        couponRepo.save(coupon);
+    }
+
+    private static void orderWork(int millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Result {
+        final LongAdder ok = new LongAdder();
+        final LongAdder refused = new LongAdder();
+        final LongAdder errors = new LongAdder();
+
+        Map<String, Object> toJson(int seconds) {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("redemptions", ok.sum());
+            json.put("refused", refused.sum());
+            json.put("errors", errors.sum());
+            json.put("redemptionsPerSecond", (double) ok.sum() / seconds);
+            return json;
+        }
+    }
+}
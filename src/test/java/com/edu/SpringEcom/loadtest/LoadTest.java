@@ -0,0 +1,355 @@
+package com.edu.SpringEcom.loadtest;
+
+import com.edu.SpringEcom.auth.SessionTokenService;
+import com.edu.SpringEcom.auth.SessionUser;
+import com.edu.SpringEcom.model.Address;
+import com.edu.SpringEcom.model.Coupon;
+import com.edu.SpringEcom.model.Money;
+import com.edu.SpringEcom.model.Product;
+import com.edu.SpringEcom.model.Role;
+import com.edu.SpringEcom.model.User;
+import com.edu.SpringEcom.pricing.PricingEngine;
+import com.edu.SpringEcom.repo.AddressRepo;
+import com.edu.SpringEcom.repo.CouponRepo;
+import com.edu.SpringEcom.repo.ProductRepo;
+import com.edu.SpringEcom.repo.UserRepo;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reproducible local load test for the public REST endpoints.
+ *
+ * <p>
+ * Boots the full application on a random port against the embedded test
+ * database, seeds it with generated products, users and coupons, then drives a
+ * weighted mix of browse, search, login and checkout traffic from a fixed
+ * number of client threads. Latency is recorded per endpoint in HdrHistograms
+ * and written, together with throughput and the run settings, to a JSON file
+ * so runs can be compared.
+ * </p>
+ *
+ * <p>
+ * Not part of the normal build. Run with:
+ * </p>
+ *
+ * <pre>
+ * mvn -Ploadtest test -Dloadtest.duration-seconds=60 -Dloadtest.concurrency=32
+ * </pre>
+ *
+ * <p>
+ * Settings (system properties, all optional): {@code loadtest.seed},
+ * {@code loadtest.products}, {@code loadtest.users}, {@code loadtest.coupons},
+ * {@code loadtest.concurrency}, {@code loadtest.warmup-seconds},
+ * {@code loadtest.duration-seconds}, {@code loadtest.mix} (e.g.
+ * {@code product-get:50,search:20,checkout:10}) and {@code loadtest.output}.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"ratelimit.enabled=false", "spring.jpa.show-sql=false"})
+class LoadTest {
+
+    private static final String DEFAULT_MIX =
+            "product-list:5,product-get:35,product-image:10,search:15,suggest:15,login:10,checkout:10";
+
+    private static final String[] KEYWORDS = {"phone", "laptop", "brand", "book", "shoe", "watch", "xyz"};
+
+    private static final String[] CATEGORIES = {"Electronics", "Books", "Fashion", "Home", "Sports"};
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private AddressRepo addressRepo;
+
+    @Autowired
+    private CouponRepo couponRepo;
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Autowired
+    private SessionTokenService tokenService;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void run() throws Exception {
+        long seed = Long.getLong("loadtest.seed", 42);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 16);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 5);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+        Map<String, Integer> mix = parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX));
+        Path output = Path.of(System.getProperty("loadtest.output", "target/loadtest/results.json"));
+
+        SeedData data = seed(new Random(seed),
+                Integer.getInteger("loadtest.products", 500),
+                Integer.getInteger("loadtest.users", 100),
+                Integer.getInteger("loadtest.coupons", 10));
+
+        Map<String, Stats> stats = new LinkedHashMap<>();
+        for (String endpoint : mix.keySet()) {
+            stats.put(endpoint, new Stats());
+        }
+
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long deadline = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        for (int worker = 0; worker < concurrency; worker++) {
+            Random random = new Random(seed + worker + 1);
+            pool.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    String endpoint = pick(mix, random);
+                    HttpRequest request = buildRequest(endpoint, data, random);
+                    long t0 = System.nanoTime();
+                    boolean ok;
+                    try {
+                        HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        ok = response.statusCode() < 400;
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    long t1 = System.nanoTime();
+                    if (t0 >= measureFrom) {
+                        stats.get(endpoint).record((t1 - t0) / 1_000, ok);
+                    }
+                }
+                return null;
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(warmupSeconds + durationSeconds + 60, TimeUnit.SECONDS));
+
+        writeReport(output, seed, concurrency, warmupSeconds, durationSeconds, mix, stats);
+    }
+
+    private HttpRequest buildRequest(String endpoint, SeedData data, Random random) {
+        String base = "http://localhost:" + port;
+        int productId = data.productIds.get(random.nextInt(data.productIds.size()));
+        return switch (endpoint) {
+            case "product-list" -> get(base + "/api/products");
+            case "product-get" -> get(base + "/api/product/" + productId);
+            case "product-image" -> get(base + "/api/product/" + productId + "/image");
+            case "search" -> get(base + "/api/products/search?keyword=" + KEYWORDS[random.nextInt(KEYWORDS.length)]);
+            case "suggest" -> {
+                String keyword = KEYWORDS[random.nextInt(KEYWORDS.length)];
+                yield get(base + "/api/products/suggest?prefix=" + keyword.substring(0, 1 + random.nextInt(keyword.length())));
+            }
+            case "login" -> {
+                SeedUser user = data.users.get(random.nextInt(data.users.size()));
+                yield post(base + "/api/users/login",
+                        "{\"email\":\"" + user.email + "\",\"password\":\"password\"}");
+            }
+            case "checkout" -> {
+                SeedUser user = data.users.get(random.nextInt(data.users.size()));
+                StringBuilder items = new StringBuilder();
+                int lines = 1 + random.nextInt(3);
+                for (int i = 0; i < lines; i++) {
+                    if (i > 0) {
+                        items.append(',');
+                    }
+                    items.append("{\"productId\":")
+                            .append(data.productIds.get(random.nextInt(data.productIds.size())))
+                            .append(",\"quantity\":").append(1 + random.nextInt(2)).append('}');
+                }
+                String coupon = random.nextInt(4) == 0
+                        ? "\"" + data.couponCodes.get(random.nextInt(data.couponCodes.size())) + "\""
+                        : "null";
+                yield HttpRequest.newBuilder(URI.create(base + "/api/orders/place"))
+                        .header("Content-Type", "application/json")
+                        .header("Authorization", "Bearer " + user.token)
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"addressId\":" + user.addressId
+                                + ",\"couponCode\":" + coupon + ",\"items\":[" + items + "]}"))
+                        .build();
+            }
+            default -> throw new IllegalArgumentException("Unknown endpoint in loadtest.mix: " + endpoint);
+        };
+    }
+
+    private SeedData seed(Random random, int productCount, int userCount, int couponCount) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < productCount; i++) {
+            Product product = new Product();
+            product.setTitle(KEYWORDS[i % KEYWORDS.length] + " model " + i);
+            product.setDescription("Generated product " + i);
+            product.setBrand("brand-" + (i % 25));
+            product.setCategory(CATEGORIES[i % CATEGORIES.length]);
+            product.setPrice(Money.ofMinor(100 + random.nextInt(100_000)));
+            product.setReleaseDate(new Date());
+            product.setCreateDate(new Date());
+            product.setAvailability(true);
+            product.setStockQuantity(1_000_000);
+            product.setImageName("image-" + i + ".png");
+            product.setImageType("image/png");
+            byte[] image = new byte[1024 + random.nextInt(8192)];
+            random.nextBytes(image);
+            product.setImageData(image);
+            products.add(product);
+        }
+        List<Integer> productIds = new ArrayList<>();
+        for (Product product : productRepo.saveAll(products)) {
+            productIds.add(product.getId());
+        }
+
+        List<SeedUser> users = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            User user = new User();
+            user.setName("Load User " + i);
+            user.setEmail("load-" + i + "@example.test");
+            user.setPassword("password");
+            user = userRepo.save(user);
+
+            Address address = new Address();
+            address.setStreet(i + " Test Street");
+            address.setCity("Testville");
+            address.setZipCode("12345");
+            address.setUser(user);
+            address = addressRepo.save(address);
+            String token = tokenService.issue(new SessionUser(user.getId(), Role.CUSTOMER)).value();
+            users.add(new SeedUser(user.getId(), address.getId(), user.getEmail(), token));
+        }
+
+        List<String> couponCodes = new ArrayList<>();
+        for (int i = 0; i < couponCount; i++) {
+            Coupon coupon = new Coupon();
+            coupon.setCode("LOAD" + i);
+            coupon.setDiscountPercentage(BigDecimal.valueOf(5 + random.nextInt(20)));
+            coupon.setExpiryDate(LocalDate.now().plusDays(30));
+            coupon.setActive(true);
+            couponRepo.save(coupon);
+            couponCodes.add(coupon.getCode());
+        }
+        pricingEngine.reload();
+        return new SeedData(productIds, users, couponCodes);
+    }
+
+    private void writeReport(Path output, long seed, int concurrency, int warmupSeconds, int durationSeconds,
+            Map<String, Integer> mix, Map<String, Stats> stats) throws Exception {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        long totalRequests = 0;
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            Histogram h = entry.getValue().latencyMicros;
+            long count = h.getTotalCount();
+            totalRequests += count;
+            Map<String, Object> e = new LinkedHashMap<>();
+            e.put("requests", count);
+            e.put("errors", entry.getValue().errors.get());
+            e.put("throughputPerSecond", (double) count / durationSeconds);
+            Map<String, Object> latency = new LinkedHashMap<>();
+            latency.put("mean", h.getMean() / 1000.0);
+            latency.put("p50", h.getValueAtPercentile(50) / 1000.0);
+            latency.put("p90", h.getValueAtPercentile(90) / 1000.0);
+            latency.put("p99", h.getValueAtPercentile(99) / 1000.0);
+            latency.put("p999", h.getValueAtPercentile(99.9) / 1000.0);
+            latency.put("max", h.getMaxValue() / 1000.0);
+            e.put("latencyMillis", latency);
+            endpoints.put(entry.getKey(), e);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("javaVersion", System.getProperty("java.version"));
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("seed", seed);
+        settings.put("concurrency", concurrency);
+        settings.put("warmupSeconds", warmupSeconds);
+        settings.put("durationSeconds", durationSeconds);
+        settings.put("mix", mix);
+        report.put("settings", settings);
+        report.put("totalRequests", totalRequests);
+        report.put("throughputPerSecond", (double) totalRequests / durationSeconds);
+        report.put("endpoints", endpoints);
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        JsonMapper.builder().build().writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+        System.out.println("Load test results written to " + output.toAbsolutePath());
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split(":");
+            weights.put(kv[0], Integer.parseInt(kv[1]));
+        }
+        return weights;
+    }
+
+    private static String pick(Map<String, Integer> mix, Random random) {
+        int total = 0;
+        for (int weight : mix.values()) {
+            total += weight;
+        }
+        int r = random.nextInt(total);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            r -= entry.getValue();
+            if (r < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private static HttpRequest post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private record SeedUser(Long id, Long addressId, String email, String token) {
+    }
+
+    private record SeedData(List<Integer> productIds, List<SeedUser> users, List<String> couponCodes) {
+    }
+
+    private static final class Stats {
+        final Histogram latencyMicros = new ConcurrentHistogram(TimeUnit.SECONDS.toMicros(60), 3);
+        final AtomicLong errors = new AtomicLong();
+
+        void record(long micros, boolean ok) {
+            latencyMicros.recordValue(Math.min(micros, latencyMicros.getHighestTrackableValue()));
+            if (!ok) {
+                errors.incrementAndGet();
+            }
+        }
+    }
+}
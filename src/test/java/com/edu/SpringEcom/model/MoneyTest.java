@@ -0,0 +1,115 @@
+package com.edu.SpringEcom.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link Money} arithmetic and rounding, checked against
+ * {@link BigDecimal}.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+class MoneyTest {
+
+    private static final long[] DIVIDENDS = {0, 1, -1, 2, -2, 5, -5, 7, -7, 15, -15, 25, -25, 149, -149,
+            150, -150, 151, -151, 1_000_001, Long.MAX_VALUE, Long.MAX_VALUE - 1, Long.MIN_VALUE, Long.MIN_VALUE + 1};
+
+    private static final long[] DIVISORS = {1, -1, 2, -2, 3, -3, 10, -10, 100, 1_000_000, Long.MAX_VALUE,
+            Long.MIN_VALUE};
+
+    @Test
+    void divideMatchesBigDecimalForEveryRoundingMode() {
+        for (long dividend : DIVIDENDS) {
+            for (long divisor : DIVISORS) {
+                if (dividend == Long.MIN_VALUE && divisor == -1) {
+                    continue; // overflows, see below
+                }
+                for (RoundingMode rounding : RoundingMode.values()) {
+                    if (rounding == RoundingMode.UNNECESSARY) {
+                        continue;
+                    }
+                    long expected = BigDecimal.valueOf(dividend)
+                            .divide(BigDecimal.valueOf(divisor), 0, rounding).longValueExact();
+                    assertEquals(expected, Money.divide(dividend, divisor, rounding),
+                            dividend + " / " + divisor + " " + rounding);
+                }
+            }
+        }
+    }
+
+    @Test
+    void unnecessaryRoundingOnlyFailsWhenInexact() {
+        assertEquals(5, Money.divide(10, 2, RoundingMode.UNNECESSARY));
+        assertEquals(-5, Money.divide(10, -2, RoundingMode.UNNECESSARY));
+        assertThrows(ArithmeticException.class, () -> Money.divide(10, 3, RoundingMode.UNNECESSARY));
+    }
+
+    @Test
+    void divideRejectsOverflowAndZero() {
+        assertThrows(ArithmeticException.class, () -> Money.divide(Long.MIN_VALUE, -1, RoundingMode.HALF_UP));
+        assertThrows(ArithmeticException.class, () -> Money.divide(1, 0, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    void halfWaysRoundAsNamed() {
+        assertEquals(3, Money.divide(5, 2, RoundingMode.HALF_UP));
+        assertEquals(2, Money.divide(5, 2, RoundingMode.HALF_DOWN));
+        assertEquals(2, Money.divide(5, 2, RoundingMode.HALF_EVEN));
+        assertEquals(4, Money.divide(7, 2, RoundingMode.HALF_EVEN));
+        assertEquals(-3, Money.divide(-5, 2, RoundingMode.HALF_UP));
+        assertEquals(-2, Money.divide(-5, 2, RoundingMode.CEILING));
+        assertEquals(-3, Money.divide(-5, 2, RoundingMode.FLOOR));
+    }
+
+    @Test
+    void scaleAppliesAFraction() {
+        Money price = Money.ofMinor(1999);
+        assertEquals(Money.ofMinor(200), price.scale(10, 100, RoundingMode.HALF_UP));
+        assertEquals(Money.ofMinor(199), price.scale(10, 100, RoundingMode.DOWN));
+        assertEquals(Money.ofMinor(1999), price.scale(3, 3, RoundingMode.UNNECESSARY));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE).scale(2, 3, RoundingMode.DOWN));
+    }
+
+    @Test
+    void convertsDecimalsByTheCurrencyMinorUnit() {
+        assertEquals(Money.ofMinor(1999), Money.of(new BigDecimal("19.99")));
+        assertEquals(Money.ofMinor(2000), Money.of(new BigDecimal("19.995")));
+        assertEquals(Money.ofMinor(-2000), Money.of(new BigDecimal("-19.995")));
+        assertEquals(new BigDecimal("19.99"), Money.ofMinor(1999).toBigDecimal());
+        assertEquals(null, Money.of(null));
+
+        Currency yen = Currency.getInstance("JPY");
+        assertEquals(new Money(1235, yen), Money.of(new BigDecimal("1234.5"), yen, RoundingMode.HALF_UP));
+        assertEquals(new BigDecimal("1235"), new Money(1235, yen).toBigDecimal());
+        assertThrows(ArithmeticException.class,
+                () -> Money.of(new BigDecimal("1.005"), Money.DEFAULT_CURRENCY, RoundingMode.UNNECESSARY));
+    }
+
+    @Test
+    void arithmeticIsExactAndChecked() {
+        Money a = Money.ofMinor(1050);
+        assertEquals(Money.ofMinor(1550), a.plus(Money.ofMinor(500)));
+        assertEquals(Money.ofMinor(550), a.minus(Money.ofMinor(500)));
+        assertEquals(Money.ofMinor(3150), a.times(3));
+        assertTrue(Money.ZERO.minus(a).compareTo(Money.ZERO) < 0);
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE).plus(Money.ofMinor(1)));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE / 2 + 1).times(2));
+    }
+
+    @Test
+    void refusesToMixCurrencies() {
+        Money euros = new Money(100, Currency.getInstance("EUR"));
+        assertThrows(IllegalArgumentException.class, () -> Money.ofMinor(100).plus(euros));
+        assertThrows(IllegalArgumentException.class, () -> Money.ofMinor(100).compareTo(euros));
+        assertThrows(IllegalArgumentException.class, () -> new Money(1, null));
+    }
+}
@@ -0,0 +1,73 @@
+package com.edu.SpringEcom.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for the {@link OrderStatus} lifecycle.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+class OrderStatusTest {
+
+    @Test
+    void allowsOnlyTheDocumentedTransitions() {
+        assertAllowed(OrderStatus.PLACED, OrderStatus.PROCESSING, OrderStatus.SHIPPED, OrderStatus.CANCELLED);
+        assertAllowed(OrderStatus.PROCESSING, OrderStatus.SHIPPED, OrderStatus.CANCELLED);
+        assertAllowed(OrderStatus.SHIPPED, OrderStatus.DELIVERED);
+        assertAllowed(OrderStatus.DELIVERED);
+        assertAllowed(OrderStatus.CANCELLED);
+    }
+
+    @Test
+    void neverMovesToItself() {
+        for (OrderStatus status : OrderStatus.values()) {
+            assertFalse(status.canTransitionTo(status), status.name());
+        }
+    }
+
+    @Test
+    void predecessorsMirrorTransitions() {
+        assertEquals(EnumSet.noneOf(OrderStatus.class), OrderStatus.predecessorsOf(OrderStatus.PLACED));
+        assertEquals(EnumSet.of(OrderStatus.PLACED), OrderStatus.predecessorsOf(OrderStatus.PROCESSING));
+        assertEquals(EnumSet.of(OrderStatus.PLACED, OrderStatus.PROCESSING),
+                OrderStatus.predecessorsOf(OrderStatus.SHIPPED));
+        assertEquals(EnumSet.of(OrderStatus.SHIPPED), OrderStatus.predecessorsOf(OrderStatus.DELIVERED));
+        assertEquals(EnumSet.of(OrderStatus.PLACED, OrderStatus.PROCESSING),
+                OrderStatus.predecessorsOf(OrderStatus.CANCELLED));
+
+        for (OrderStatus target : OrderStatus.values()) {
+            for (OrderStatus from : OrderStatus.values()) {
+                assertEquals(from.canTransitionTo(target), OrderStatus.predecessorsOf(target).contains(from),
+                        from + " -> " + target);
+            }
+        }
+    }
+
+    @Test
+    void codesRoundTrip() {
+        for (OrderStatus status : OrderStatus.values()) {
+            assertEquals(status, OrderStatus.fromCode(status.getCode()));
+        }
+        assertEquals(0, OrderStatus.PLACED.getCode());
+        assertEquals(4, OrderStatus.CANCELLED.getCode());
+        assertThrows(IllegalArgumentException.class, () -> OrderStatus.fromCode((short) 99));
+    }
+
+    private static void assertAllowed(OrderStatus from, OrderStatus... targets) {
+        Set<OrderStatus> allowed = EnumSet.noneOf(OrderStatus.class);
+        allowed.addAll(List.of(targets));
+        for (OrderStatus target : OrderStatus.values()) {
+            assertEquals(allowed.contains(target), from.canTransitionTo(target), from + " -> " + target);
+        }
+    }
+}
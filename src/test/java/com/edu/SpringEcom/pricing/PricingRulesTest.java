@@ -0,0 +1,155 @@
+package com.edu.SpringEcom.pricing;
+
+import com.edu.SpringEcom.model.Coupon;
+import com.edu.SpringEcom.model.DiscountType;
+import com.edu.SpringEcom.model.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for how {@link PricingRules} stacks discounts: the best
+ * exclusive rule against the sum of the stackable ones, capped at the
+ * subtotal.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+class PricingRulesTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+    /** One line of 100.00. */
+    private static final List<PricedLine> LINES = List.of(new PricedLine("books", Money.ofMinor(10_000)));
+
+    @Test
+    void stackableRulesAreAddedTogether() {
+        PricingRules rules = PricingRules.compile(List.of(
+                percentage("AUTO10", 10, true, true),
+                fixed("AUTO5", 5, true, true)));
+
+        PriceBreakdown price = rules.price(LINES, null, TODAY);
+        assertEquals(Money.ofMinor(10_000), price.subtotal());
+        assertEquals(Money.ofMinor(1_500), price.discount());
+        assertEquals(Money.ofMinor(8_500), price.total());
+        assertEquals(Set.of("AUTO10", "AUTO5"), codes(price));
+    }
+
+    @Test
+    void bestExclusiveRuleWinsOverASmallerStack() {
+        PricingRules rules = PricingRules.compile(List.of(
+                percentage("AUTO10", 10, true, true),
+                fixed("AUTO5", 5, true, true),
+                percentage("EXCL20", 20, false, true),
+                percentage("EXCL12", 12, false, true)));
+
+        PriceBreakdown price = rules.price(LINES, null, TODAY);
+        assertEquals(Money.ofMinor(2_000), price.discount());
+        assertEquals(Set.of("EXCL20"), codes(price));
+    }
+
+    @Test
+    void stackWinsATieWithTheBestExclusiveRule() {
+        PricingRules rules = PricingRules.compile(List.of(
+                percentage("AUTO10", 10, true, true),
+                fixed("AUTO5", 5, true, true),
+                percentage("EXCL15", 15, false, true)));
+
+        PriceBreakdown price = rules.price(LINES, null, TODAY);
+        assertEquals(Money.ofMinor(1_500), price.discount());
+        assertEquals(Set.of("AUTO10", "AUTO5"), codes(price));
+    }
+
+    @Test
+    void requestedCouponJoinsTheSideItBelongsTo() {
+        PricingRules rules = PricingRules.compile(List.of(
+                percentage("AUTO10", 10, true, true),
+                percentage("STACK5", 5, true, false),
+                percentage("EXCL30", 30, false, false)));
+
+        PriceBreakdown stacked = rules.price(LINES, rules.findByCode("STACK5"), TODAY);
+        assertEquals(Money.ofMinor(1_500), stacked.discount());
+        assertEquals(Set.of("AUTO10", "STACK5"), codes(stacked));
+
+        PriceBreakdown exclusive = rules.price(LINES, rules.findByCode("EXCL30"), TODAY);
+        assertEquals(Money.ofMinor(3_000), exclusive.discount());
+        assertEquals(Set.of("EXCL30"), codes(exclusive));
+
+        // Codes that aren't auto-apply only count when entered
+        assertEquals(Money.ofMinor(1_000), rules.price(LINES, null, TODAY).discount());
+    }
+
+    @Test
+    void discountIsCappedAtTheSubtotal() {
+        PricingRules rules = PricingRules.compile(List.of(
+                fixed("AUTO60", 60, true, true),
+                fixed("AUTO70", 70, true, true)));
+
+        PriceBreakdown price = rules.price(LINES, null, TODAY);
+        assertEquals(Money.ofMinor(10_000), price.discount());
+        assertEquals(Money.ofMinor(0), price.total());
+        assertEquals(Set.of("AUTO60", "AUTO70"), codes(price));
+    }
+
+    @Test
+    void unusableAndExcludedRulesAreIgnored() {
+        Coupon expired = percentage("EXPIRED", 50, false, true);
+        expired.setExpiryDate(TODAY.minusDays(1));
+        Coupon inactive = percentage("INACTIVE", 50, false, true);
+        inactive.setActive(false);
+        PricingRules rules = PricingRules.compile(List.of(expired, inactive,
+                percentage("AUTO10", 10, true, true),
+                percentage("SOLDOUT", 40, false, true)));
+
+        PriceBreakdown price = rules.price(LINES, null, TODAY, Set.of("SOLDOUT"));
+        assertEquals(Money.ofMinor(1_000), price.discount());
+        assertEquals(Set.of("AUTO10"), codes(price));
+    }
+
+    @Test
+    void noRulesMeansNoDiscount() {
+        PriceBreakdown price = PricingRules.EMPTY.price(LINES, null, TODAY);
+        assertEquals(Money.ofMinor(0), price.discount());
+        assertEquals(Money.ofMinor(10_000), price.total());
+        assertTrue(price.applied().isEmpty());
+    }
+
+    private static Set<String> codes(PriceBreakdown price) {
+        Set<String> codes = new HashSet<>();
+        for (DiscountRule rule : price.applied()) {
+            codes.add(rule.code());
+        }
+        return codes;
+    }
+
+    private static Coupon percentage(String code, int percent, boolean stackable, boolean autoApply) {
+        Coupon coupon = coupon(code, stackable, autoApply);
+        coupon.setDiscountType(DiscountType.PERCENTAGE);
+        coupon.setDiscountPercentage(BigDecimal.valueOf(percent));
+        return coupon;
+    }
+
+    private static Coupon fixed(String code, int amount, boolean stackable, boolean autoApply) {
+        Coupon coupon = coupon(code, stackable, autoApply);
+        coupon.setDiscountType(DiscountType.FIXED);
+        coupon.setDiscountAmount(BigDecimal.valueOf(amount));
+        return coupon;
+    }
+
+    private static Coupon coupon(String code, boolean stackable, boolean autoApply) {
+        Coupon coupon = new Coupon();
+        coupon.setCode(code);
+        coupon.setActive(true);
+        coupon.setStackable(stackable);
+        coupon.setAutoApply(autoApply);
+        return coupon;
+    }
+}
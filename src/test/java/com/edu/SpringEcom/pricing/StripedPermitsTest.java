@@ -0,0 +1,141 @@
+package com.edu.SpringEcom.pricing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link StripedPermits}.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+class StripedPermitsTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    void roundsStripesUpToAPowerOfTwo() {
+        assertEquals(1, new StripedPermits(0).stripes());
+        assertEquals(1, new StripedPermits(1).stripes());
+        assertEquals(2, new StripedPermits(2).stripes());
+        assertEquals(4, new StripedPermits(3).stripes());
+        assertEquals(8, new StripedPermits(8).stripes());
+        assertEquals(1024, new StripedPermits(1000).stripes());
+    }
+
+    @Test
+    void emptyPoolGrantsNothing() {
+        StripedPermits permits = new StripedPermits(4);
+        assertEquals(-1, permits.tryAcquire());
+        assertEquals(0, permits.drain());
+    }
+
+    @Test
+    void grantsExactlyWhatWasAddedEvenWhenStripesAreUneven() {
+        // 5 permits over 4 stripes: one stripe holds 2, the rest 1
+        StripedPermits permits = new StripedPermits(4);
+        permits.add(5);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(permits.tryAcquire() >= 0, "permit " + i);
+        }
+        assertEquals(-1, permits.tryAcquire());
+
+        // Fewer permits than stripes are still found from any home stripe
+        permits.add(1);
+        assertEquals(0, permits.tryAcquire());
+        assertEquals(-1, permits.tryAcquire());
+    }
+
+    @Test
+    void reportsWhatIsLeftInTheStripe() {
+        StripedPermits permits = new StripedPermits(1);
+        permits.add(3);
+        assertEquals(2, permits.tryAcquire());
+        assertEquals(1, permits.tryAcquire());
+        assertEquals(0, permits.tryAcquire());
+        assertEquals(-1, permits.tryAcquire());
+    }
+
+    @Test
+    void releaseAndDrain() {
+        StripedPermits permits = new StripedPermits(4);
+        permits.add(7);
+        assertTrue(permits.tryAcquire() >= 0);
+        assertTrue(permits.tryAcquire() >= 0);
+        permits.release();
+        assertEquals(6, permits.drain());
+        assertEquals(-1, permits.tryAcquire());
+        assertEquals(0, permits.drain());
+
+        permits.release();
+        assertEquals(0, permits.tryAcquire());
+    }
+
+    @Test
+    void concurrentAcquiresNeverOverGrant() throws Exception {
+        StripedPermits permits = new StripedPermits(THREADS);
+        permits.add(100_000);
+        AtomicLong granted = new AtomicLong();
+        race(() -> {
+            while (permits.tryAcquire() >= 0) {
+                granted.incrementAndGet();
+            }
+        }, () -> { });
+        assertEquals(100_000, granted.get());
+        assertEquals(-1, permits.tryAcquire());
+    }
+
+    @Test
+    void drainRacingAcquiresCountsEachPermitOnce() throws Exception {
+        StripedPermits permits = new StripedPermits(THREADS);
+        permits.add(1_000_000);
+        AtomicLong granted = new AtomicLong();
+        AtomicLong drained = new AtomicLong();
+        race(() -> {
+            for (int i = 0; i < 50_000; i++) {
+                if (permits.tryAcquire() >= 0) {
+                    granted.incrementAndGet();
+                }
+            }
+        }, () -> drained.addAndGet(permits.drain()));
+        assertTrue(drained.get() > 0, "threads take at most 400k of the 1M permits");
+        assertEquals(1_000_000, granted.get() + drained.get() + permits.drain());
+    }
+
+    /**
+     * Starts {@code task} on {@link #THREADS} threads together, runs
+     * {@code meanwhile} on the calling thread, then waits for the tasks.
+     */
+    private static void race(Runnable task, Runnable meanwhile) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            meanwhile.run();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
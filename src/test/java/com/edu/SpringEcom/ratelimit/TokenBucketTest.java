@@ -0,0 +1,82 @@
+package com.edu.SpringEcom.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link TokenBucket}, driven by explicit clock values.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+class TokenBucketTest {
+
+    /** 10 permits per second: one token every 100 ms. */
+    private static final long INTERVAL = 100_000_000L;
+
+    @Test
+    void burstIsAvailableAtOnceThenRefused() {
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(0), "token " + i);
+        }
+        assertEquals(INTERVAL, bucket.tryAcquire(0));
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(1, bucket.tryAcquire(INTERVAL - 1));
+        assertEquals(0, bucket.tryAcquire(INTERVAL));
+        assertEquals(INTERVAL, bucket.tryAcquire(INTERVAL));
+    }
+
+    @Test
+    void refusedRequestsTakeNothing() {
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+        bucket.tryAcquire(0);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(bucket.tryAcquire(0) > 0);
+        }
+        assertEquals(0, bucket.tryAcquire(INTERVAL));
+    }
+
+    @Test
+    void neverSavesUpMoreThanTheBurst() {
+        TokenBucket bucket = new TokenBucket(10, 2, 0);
+        long later = 60 * 1_000_000_000L;
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(0, bucket.tryAcquire(later));
+        assertTrue(bucket.tryAcquire(later) > 0);
+    }
+
+    @Test
+    void idleOnceFullAgain() {
+        TokenBucket bucket = new TokenBucket(10, 2, 0);
+        assertTrue(bucket.isIdle(0));
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+        assertFalse(bucket.isIdle(INTERVAL));
+        assertTrue(bucket.isIdle(2 * INTERVAL));
+    }
+
+    @Test
+    void survivesNanoTimeWrapAround() {
+        long start = Long.MAX_VALUE - INTERVAL / 2;
+        TokenBucket bucket = new TokenBucket(10, 1, start);
+        assertEquals(0, bucket.tryAcquire(start));
+        assertEquals(INTERVAL, bucket.tryAcquire(start));
+        assertFalse(bucket.isIdle(start + INTERVAL / 2));
+
+        long wrapped = start + INTERVAL; // past Long.MAX_VALUE, so negative
+        assertTrue(wrapped < 0);
+        assertTrue(bucket.isIdle(wrapped));
+        assertEquals(0, bucket.tryAcquire(wrapped));
+        assertEquals(INTERVAL, bucket.tryAcquire(wrapped));
+    }
+}
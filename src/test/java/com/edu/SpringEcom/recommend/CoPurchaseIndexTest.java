@@ -0,0 +1,104 @@
+package com.edu.SpringEcom.recommend;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link CoPurchaseIndex} counting, pruning and snapshots,
+ * outside any transaction so orders are counted at once.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+class CoPurchaseIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void countsEveryPairBothWays() {
+        CoPurchaseIndex index = index(10, 100, "");
+        index.record(List.of(1, 2, 3));
+        index.record(List.of(1, 2));
+
+        assertArrayEquals(new long[] {pack(2, 2), pack(1, 3)}, index.related(1, 10));
+        assertArrayEquals(new long[] {pack(2, 1), pack(1, 3)}, index.related(2, 10));
+        assertArrayEquals(new long[] {pack(1, 2), pack(1, 1)}, index.related(3, 10));
+    }
+
+    @Test
+    void ignoresDuplicatesAndSingleProductOrders() {
+        CoPurchaseIndex index = index(10, 100, "");
+        index.record(List.of(1, 1, 2, 2));
+        index.record(List.of(5));
+        index.record(List.of(6, 6));
+
+        assertArrayEquals(new long[] {pack(1, 2)}, index.related(1, 10));
+        assertArrayEquals(new long[0], index.related(5, 10));
+        assertArrayEquals(new long[0], index.related(6, 10));
+    }
+
+    @Test
+    void cachedTopListFollowsNewOrders() {
+        CoPurchaseIndex index = index(1, 100, "");
+        index.record(List.of(1, 2));
+        assertArrayEquals(new long[] {pack(1, 2)}, index.related(1, 5));
+
+        index.record(List.of(1, 3));
+        index.record(List.of(1, 3));
+        assertArrayEquals(new long[] {pack(2, 3)}, index.related(1, 5));
+        assertArrayEquals(new long[0], index.related(1, 0));
+    }
+
+    @Test
+    void pruningKeepsTheFrequentPartners() {
+        CoPurchaseIndex index = index(10, 4, "");
+        for (int i = 0; i < 3; i++) {
+            index.record(List.of(1, 2));
+        }
+        index.record(List.of(1, 3));
+        index.record(List.of(1, 3));
+        index.record(List.of(1, 4));
+        index.record(List.of(1, 5));
+        // Product 1 is at 4 partners: a fifth drops the least frequent half
+        index.record(List.of(1, 6));
+
+        assertArrayEquals(new long[] {pack(3, 2), pack(2, 3), pack(1, 6)}, index.related(1, 10));
+    }
+
+    @Test
+    void snapshotRoundTrips() {
+        String path = dir.resolve("related.bin").toString();
+        CoPurchaseIndex written = index(10, 100, path);
+        written.record(List.of(1, 2, 3));
+        written.record(List.of(2, 3));
+        written.writeSnapshot();
+
+        CoPurchaseIndex loaded = index(10, 100, path);
+        loaded.load();
+        for (int productId = 1; productId <= 3; productId++) {
+            assertArrayEquals(written.related(productId, 10), loaded.related(productId, 10), "product " + productId);
+        }
+        assertEquals(2, loaded.related(3, 10).length);
+    }
+
+    private static CoPurchaseIndex index(int topK, int maxPartners, String snapshotPath) {
+        CoPurchaseIndex index = new CoPurchaseIndex();
+        ReflectionTestUtils.setField(index, "topK", topK);
+        ReflectionTestUtils.setField(index, "maxPartners", maxPartners);
+        ReflectionTestUtils.setField(index, "snapshotPath", snapshotPath);
+        return index;
+    }
+
+    private static long pack(int count, int productId) {
+        return (long) count << 32 | productId;
+    }
+}
@@ -0,0 +1,82 @@
+package com.edu.SpringEcom.recommend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link IntIntMap}.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+class IntIntMapTest {
+
+    @Test
+    void countsPerKey() {
+        IntIntMap map = new IntIntMap(4);
+        assertEquals(0, map.get(7));
+        assertEquals(1, map.increment(7, 1));
+        assertEquals(3, map.increment(7, 2));
+        assertEquals(5, map.increment(9, 5));
+        assertEquals(3, map.get(7));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void rejectsTheReservedKey() {
+        assertThrows(IllegalArgumentException.class, () -> new IntIntMap(4).increment(0, 1));
+    }
+
+    @Test
+    void growsWithoutLosingEntries() {
+        IntIntMap map = new IntIntMap(1);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            int key = 1 + random.nextInt(Integer.MAX_VALUE - 1);
+            int delta = 1 + random.nextInt(10);
+            expected.merge(key, delta, Integer::sum);
+            map.increment(key, delta);
+        }
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, count) -> assertEquals(count, map.get(key), "key " + key));
+    }
+
+    @Test
+    void collidingKeysStayApart() {
+        // Sequential IDs plus multiples of the table size all probe into a small table
+        IntIntMap map = new IntIntMap(2);
+        for (int key = 1; key <= 64; key++) {
+            map.increment(key, key);
+            map.increment(key * 1024, key);
+        }
+        for (int key = 1; key <= 64; key++) {
+            assertEquals(key, map.get(key));
+            assertEquals(key, map.get(key * 1024));
+        }
+    }
+
+    @Test
+    void entriesByCountSortsByCountThenKeyDescending() {
+        IntIntMap map = new IntIntMap(4);
+        map.increment(1, 5);
+        map.increment(2, 9);
+        map.increment(3, 5);
+        map.increment(Integer.MAX_VALUE, 1);
+        assertArrayEquals(new long[] {pack(9, 2), pack(5, 3), pack(5, 1), pack(1, Integer.MAX_VALUE)},
+                map.entriesByCount());
+        assertArrayEquals(new long[0], new IntIntMap(4).entriesByCount());
+    }
+
+    private static long pack(int count, int key) {
+        return (long) count << 32 | key;
+    }
+}
@@ -0,0 +1,344 @@
+package com.edu.SpringEcom.sql;
+
+import com.edu.SpringEcom.auth.SessionTokenService;
+import com.edu.SpringEcom.auth.SessionUser;
+import com.edu.SpringEcom.model.Address;
+import com.edu.SpringEcom.model.Coupon;
+import com.edu.SpringEcom.model.Money;
+import com.edu.SpringEcom.model.Product;
+import com.edu.SpringEcom.model.Role;
+import com.edu.SpringEcom.model.User;
+import com.edu.SpringEcom.model.dto.OrderItemRequest;
+import com.edu.SpringEcom.model.dto.OrderRequest;
+import com.edu.SpringEcom.pricing.PricingEngine;
+import com.edu.SpringEcom.repo.AddressRepo;
+import com.edu.SpringEcom.repo.CouponRepo;
+import com.edu.SpringEcom.repo.ProductRepo;
+import com.edu.SpringEcom.repo.UserRepo;
+import com.edu.SpringEcom.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * SQL cost budget per REST endpoint.
+ *
+ * <p>
+ * Boots the application against its own in-memory database, seeds a small
+ * but representative catalogue (several products with images, users with
+ * addresses, coupons and multi-line orders) and calls every endpoint once,
+ * in a fixed order, through MockMvc. MockMvc runs each request on the test
+ * thread, so {@link SqlStatistics} captures exactly the statements, rows and
+ * bytes that request cost. The test fails if any endpoint goes over the
+ * budget recorded in {@code src/test/resources/sql-budgets.properties},
+ * listing the statements it ran, so an N+1 query or a new eager association
+ * shows up in the build rather than in production.
+ * </p>
+ *
+ * <p>
+ * After an intended change in cost, re-record the budgets with:
+ * </p>
+ *
+ * <pre>
+ * mvn test -Dtest=SqlBudgetTest -Dsql.budget.record=true
+ * </pre>
+ *
+ * <p>
+ * and copy {@code target/sql-budgets.properties} over the checked-in file.
+ * The SSE endpoints are left out because their responses never complete.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sql_budget;DB_CLOSE_DELAY=-1",
+        "ratelimit.enabled=false",
+        "warmup.enabled=false"})
+@AutoConfigureMockMvc
+class SqlBudgetTest {
+
+    private static final String BUDGETS = "/sql-budgets.properties";
+    private static final Path RECORDED = Path.of("target", "sql-budgets.properties");
+    private static final String[] METRICS = {"statements", "rows", "bytes"};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private AddressRepo addressRepo;
+
+    @Autowired
+    private CouponRepo couponRepo;
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private SessionTokenService tokenService;
+
+    private final JsonMapper json = JsonMapper.builder().build();
+
+    private final Map<String, SqlStatistics> measured = new LinkedHashMap<>();
+
+    @Test
+    void endpointsStayWithinSqlBudget() throws Exception {
+        Seed seed = seed();
+        int productId = seed.productIds().getFirst();
+
+        measure("product-list", get("/api/products"));
+        measure("product-get", get("/api/product/{id}", productId));
+        measure("product-image", get("/api/product/{id}/image", productId));
+        measure("product-search", get("/api/products/search").param("keyword", "phone"));
+        measure("product-suggest", get("/api/products/suggest").param("prefix", "ph"));
+        measure("product-related", get("/api/product/{id}/related", productId));
+        measure("product-list-fields", get("/api/products").param("fields", "id,title,price,imageUrl"));
+        measure("product-search-fields", get("/api/products/search").param("keyword", "phone")
+                .param("fields", "id,title,price,imageUrl"));
+        measure("product-get-fields", get("/api/product/{id}", productId).param("fields", "id,title,price"));
+        List<String> batchIds = new ArrayList<>();
+        for (int id : seed.productIds()) {
+            batchIds.add(String.valueOf(id));
+        }
+        batchIds.add(String.valueOf(Integer.MAX_VALUE)); // missing
+        measure("product-batch", get("/api/products/batch").param("ids", String.join(",", batchIds)));
+
+        MockMultipartFile image = new MockMultipartFile("imageFile", "new.png", "image/png", png(2048));
+        String productJson = "{\"title\":\"phone budget\",\"description\":\"New\",\"brand\":\"brand-1\","
+                + "\"category\":\"Electronics\",\"price\":10.00,\"availability\":true,\"stockQuantity\":5}";
+        MockMultipartFile productPart = new MockMultipartFile("product", "", MediaType.APPLICATION_JSON_VALUE,
+                productJson.getBytes());
+        int newProductId = body(measure("product-add", multipart("/api/product").file(image).file(productPart)))
+                .get("id").asInt();
+        measure("product-update", multipart(HttpMethod.PUT, "/api/product/{id}", newProductId)
+                .file(image).file(productPart));
+        measure("product-image-uploaded", get("/api/product/{id}/image", newProductId));
+        measure("product-delete", delete("/api/product/{id}", newProductId));
+
+        JsonNode registered = body(measure("user-register", jsonPost("/api/users/register",
+                "{\"name\":\"Budget User\",\"email\":\"budget@example.test\",\"password\":\"secret\"}")));
+        long newUserId = registered.get("userId").asLong();
+        measure("user-login", jsonPost("/api/users/login",
+                "{\"email\":\"budget@example.test\",\"password\":\"secret\"}"));
+        measure("user-add-address", jsonPost("/api/users/" + newUserId + "/addresses",
+                "{\"street\":\"1 Budget Road\",\"city\":\"Testville\",\"zipCode\":\"12345\"}")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + registered.get("token").asString()));
+        measure("coupon-validate", get("/api/users/coupons/{code}", "SAVE10"));
+
+        String customer = "Bearer " + tokenService.issue(new SessionUser(seed.userId(), Role.CUSTOMER)).value();
+        String cart = "/api/cart/" + seed.userId();
+        measure("cart-add-item", jsonPost(cart + "/items", item(productId, 2))
+                .header(HttpHeaders.AUTHORIZATION, customer));
+        measure("cart-set-quantity", jsonPut(cart + "/items", item(productId, 3))
+                .header(HttpHeaders.AUTHORIZATION, customer));
+        measure("cart-get", get(cart).header(HttpHeaders.AUTHORIZATION, customer));
+        measure("cart-remove-item", delete(cart + "/items/{productId}", productId)
+                .header(HttpHeaders.AUTHORIZATION, customer));
+        measure("cart-clear", delete(cart).header(HttpHeaders.AUTHORIZATION, customer));
+        mockMvc.perform(jsonPost(cart + "/items", item(seed.productIds().get(1), 1))
+                .header(HttpHeaders.AUTHORIZATION, customer));
+        measure("cart-checkout", jsonPost(cart + "/checkout",
+                "{\"addressId\":" + seed.addressId() + ",\"couponCode\":\"SAVE10\"}")
+                .header(HttpHeaders.AUTHORIZATION, customer));
+
+        String holdId = body(measure("inventory-hold", jsonPost("/api/inventory/holds", item(productId, 1))
+                .header(HttpHeaders.AUTHORIZATION, customer))).get("holdId").asString();
+        measure("inventory-release", delete("/api/inventory/holds/{holdId}", holdId)
+                .header(HttpHeaders.AUTHORIZATION, customer));
+        String confirmHold = body(mockMvc.perform(jsonPost("/api/inventory/holds", item(productId, 1))
+                .header(HttpHeaders.AUTHORIZATION, customer)).andReturn()).get("holdId").asString();
+        measure("order-confirm", jsonPost("/api/orders/confirm", "{\"userId\":" + seed.userId()
+                + ",\"addressId\":" + seed.addressId() + ",\"holdIds\":[\"" + confirmHold + "\"]}")
+                .header(HttpHeaders.AUTHORIZATION, customer));
+
+        measure("order-place", jsonPost("/api/orders/place", "{\"userId\":" + seed.userId()
+                + ",\"addressId\":" + seed.addressId() + ",\"couponCode\":\"SAVE10\",\"items\":["
+                + item(productId, 1) + "," + item(seed.productIds().get(2), 2) + "]}")
+                .header(HttpHeaders.AUTHORIZATION, customer));
+        measure("order-list", get("/api/orders"));
+        measure("order-list-fields", get("/api/orders").param("fields", "orderId,status,total"));
+        measure("order-list-items", get("/api/orders").param("fields", "orderId,items"));
+        measure("order-get", get("/api/orders/{orderId}", seed.orderIds().getFirst()));
+        String admin = "Bearer " + tokenService.issue(new SessionUser(seed.userId(), Role.ADMIN)).value();
+        measure("order-status", jsonPut("/api/orders/" + seed.orderIds().getFirst() + "/status",
+                "{\"status\":\"PROCESSING\"}").header(HttpHeaders.AUTHORIZATION, admin));
+        measure("order-bulk-status", jsonPost("/api/orders/status",
+                "{\"status\":\"SHIPPED\",\"orderIds\":" + json.writeValueAsString(seed.orderIds()) + "}")
+                .header(HttpHeaders.AUTHORIZATION, admin));
+
+        if (Boolean.getBoolean("sql.budget.record")) {
+            record();
+            return;
+        }
+        checkBudgets();
+    }
+
+    private MvcResult measure(String endpoint, RequestBuilder request) throws Exception {
+        MvcResult result;
+        try (SqlStatistics statistics = SqlStatistics.start()) {
+            result = mockMvc.perform(request).andReturn();
+            measured.put(endpoint, statistics);
+        }
+        int status = result.getResponse().getStatus();
+        if (status >= 300) {
+            throw new AssertionError(endpoint + " returned HTTP " + status + ": "
+                    + result.getResponse().getContentAsString());
+        }
+        return result;
+    }
+
+    private void checkBudgets() throws IOException {
+        Properties budgets = new Properties();
+        try (InputStream in = getClass().getResourceAsStream(BUDGETS)) {
+            if (in == null) {
+                throw new AssertionError("Missing " + BUDGETS + "; record it with -Dsql.budget.record=true");
+            }
+            budgets.load(in);
+        }
+        List<String> failures = new ArrayList<>();
+        for (Map.Entry<String, SqlStatistics> entry : measured.entrySet()) {
+            String endpoint = entry.getKey();
+            SqlStatistics statistics = entry.getValue();
+            long[] actual = {statistics.getStatements(), statistics.getRows(), statistics.getBytes()};
+            for (int i = 0; i < METRICS.length; i++) {
+                String budget = budgets.getProperty(endpoint + "." + METRICS[i]);
+                if (budget == null) {
+                    failures.add(endpoint + ": no " + METRICS[i] + " budget recorded (measured " + actual[i] + ")");
+                } else if (actual[i] > Long.parseLong(budget.trim())) {
+                    failures.add(endpoint + ": " + actual[i] + " " + METRICS[i] + ", budget " + budget.trim()
+                            + "\n    " + String.join("\n    ", statistics.getSql()));
+                }
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new AssertionError("SQL budget exceeded (re-record with -Dsql.budget.record=true if intended):\n"
+                    + String.join("\n", failures));
+        }
+    }
+
+    private void record() throws IOException {
+        Files.createDirectories(RECORDED.toAbsolutePath().getParent());
+        try (Writer out = Files.newBufferedWriter(RECORDED)) {
+            out.write("# SQL cost per request, recorded by SqlBudgetTest. Requests run in the order listed,\n");
+            out.write("# so later ones see caches warmed by earlier ones.\n");
+            for (Map.Entry<String, SqlStatistics> entry : measured.entrySet()) {
+                SqlStatistics statistics = entry.getValue();
+                out.write(entry.getKey() + ".statements=" + statistics.getStatements() + "\n");
+                out.write(entry.getKey() + ".rows=" + statistics.getRows() + "\n");
+                out.write(entry.getKey() + ".bytes=" + statistics.getBytes() + "\n");
+            }
+        }
+        System.out.println("SQL budgets written to " + RECORDED.toAbsolutePath());
+    }
+
+    private Seed seed() {
+        String[] titles = {"phone one", "phone two", "laptop pro", "book of tests", "watch sport"};
+        String[] categories = {"Electronics", "Electronics", "Laptop", "Books", "Fashion"};
+        List<Integer> productIds = new ArrayList<>();
+        for (int i = 0; i < titles.length; i++) {
+            Product product = new Product();
+            product.setTitle(titles[i]);
+            product.setDescription("Seeded product " + i);
+            product.setBrand("brand-" + i);
+            product.setCategory(categories[i]);
+            product.setPrice(Money.ofMinor(1999 + 1000L * i));
+            product.setReleaseDate(new Date(0));
+            product.setCreateDate(new Date(0));
+            product.setAvailability(true);
+            product.setStockQuantity(100);
+            product.setImageName("image-" + i + ".png");
+            product.setImageType("image/png");
+            product.setImageData(new byte[4096]);
+            productIds.add(productRepo.save(product).getId());
+        }
+
+        User user = new User();
+        user.setName("Seeded User");
+        user.setEmail("seeded@example.test");
+        user.setPassword("password");
+        user = userRepo.save(user);
+        Address address = new Address();
+        address.setStreet("2 Seed Street");
+        address.setCity("Testville");
+        address.setZipCode("12345");
+        address.setUser(user);
+        address = addressRepo.save(address);
+
+        Coupon coupon = new Coupon();
+        coupon.setCode("SAVE10");
+        coupon.setDiscountPercentage(BigDecimal.TEN);
+        coupon.setExpiryDate(LocalDate.now().plusDays(30));
+        coupon.setActive(true);
+        couponRepo.save(coupon);
+        pricingEngine.reload();
+
+        List<String> orderIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            List<OrderItemRequest> items = List.of(
+                    new OrderItemRequest(productIds.get(i), 1),
+                    new OrderItemRequest(productIds.get(i + 1), 2),
+                    new OrderItemRequest(productIds.get(i + 2), 1));
+            orderIds.add(orderService.placeOrder(new OrderRequest(user.getId(), address.getId(), null, items))
+                    .orderId());
+        }
+        return new Seed(productIds, user.getId(), address.getId(), orderIds);
+    }
+
+    private JsonNode body(MvcResult result) throws Exception {
+        return json.readTree(result.getResponse().getContentAsString());
+    }
+
+    private static MockHttpServletRequestBuilder jsonPost(String uri, String body) {
+        return post(uri).contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    private static MockHttpServletRequestBuilder jsonPut(String uri, String body) {
+        return put(uri).contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    /** A PNG signature followed by zeros; enough to pass upload type checks. */
+    private static byte[] png(int size) {
+        byte[] image = new byte[size];
+        System.arraycopy(new byte[] {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A}, 0, image, 0, 8);
+        return image;
+    }
+
+    private static String item(int productId, int quantity) {
+        return "{\"productId\":" + productId + ",\"quantity\":" + quantity + "}";
+    }
+
+    private record Seed(List<Integer> productIds, Long userId, Long addressId, List<String> orderIds) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.edu.SpringEcom.suggest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link PrefixTrie}.
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+class PrefixTrieTest {
+
+    @Test
+    void ranksByPopularityThenLabel() {
+        PrefixTrie trie = new PrefixTrie(10);
+        trie.put("phone", product(1, "Phone", 5));
+        trie.put("phablet", product(2, "Phablet", 9));
+        trie.put("photo", product(3, "photo", 5));
+        trie.put("laptop", product(4, "Laptop", 100));
+
+        assertEquals(List.of("p:2", "p:1", "p:3"), keys(trie.lookup("ph")));
+        assertEquals(List.of("p:1", "p:3"), keys(trie.lookup("pho")));
+    }
+
+    @Test
+    void keepsOnlyTopK() {
+        PrefixTrie trie = new PrefixTrie(2);
+        for (int i = 1; i <= 5; i++) {
+            trie.put("item" + i, product(i, "Item " + i, i));
+        }
+        assertEquals(List.of("p:5", "p:4"), keys(trie.lookup("")));
+        assertEquals(List.of("p:5", "p:4"), keys(trie.lookup("item")));
+        assertEquals(List.of("p:3"), keys(trie.lookup("item3")));
+    }
+
+    @Test
+    void unknownPrefixFindsNothing() {
+        PrefixTrie trie = new PrefixTrie(5);
+        trie.put("phone", product(1, "Phone", 1));
+        assertEquals(0, trie.lookup("phones").length);
+        assertEquals(0, trie.lookup("x").length);
+    }
+
+    @Test
+    void putReplacesTheSameKey() {
+        PrefixTrie trie = new PrefixTrie(5);
+        trie.put("phone", product(1, "Phone", 1));
+        trie.put("phone", product(1, "Phone", 7));
+        Suggestion[] found = trie.lookup("ph");
+        assertEquals(1, found.length);
+        assertEquals(7, found[0].popularity());
+    }
+
+    @Test
+    void removeBringsBackTheNextBest() {
+        PrefixTrie trie = new PrefixTrie(1);
+        trie.put("phone", product(1, "Phone", 9));
+        trie.put("photo", product(2, "Photo", 3));
+        assertEquals(List.of("p:1"), keys(trie.lookup("ph")));
+
+        trie.remove("phone", "p:1");
+        assertEquals(List.of("p:2"), keys(trie.lookup("ph")));
+        assertEquals(0, trie.lookup("phon").length);
+    }
+
+    @Test
+    void removingMissingEntriesChangesNothing() {
+        PrefixTrie trie = new PrefixTrie(5);
+        trie.put("phone", product(1, "Phone", 1));
+        trie.remove("phones", "p:1");
+        trie.remove("phone", "p:2");
+        trie.remove("ph", "p:1");
+        assertEquals(List.of("p:1"), keys(trie.lookup("phone")));
+    }
+
+    @Test
+    void sameTermHoldsSeveralEntries() {
+        PrefixTrie trie = new PrefixTrie(5);
+        trie.put("apple", product(1, "Apple", 2));
+        trie.put("apple", new Suggestion("b:apple", "BRAND", null, "Apple", 4));
+        assertEquals(List.of("b:apple", "p:1"), keys(trie.lookup("app")));
+
+        trie.remove("apple", "b:apple");
+        assertEquals(List.of("p:1"), keys(trie.lookup("app")));
+    }
+
+    private static Suggestion product(int id, String label, long popularity) {
+        return new Suggestion("p:" + id, "PRODUCT", id, label, popularity);
+    }
+
+    private static List<String> keys(Suggestion[] suggestions) {
+        return Arrays.stream(suggestions).map(Suggestion::key).toList();
+    }
+}
@@ -0,0 +1,164 @@
+package com.edu.SpringEcom.webhook;
+
+import com.edu.SpringEcom.model.OrderStatus;
+import com.edu.SpringEcom.model.dto.WebhookEndpointRequest;
+import com.edu.SpringEcom.model.dto.WebhookEndpointResponse;
+import com.edu.SpringEcom.service.WebhookService;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Delivers order events to a stub partner endpoint running in the test, with
+ * short batches, backoff and circuit-breaker timings.
+ *
+ * <p>
+ * Checks that events arrive in signed batches of at most
+ * {@code webhooks.batch-size}, each exactly once, and that while the endpoint
+ * fails its circuit opens and the events are retried until they get through.
+ * </p>
+ *
+ * @author SpringEcom Team
+ * @version 1.0
+ * @since 2026-10-19
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:webhooks;DB_CLOSE_DELAY=-1",
+        "ratelimit.enabled=false",
+        "webhooks.dispatch-ms=50",
+        "webhooks.idle-poll-ms=100",
+        "webhooks.batch-size=10",
+        "webhooks.retry.initial-ms=50",
+        "webhooks.retry.max-ms=200",
+        "webhooks.breaker.failure-threshold=2",
+        "webhooks.breaker.open-ms=300"})
+class WebhookDispatcherTest {
+
+    private static final String SECRET = "partner-secret";
+
+    @Autowired
+    private WebhookDispatcher webhookDispatcher;
+
+    @Autowired
+    private WebhookService webhookService;
+
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger status = new AtomicInteger(200);
+    private HttpServer server;
+    private Long endpointId;
+
+    @BeforeEach
+    void startStub() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/hook", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            int code = status.get();
+            requests.add(new Request(body, exchange.getRequestHeaders().getFirst("X-Webhook-Signature"), code));
+            exchange.sendResponseHeaders(code, -1);
+            exchange.close();
+        });
+        server.start();
+        WebhookEndpointResponse endpoint = webhookService.register(new WebhookEndpointRequest(
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/hook", SECRET));
+        endpointId = endpoint.id();
+    }
+
+    @AfterEach
+    void stopStub() {
+        webhookService.delete(endpointId);
+        server.stop(0);
+    }
+
+    @Test
+    void deliversSignedBatchesExactlyOnce() throws Exception {
+        for (int i = 0; i < 25; i++) {
+            webhookDispatcher.orderPlaced("ORD-" + i);
+        }
+        await(() -> delivered().size() >= 25);
+
+        Set<String> ids = new HashSet<>();
+        for (Request request : requests) {
+            JsonNode events = JsonMapper.builder().build().readTree(request.body()).get("events");
+            assertTrue(events.size() <= 10, "batch of " + events.size());
+            assertEquals("sha256=" + hmac(request.body()), request.signature());
+            for (JsonNode event : events) {
+                assertTrue(ids.add(event.get("id").asString()), "sent twice: " + event);
+            }
+        }
+        assertEquals(25, ids.size());
+        await(() -> endpoint().pending() == 0);
+    }
+
+    @Test
+    void retriesThroughOpenCircuit() throws Exception {
+        status.set(503);
+        for (int i = 0; i < 5; i++) {
+            webhookDispatcher.orderStatusChanged("ORD-" + i, OrderStatus.SHIPPED);
+        }
+        await(() -> "OPEN".equals(endpoint().circuit()));
+        assertTrue(requests.size() >= 2);
+
+        status.set(200);
+        await(() -> delivered().size() == 5 && endpoint().pending() == 0);
+        assertEquals("CLOSED", endpoint().circuit());
+        assertEquals(0, endpoint().dead());
+    }
+
+    private List<JsonNode> delivered() {
+        List<JsonNode> events = new CopyOnWriteArrayList<>();
+        for (Request request : requests) {
+            if (request.status() == 200) {
+                JsonMapper.builder().build().readTree(request.body()).get("events").forEach(events::add);
+            }
+        }
+        return events;
+    }
+
+    private WebhookEndpointResponse endpoint() {
+        return webhookService.getEndpoints().stream()
+                .filter(endpoint -> endpoint.id().equals(endpointId))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static String hmac(String body) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(20).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("timed out waiting for webhook deliveries");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private record Request(String body, String signature, int status) {
+    }
+}